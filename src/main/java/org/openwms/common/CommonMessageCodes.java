@@ -30,6 +30,7 @@ public final class CommonMessageCodes {
     public static final String LOCATION_GROUP_NOT_FOUND_BY_PKEY = "owms.common.common.lg.notFoundByPKey";
     public static final String LOCATION_GROUP_NOT_FOUND = "owms.common.common.lg.notFoundByName";
     public static final String LOCATION_GROUP_EXISTS = "owms.common.common.lg.exists";
+    public static final String LOCATION_GROUP_IMPORT_CHILDREN = "owms.common.common.lg.importChildren";
 
     public static final String LOCATION_TYPE_NOT_FOUND = "owms.common.common.lt.notFoundByType";
     public static final String LOCATION_TYPE_NOT_FOUND_BY_PKEY = "owms.common.common.lt.notFoundByPKey";
@@ -40,6 +41,7 @@ public final class CommonMessageCodes {
     public static final String LOCATION_NOT_FOUND_BY_PKEY = "owms.common.common.loc.notFoundByPKey";
     public static final String LOCATION_NOT_FOUND_BY_ERP_CODE = "owms.common.common.loc.notFoundByErpCode";
     public static final String LOCATION_NOT_FOUND_BY_PLC_CODE = "owms.common.common.loc.notFoundByPlcCode";
+    public static final String LOCATION_ERP_CODE_EXISTS = "owms.common.common.loc.erpCodeExists";
     public static final String LOCK_MODE_UNSUPPORTED = "owms.common.common.loc.lockModeUnsupported";
     public static final String LOCK_TYPE_UNSUPPORTED = "owms.common.common.loc.lockTypeUnsupported";
 
@@ -52,6 +54,8 @@ public final class CommonMessageCodes {
     public static final String TRANSPORT_UNIT_TYPE_NOT_FOUND = "owms.common.common.tut.notFoundByName";
     public static final String TRANSPORT_UNIT_TYPE_NOT_FOUND_BY_PKEY = "owms.common.common.tut.notFoundByPKey";
 
+    public static final String IMPORT_ROW_UNREADABLE = "owms.common.common.import.rowUnreadable";
+
     public static final String MSG_TU_MOVED = "owms.common.common.msg.tu.moved";
 
     private CommonMessageCodes() {
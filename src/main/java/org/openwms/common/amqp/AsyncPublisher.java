@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An AsyncPublisher publishes messages to the broker without blocking the caller on the broker. Messages are buffered and sent by
+ * dedicated publisher threads, the returned future completes as soon as the broker has confirmed the message, or exceptionally when the
+ * message has been rejected by the buffer or could not be delivered.
+ *
+ * @author Heiko Scherrer
+ */
+public interface AsyncPublisher {
+
+    /**
+     * Convert the {@code payload} into a message and publish it.
+     *
+     * @param exchange The name of the exchange to publish to
+     * @param routingKey The routing key of the message
+     * @param payload The payload to convert into the message body
+     * @return Completes when the message is confirmed
+     */
+    CompletableFuture<Void> publish(String exchange, String routingKey, Object payload);
+
+    /**
+     * Publish the {@code envelopes} one after the other by the same publisher thread, so they arrive in the given order. A retry sends
+     * the first envelope that was not acknowledged and all following ones again, so an envelope might arrive twice but never before one
+     * of its predecessors.
+     *
+     * @param envelopes The already converted messages
+     * @return Completes when all messages are confirmed
+     */
+    CompletableFuture<Void> publishInOrder(List<Envelope> envelopes);
+
+    /**
+     * Get the longest time a message takes from being accepted until its future completes, the time in the buffer and all attempts
+     * included. A message that is not delivered by then is not sent anymore, so callers that wait for a future as long may publish it
+     * again.
+     *
+     * @return The delivery timeout
+     */
+    Duration getDeliveryTimeout();
+}
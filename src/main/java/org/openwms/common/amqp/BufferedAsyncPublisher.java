@@ -0,0 +1,285 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.ameba.app.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.ameba.LoggingCategories.BOOT;
+
+/**
+ * A BufferedAsyncPublisher holds the messages to publish in a bounded buffer that is drained by a fixed number of publisher threads.
+ * <p>
+ * A message is converted on the caller thread, so later changes to the payload do not affect it. When the buffer is full the
+ * {@link OverflowPolicy} decides whether the caller waits for a limited time or the message is rejected immediately. The publisher
+ * threads send with a {@link RabbitTemplate} without retries and do not wait for the broker: each message is correlated and its future
+ * is completed by the publisher confirm of the broker. A message that is not confirmed in time or is negatively acknowledged is sent
+ * again until the maximum number of attempts is reached. A retry is put at the head of the buffer, so it is not overtaken by messages
+ * accepted later, and starts with the first message of a unit that has not been acknowledged, so the messages of a unit are never
+ * reordered. A unit that is not delivered within the {@link #getDeliveryTimeout() delivery timeout}, counted from accepting it and
+ * including the time spent in the buffer, is failed and not sent anymore. Publisher confirms require the connection factory to be
+ * configured with {@code spring.rabbitmq.publisher-confirm-type=correlated}, otherwise a message counts as published as soon as it is
+ * sent.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.AMQP)
+@Component
+class BufferedAsyncPublisher implements AsyncPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferedAsyncPublisher.class);
+    private static final Logger BOOT_LOGGER = LoggerFactory.getLogger(BOOT);
+    private final RabbitTemplate template;
+    private final BlockingDeque<Unit> buffer;
+    private final ExecutorService executor;
+    private final OverflowPolicy overflow;
+    private final Duration maxBlock;
+    private final Duration confirmTimeout;
+    private final int maxAttempts;
+    private final boolean confirms;
+    private final Timer latency;
+    private final Counter published;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter failed;
+    private volatile boolean stopped;
+
+    BufferedAsyncPublisher(@Qualifier("publisherTemplate") RabbitTemplate template, MeterRegistry meterRegistry,
+            @Value("${owms.common.amqp.publisher.capacity:10000}") int capacity,
+            @Value("${owms.common.amqp.publisher.threads:2}") int threads,
+            @Value("${owms.common.amqp.publisher.overflow:BLOCK}") OverflowPolicy overflow,
+            @Value("${owms.common.amqp.publisher.max-block:PT0.1S}") Duration maxBlock,
+            @Value("${owms.common.amqp.publisher.confirm-timeout:PT10S}") Duration confirmTimeout,
+            @Value("${owms.common.amqp.publisher.max-attempts:3}") int maxAttempts) {
+        this.template = template;
+        this.buffer = new LinkedBlockingDeque<>(capacity);
+        this.overflow = overflow;
+        this.maxBlock = maxBlock;
+        this.confirmTimeout = confirmTimeout;
+        this.maxAttempts = maxAttempts;
+        this.confirms = template.getConnectionFactory().isPublisherConfirms();
+        if (!confirms) {
+            BOOT_LOGGER.warn("Correlated publisher confirms are not enabled, messages count as published as soon as they are sent");
+        }
+        Gauge.builder("owms.common.amqp.publisher.queue-depth", buffer, BlockingQueue::size)
+                .description("Number of message units waiting to be published")
+                .register(meterRegistry);
+        this.latency = Timer.builder("owms.common.amqp.publisher.latency")
+                .description("Time from accepting a message until the broker has confirmed it")
+                .register(meterRegistry);
+        this.published = outcome(meterRegistry, "published");
+        this.rejected = outcome(meterRegistry, "rejected");
+        this.retried = outcome(meterRegistry, "retried");
+        this.failed = outcome(meterRegistry, "failed");
+        var counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> new Thread(r, "amqp-publisher-" + counter.incrementAndGet()));
+        for (var i = 0; i < threads; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("owms.common.amqp.publisher.messages").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Object payload) {
+        var message = template.getMessageConverter().toMessage(payload, new MessageProperties());
+        return accept(new Unit(List.of(new Envelope(exchange, routingKey, message))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> publishInOrder(List<Envelope> envelopes) {
+        if (envelopes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return accept(new Unit(List.copyOf(envelopes)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The confirm timeout multiplied by the maximum number of attempts. The time is counted from accepting a unit, a unit that is still
+     * buffered or waits for a retry when it elapses is failed with a {@link java.util.concurrent.TimeoutException} and not sent again.
+     */
+    @Override
+    public Duration getDeliveryTimeout() {
+        return confirmTimeout.multipliedBy(maxAttempts);
+    }
+
+    private CompletableFuture<Void> accept(Unit unit) {
+        boolean accepted;
+        try {
+            accepted = !stopped && (overflow == OverflowPolicy.BLOCK
+                    ? buffer.offer(unit, maxBlock.toNanos(), TimeUnit.NANOSECONDS)
+                    : buffer.offer(unit));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejected.increment(unit.envelopes.size());
+            unit.future.completeExceptionally(new AmqpException("The publisher buffer is full, message to [%s] rejected".formatted(unit.destination())));
+            return unit.future;
+        }
+        return unit.future.orTimeout(getDeliveryTimeout().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void drain() {
+        while (!stopped || !buffer.isEmpty()) {
+            try {
+                var unit = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (unit != null) {
+                    send(unit);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Unit unit) {
+        if (unit.future.isDone()) {
+            expired(unit);
+            return;
+        }
+        unit.attempts++;
+        var confirmations = new ArrayList<CompletableFuture<CorrelationData.Confirm>>();
+        try {
+            for (var envelope : unit.envelopes.subList(unit.confirmed, unit.envelopes.size())) {
+                var correlation = new CorrelationData();
+                template.send(envelope.exchange(), envelope.routingKey(), envelope.message(), correlation);
+                confirmations.add(correlation.getFuture());
+            }
+        } catch (Exception e) {
+            retryOrFail(unit, e);
+            return;
+        }
+        if (!confirms) {
+            complete(unit);
+            return;
+        }
+        var remaining = unit.deadline - System.nanoTime();
+        CompletableFuture.allOf(confirmations.toArray(CompletableFuture[]::new))
+                .orTimeout(Math.max(0, Math.min(confirmTimeout.toNanos(), remaining)), TimeUnit.NANOSECONDS)
+                .whenComplete((v, e) -> {
+                    var nack = confirmations.stream()
+                            .filter(c -> !c.isDone() || c.isCompletedExceptionally() || !c.join().isAck())
+                            .findFirst();
+                    unit.confirmed += nack.map(confirmations::indexOf).orElse(confirmations.size());
+                    if (e != null) {
+                        retryOrFail(unit, e);
+                    } else if (nack.isPresent()) {
+                        retryOrFail(unit, new AmqpException("Message to [%s] not acknowledged: %s".formatted(unit.destination(), nack.get().join().getReason())));
+                    } else {
+                        complete(unit);
+                    }
+                });
+    }
+
+    private void complete(Unit unit) {
+        latency.record(System.nanoTime() - unit.acceptedAt, TimeUnit.NANOSECONDS);
+        published.increment(unit.envelopes.size());
+        unit.future.complete(null);
+    }
+
+    private void expired(Unit unit) {
+        failed.increment(unit.pending());
+        LOGGER.warn("Publishing [{}] messages to [{}] not completed within the delivery timeout after [{}] attempts", unit.pending(),
+                unit.destination(), unit.attempts);
+    }
+
+    private void retryOrFail(Unit unit, Throwable cause) {
+        if (unit.future.isDone()) {
+            expired(unit);
+            return;
+        }
+        if (unit.attempts < maxAttempts && !stopped && buffer.offerFirst(unit)) {
+            retried.increment(unit.pending());
+            return;
+        }
+        failed.increment(unit.pending());
+        LOGGER.warn("Publishing [{}] messages to [{}] failed after [{}] attempts: [{}]", unit.envelopes.size(), unit.destination(),
+                unit.attempts, cause.getMessage());
+        unit.future.completeExceptionally(cause);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopped = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("[{}] message units have not been published before shutdown", buffer.size());
+            executor.shutdownNow();
+        }
+    }
+
+    private final class Unit {
+        private final List<Envelope> envelopes;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final long acceptedAt = System.nanoTime();
+        private final long deadline = acceptedAt + getDeliveryTimeout().toNanos();
+        /** The number of leading envelopes the broker has acknowledged, a retry starts with the next one. */
+        private volatile int confirmed;
+        private volatile int attempts;
+
+        private Unit(List<Envelope> envelopes) {
+            this.envelopes = envelopes;
+        }
+
+        private int pending() {
+            return envelopes.size() - confirmed;
+        }
+
+        private String destination() {
+            var first = envelopes.get(0);
+            return first.exchange() + "/" + first.routingKey();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * An Envelope is an already converted {@link Message} together with its destination.
+ *
+ * @param exchange The name of the exchange to publish to
+ * @param routingKey The routing key of the message
+ * @param message The message to publish
+ * @author Heiko Scherrer
+ */
+public record Envelope(String exchange, String routingKey, Message message) {
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.lang.reflect.Type;
+
+/**
+ * A SmileMessageConverter encodes messages in the binary Smile format of Jackson. Smile uses the same data model and type information as
+ * the JSON converter, so all message objects and commands are supported without further mapping. Property names and short string values
+ * that occur more than once in a message, like the attributes of embedded {@code Location}s, are written only once and referenced
+ * afterwards.
+ * <p>
+ * The body is binary, therefore no content encoding is set on outgoing messages and an encoding of incoming messages is ignored.
+ *
+ * @author Heiko Scherrer
+ */
+public class SmileMessageConverter extends AbstractJackson2MessageConverter {
+
+    /** The content type of Smile encoded messages. */
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    public SmileMessageConverter() {
+        super(SmileMapper.builder(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .findAndAddModules()
+                .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build(), MimeType.valueOf(CONTENT_TYPE_SMILE), "*");
+    }
+
+    @Override
+    protected Message createMessage(Object objectToConvert, MessageProperties messageProperties, Type genericType) {
+        var message = super.createMessage(objectToConvert, messageProperties, genericType);
+        message.getMessageProperties().setContentEncoding(null);
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint) throws MessageConversionException {
+        message.getMessageProperties().setContentEncoding(null);
+        return super.fromMessage(message, conversionHint);
+    }
+}
@@ -31,8 +31,11 @@ import org.ameba.system.NestedReloadableResourceBundleMessageSource;
 import org.openwms.core.app.JSONConfiguration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.annotation.EnableCaching;
@@ -48,6 +51,7 @@ import org.springframework.data.envers.repository.config.EnableEnversRepositorie
 import org.springframework.data.envers.repository.support.EnversRevisionRepositoryFactoryBean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.CorsFilter;
@@ -57,6 +61,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
+import java.time.Duration;
 import java.util.Locale;
 import java.util.Properties;
 
@@ -82,13 +87,37 @@ import java.util.Properties;
 @Import(JSONConfiguration.class)
 public class CommonModuleConfiguration implements WebMvcConfigurer {
 
+    /**
+     * Scheduling is needed to relay the outbox and to refresh the in-memory caches and indexes. An application embedding this library
+     * can switch it off with {@code owms.common.scheduling.enabled=false}, if it does not want its own scheduled beans to be activated
+     * and takes care of these jobs itself.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(name = "owms.common.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+    static class SchedulingConfiguration {
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(localeChangeInterceptor());
     }
 
-    public @Bean RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    /**
+     * The RestTemplate uses pooled keep-alive connections and is bounded by connect and read timeouts, so that a slow remote service
+     * cannot block a caller indefinitely.
+     */
+    public @Bean RestTemplate restTemplate(RestTemplateBuilder builder,
+            @Value("${owms.common.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${owms.common.http.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${owms.common.http.max-connections:100}") int maxConnections,
+            @Value("${owms.common.http.max-connections-per-route:20}") int maxConnectionsPerRoute) {
+        return builder
+                .requestFactoryBuilder(ClientHttpRequestFactoryBuilder.httpComponents()
+                        .withConnectionManagerCustomizer(cm -> cm.setMaxConnTotal(maxConnections).setMaxConnPerRoute(maxConnectionsPerRoute)))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 
     @RefreshScope
@@ -96,6 +125,17 @@ public class CommonModuleConfiguration implements WebMvcConfigurer {
         return registry -> registry.config().commonTags("application", applicationName);
     }
 
+    /**
+     * Enable JDBC batching and ordered inserts and updates, unless these properties are explicitly configured.
+     */
+    public @Bean HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${owms.common.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
     public @Bean LocaleResolver localeResolver() {
         var slr = new SessionLocaleResolver();
         slr.setDefaultLocale(Locale.US);
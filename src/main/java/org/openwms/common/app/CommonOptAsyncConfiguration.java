@@ -17,17 +17,22 @@ package org.openwms.common.app;
 
 import org.ameba.amqp.RabbitTemplateConfigurable;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.amqp.SmileMessageConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.amqp.support.converter.SerializerMessageConverter;
@@ -66,14 +71,28 @@ class CommonOptAsyncConfiguration {
     public static final String DEAD_LETTER_EXCHANGE = "x-dead-letter-exchange";
     public static final String DEAD_LETTER_ROUTING_KEY = "x-dead-letter-routing-key";
 
+    /*
+     * The JSON and the Smile converter write in their own format but read both, delegated by the content type of the incoming message, so
+     * that services can switch the format one after the other.
+     */
     @ConditionalOnExpression("'${owms.common.serialization}'=='json'")
     @Bean
     MessageConverter messageConverter() {
-        var messageConverter = new Jackson2JsonMessageConverter();
+        var messageConverter = new ContentTypeDelegatingMessageConverter(new Jackson2JsonMessageConverter());
+        messageConverter.addDelegate(SmileMessageConverter.CONTENT_TYPE_SMILE, new SmileMessageConverter());
         BOOT_LOGGER.info("Using JSON serialization over AMQP");
         return messageConverter;
     }
 
+    @ConditionalOnExpression("'${owms.common.serialization}'=='smile'")
+    @Bean
+    MessageConverter smileMessageConverter() {
+        var messageConverter = new ContentTypeDelegatingMessageConverter(new SmileMessageConverter());
+        messageConverter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, new Jackson2JsonMessageConverter());
+        BOOT_LOGGER.info("Using Smile serialization over AMQP");
+        return messageConverter;
+    }
+
     @ConditionalOnExpression("'${owms.common.serialization}'=='barray'")
     @Bean
     MessageConverter serializerMessageConverter() {
@@ -103,6 +122,18 @@ class CommonOptAsyncConfiguration {
         return rabbitTemplate;
     }
 
+    /**
+     * The RabbitTemplate used by the asynchronous publisher has no RetryTemplate, because failed messages are retried by the publisher
+     * threads and not by blocking the sender.
+     */
+    @Bean(name = "publisherTemplate")
+    RabbitTemplate publisherTemplate(ConnectionFactory connectionFactory, ObjectProvider<MessageConverter> messageConverter) {
+        var rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setObservationEnabled(true);
+        rabbitTemplate.setMessageConverter(Objects.requireNonNull(messageConverter.getIfUnique()));
+        return rabbitTemplate;
+    }
+
     /*~ --------------- Exchanges --------------- */
     @RefreshScope
     @Bean DirectExchange dlExchange(
@@ -135,6 +166,10 @@ class CommonOptAsyncConfiguration {
     @Bean TopicExchange commonLocRegistrationCommandsExchange(@Value("${owms.commands.common.registration.exchange-name}") String exchangeName) {
         return new TopicExchange(exchangeName, true, false);
     }
+    @RefreshScope
+    @Bean FanoutExchange commonRegistrationEventsExchange(@Value("${owms.events.common.registration.exchange-name:common.registration}") String exchangeName) {
+        return new FanoutExchange(exchangeName, true, false);
+    }
     @Profile(SHIPPING_SUPPORT)
     @RefreshScope
     @Bean TopicExchange shippingExchange(@Value("${owms.events.shipping.exchange-name}") String exchangeName) {
@@ -173,6 +208,10 @@ class CommonOptAsyncConfiguration {
                 .withArgument(DEAD_LETTER_ROUTING_KEY, POISON_MESSAGE)
                 .build();
     }
+    /* Each instance consumes from its own queue, that is deleted when the instance stops, so all instances get all changes. */
+    @Bean Queue commonRegistrationEventsQueue() {
+        return new AnonymousQueue();
+    }
     @Profile(SHIPPING_SUPPORT)
     @RefreshScope
     @Bean Queue shippingSplitQueue(
@@ -230,6 +269,14 @@ class CommonOptAsyncConfiguration {
                 .to(commonLocRegistrationCommandsExchange)
                 .with(routingKey);
     }
+    @Bean Binding registrationEventsBinding(
+            @Qualifier("commonRegistrationEventsExchange") FanoutExchange commonRegistrationEventsExchange,
+            @Qualifier("commonRegistrationEventsQueue") Queue commonRegistrationEventsQueue
+    ) {
+        return BindingBuilder
+                .bind(commonRegistrationEventsQueue)
+                .to(commonRegistrationEventsExchange);
+    }
     @Profile(SHIPPING_SUPPORT)
     @RefreshScope
     @Bean Binding splitBinding(
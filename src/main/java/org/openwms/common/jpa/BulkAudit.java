@@ -0,0 +1,164 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.strategy.internal.DefaultAuditStrategy;
+import org.hibernate.metamodel.mapping.SelectableMapping;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A BulkAudit writes the Hibernate Envers audit rows for entities that are changed or deleted with bulk statements, because bulk
+ * statements bypass Envers. The rows are copied from the entity table into the audit table with one {@code INSERT ... SELECT} and
+ * belong to the revision of the current transaction.
+ * <p>
+ * Only the {@code DefaultAuditStrategy} is supported and only audit tables whose columns all exist in the entity table, e.g. no
+ * modified flags. Callers ask {@link #supports(Class)} upfront and change the entities through the persistence context otherwise.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+public class BulkAudit {
+
+    private final EntityManager em;
+    private final boolean auditing;
+    private final Map<Class<?>, Optional<AuditTable>> tables = new ConcurrentHashMap<>();
+
+    BulkAudit(EntityManager em, @Value("${spring.jpa.properties.hibernate.integration.envers.enabled:true}") boolean auditing) {
+        this.em = em;
+        this.auditing = auditing;
+    }
+
+    private record AuditTable(String name, String revision, String revisionType, String source, List<String> idColumns,
+                              List<String> columns, boolean storeDataAtDelete) {
+
+        String insert(RevisionType type, String keyColumn) {
+            var copied = String.join(", ", type == RevisionType.DEL && !storeDataAtDelete ? idColumns : columns);
+            return "insert into %s (%s, %s, %s) select :rev, :type, %s from %s where %s in (:keys)"
+                    .formatted(name, revision, revisionType, copied, copied, source, keyColumn);
+        }
+    }
+
+    /**
+     * Checks whether bulk statements on the {@code entityClass} can be used, either because auditing is disabled or because the audit
+     * rows can be written by this BulkAudit.
+     *
+     * @param entityClass The entity type changed with bulk statements
+     * @return {@literal true} if bulk statements can be used
+     */
+    public boolean supports(Class<?> entityClass) {
+        return !auditing || tableOf(entityClass).isPresent();
+    }
+
+    /**
+     * Write a modification revision for each entity whose {@code keyColumn} is one of the {@code keys}, called after the bulk update.
+     *
+     * @param entityClass The audited entity type
+     * @param keyColumn The column of the entity table to select by
+     * @param keys The values of the {@code keyColumn}
+     */
+    public void modified(Class<?> entityClass, String keyColumn, Collection<?> keys) {
+        write(entityClass, RevisionType.MOD, keyColumn, keys);
+    }
+
+    /**
+     * Write a deletion revision for each entity whose {@code keyColumn} is one of the {@code keys}, called before the bulk delete.
+     *
+     * @param entityClass The audited entity type
+     * @param keyColumn The column of the entity table to select by
+     * @param keys The values of the {@code keyColumn}
+     */
+    public void deleted(Class<?> entityClass, String keyColumn, Collection<?> keys) {
+        write(entityClass, RevisionType.DEL, keyColumn, keys);
+    }
+
+    private void write(Class<?> entityClass, RevisionType type, String keyColumn, Collection<?> keys) {
+        if (!auditing || keys.isEmpty()) {
+            return;
+        }
+        var table = tableOf(entityClass).orElseThrow(() -> new IllegalStateException(
+                "Audit rows of [%s] can't be written with bulk statements".formatted(entityClass.getName())));
+        var revision = AuditReaderFactory.get(em).getCurrentRevision(AuditableRevisionEntity.class, true);
+        em.flush();
+        em.createNativeQuery(table.insert(type, keyColumn))
+                .setParameter("rev", em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(revision))
+                .setParameter("type", type.getRepresentation())
+                .setParameter("keys", keys)
+                .executeUpdate();
+    }
+
+    private Optional<AuditTable> tableOf(Class<?> entityClass) {
+        return tables.computeIfAbsent(entityClass, this::resolve);
+    }
+
+    private Optional<AuditTable> resolve(Class<?> entityClass) {
+        var sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        var envers = sessionFactory.getServiceRegistry().getService(EnversService.class);
+        if (envers == null || !envers.isEnabled() || !(envers.getConfig().getAuditStrategy() instanceof DefaultAuditStrategy)) {
+            return Optional.empty();
+        }
+        var config = envers.getConfig();
+        var metamodel = sessionFactory.getMappingMetamodel();
+        var source = metamodel.findEntityDescriptor(entityClass.getName());
+        var audit = metamodel.findEntityDescriptor(config.getAuditEntityName(entityClass.getName()));
+        if (!(source instanceof AbstractEntityPersister sourcePersister) || !(audit instanceof AbstractEntityPersister auditPersister)) {
+            return Optional.empty();
+        }
+        var sourceColumns = columnsOf(source, sourcePersister.getTableName());
+        var idColumns = new ArrayList<String>();
+        source.getIdentifierMapping().forEachSelectable((i, s) -> idColumns.add(s.getSelectionExpression()));
+        var revision = config.getRevisionFieldName();
+        var revisionType = config.getRevisionTypePropertyName();
+        var columns = columnsOf(audit, auditPersister.getTableName()).stream()
+                .filter(c -> !c.equalsIgnoreCase(revision) && !c.equalsIgnoreCase(revisionType))
+                .toList();
+        var lowerCase = sourceColumns.stream().map(c -> c.toLowerCase(Locale.ROOT)).toList();
+        if (columns.isEmpty() || !columns.stream().allMatch(c -> lowerCase.contains(c.toLowerCase(Locale.ROOT)))) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuditTable(auditPersister.getTableName(), revision, revisionType, sourcePersister.getTableName(),
+                idColumns, columns, config.isStoreDataAtDelete()));
+    }
+
+    private static List<String> columnsOf(EntityPersister persister, String table) {
+        var result = new ArrayList<String>();
+        persister.forEachSelectable((i, s) -> addIfOf(result, s, table));
+        persister.getIdentifierMapping().forEachSelectable((i, s) -> addIfOf(result, s, table));
+        return result;
+    }
+
+    private static void addIfOf(List<String> columns, SelectableMapping selectable, String table) {
+        if (!selectable.isFormula() && table.equals(selectable.getContainingTableExpression())
+                && !columns.contains(selectable.getSelectionExpression())) {
+            columns.add(selectable.getSelectionExpression());
+        }
+    }
+}
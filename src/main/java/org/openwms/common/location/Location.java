@@ -21,17 +21,24 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.openwms.common.account.Account;
 import org.openwms.common.app.Default;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
@@ -56,6 +63,13 @@ import static org.openwms.common.location.StringListConverter.STRING_LIST_LENGTH
  * @see org.openwms.common.location.LocationGroup
  */
 @Entity
+@NamedEntityGraph(name = Location.GRAPH_LOOKUP, attributeNodes = @NamedAttributeNode("locationGroup"))
+@NamedEntityGraph(name = Location.GRAPH_MAPPING, attributeNodes = {
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("locationType"),
+        @NamedAttributeNode("locationGroup")
+})
+@BatchSize(size = 50)
 @Table(name = Location.TABLE, uniqueConstraints = {
         @UniqueConstraint(name = "UC_LOC_ID", columnNames = {"C_AREA", "C_AISLE", "C_X", "C_Y", "C_Z"}),
         @UniqueConstraint(name = "UC_LOC_PLC_CODE", columnNames = "C_PLC_CODE"),
@@ -65,6 +79,10 @@ public class Location extends Target implements Serializable {
 
     /** Table name. */
     public static final String TABLE = "COM_LOCATION";
+    /** Fetch plan to resolve a Location that is only checked or assigned within the current transaction. */
+    public static final String GRAPH_LOOKUP = "Location.lookup";
+    /** Fetch plan to load a Location with all associations that are mapped into its representations. */
+    public static final String GRAPH_MAPPING = "Location.mapping";
     private static final String CREATION_OF_LOCATION_WITH_LOCATION_ID_NULL = "Creation of Location with locationId null";
 
     /** Unique natural key. */
@@ -78,7 +96,7 @@ public class Location extends Target implements Serializable {
     private LocationPK locationId;
 
     /** The {@code Location} might be assigned to an {@link Account}. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_ACCOUNT", referencedColumnName = "C_IDENTIFIER", foreignKey = @ForeignKey(name = "FK_LOC_ACC"))
     private Account account;
 
@@ -115,9 +133,27 @@ public class Location extends Target implements Serializable {
     /** Default value of {@link #noMaxTransportUnits}. */
     public static final int DEF_MAX_TU = 1;
 
-    /** Maximum allowed weight on the {@code Location}. */
+    /** Maximum allowed weight on the {@code Location}, stored without unit in {@link #MAXIMUM_WEIGHT_UNIT}. */
     @Column(name = "C_MAXIMUM_WEIGHT")
     private BigDecimal maximumWeight;
+    /** The unit of the {@link #maximumWeight}, kilogram. */
+    public static final WeightUnit MAXIMUM_WEIGHT_UNIT = WeightUnit.KG;
+
+    /**
+     * Current number of {@code TransportUnit}s on the {@code Location}. Maintained with atomic updates by the {@link LocationService} and
+     * never written with the entity itself.
+     */
+    @ColumnDefault("0")
+    @Column(name = "C_NO_TRANSPORT_UNITS", nullable = false, updatable = false)
+    private int noTransportUnits = 0;
+
+    /**
+     * Current sum of the weights of all {@code TransportUnit}s on the {@code Location}, in gram (the base unit of a {@code Weight}).
+     * Maintained with atomic updates by the {@link LocationService} and never written with the entity itself.
+     */
+    @ColumnDefault("0")
+    @Column(name = "C_TOTAL_WEIGHT", nullable = false, updatable = false, precision = 19, scale = 3)
+    private BigDecimal totalWeight = BigDecimal.ZERO;
 
     /**
      * Date of last movement. When a {@code TransportUnit} is moving to or away from the {@code Location}, {@code lastMovement} is updated.
@@ -190,7 +226,7 @@ public class Location extends Target implements Serializable {
     public static final boolean DEF_CONSIDERED_IN_ALLOCATION = true;
 
     /** The {@link LocationType} the {@code Location} belongs to. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_LOCATION_TYPE", foreignKey = @ForeignKey(name = "FK_LOC_LT"))
     private LocationType locationType;
 
@@ -204,12 +240,13 @@ public class Location extends Target implements Serializable {
     private String classification;
 
     /** The {@link LocationGroup} the {@code Location} belongs to. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_LOCATION_GROUP", foreignKey = @ForeignKey(name = "FK_LOC_LG"))
     private LocationGroup locationGroup;
 
     /** Stored {@link Message}s on the {@code Location}. */
     @OneToMany(cascade = {CascadeType.ALL})
+    @BatchSize(size = 50)
     @JoinTable(name = "COM_LOCATION_MESSAGE",
             uniqueConstraints = @UniqueConstraint(name = "UC_LOCM_ID", columnNames = "C_MESSAGE_ID"),
             joinColumns = @JoinColumn(name = "C_LOCATION_ID", foreignKey = @ForeignKey(name = "FK_LOCM_LOCPK")),
@@ -494,7 +531,7 @@ public class Location extends Target implements Serializable {
     }
 
     /**
-     * Return the maximum allowed weight on the Location.
+     * Return the maximum allowed weight on the Location in {@link #MAXIMUM_WEIGHT_UNIT kilogram}.
      *
      * @return The maximum allowed weight
      */
@@ -502,6 +539,15 @@ public class Location extends Target implements Serializable {
         return this.maximumWeight;
     }
 
+    /**
+     * Return the maximum allowed weight on the Location converted to gram, the unit of the {@link #getTotalWeight() total weight}.
+     *
+     * @return The maximum allowed weight in gram, or {@literal null} if the Location has no maximum weight
+     */
+    public BigDecimal getMaximumWeightInGram() {
+        return maximumWeight == null ? null : Weight.of(maximumWeight, MAXIMUM_WEIGHT_UNIT).convertTo(WeightUnit.G).getMagnitude();
+    }
+
     /**
      * Returns an unmodifiable Set of {@link Message}s stored for the Location.
      *
@@ -520,6 +566,69 @@ public class Location extends Target implements Serializable {
         return noMaxTransportUnits;
     }
 
+    /**
+     * Returns the current number of {@code TransportUnit}s on the Location.
+     *
+     * @return The number of {@code TransportUnit}s
+     */
+    public int getNoTransportUnits() {
+        return noTransportUnits;
+    }
+
+    /**
+     * Returns the current sum of the weights of all {@code TransportUnit}s on the Location in gram.
+     *
+     * @return The total weight
+     */
+    public BigDecimal getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Add the given deltas to the occupation counters of this instance. This only changes the in-memory state, the persistent counters
+     * are changed by the {@link LocationService} only.
+     *
+     * @param transportUnits The number of {@code TransportUnit}s to add, negative to subtract
+     * @param weight The weight in gram to add, negative to subtract
+     */
+    public void addOccupation(int transportUnits, BigDecimal weight) {
+        this.noTransportUnits += transportUnits;
+        this.totalWeight = this.totalWeight == null ? weight : this.totalWeight.add(weight);
+    }
+
+    /**
+     * Returns the number of {@code TransportUnit}s that can still be put onto the Location.
+     *
+     * @return The remaining number, never negative
+     */
+    public int getRemainingTransportUnits() {
+        return Math.max(0, noMaxTransportUnits - noTransportUnits);
+    }
+
+    /**
+     * Returns the weight in gram that can still be put onto the Location.
+     *
+     * @return The remaining weight, never negative, or {@literal null} if the Location has no maximum weight
+     */
+    public BigDecimal getRemainingWeight() {
+        var maximum = getMaximumWeightInGram();
+        if (maximum == null) {
+            return null;
+        }
+        return maximum.subtract(totalWeight).max(BigDecimal.ZERO);
+    }
+
+    /**
+     * Checks whether the Location can not take any further {@code TransportUnit}, either because the maximum number of
+     * {@code TransportUnit}s is reached or because the maximum weight, converted to gram, is reached.
+     *
+     * @return {@literal true} if the Location is full
+     */
+    public boolean isFull() {
+        var maximum = getMaximumWeightInGram();
+        return getRemainingTransportUnits() == 0 || (maximum != null && totalWeight.compareTo(maximum) >= 0);
+    }
+
     /**
      * Determine whether outgoing mode is activated and {@code TransportUnit}s can leave this Location.
      *
@@ -15,13 +15,18 @@
  */
 package org.openwms.common.location;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 import org.ameba.exception.BusinessRuntimeException;
 import org.ameba.exception.NotFoundException;
 import org.ameba.http.MeasuredRestController;
 import org.ameba.i18n.Translator;
 import org.openwms.common.location.api.ErrorCodeVO;
+import org.openwms.common.location.api.LocationCapacityVO;
 import org.openwms.common.location.api.LocationVO;
 import org.openwms.common.location.api.LockMode;
 import org.openwms.common.location.api.LockType;
@@ -29,9 +34,13 @@ import org.openwms.common.location.api.ValidationGroups;
 import org.openwms.core.SpringProfiles;
 import org.openwms.core.http.AbstractWebController;
 import org.openwms.core.http.Index;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -42,10 +51,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
 import static org.openwms.common.CommonMessageCodes.LOCATION_ID_INVALID;
@@ -73,12 +89,17 @@ public class LocationController extends AbstractWebController {
     private final Translator translator;
     private final LocationService locationService;
     private final LocationRemovalManager locationRemovalManager;
+    private final ObjectMapper ndjsonMapper;
+    private final int maxPageSize;
 
-    LocationController(LocationService locationService, LocationMapper mapper, Translator translator, LocationRemovalManager locationRemovalManager) {
+    LocationController(LocationService locationService, LocationMapper mapper, Translator translator, LocationRemovalManager locationRemovalManager,
+            ObjectMapper objectMapper, @Value("${owms.common.location.max-page-size:1000}") int maxPageSize) {
         this.locationService = locationService;
         this.mapper = mapper;
         this.translator = translator;
         this.locationRemovalManager = locationRemovalManager;
+        this.ndjsonMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping(value = API_LOCATIONS)
@@ -116,17 +137,23 @@ public class LocationController extends AbstractWebController {
         return ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, LocationVO.MEDIA_TYPE).body(result);
     }
 
+    @GetMapping(value = API_LOCATIONS + "/{pKey}/capacity")
+    public ResponseEntity<LocationCapacityVO> findCapacityByPKey(@PathVariable("pKey") String pKey) {
+        var location = locationService.findByPKey(pKey);
+        return ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, LocationCapacityVO.MEDIA_TYPE)
+                .body(mapper.convertToCapacityVO(location));
+    }
+
     private void addSelfLink(LocationVO result) {
         result.add(linkTo(methodOn(LocationController.class).findByPKey(result.getpKey())).withRel("location-findbypkey"));
     }
 
     @GetMapping(value = API_LOCATIONS, params = {"locationId"})
     public ResponseEntity<LocationVO> findByCoordinate(@RequestParam("locationId") String locationId) {
-        if (!LocationPK.isValid(locationId)) {
-            // here we need to throw an NFE because Feign needs to cast it into an Optional. IAE won't work!
-            throw new NotFoundException(translator, LOCATION_ID_INVALID, new String[]{locationId}, locationId);
-        }
-        var location = locationService.findByLocationPk(LocationPK.fromString(locationId))
+        // here we need to throw an NFE because Feign needs to cast it into an Optional. IAE won't work!
+        var locationPK = LocationPK.tryParse(locationId)
+                .orElseThrow(() -> new NotFoundException(translator, LOCATION_ID_INVALID, new String[]{locationId}, locationId));
+        var location = locationService.findByLocationPk(locationPK)
                 .orElseThrow(() -> new NotFoundException(
                         translator,
                         LOCATION_NOT_FOUND_BY_ID,
@@ -165,10 +192,24 @@ public class LocationController extends AbstractWebController {
             @RequestParam("locationGroupNames") List<String> locationGroupNames) {
         var locations = locationService.findAllOf(locationGroupNames);
         var result = mapper.convertToVO(locations);
-        result.forEach(this::addSelfLink);
+        result.forEach(selfLinker());
         return ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, LocationVO.MEDIA_TYPE).body(result);
     }
 
+    @GetMapping(value = API_LOCATIONS, params = {"locationGroupNames", "limit"})
+    public ResponseEntity<List<LocationVO>> findPageForLocationGroups(
+            @RequestParam("locationGroupNames") List<String> locationGroupNames,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam("limit") @Positive int limit) {
+        var pageSize = Math.min(limit, maxPageSize);
+        return page(locationService.findAllOf(locationGroupNames, after, pageSize), pageSize);
+    }
+
+    @GetMapping(value = API_LOCATIONS, params = {"locationGroupNames"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamForLocationGroups(@RequestParam("locationGroupNames") List<String> locationGroupNames) {
+        return stream(consumer -> locationService.forEachOf(locationGroupNames, consumer));
+    }
+
     @PatchMapping(value = API_LOCATION + "/{pKey}", params = "op=change-state")
     public ResponseEntity<Void> changeState(
             @PathVariable(name = "pKey") String pKey,
@@ -188,6 +229,18 @@ public class LocationController extends AbstractWebController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping(value = API_LOCATIONS, params = "op=change-state")
+    public ResponseEntity<Void> changeStates(
+            @RequestParam(name = "op") String op,
+            @RequestBody @NotEmpty Map<String, ErrorCodeVO> errorCodes
+    ) {
+        var states = new HashMap<LocationPK, ErrorCodeVO>(errorCodes.size());
+        errorCodes.forEach((locationId, errorCode) -> states.put(LocationPK.tryParse(locationId).orElseThrow(
+                () -> new IllegalArgumentException(translator.translate(LOCATION_ID_INVALID, locationId))), errorCode));
+        locationService.changeStates(states);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Change the current {@code mode} a {@code Location}, identified by {@code erpCode}.
      *
@@ -202,13 +255,13 @@ public class LocationController extends AbstractWebController {
             @RequestParam("mode") LockMode mode,
             @RequestParam(value = "plcState", required = false) Integer plcState
     ) {
-        var location = locationService.findByErpCode(erpCode).orElseThrow(() -> locationNotFound(erpCode));
+        var location = locationService.findSnapshotByErpCode(erpCode).orElseThrow(() -> locationNotFound(erpCode));
         if (type == LockType.ALLOCATION_LOCK) {
             changeLocation(
                     mode,
                     location,
                     plcState,
-                    (l, code) -> locationService.changeState(l.getPersistentKey(), code)
+                    (l, code) -> locationService.changeState(l.pKey(), code)
             );
         } else {
             unsupportedOperation(type);
@@ -226,12 +279,85 @@ public class LocationController extends AbstractWebController {
     ) {
         var pk = LocationPK.of(area, aisle, x, y, z);
         var result = mapper.convertToVO(locationService.findLocations(pk));
-        result.forEach(this::addSelfLink);
+        result.forEach(selfLinker());
         return result.isEmpty()
                 ? ResponseEntity.notFound().build()
                 : ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, LocationVO.MEDIA_TYPE).body(result);
     }
 
+    @GetMapping(value = API_LOCATIONS, params = {"limit"})
+    public ResponseEntity<List<LocationVO>> findPageByCoordinate(
+            @RequestParam(value = "area", required = false, defaultValue = "%") String area,
+            @RequestParam(value = "aisle", required = false, defaultValue = "%") String aisle,
+            @RequestParam(value = "x", required = false, defaultValue = "%") String x,
+            @RequestParam(value = "y", required = false, defaultValue = "%") String y,
+            @RequestParam(value = "z", required = false, defaultValue = "%") String z,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam("limit") @Positive int limit
+    ) {
+        var pageSize = Math.min(limit, maxPageSize);
+        return page(locationService.findLocations(LocationPK.of(area, aisle, x, y, z), after, pageSize), pageSize);
+    }
+
+    @GetMapping(value = API_LOCATIONS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByCoordinate(
+            @RequestParam(value = "area", required = false, defaultValue = "%") String area,
+            @RequestParam(value = "aisle", required = false, defaultValue = "%") String aisle,
+            @RequestParam(value = "x", required = false, defaultValue = "%") String x,
+            @RequestParam(value = "y", required = false, defaultValue = "%") String y,
+            @RequestParam(value = "z", required = false, defaultValue = "%") String z
+    ) {
+        var pk = LocationPK.of(area, aisle, x, y, z);
+        return stream(consumer -> locationService.forEachLocation(pk, consumer));
+    }
+
+    /**
+     * Respond with one page of Locations. If the page is full, a link to the next page is added as {@code Link} header, where the
+     * primary key of the last Location is the cursor.
+     */
+    private ResponseEntity<List<LocationVO>> page(List<Location> locations, int pageSize) {
+        var result = mapper.convertToVO(locations);
+        result.forEach(selfLinker());
+        var response = ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, LocationVO.MEDIA_TYPE);
+        if (locations.size() == pageSize) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", locations.get(locations.size() - 1).getPk())
+                    .replaceQueryParam("limit", pageSize)
+                    .build(true)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, Link.of(next, IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(result);
+    }
+
+    /**
+     * Respond with all Locations provided by the {@code source} as newline delimited JSON. Each Location is mapped and written as
+     * soon as it is read, so the memory consumption does not depend on the number of Locations.
+     */
+    private ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<Location>> source) {
+        var selfLinker = selfLinker();
+        StreamingResponseBody body = out -> source.accept(location -> {
+            var vo = mapper.convertToVO(location);
+            selfLinker.accept(vo);
+            try {
+                out.write(ndjsonMapper.writeValueAsBytes(vo));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Build the self link of the {@code findByPKey} resource once per request, instead of introspecting the controller method for
+     * each Location. The returned function does not depend on the current request and may be used by other threads.
+     */
+    private Consumer<LocationVO> selfLinker() {
+        var template = linkTo(LocationController.class).toUriComponentsBuilder().path(API_LOCATIONS).path("/{pKey}").build();
+        return vo -> vo.add(Link.of(template.expand(vo.getpKey()).encode().toUriString(), "location-findbypkey"));
+    }
+
     @GetMapping(API_LOCATIONS + "/index")
     public ResponseEntity<Index> index() {
         return ResponseEntity.ok(
@@ -250,7 +376,7 @@ public class LocationController extends AbstractWebController {
         );
     }
 
-    private void changeLocation(LockMode mode, Target target, Integer plcState, BiConsumer<Target, ErrorCodeVO> fnc) {
+    private void changeLocation(LockMode mode, LocationSnapshot target, Integer plcState, BiConsumer<LocationSnapshot, ErrorCodeVO> fnc) {
         ErrorCodeVO state;
         switch (mode) {
             case IN -> {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A LocationCriteria describes the {@link Location}s searched for, e.g. by a put-away strategy. All given criteria must be met, whereas
+ * a Location meets a criterion with a set of values if it has at least one of the values. Criteria that are {@literal null} or empty
+ * are not considered.
+ *
+ * @param infeedActive Whether the Location must be open ({@literal true}) or blocked ({@literal false}) for infeed
+ * @param outfeedActive Whether the Location must be open ({@literal true}) or blocked ({@literal false}) for outfeed
+ * @param consideredInAllocation Whether the Location must be considered in allocation or not
+ * @param notFull {@literal true} to search only Locations that can take another {@code TransportUnit}
+ * @param locationTypes The names of the LocationTypes
+ * @param locationGroupNames The names of the LocationGroups the Location is directly assigned to
+ * @param stockZones The stock zones
+ * @param classifications The classifications
+ * @param labels The labels, the Location must have at least one of them
+ * @author Heiko Scherrer
+ */
+public record LocationCriteria(
+        Boolean infeedActive,
+        Boolean outfeedActive,
+        Boolean consideredInAllocation,
+        boolean notFull,
+        Set<String> locationTypes,
+        Set<String> locationGroupNames,
+        Set<String> stockZones,
+        Set<String> classifications,
+        Set<String> labels
+) {
+
+    public LocationCriteria {
+        locationTypes = locationTypes == null ? Set.of() : Set.copyOf(locationTypes);
+        locationGroupNames = locationGroupNames == null ? Set.of() : Set.copyOf(locationGroupNames);
+        stockZones = stockZones == null ? Set.of() : Set.copyOf(stockZones);
+        classifications = classifications == null ? Set.of() : Set.copyOf(classifications);
+        labels = labels == null ? Set.of() : Set.copyOf(labels);
+    }
+
+    /**
+     * Checks whether the given {@code location} meets all attribute criteria, not considering the occupation.
+     *
+     * @param location The Location to check
+     * @return {@literal true} if all attribute criteria are met
+     */
+    public boolean matchesAttributes(Location location) {
+        return (infeedActive == null || infeedActive == location.isInfeedActive())
+                && (outfeedActive == null || outfeedActive == location.isOutfeedActive())
+                && (consideredInAllocation == null || consideredInAllocation == location.isConsideredInAllocation())
+                && matches(locationTypes, location.getLocationType() == null ? null : location.getLocationType().getType())
+                && matches(locationGroupNames, location.getLocationGroup() == null ? null : location.getLocationGroup().getName())
+                && matches(stockZones, location.getStockZone())
+                && matches(classifications, location.getClassification())
+                && matchesAny(labels, location.getLabels());
+    }
+
+    /**
+     * Checks whether the given {@code location} meets all criteria.
+     *
+     * @param location The Location to check
+     * @return {@literal true} if all criteria are met
+     */
+    public boolean matches(Location location) {
+        return matchesAttributes(location) && (!notFull || !location.isFull());
+    }
+
+    private static boolean matches(Set<String> values, String value) {
+        return values.isEmpty() || (value != null && values.contains(value));
+    }
+
+    private static boolean matchesAny(Set<String> values, Collection<String> actual) {
+        return values.isEmpty() || (actual != null && actual.stream().anyMatch(values::contains));
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A Builder for {@link LocationCriteria}.
+     */
+    public static final class Builder {
+        private Boolean infeedActive;
+        private Boolean outfeedActive;
+        private Boolean consideredInAllocation;
+        private boolean notFull;
+        private Set<String> locationTypes;
+        private Set<String> locationGroupNames;
+        private Set<String> stockZones;
+        private Set<String> classifications;
+        private Set<String> labels;
+
+        private Builder() {
+        }
+
+        public Builder infeedActive(Boolean infeedActive) {
+            this.infeedActive = infeedActive;
+            return this;
+        }
+
+        public Builder outfeedActive(Boolean outfeedActive) {
+            this.outfeedActive = outfeedActive;
+            return this;
+        }
+
+        public Builder consideredInAllocation(Boolean consideredInAllocation) {
+            this.consideredInAllocation = consideredInAllocation;
+            return this;
+        }
+
+        public Builder notFull() {
+            this.notFull = true;
+            return this;
+        }
+
+        public Builder locationTypes(String... locationTypes) {
+            this.locationTypes = Set.of(locationTypes);
+            return this;
+        }
+
+        public Builder locationGroupNames(String... locationGroupNames) {
+            this.locationGroupNames = Set.of(locationGroupNames);
+            return this;
+        }
+
+        public Builder stockZones(String... stockZones) {
+            this.stockZones = Set.of(stockZones);
+            return this;
+        }
+
+        public Builder classifications(String... classifications) {
+            this.classifications = Set.of(classifications);
+            return this;
+        }
+
+        public Builder labels(String... labels) {
+            this.labels = Set.of(labels);
+            return this;
+        }
+
+        public LocationCriteria build() {
+            return new LocationCriteria(infeedActive, outfeedActive, consideredInAllocation, notFull, locationTypes, locationGroupNames,
+                    stockZones, classifications, labels);
+        }
+    }
+}
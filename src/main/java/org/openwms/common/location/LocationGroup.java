@@ -23,6 +23,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -51,7 +52,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "COM_LOCATION_GROUP", uniqueConstraints =
-    @UniqueConstraint(name = "UC_LG_NAME", columnNames = "C_NAME")
+    @UniqueConstraint(name = "UC_LG_NAME", columnNames = "C_NAME"),
+    indexes = @Index(name = "IDX_LG_PATH", columnList = "C_PATH")
 )
 public class LocationGroup extends Target implements Serializable {
 
@@ -121,6 +123,17 @@ public class LocationGroup extends Target implements Serializable {
     @JoinColumn(name = "C_PARENT", foreignKey = @ForeignKey(name = "FK_LG_LG_PARENT"))
     private LocationGroup parent;
 
+    /**
+     * The materialized path of primary keys from the top-level {@code LocationGroup} down to this one, like {@code /1000/1001/}. All
+     * descendants of a {@code LocationGroup} share its path as prefix.
+     */
+    @Column(name = "C_PATH", length = LENGTH_PATH)
+    private String path;
+    /** Length of the path field. */
+    public static final int LENGTH_PATH = 1024;
+    /** Separator between the primary keys of the path. */
+    public static final String PATH_SEPARATOR = "/";
+
     /** Child {@code LocationGroup}s. */
     @OneToMany(mappedBy = "parent", cascade = {CascadeType.ALL})
     private Set<LocationGroup> locationGroups = new HashSet<>();
@@ -224,10 +237,19 @@ public class LocationGroup extends Target implements Serializable {
      * @see LocationGroupMode
      */
     public void setOperationMode(@NotBlank String operationMode) {
-        this.operationMode = operationMode;
+        setOwnOperationMode(operationMode);
         this.locationGroups.forEach(lg -> lg.setOperationMode(operationMode));
     }
 
+    /**
+     * Set the current operation mode of this {@code LocationGroup} only, the child {@code LocationGroup}s are not touched.
+     *
+     * @param operationMode The mode as an extensible String
+     */
+    public void setOwnOperationMode(@NotBlank String operationMode) {
+        this.operationMode = operationMode;
+    }
+
     /**
      * Returns the infeed state of the {@code LocationGroup}.
      *
@@ -243,11 +265,21 @@ public class LocationGroup extends Target implements Serializable {
      * @param newGroupStateIn The state to set
      */
     public void changeGroupStateIn(LocationGroupState newGroupStateIn) {
+        changeOwnGroupStateIn(newGroupStateIn);
+        locationGroups.forEach(lg -> lg.changeGroupStateIn(newGroupStateIn, this));
+    }
+
+    /**
+     * Change the infeed state of this {@code LocationGroup} only, the child {@code LocationGroup}s are not touched.
+     *
+     * @param newGroupStateIn The state to set
+     * @throws StateChangeException if the state is locked by another {@code LocationGroup}
+     */
+    public void changeOwnGroupStateIn(LocationGroupState newGroupStateIn) {
         if (stateInLocker != null && stateInLocker != this) {
             throw new StateChangeException("The LocationGroup's state is blocked by any other LocationGroup and cannot be changed");
         }
         groupStateIn = newGroupStateIn;
-        locationGroups.forEach(lg -> lg.changeGroupStateIn(newGroupStateIn, this));
     }
 
     /**
@@ -257,6 +289,17 @@ public class LocationGroup extends Target implements Serializable {
      * @param lockLG The {@code LocationGroup} that wants to lock/unlock this {@code LocationGroup}.
      */
     private void changeGroupStateIn(LocationGroupState newGroupStateIn, LocationGroup lockLG) {
+        changeOwnGroupStateIn(newGroupStateIn, lockLG);
+        locationGroups.forEach(lg -> lg.changeGroupStateIn(newGroupStateIn, lockLG));
+    }
+
+    /**
+     * Change the infeed state of this {@code LocationGroup} only and keep track of the locking {@code LocationGroup}.
+     *
+     * @param newGroupStateIn The state to set
+     * @param lockLG The {@code LocationGroup} that wants to lock/unlock this {@code LocationGroup}.
+     */
+    public void changeOwnGroupStateIn(LocationGroupState newGroupStateIn, LocationGroup lockLG) {
         if (groupStateIn == LocationGroupState.NOT_AVAILABLE && newGroupStateIn == LocationGroupState.AVAILABLE) {
 
             // unlock
@@ -268,7 +311,6 @@ public class LocationGroup extends Target implements Serializable {
             stateInLocker = lockLG;
         }
         groupStateIn = newGroupStateIn;
-        locationGroups.forEach(lg -> lg.changeGroupStateIn(newGroupStateIn, lockLG));
     }
 
     /**
@@ -286,11 +328,21 @@ public class LocationGroup extends Target implements Serializable {
      * @param newGroupStateOut The state to set
      */
     public void changeGroupStateOut(LocationGroupState newGroupStateOut) {
+        changeOwnGroupStateOut(newGroupStateOut);
+        locationGroups.forEach(lg -> lg.changeGroupStateOut(newGroupStateOut, this));
+    }
+
+    /**
+     * Change the outfeed state of this {@code LocationGroup} only, the child {@code LocationGroup}s are not touched.
+     *
+     * @param newGroupStateOut The state to set
+     * @throws StateChangeException if the state is locked by another {@code LocationGroup}
+     */
+    public void changeOwnGroupStateOut(LocationGroupState newGroupStateOut) {
         if (stateOutLocker != null && stateOutLocker != this) {
             throw new StateChangeException("The LocationGroup's state is blocked by any other LocationGroup and cannot be changed");
         }
         groupStateOut = newGroupStateOut;
-        locationGroups.forEach(lg -> lg.changeGroupStateOut(newGroupStateOut, this));
     }
 
     /**
@@ -300,20 +352,33 @@ public class LocationGroup extends Target implements Serializable {
      * @param lockLg The {@code LocationGroup} that wants to lock/unlock this {@code LocationGroup}.
      */
     void changeGroupStateOut(LocationGroupState gStateOut, LocationGroup lockLg) {
-        if (this.groupStateOut == LocationGroupState.NOT_AVAILABLE && gStateOut == LocationGroupState.AVAILABLE && (this.stateOutLocker == null || this.stateOutLocker.equals(lockLg))) {
-            this.groupStateOut = gStateOut;
-            this.stateOutLocker = null;
+        if (changeOwnGroupStateOut(gStateOut, lockLg)) {
             for (LocationGroup child : locationGroups) {
                 child.changeGroupStateOut(gStateOut, lockLg);
             }
         }
+    }
+
+    /**
+     * Set the outfeed state of this {@code LocationGroup} only, if it is not locked by any other {@code LocationGroup} than
+     * {@code lockLg}.
+     *
+     * @param gStateOut The state to set
+     * @param lockLg The {@code LocationGroup} that wants to lock/unlock this {@code LocationGroup}.
+     * @return {@literal true} if the state has been changed, the child {@code LocationGroup}s must follow then
+     */
+    public boolean changeOwnGroupStateOut(LocationGroupState gStateOut, LocationGroup lockLg) {
+        if (this.groupStateOut == LocationGroupState.NOT_AVAILABLE && gStateOut == LocationGroupState.AVAILABLE && (this.stateOutLocker == null || this.stateOutLocker.equals(lockLg))) {
+            this.groupStateOut = gStateOut;
+            this.stateOutLocker = null;
+            return true;
+        }
         if (this.groupStateOut == LocationGroupState.AVAILABLE && gStateOut == LocationGroupState.NOT_AVAILABLE && (this.stateOutLocker == null || this.stateOutLocker.equals(lockLg))) {
             this.groupStateOut = gStateOut;
             this.stateOutLocker = lockLg;
-            for (LocationGroup child : locationGroups) {
-                child.changeGroupStateOut(gStateOut, lockLg);
-            }
+            return true;
         }
+        return false;
     }
 
     /**
@@ -400,6 +465,28 @@ public class LocationGroup extends Target implements Serializable {
         this.parent = parent;
     }
 
+    /**
+     * Returns the materialized path of this {@code LocationGroup}.
+     *
+     * @return The path, or {@literal null} if not assigned yet
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Assign the materialized path from the path of the parent {@code LocationGroup} and the own primary key. The path stays unassigned
+     * as long as the parent {@code LocationGroup} has no path.
+     */
+    public void assignPath() {
+        Assert.notNull(getPk(), () -> "Path of a transient LocationGroup cannot be assigned. this: " + this);
+        if (parent == null) {
+            this.path = PATH_SEPARATOR + getPk() + PATH_SEPARATOR;
+        } else {
+            this.path = parent.getPath() == null ? null : parent.getPath() + getPk() + PATH_SEPARATOR;
+        }
+    }
+
     /**
      * Return all child {@code LocationGroup}.
      *
@@ -573,22 +660,49 @@ public class LocationGroup extends Target implements Serializable {
      * @param stateOut The new groupStateOut to set, or {@literal null}
      */
     public void changeState(LocationGroupState stateIn, LocationGroupState stateOut) {
-        if (groupStateIn != stateIn && stateIn != null) {
-            // GroupStateIn changed
-            if (parent != null && parent.getGroupStateIn() == LocationGroupState.NOT_AVAILABLE && groupStateIn == LocationGroupState.AVAILABLE) {
-                throw new ServiceLayerException("Not allowed to change GroupStateIn, parent locationGroup is not available");
-            }
-            changeGroupStateIn(stateIn, this);
+        if (changeOwnStateIn(stateIn)) {
+            locationGroups.forEach(lg -> lg.changeGroupStateIn(stateIn, this));
         }
-        if (groupStateOut != stateOut && stateOut != null) {
-            // GroupStateOut changed
-            if (parent != null && parent.getGroupStateOut() == LocationGroupState.NOT_AVAILABLE && groupStateOut == LocationGroupState.AVAILABLE) {
-                throw new ServiceLayerException("Not allowed to change GroupStateOut, parent locationGroup is not available");
+        if (changeOwnStateOut(stateOut)) {
+            for (LocationGroup child : locationGroups) {
+                child.changeGroupStateOut(stateOut, this);
             }
-            changeGroupStateOut(stateOut, this);
         }
     }
 
+    /**
+     * Tries to change the {@code groupStateIn} of this {@code LocationGroup} only, the child {@code LocationGroup}s are not touched.
+     *
+     * @param stateIn The new groupStateIn to set, or {@literal null}
+     * @return {@literal true} if the state has been changed, the child {@code LocationGroup}s must follow then
+     */
+    public boolean changeOwnStateIn(LocationGroupState stateIn) {
+        if (groupStateIn == stateIn || stateIn == null) {
+            return false;
+        }
+        if (parent != null && parent.getGroupStateIn() == LocationGroupState.NOT_AVAILABLE && groupStateIn == LocationGroupState.AVAILABLE) {
+            throw new ServiceLayerException("Not allowed to change GroupStateIn, parent locationGroup is not available");
+        }
+        changeOwnGroupStateIn(stateIn, this);
+        return true;
+    }
+
+    /**
+     * Tries to change the {@code groupStateOut} of this {@code LocationGroup} only, the child {@code LocationGroup}s are not touched.
+     *
+     * @param stateOut The new groupStateOut to set, or {@literal null}
+     * @return {@literal true} if the state has been changed, the child {@code LocationGroup}s must follow then
+     */
+    public boolean changeOwnStateOut(LocationGroupState stateOut) {
+        if (groupStateOut == stateOut || stateOut == null) {
+            return false;
+        }
+        if (parent != null && parent.getGroupStateOut() == LocationGroupState.NOT_AVAILABLE && groupStateOut == LocationGroupState.AVAILABLE) {
+            throw new ServiceLayerException("Not allowed to change GroupStateOut, parent locationGroup is not available");
+        }
+        return changeOwnGroupStateOut(stateOut, this);
+    }
+
     /**
      * Whether this LocationGroup has a parent LocationGroup or not.
      *
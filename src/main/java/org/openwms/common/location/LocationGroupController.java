@@ -32,7 +32,6 @@ import org.openwms.core.http.Index;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -95,27 +94,54 @@ public class LocationGroupController extends AbstractWebController {
         return ResponseEntity.created(location).body(mapper.convertToVO(result));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Find a LocationGroup by its unique name. The response is served from the in-memory {@link LocationGroupTree} and carries its
+     * version as ETag, so a client can poll with {@code If-None-Match} and gets a {@code 304} as long as nothing has changed.
+     *
+     * @param name The name of the LocationGroup
+     * @return The LocationGroup with all children
+     */
     @GetMapping(value = API_LOCATION_GROUPS, params = {"name"})
-    public LocationGroupVO findByName(
+    public ResponseEntity<LocationGroupVO> findByName(
             @RequestParam("name") String name
     ) {
-        var locationGroup = locationGroupService.findByName(name)
+        var tree = locationGroupService.getTree();
+        var locationGroup = tree.findByName(name)
                 .orElseThrow(() -> new NotFoundException(translator, LOCATION_GROUP_NOT_FOUND, new String[]{name}, name));
-        var result = mapper.convertToVO(locationGroup);
+        var result = mapper.convertToVO(tree, locationGroup);
         if (locationGroup.hasParent()) {
             result.add(new SimpleLink(linkTo(methodOn(LocationGroupController.class)
-                    .findByName(locationGroup.getParent().getName())).withRel(PARENT)));
+                    .findByName(locationGroup.parentName())).withRel(PARENT)));
         }
-        return result;
+        return ResponseEntity.ok().eTag(tree.getVersion()).body(result);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Find all LocationGroups with the given names, served from the in-memory {@link LocationGroupTree}.
+     *
+     * @param names The names of the LocationGroups
+     * @return The LocationGroups with all children
+     */
     @GetMapping(value = API_LOCATION_GROUPS, params = {"names"})
-    public List<LocationGroupVO> findByNames(
+    public ResponseEntity<List<LocationGroupVO>> findByNames(
             @RequestParam("names") List<String> names
     ) {
-        var vos = mapper.convertToVO(locationGroupService.findByNames(names));
+        var tree = locationGroupService.getTree();
+        return ResponseEntity.ok().eTag(tree.getVersion()).body(withParentLinks(mapper.convertToVO(tree, tree.findByNames(names))));
+    }
+
+    /**
+     * Find all LocationGroups, served from the in-memory {@link LocationGroupTree}.
+     *
+     * @return All LocationGroups
+     */
+    @GetMapping(API_LOCATION_GROUPS)
+    public ResponseEntity<List<LocationGroupVO>> findAll() {
+        var tree = locationGroupService.getTree();
+        return ResponseEntity.ok().eTag(tree.getVersion()).body(withParentLinks(mapper.convertToVO(tree, tree.findAll())));
+    }
+
+    private List<LocationGroupVO> withParentLinks(List<LocationGroupVO> vos) {
         vos.forEach(lg -> {
             if (lg.hasParent()) {
                 lg.add(new SimpleLink(linkTo(methodOn(LocationGroupController.class)
@@ -125,20 +151,6 @@ public class LocationGroupController extends AbstractWebController {
         return vos;
     }
 
-    @Transactional(readOnly = true)
-    @GetMapping(API_LOCATION_GROUPS)
-    public List<LocationGroupVO> findAll() {
-        var result = mapper.convertToVO(locationGroupService.findAll());
-        result.forEach(lg -> {
-                    if (lg.hasParent()) {
-                        lg.add(new SimpleLink(linkTo(methodOn(LocationGroupController.class)
-                                .findByName(lg.getParent())).withRel(PARENT)));
-                    }
-                }
-        );
-        return result;
-    }
-
     @PatchMapping(value = API_LOCATION_GROUPS, params = {"name", "op=change-state"})
     public ResponseEntity<Void> changeGroupState(
             @RequestParam(name = "name") String name,
@@ -23,7 +23,9 @@ import org.openwms.common.location.api.LocationGroupVO;
 import org.openwms.common.location.api.messages.LocationGroupMO;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.openwms.common.CommonMessageCodes.LOCATION_GROUP_NOT_FOUND;
 
@@ -76,4 +78,36 @@ public abstract class LocationGroupMapper {
     public abstract LocationGroupMO convertToMO(LocationGroup eo);
 
     public abstract List<LocationGroupVO> convertToVO(List<LocationGroup> eo);
+
+    /**
+     * Map a {@link LocationGroupSnapshot} together with all its descendants taken from the {@code tree}.
+     *
+     * @param tree The tree the snapshot belongs to
+     * @param snapshot The snapshot to map
+     * @return The VO
+     */
+    public LocationGroupVO convertToVO(LocationGroupTree tree, LocationGroupSnapshot snapshot) {
+        var result = new LocationGroupVO(snapshot.name(), snapshot.groupStateIn(), snapshot.groupStateOut());
+        result.setpKey(snapshot.pKey());
+        result.setAccountId(snapshot.accountId());
+        result.setDescription(snapshot.description());
+        result.setGroupType(snapshot.groupType());
+        result.setParent(snapshot.parentName());
+        result.setOperationMode(snapshot.operationMode());
+        result.setCreateDt(snapshot.createDt());
+        result.setChildren(tree.getChildren(snapshot.name()).stream().map(child -> convertToVO(tree, child))
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return result;
+    }
+
+    /**
+     * Map a list of {@link LocationGroupSnapshot}s together with all their descendants taken from the {@code tree}.
+     *
+     * @param tree The tree the snapshots belong to
+     * @param snapshots The snapshots to map
+     * @return The VOs
+     */
+    public List<LocationGroupVO> convertToVO(LocationGroupTree tree, List<LocationGroupSnapshot> snapshots) {
+        return snapshots.stream().map(snapshot -> convertToVO(tree, snapshot)).collect(Collectors.toCollection(ArrayList::new));
+    }
 }
@@ -104,6 +104,22 @@ public interface LocationGroupService {
      */
     @NotNull List<LocationGroup> findByNames(@NotEmpty List<String> locationGroupNames);
 
+    /**
+     * Return the current snapshot of all {@link LocationGroup}s that is held in memory and kept up-to-date with the changes done by
+     * this service.
+     *
+     * @return The snapshot, never {@literal null}
+     */
+    @NotNull LocationGroupTree getTree();
+
+    /**
+     * Discard the in-memory snapshot and load all {@link LocationGroup}s from the database, e.g. after they have been changed by a
+     * database script.
+     *
+     * @return The new snapshot, never {@literal null}
+     */
+    @NotNull LocationGroupTree reloadTree();
+
     /**
      * Delete a {@link LocationGroup} with all attached sub-groups and {@code Location}s.
      *
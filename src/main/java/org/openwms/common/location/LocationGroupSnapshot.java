@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import org.openwms.common.location.api.LocationGroupState;
+
+import java.time.LocalDateTime;
+
+/**
+ * A LocationGroupSnapshot is an immutable copy of a {@link LocationGroup} with its states, the operation mode, the subsystem data and
+ * the number of assigned {@link Location}s, held by a {@link LocationGroupTree}.
+ *
+ * @param pk The technical primary key
+ * @param pKey The persistent key
+ * @param name The unique name
+ * @param accountId The identifier of the assigned Account, may be {@literal null}
+ * @param description The description text
+ * @param groupType The type of the LocationGroup
+ * @param parentName The name of the parent LocationGroup, {@literal null} for top-level LocationGroups
+ * @param operationMode The current operation mode
+ * @param groupStateIn The infeed state
+ * @param groupStateOut The outfeed state
+ * @param systemName The name of the managing subsystem, may be {@literal null}
+ * @param systemCode The code of the managing subsystem, may be {@literal null}
+ * @param noLocations The number of Locations directly assigned to the LocationGroup
+ * @param path The materialized path, may be {@literal null}
+ * @param createDt When the LocationGroup has been created
+ * @author Heiko Scherrer
+ */
+public record LocationGroupSnapshot(Long pk, String pKey, String name, String accountId, String description, String groupType,
+                                    String parentName, String operationMode, LocationGroupState groupStateIn,
+                                    LocationGroupState groupStateOut, String systemName, String systemCode, long noLocations,
+                                    String path, LocalDateTime createDt) {
+
+    /**
+     * Check whether the LocationGroup has a parent LocationGroup.
+     *
+     * @return {@literal true} if it has a parent
+     */
+    public boolean hasParent() {
+        return parentName != null;
+    }
+
+    /**
+     * Create a copy with a changed number of assigned Locations.
+     *
+     * @param delta The number of added (positive) or removed (negative) Locations
+     * @return The copy
+     */
+    public LocationGroupSnapshot withLocations(long delta) {
+        return new LocationGroupSnapshot(pk, pKey, name, accountId, description, groupType, parentName, operationMode, groupStateIn,
+                groupStateOut, systemName, systemCode, Math.max(0, noLocations + delta), path, createDt);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A LocationGroupTree is an immutable snapshot of all {@link LocationGroup}s and their hierarchy. A change is never applied to an
+ * existing instance, instead a copy is created with {@link #with(Collection, Collection)} and replaces the current one. Each
+ * instance carries a version that is a hash of its content, so all instances of the service return the same version for the same
+ * data and clients can compare versions instead of data.
+ *
+ * @author Heiko Scherrer
+ */
+public final class LocationGroupTree {
+
+    private static final Comparator<LocationGroupSnapshot> BY_PK = Comparator.comparing(LocationGroupSnapshot::pk);
+    private final String version;
+    private final Map<String, LocationGroupSnapshot> byName;
+    private final Map<String, List<LocationGroupSnapshot>> children;
+
+    private LocationGroupTree(Collection<LocationGroupSnapshot> groups) {
+        var sorted = new LinkedHashMap<String, LocationGroupSnapshot>();
+        var childrenOf = new HashMap<String, List<LocationGroupSnapshot>>();
+        groups.stream().sorted(BY_PK).forEach(lg -> {
+            sorted.put(lg.name(), lg);
+            if (lg.hasParent()) {
+                childrenOf.computeIfAbsent(lg.parentName(), k -> new ArrayList<>()).add(lg);
+            }
+        });
+        childrenOf.replaceAll((k, v) -> List.copyOf(v));
+        this.byName = unmodifiableMap(sorted);
+        this.children = unmodifiableMap(childrenOf);
+        this.version = hash(sorted.values());
+    }
+
+    private static String hash(Collection<LocationGroupSnapshot> groups) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            groups.forEach(lg -> digest.update(lg.toString().getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    /**
+     * Create a new tree.
+     *
+     * @param groups All LocationGroups
+     * @return The instance
+     */
+    public static LocationGroupTree of(Collection<LocationGroupSnapshot> groups) {
+        return new LocationGroupTree(groups);
+    }
+
+    /**
+     * Create a copy of this tree where the subtrees of the {@code removed} LocationGroups are dropped and the {@code changed}
+     * LocationGroups are added or replaced.
+     *
+     * @param removed The names of the LocationGroups to remove together with all their descendants
+     * @param changed The LocationGroups to add or replace
+     * @return The new tree
+     */
+    public LocationGroupTree with(Collection<String> removed, Collection<LocationGroupSnapshot> changed) {
+        var names = new HashSet<String>();
+        removed.forEach(name -> streamSubtree(name).map(LocationGroupSnapshot::name).forEach(names::add));
+        changed.forEach(lg -> names.add(lg.name()));
+        var groups = new ArrayList<LocationGroupSnapshot>(byName.size() + changed.size());
+        byName.values().stream().filter(lg -> !names.contains(lg.name())).forEach(groups::add);
+        groups.addAll(changed);
+        return new LocationGroupTree(groups);
+    }
+
+    /**
+     * Create a copy of this tree where the number of assigned Locations of the given LocationGroups is changed. Unknown LocationGroups
+     * are ignored.
+     *
+     * @param deltas The number of added (positive) or removed (negative) Locations per LocationGroup name
+     * @return The new tree
+     */
+    public LocationGroupTree withLocations(Map<String, Long> deltas) {
+        var changed = deltas.entrySet().stream()
+                .filter(e -> byName.containsKey(e.getKey()))
+                .map(e -> byName.get(e.getKey()).withLocations(e.getValue()))
+                .toList();
+        return changed.isEmpty() ? this : with(List.of(), changed);
+    }
+
+    /**
+     * Returns the version of the tree, a hash of its content.
+     *
+     * @return The version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Return all LocationGroups ordered by their primary key.
+     *
+     * @return All LocationGroups
+     */
+    public List<LocationGroupSnapshot> findAll() {
+        return List.copyOf(byName.values());
+    }
+
+    /**
+     * Find a LocationGroup by its unique name.
+     *
+     * @param name The name
+     * @return The LocationGroup
+     */
+    public Optional<LocationGroupSnapshot> findByName(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    /**
+     * Find all LocationGroups with the given names, ordered by their primary key. Unknown names are ignored.
+     *
+     * @param names The names
+     * @return The LocationGroups
+     */
+    public List<LocationGroupSnapshot> findByNames(Collection<String> names) {
+        Set<String> wanted = new HashSet<>(names);
+        return byName.values().stream().filter(lg -> wanted.contains(lg.name())).toList();
+    }
+
+    /**
+     * Return the direct children of a LocationGroup ordered by their primary key.
+     *
+     * @param name The name of the parent LocationGroup
+     * @return The children
+     */
+    public List<LocationGroupSnapshot> getChildren(String name) {
+        return children.getOrDefault(name, List.of());
+    }
+
+    /**
+     * Stream the LocationGroup and all its descendants.
+     *
+     * @param name The name of the LocationGroup
+     * @return The LocationGroup followed by its descendants, empty if not existing
+     */
+    public Stream<LocationGroupSnapshot> streamSubtree(String name) {
+        return findByName(name).stream().flatMap(lg -> Stream.concat(Stream.of(lg),
+                getChildren(lg.name()).stream().flatMap(c -> streamSubtree(c.name()))));
+    }
+
+    /**
+     * Returns the number of LocationGroups.
+     *
+     * @return The number
+     */
+    public int size() {
+        return byName.size();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.servlet.http.HttpServletRequest;
+import org.ameba.http.MeasuredRestController;
+import org.ameba.i18n.Translator;
+import org.openwms.common.location.api.ImportReportVO;
+import org.openwms.common.location.api.LocationGroupVO;
+import org.openwms.common.location.api.LocationVO;
+import org.openwms.core.SpringProfiles;
+import org.openwms.core.http.AbstractWebController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static org.openwms.common.CommonMessageCodes.IMPORT_ROW_UNREADABLE;
+import static org.openwms.common.location.api.LocationApiConstants.API_LOCATIONS;
+import static org.openwms.common.location.api.LocationApiConstants.API_LOCATION_GROUPS;
+
+/**
+ * A LocationImportController accepts a stream of {@code Location}s or {@code LocationGroup}s, either as newline delimited JSON or as
+ * CSV with a header line, and passes them in chunks to the {@link LocationImportService}. The source is read row by row, so the
+ * size of the import is not limited by the available memory.
+ * <p>
+ * Each chunk is committed on its own. If a chunk fails, it is rolled back and the import stops with a partial report that names the
+ * failed chunk, the response status is {@code 500} in that case.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile("!" + SpringProfiles.IN_MEMORY)
+@Validated
+@MeasuredRestController
+public class LocationImportController extends AbstractWebController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationImportController.class);
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader());
+    /** The media type of CSV sources. */
+    public static final String TEXT_CSV = "text/csv";
+    private final LocationImportService importService;
+    private final ObjectMapper objectMapper;
+    private final Translator translator;
+    private final int chunkSize;
+
+    LocationImportController(LocationImportService importService, ObjectMapper objectMapper, Translator translator,
+            @Value("${owms.common.location.import.chunk-size:500}") int chunkSize) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+        this.translator = translator;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostMapping(value = API_LOCATIONS + "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public ResponseEntity<ImportReportVO> importLocations(HttpServletRequest req) throws IOException {
+        return response(importRows(req, LocationVO.class, importService::importLocations));
+    }
+
+    @PostMapping(value = API_LOCATION_GROUPS + "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public ResponseEntity<ImportReportVO> importLocationGroups(HttpServletRequest req) throws IOException {
+        return response(importRows(req, LocationGroupVO.class, importService::importLocationGroups));
+    }
+
+    private static ResponseEntity<ImportReportVO> response(ImportReportVO report) {
+        return ResponseEntity.status(report.isComplete() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                .header(HttpHeaders.CONTENT_TYPE, ImportReportVO.MEDIA_TYPE)
+                .body(report);
+    }
+
+    private <T> ImportReportVO importRows(HttpServletRequest req, Class<T> type, Function<Map<Long, T>, ImportReportVO> importer)
+            throws IOException {
+        var csv = MediaType.parseMediaType(req.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV));
+        var report = new ImportReportVO();
+        var chunk = new LinkedHashMap<Long, T>(chunkSize);
+        BiPredicate<Long, T> rows = (row, item) -> {
+            chunk.put(row, item);
+            return chunk.size() < chunkSize || importChunk(chunk, importer, report);
+        };
+        try (var reader = new BufferedReader(new InputStreamReader(req.getInputStream(), StandardCharsets.UTF_8))) {
+            var completed = csv ? readCsv(reader, type, report, rows) : readNdjson(reader, type, report, rows);
+            if (completed && !chunk.isEmpty()) {
+                importChunk(chunk, importer, report);
+            }
+        }
+        LOGGER.info("Import of [{}]s finished [{}]", type.getSimpleName(), report);
+        return report;
+    }
+
+    private <T> boolean readNdjson(BufferedReader reader, Class<T> type, ImportReportVO report, BiPredicate<Long, T> rows)
+            throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                if (!rows.test(row, objectMapper.readValue(line, type))) {
+                    return false;
+                }
+            } catch (JsonProcessingException e) {
+                report.reject(row, null, translator.translate(IMPORT_ROW_UNREADABLE, e.getOriginalMessage()));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the CSV rows with the names of the properties taken from the header line. Fields may be enclosed in double quotes, empty
+     * fields are left unset and surplus fields are ignored.
+     */
+    private <T> boolean readCsv(BufferedReader reader, Class<T> type, ImportReportVO report, BiPredicate<Long, T> rows)
+            throws IOException {
+        try (MappingIterator<Map<String, String>> it = CSV_READER.readValues(reader)) {
+            while (it.hasNextValue()) {
+                try {
+                    var fields = new HashMap<>(it.nextValue());
+                    fields.values().removeIf(String::isEmpty);
+                    if (!rows.test(lineOf(it), objectMapper.convertValue(fields, type))) {
+                        return false;
+                    }
+                } catch (JsonProcessingException e) {
+                    report.reject(lineOf(it), null, translator.translate(IMPORT_ROW_UNREADABLE, e.getOriginalMessage()));
+                } catch (IllegalArgumentException e) {
+                    report.reject(lineOf(it), null, translator.translate(IMPORT_ROW_UNREADABLE, e.getMessage()));
+                }
+            }
+        }
+        return true;
+    }
+
+    /** The line of the CSV row that has been read last, the parser stands at its end. */
+    private static long lineOf(MappingIterator<?> it) {
+        return it.getParser().currentTokenLocation().getLineNr();
+    }
+
+    /**
+     * Pass the {@code chunk} to the {@code importer}, it is committed in its own transaction.
+     *
+     * @return {@literal false} if the chunk has been rolled back, the import stops then
+     */
+    private <T> boolean importChunk(Map<Long, T> chunk, Function<Map<Long, T>, ImportReportVO> importer, ImportReportVO report) {
+        var rows = new LinkedHashMap<>(chunk);
+        chunk.clear();
+        try {
+            report.add(importer.apply(rows));
+            LOGGER.info("Import progress [{}]", report);
+            return true;
+        } catch (RuntimeException e) {
+            var keys = List.copyOf(rows.keySet());
+            LOGGER.error("Import of the chunk with the rows [{}] to [{}] failed and is stopped: [{}]", keys.get(0), keys.get(keys.size() - 1),
+                    e.getMessage(), e);
+            report.fail(keys.get(0), keys.get(keys.size() - 1), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.common.location.api.ImportReportVO;
+import org.openwms.common.location.api.LocationGroupVO;
+import org.openwms.common.location.api.LocationVO;
+
+import java.util.Map;
+
+/**
+ * A LocationImportService imports {@link Location}s and {@link LocationGroup}s in bulk. Each call imports one chunk of rows in one
+ * transaction, rows that cannot be imported are rejected and reported without affecting the other rows of the chunk.
+ *
+ * @author Heiko Scherrer
+ */
+public interface LocationImportService {
+
+    /**
+     * Import a chunk of {@link Location}s.
+     *
+     * @param rows The Locations to import, mapped by the row number in the import source
+     * @return The report of this chunk
+     */
+    @NotNull ImportReportVO importLocations(@NotEmpty Map<Long, LocationVO> rows);
+
+    /**
+     * Import a chunk of {@link LocationGroup}s. A parent LocationGroup must either exist or be imported with a lower row number.
+     *
+     * @param rows The LocationGroups to import, mapped by the row number in the import source
+     * @return The report of this chunk
+     */
+    @NotNull ImportReportVO importLocationGroups(@NotEmpty Map<Long, LocationGroupVO> rows);
+}
@@ -20,6 +20,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.NullValueCheckStrategy;
 import org.openwms.common.account.AccountMapper;
+import org.openwms.common.location.api.LocationCapacityVO;
 import org.openwms.common.location.api.LocationVO;
 import org.openwms.common.location.api.messages.LocationMO;
 import org.springframework.validation.annotation.Validated;
@@ -61,6 +62,11 @@ public interface LocationMapper {
 
     List<LocationVO> convertToVO(List<Location> eo);
 
+    @Mapping(target = "pKey", source = "eo.persistentKey")
+    @Mapping(target = "locationId", expression = "java( eo.getLocationId().toString() )")
+    @Mapping(target = "maximumWeight", source = "maximumWeightInGram")
+    LocationCapacityVO convertToCapacityVO(Location eo);
+
     @Mapping(target = "pKey", source = "eo.persistentKey")
     @Mapping(target = "accountId", source = "eo.account.identifier")
     @Mapping(target = "id", expression = "java( eo.getLocationId().toString() )")
@@ -69,6 +75,8 @@ public interface LocationMapper {
     @Mapping(target = "locationGroupName", source = "eo.locationGroup.name")
     LocationMO convertToMO(Location eo);
 
+    List<LocationMO> convertToMO(List<Location> eo);
+
     default Location copyForUpdate(Location source, @NotNull Location target) {
         if ( source == null ) {
             return target;
@@ -21,6 +21,9 @@ import jakarta.validation.constraints.Size;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A LocationPK, is a value type and is used as an unique natural key for {@link Location} entities.
@@ -38,6 +41,12 @@ public class LocationPK implements Serializable {
      * key (KEY_LENGTH). But since this can change the actual length is encapsulated within this method.
      */
     public static final short PK_LENGTH = NUMBER_OF_KEYS * KEY_LENGTH;
+    /** The separator between the keys in the String representation. */
+    public static final char SEPARATOR = '/';
+    /** Upper bound of distinct area and aisle segments kept in the {@link #SEGMENT_POOL}. */
+    private static final int SEGMENT_POOL_LIMIT = 4096;
+    /** Flyweight pool of area and aisle segments, those are repeated across thousands of Locations. */
+    private static final Map<String, String> SEGMENT_POOL = new ConcurrentHashMap<>();
 
     /** Expresses the area the {@link Location} belongs to. */
     @Column(name = "C_AREA", nullable = false, length = KEY_LENGTH)
@@ -64,6 +73,9 @@ public class LocationPK implements Serializable {
     @Size(max = KEY_LENGTH)
     private String z;
 
+    /** Cached hash, not persisted. */
+    private transient int hash;
+
     /*~ ----------------------------- constructors ------------------- */
 
     /** Dear JPA ... */
@@ -105,21 +117,69 @@ public class LocationPK implements Serializable {
      *
      * @param s The String, not {@literal null}
      * @return An instance
+     * @throws IllegalArgumentException if the number of keys does not match {@link LocationPK#NUMBER_OF_KEYS}
      */
     public static LocationPK fromString(String s) {
         Assert.hasText(s, "Location String must not be null");
-        return new LocationPK(s.split("/"));
+        return tryParse(s).orElseThrow(() -> new IllegalArgumentException(
+                "Number of key fields to create a LocationPK does not match the defined number of keys. Expected: " + NUMBER_OF_KEYS));
+    }
+
+    /**
+     * Parse the given String in a single pass and create a {@link LocationPK} from it.
+     *
+     * @param s The String to parse, may be {@literal null}
+     * @return An instance or {@literal empty} if the String is not in valid format
+     */
+    public static Optional<LocationPK> tryParse(String s) {
+        if (!isValid(s)) {
+            return Optional.empty();
+        }
+        var keys = new String[NUMBER_OF_KEYS];
+        int start = 0;
+        int k = 0;
+        for (int i = 0, len = s.length(); i < len; i++) {
+            if (s.charAt(i) == SEPARATOR) {
+                keys[k++] = s.substring(start, i);
+                start = i + 1;
+            }
+        }
+        keys[k] = s.substring(start);
+        return Optional.of(new LocationPK(pooled(keys[0]), pooled(keys[1]), keys[2], keys[3], keys[4]));
+    }
+
+    private static String pooled(String segment) {
+        var existing = SEGMENT_POOL.get(segment);
+        if (existing != null) {
+            return existing;
+        }
+        if (SEGMENT_POOL.size() >= SEGMENT_POOL_LIMIT) {
+            return segment;
+        }
+        existing = SEGMENT_POOL.putIfAbsent(segment, segment);
+        return existing == null ? segment : existing;
     }
 
     /**
-     * Checks whether the given {@code locationPK} String is in valid format.
+     * Checks whether the given {@code locationPK} String is in valid format. The check does not allocate any objects.
      *
      * @param locationPk The String to verify
      * @return {@literal true} if valid
      */
     public static boolean isValid(String locationPk) {
-        return locationPk != null && locationPk.split("/").length == NUMBER_OF_KEYS;
+        if (locationPk == null) {
+            return false;
+        }
+        int separators = 0;
+        int len = locationPk.length();
+        for (int i = 0; i < len; i++) {
+            if (locationPk.charAt(i) == SEPARATOR && ++separators == NUMBER_OF_KEYS) {
+                return false;
+            }
+        }
+        return separators == NUMBER_OF_KEYS - 1 && locationPk.charAt(len - 1) != SEPARATOR;
     }
+
     /*~ ----------------------------- methods ------------------- */
 
     /**
@@ -191,7 +251,22 @@ public class LocationPK implements Serializable {
      */
     @Override
     public int hashCode() {
-        return this.y.hashCode() ^ this.x.hashCode() ^ this.area.hashCode() ^ this.z.hashCode() ^ this.aisle.hashCode();
+        var h = hash;
+        if (h == 0) {
+            h = this.area.hashCode();
+            h = 31 * h + this.aisle.hashCode();
+            h = 31 * h + this.x.hashCode();
+            h = 31 * h + this.y.hashCode();
+            h = 31 * h + this.z.hashCode();
+            // spread the bits (MurmurHash3 finalizer) so that symmetric coordinates do not collide in hashed collections
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            hash = h;
+        }
+        return h;
     }
 
     /**
@@ -19,10 +19,16 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.openwms.common.location.api.ErrorCodeVO;
+import org.openwms.core.units.api.Weight;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * A LocationService manages {@link Location}s.
@@ -73,6 +79,45 @@ public interface LocationService {
      */
     @NotNull Location findByLocationIdOrThrow(@NotBlank String locationId);
 
+    /**
+     * Find the current state of a {@link Location} without loading the entity. Callers that only read the identifying keys or the
+     * infeed and outfeed state should prefer this over the entity finders, because the snapshot is served from memory and does not
+     * cost a database round trip. The snapshot is kept current with the events of this service but is not verified against the
+     * database.
+     *
+     * @param locationId The business key of the Location to search for as String
+     * @return The snapshot of the Location
+     * @throws org.ameba.exception.NotFoundException In case the Location does not exist
+     */
+    @NotNull LocationSnapshot findSnapshotOrThrow(@NotBlank String locationId);
+
+    /**
+     * Find the current state of a {@link Location} by its persistent key without loading the entity, like
+     * {@link #findSnapshotOrThrow(String)}.
+     *
+     * @param pKey The persistent key
+     * @return The snapshot of the Location or {@literal empty} if the Location does not exist
+     */
+    Optional<LocationSnapshot> findSnapshotByPKey(@NotBlank String pKey);
+
+    /**
+     * Find the current state of a {@link Location} by its PLC code without loading the entity, like
+     * {@link #findSnapshotOrThrow(String)}.
+     *
+     * @param plcCode The PLC Code of the Location to search for
+     * @return The snapshot of the Location or {@literal empty} if the Location does not exist
+     */
+    Optional<LocationSnapshot> findSnapshotByPlcCode(@NotBlank String plcCode);
+
+    /**
+     * Find the current state of a {@link Location} by its ERP code without loading the entity, like
+     * {@link #findSnapshotOrThrow(String)}.
+     *
+     * @param erpCode The ERP Code of the Location to search for
+     * @return The snapshot of the Location or {@literal empty} if the Location does not exist
+     */
+    Optional<LocationSnapshot> findSnapshotByErpCode(@NotBlank String erpCode);
+
     /**
      * Find and return all {@link Location}s that match the {@code locationIds} whereas the attributes of the {@code LocationPK} may include
      * SQL wildcard operators, like '%', '_'.
@@ -82,6 +127,35 @@ public interface LocationService {
      */
     @NotNull List<Location> findLocations(@NotNull LocationPK locationIds);
 
+    /**
+     * Find a page of {@link Location}s that match the given coordinate pattern, ordered by the primary key.
+     *
+     * @param locationIds The business keys of the Locations to search for, may contain wildcards
+     * @param after Only Locations with a primary key greater than this cursor are returned, {@literal null} to start with the first
+     * @param limit The maximum number of Locations to return
+     * @return The Location instances or an empty list, never {@literal null}
+     */
+    @NotNull List<Location> findLocations(@NotNull LocationPK locationIds, Long after, @Positive int limit);
+
+    /**
+     * Find a page of {@link Location}s that meet all given {@code criteria}, ordered by the primary key.
+     *
+     * @param criteria The criteria the Locations must meet
+     * @param after Only Locations with a primary key greater than this cursor are returned, {@literal null} to start with the first
+     * @param limit The maximum number of Locations to return
+     * @return The Location instances or an empty list, never {@literal null}
+     */
+    @NotNull List<Location> findLocations(@NotNull LocationCriteria criteria, Long after, @Positive int limit);
+
+    /**
+     * Pass all {@link Location}s that match the given coordinate pattern to the {@code consumer}, one after the other, in order of the
+     * primary key. The Locations are read with a database cursor and are detached after consumption.
+     *
+     * @param locationIds The business keys of the Locations to search for, may contain wildcards
+     * @param consumer Called for each Location
+     */
+    void forEachLocation(@NotNull LocationPK locationIds, @NotNull Consumer<Location> consumer);
+
     /**
      * Find and return a {@link Location}.
      *
@@ -98,6 +172,15 @@ public interface LocationService {
      */
     Optional<Location> findByPlcCode(@NotBlank String plcCode);
 
+    /**
+     * Find all {@link Location}s identified by the given {@code identifiers} at once. Each identifier is either a LocationPK, an ERP
+     * code or a PLC code, resolved in this order like when moving a single {@code TransportUnit}.
+     *
+     * @param identifiers The identifiers of the Locations
+     * @return The found Locations, mapped by the given identifier, identifiers of not existing Locations are missing
+     */
+    @NotNull Map<String, Location> findByIdentifiers(@NotNull Collection<String> identifiers);
+
     /**
      * Find and return all Locations that belong to a {@code LocationGroup}.
      *
@@ -106,6 +189,25 @@ public interface LocationService {
      */
     @NotNull List<Location> findAllOf(@NotEmpty List<String> locationGroupNames);
 
+    /**
+     * Find a page of {@link Location}s that belong to the given {@code LocationGroup}s, ordered by the primary key.
+     *
+     * @param locationGroupNames The identifying names of the LocationGroups to search Locations for
+     * @param after Only Locations with a primary key greater than this cursor are returned, {@literal null} to start with the first
+     * @param limit The maximum number of Locations to return
+     * @return The Location instances or an empty list, never {@literal null}
+     */
+    @NotNull List<Location> findAllOf(@NotEmpty List<String> locationGroupNames, Long after, @Positive int limit);
+
+    /**
+     * Pass all {@link Location}s that belong to the given {@code LocationGroup}s to the {@code consumer}, one after the other, in
+     * order of the primary key. The Locations are read with a database cursor and are detached after consumption.
+     *
+     * @param locationGroupNames The identifying names of the LocationGroups to search Locations for
+     * @param consumer Called for each Location
+     */
+    void forEachOf(@NotEmpty List<String> locationGroupNames, @NotNull Consumer<Location> consumer);
+
     /**
      * Change the infeed and outfeed state of a {@link Location} in respect of the according {@code LocationGroup}.
      *
@@ -122,6 +224,33 @@ public interface LocationService {
      */
     void changeState(@NotNull LocationPK bk, @NotNull ErrorCodeVO errorCode);
 
+    /**
+     * Change the infeed and outfeed state of several {@link Location}s at once. All Locations are loaded with one query and only
+     * one event is published for all Locations that have actually changed.
+     *
+     * @param errorCodes The error bitmaps to encode the state, mapped by the business key identifier of each Location
+     * @throws org.ameba.exception.NotFoundException if one of the Locations does not exist
+     */
+    void changeStates(@NotEmpty Map<LocationPK, ErrorCodeVO> errorCodes);
+
+    /**
+     * Book {@code TransportUnit}s onto a {@link Location} and increase the occupation counters of the Location atomically.
+     *
+     * @param location The Location the TransportUnits are booked on
+     * @param transportUnits The number of TransportUnits
+     * @param weight The sum of the weights of the TransportUnits, {@literal null} counts as zero
+     */
+    void occupy(@NotNull Location location, @PositiveOrZero int transportUnits, Weight weight);
+
+    /**
+     * Book {@code TransportUnit}s off a {@link Location} and decrease the occupation counters of the Location atomically.
+     *
+     * @param location The Location the TransportUnits are removed from
+     * @param transportUnits The number of TransportUnits
+     * @param weight The sum of the weights of the TransportUnits, {@literal null} counts as zero
+     */
+    void release(@NotNull Location location, @PositiveOrZero int transportUnits, Weight weight);
+
     /**
      * Modify and update an existing {@link Location}.
      *
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+/**
+ * A LocationSnapshot is an immutable copy of the identifying keys and the current state of a {@link Location}, held in memory to
+ * serve read-only lookups without loading the entity.
+ *
+ * @param pk The technical primary key
+ * @param pKey The persistent key
+ * @param locationId The unique LocationPK
+ * @param plcCode The PLC code, may be {@literal null}
+ * @param erpCode The ERP code, may be {@literal null}
+ * @param incomingActive Whether the Location is open for infeed
+ * @param outgoingActive Whether the Location is open for outfeed
+ * @param plcState The current state set by the PLC
+ * @author Heiko Scherrer
+ */
+public record LocationSnapshot(Long pk, String pKey, LocationPK locationId, String plcCode, String erpCode, boolean incomingActive,
+                               boolean outgoingActive, int plcState) {
+
+    /**
+     * Used by the JPQL constructor expression to build a snapshot without materializing the entity.
+     */
+    public LocationSnapshot(Long pk, String pKey, String area, String aisle, String x, String y, String z, String plcCode, String erpCode,
+            boolean incomingActive, boolean outgoingActive, int plcState) {
+        this(pk, pKey, LocationPK.of(area, aisle, x, y, z), plcCode, erpCode, incomingActive, outgoingActive, plcState);
+    }
+
+    /**
+     * Take a snapshot of the given {@code location}.
+     *
+     * @param location The Location
+     * @return The snapshot
+     */
+    public static LocationSnapshot of(Location location) {
+        return new LocationSnapshot(location.getPk(), location.getPersistentKey(), location.getLocationId(), location.getPlcCode(),
+                location.getErpCode(), location.isInfeedActive(), location.isOutfeedActive(), location.getPlcState());
+    }
+}
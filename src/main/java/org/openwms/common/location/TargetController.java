@@ -83,12 +83,12 @@ class TargetController extends AbstractWebController {
 
             if (LocationPK.isValid(targetBK)) {
 
-                var location = locationService.findByLocationIdOrThrow(targetBK);
+                var location = locationService.findSnapshotOrThrow(targetBK);
                 switch (type) {
                     case ALLOCATION_LOCK -> changeLocation(
                             mode,
                             location,
-                            (l, code) -> locationService.changeState(l.getPersistentKey(), code)
+                            (l, code) -> locationService.changeState(l.pKey(), code)
                     );
                     case OPERATION_LOCK -> throw new UnsupportedOperationException("Changing the operation mode of Locations is currently not supported in the API");
                     default -> unsupportedOperation(type);
@@ -112,7 +112,7 @@ class TargetController extends AbstractWebController {
             }
     }
 
-    private void changeLocation(LockMode mode, Target target, BiConsumer<Target, ErrorCodeVO> fnc) {
+    private void changeLocation(LockMode mode, LocationSnapshot target, BiConsumer<LocationSnapshot, ErrorCodeVO> fnc) {
         switch (mode) {
             case IN -> fnc.accept(target, ErrorCodeVO.LOCK_STATE_IN);
             case OUT -> fnc.accept(target, ErrorCodeVO.LOCK_STATE_OUT);
@@ -162,10 +162,10 @@ class TargetController extends AbstractWebController {
             @RequestParam(value = "reallocation", required = false) Boolean reAllocation
     ) {
         if (LocationPK.isValid(targetBK)) {
-            var location = locationService.findByLocationIdOrThrow(targetBK);
+            var location = locationService.findSnapshotOrThrow(targetBK);
 
             // Okay we have a Location as Target
-            locationService.changeState(location.getPersistentKey(), ErrorCodeVO.LOCK_STATE_IN_AND_OUT);
+            locationService.changeState(location.pKey(), ErrorCodeVO.LOCK_STATE_IN_AND_OUT);
             raiseEvent(targetBK, reAllocation, LockMode.NONE);
             return;
         }
@@ -188,10 +188,10 @@ class TargetController extends AbstractWebController {
             @PathVariable("targetBK") String targetBK
     ) {
         if (LocationPK.isValid(targetBK)) {
-            var location = locationService.findByLocationIdOrThrow(targetBK);
+            var location = locationService.findSnapshotOrThrow(targetBK);
 
             // Okay we have a Location as Target
-            locationService.changeState(location.getPersistentKey(), ErrorCodeVO.UNLOCK_STATE_IN_AND_OUT);
+            locationService.changeState(location.pKey(), ErrorCodeVO.UNLOCK_STATE_IN_AND_OUT);
             raiseEvent(targetBK, null, LockMode.IN_AND_OUT);
             return;
         }
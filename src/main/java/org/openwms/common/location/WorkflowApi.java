@@ -108,11 +108,10 @@ public class WorkflowApi extends AbstractWebController {
 
     @GetMapping(value = API_LOCATIONS, params = {"locationId"}, produces = LocationVO.MEDIA_TYPE_OPT)
     public ResponseEntity<Optional<LocationVO>> findByIdOpt(@RequestParam("locationId") String locationId) {
-        if (!LocationPK.isValid(locationId)) {
-            // here we need to throw an NFE because Feign needs to cast it into an Optional. IAE won't work!
-            throw new NotFoundException(translator, LOCATION_ID_INVALID, new String[]{locationId}, locationId);
-        }
-        var locationOpt = locationService.findByLocationPk(LocationPK.fromString(locationId));
+        // here we need to throw an NFE because Feign needs to cast it into an Optional. IAE won't work!
+        var locationPK = LocationPK.tryParse(locationId)
+                .orElseThrow(() -> new NotFoundException(translator, LOCATION_ID_INVALID, new String[]{locationId}, locationId));
+        var locationOpt = locationService.findByLocationPk(locationPK);
         if (locationOpt.isPresent()) {
             var result = mapper.convertToVO(locationOpt.get());
             addSelfLink(result);
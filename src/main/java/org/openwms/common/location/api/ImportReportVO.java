@@ -0,0 +1,168 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ImportReportVO summarizes the result of a bulk import of {@code Location}s or {@code LocationGroup}s. Each chunk of rows is committed
+ * on its own, if one chunk fails the import stops and the report is partial: all chunks before have been committed and the failed
+ * chunk is named in {@link #getFailed()}.
+ *
+ * @author Heiko Scherrer
+ */
+public class ImportReportVO implements Serializable {
+
+    /** HTTP media type representation. */
+    public static final String MEDIA_TYPE = "application/vnd.openwms.common.import-report-v1+json";
+
+    /** Number of rows read from the source. */
+    @JsonProperty("processed")
+    private long processed;
+
+    /** Number of rows that have been imported successfully. */
+    @JsonProperty("imported")
+    private long imported;
+
+    /** Number of chunks that have been committed. */
+    @JsonProperty("chunks")
+    private int chunks;
+
+    /** All rows that have been rejected. */
+    @JsonProperty("rejected")
+    private List<RejectedRow> rejected = new ArrayList<>();
+
+    /** The chunk that could not be committed and stopped the import, {@literal null} if all chunks have been committed. */
+    @JsonProperty("failed")
+    private FailedChunk failed;
+
+    /**
+     * A RejectedRow describes a row of the import source that has not been imported.
+     *
+     * @param row The row number in the source, starting with 1
+     * @param key The identifying key of the rejected item if known
+     * @param reason The reason of the rejection
+     */
+    public record RejectedRow(
+            @JsonProperty("row") long row,
+            @JsonProperty("key") String key,
+            @JsonProperty("reason") String reason
+    ) implements Serializable { }
+
+    /**
+     * A FailedChunk describes a chunk of rows that has been rolled back, none of its rows has been imported.
+     *
+     * @param firstRow The row number of the first row of the chunk
+     * @param lastRow The row number of the last row of the chunk
+     * @param reason The reason of the failure
+     */
+    public record FailedChunk(
+            @JsonProperty("firstRow") long firstRow,
+            @JsonProperty("lastRow") long lastRow,
+            @JsonProperty("reason") String reason
+    ) implements Serializable { }
+
+    /**
+     * Count a row as processed and imported.
+     */
+    public void imported() {
+        this.processed++;
+        this.imported++;
+    }
+
+    /**
+     * Count a row as processed and rejected.
+     *
+     * @param row The row number in the source
+     * @param key The identifying key of the rejected item if known
+     * @param reason The reason of the rejection
+     */
+    public void reject(long row, String key, String reason) {
+        this.processed++;
+        this.rejected.add(new RejectedRow(row, key, reason));
+    }
+
+    /**
+     * Add the result of one chunk to this report.
+     *
+     * @param chunk The report of one chunk
+     * @return This instance
+     */
+    public ImportReportVO add(ImportReportVO chunk) {
+        this.processed += chunk.processed;
+        this.imported += chunk.imported;
+        this.chunks += Math.max(chunk.chunks, 1);
+        this.rejected.addAll(chunk.rejected);
+        return this;
+    }
+
+    /**
+     * Record the chunk that could not be committed, the import stops afterwards.
+     *
+     * @param firstRow The row number of the first row of the chunk
+     * @param lastRow The row number of the last row of the chunk
+     * @param reason The reason of the failure
+     */
+    public void fail(long firstRow, long lastRow, String reason) {
+        this.failed = new FailedChunk(firstRow, lastRow, reason);
+    }
+
+    /**
+     * Checks whether all chunks have been committed.
+     *
+     * @return {@literal true} if no chunk failed
+     */
+    @JsonIgnore
+    public boolean isComplete() {
+        return failed == null;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public List<RejectedRow> getRejected() {
+        return rejected;
+    }
+
+    public FailedChunk getFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReportVO{" +
+                "processed=" + processed +
+                ", imported=" + imported +
+                ", chunks=" + chunks +
+                ", rejected=" + rejected.size() +
+                ", failed=" + failed +
+                '}';
+    }
+}
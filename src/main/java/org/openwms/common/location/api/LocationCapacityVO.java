@@ -0,0 +1,54 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A LocationCapacityVO tells how many {@code TransportUnit}s and how much weight a {@code Location} can still take. Weights are given in
+ * gram.
+ *
+ * @param pKey The persistent technical key of the {@code Location}
+ * @param locationId The unique natural key of the {@code Location}
+ * @param noTransportUnits The current number of {@code TransportUnit}s on the {@code Location}
+ * @param noMaxTransportUnits The maximum number of {@code TransportUnit}s allowed on the {@code Location}
+ * @param remainingTransportUnits The number of {@code TransportUnit}s that can still be put onto the {@code Location}
+ * @param totalWeight The current sum of the weights of all {@code TransportUnit}s on the {@code Location}
+ * @param maximumWeight The maximum allowed weight, {@literal null} if not limited
+ * @param remainingWeight The weight that can still be put onto the {@code Location}, {@literal null} if not limited
+ * @param full Whether the {@code Location} can not take any further {@code TransportUnit}
+ * @author Heiko Scherrer
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LocationCapacityVO(
+        @JsonProperty("pKey") String pKey,
+        @JsonProperty("locationId") String locationId,
+        @JsonProperty("noTransportUnits") int noTransportUnits,
+        @JsonProperty("noMaxTransportUnits") int noMaxTransportUnits,
+        @JsonProperty("remainingTransportUnits") int remainingTransportUnits,
+        @JsonProperty("totalWeight") BigDecimal totalWeight,
+        @JsonProperty("maximumWeight") BigDecimal maximumWeight,
+        @JsonProperty("remainingWeight") BigDecimal remainingWeight,
+        @JsonProperty("full") boolean full
+) implements Serializable {
+
+    /** HTTP media type representation. */
+    public static final String MEDIA_TYPE = "application/vnd.openwms.common.location-capacity-v1+json";
+}
@@ -23,6 +23,7 @@ import jakarta.validation.constraints.NotBlank;
 import org.ameba.http.AbstractBase;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -84,6 +85,14 @@ public class LocationVO extends AbstractBase<LocationVO> implements TargetVO, Se
     @JsonProperty("plcState")
     private Integer plcState;
 
+    /** The current number of {@code TransportUnit}s on the {@code Location} (read-only). */
+    @JsonProperty("noTransportUnits")
+    private Integer noTransportUnits;
+
+    /** The current sum of the weights of all {@code TransportUnit}s on the {@code Location} in gram (read-only). */
+    @JsonProperty("totalWeight")
+    private BigDecimal totalWeight;
+
     /** The name of the {@code LocationType} the {@code Location} belongs to. */
     @NotBlank(groups = ValidationGroups.Create.class)
     @JsonProperty("type")
@@ -227,6 +236,22 @@ public class LocationVO extends AbstractBase<LocationVO> implements TargetVO, Se
         this.stockZone = stockZone;
     }
 
+    public Integer getNoTransportUnits() {
+        return noTransportUnits;
+    }
+
+    public void setNoTransportUnits(Integer noTransportUnits) {
+        this.noTransportUnits = noTransportUnits;
+    }
+
+    public BigDecimal getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(BigDecimal totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
     @Override
     public LocalDateTime getCreateDt() {
         return createDt;
@@ -277,6 +302,8 @@ public class LocationVO extends AbstractBase<LocationVO> implements TargetVO, Se
                 Objects.equals(outgoingActive, that.outgoingActive) &&
                 Objects.equals(plcState, that.plcState) &&
                 Objects.equals(stockZone, that.stockZone)  &&
+                Objects.equals(noTransportUnits, that.noTransportUnits) &&
+                Objects.equals(totalWeight, that.totalWeight) &&
                 Objects.equals(createDt, that.createDt);
     }
 
@@ -287,6 +314,6 @@ public class LocationVO extends AbstractBase<LocationVO> implements TargetVO, Se
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), pKey, locationId, accountId, locationGroupName, erpCode, plcCode, incomingActive, outgoingActive, plcState, stockZone, createDt);
+        return Objects.hash(super.hashCode(), pKey, locationId, accountId, locationGroupName, erpCode, plcCode, incomingActive, outgoingActive, plcState, stockZone, noTransportUnits, totalWeight, createDt);
     }
 }
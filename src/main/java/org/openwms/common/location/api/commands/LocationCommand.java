@@ -16,10 +16,12 @@
 package org.openwms.common.location.api.commands;
 
 import jakarta.validation.Valid;
+import org.openwms.common.location.api.ErrorCodeVO;
 import org.openwms.common.location.api.messages.LocationMO;
 
 import java.beans.ConstructorProperties;
 import java.io.Serializable;
+import java.util.Map;
 
 /**
  * A LocationCommand.
@@ -30,16 +32,24 @@ public class LocationCommand implements Serializable {
 
     private Type type;
     private @Valid LocationMO location;
+    /** The error bitmaps to apply, mapped by the LocationID of each Location. Used with {@link Type#CHANGE_STATES}. */
+    private Map<String, ErrorCodeVO> states;
 
     /*~-------------------- constructors --------------------*/
-    @ConstructorProperties({"type", "location"})
     public LocationCommand(Type type, LocationMO location) {
+        this(type, location, null);
+    }
+
+    @ConstructorProperties({"type", "location", "states"})
+    public LocationCommand(Type type, LocationMO location, Map<String, ErrorCodeVO> states) {
         this.type = type;
         this.location = location;
+        this.states = states;
     }
 
     public enum Type {
-        SET_LOCATION_EMPTY
+        SET_LOCATION_EMPTY,
+        CHANGE_STATES
     }
 
     public LocationMO getLocation() {
@@ -49,4 +59,8 @@ public class LocationCommand implements Serializable {
     public Type getType() {
         return type;
     }
+
+    public Map<String, ErrorCodeVO> getStates() {
+        return states;
+    }
 }
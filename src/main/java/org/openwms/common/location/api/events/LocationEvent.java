@@ -62,6 +62,10 @@ public class LocationEvent extends RootApplicationEvent implements Serializable
     }
 
     public enum LocationEventType {
-        BOOT, CREATED, CHANGED, DELETED, STATE_CHANGE;
+        BOOT, CREATED, CHANGED, DELETED, STATE_CHANGE,
+        /** The state of several Locations has changed at once, the source of the event is a {@code List} of Locations. */
+        BULK_STATE_CHANGE,
+        /** Several Locations have been imported at once, the source of the event is a {@code List} of Locations. */
+        BULK_CREATED;
     }
 }
@@ -18,6 +18,7 @@ package org.openwms.common.location.commands;
 import jakarta.validation.Validator;
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.location.LocationPK;
 import org.openwms.common.location.LocationService;
 import org.openwms.common.location.api.ErrorCodeVO;
 import org.openwms.common.location.api.ValidationGroups;
@@ -30,6 +31,8 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+
 import static org.ameba.system.ValidationUtil.validate;
 import static org.openwms.common.location.api.LocationApiConstants.LOCATION_EMPTY;
 
@@ -64,6 +67,15 @@ class LocationCommandListener {
                 errorCode.setPlcState(LOCATION_EMPTY);
                 locationService.changeState(command.getLocation().pKey(), errorCode);
             }
+            if (LocationCommand.Type.CHANGE_STATES == command.getType()) {
+                if (command.getStates() == null || command.getStates().isEmpty()) {
+                    throw new IllegalArgumentException("No Location states given to change");
+                }
+                LOGGER.debug("Got command to change the state of [{}] Locations", command.getStates().size());
+                var errorCodes = new HashMap<LocationPK, ErrorCodeVO>(command.getStates().size());
+                command.getStates().forEach((locationId, errorCode) -> errorCodes.put(LocationPK.fromString(locationId), errorCode));
+                locationService.changeStates(errorCodes);
+            }
         } catch (Exception e) {
             LOGGER.error("Processing command rejected [{}]", command);
             throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
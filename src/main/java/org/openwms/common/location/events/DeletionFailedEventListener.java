@@ -16,15 +16,20 @@
 package org.openwms.common.location.events;
 
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.amqp.AsyncPublisher;
 import org.openwms.common.location.api.commands.RevokeLocationRemoveCommand;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * A DeletionFailedEventListener.
+ * A DeletionFailedEventListener publishes a {@link RevokeLocationRemoveCommand} when the removal of a Location has failed.
+ * <p>
+ * The event is raised within the transaction that is rolled back, so the command is not appended to the outbox but published
+ * immediately. If the broker does not confirm it, the failure is logged with the Location that stays marked for deletion.
  *
  * @author Heiko Scherrer
  */
@@ -32,16 +37,24 @@ import org.springframework.stereotype.Component;
 @Component
 class DeletionFailedEventListener {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeletionFailedEventListener.class);
     private final String exchangeName;
-    private final AmqpTemplate amqpTemplate;
+    private final AsyncPublisher publisher;
 
-    DeletionFailedEventListener(@Value("${owms.events.common.lg.exchange-name}") String exchangeName, AmqpTemplate amqpTemplate) {
+    DeletionFailedEventListener(@Value("${owms.events.common.lg.exchange-name}") String exchangeName, AsyncPublisher publisher) {
         this.exchangeName = exchangeName;
-        this.amqpTemplate = amqpTemplate;
+        this.publisher = publisher;
     }
 
     @EventListener
     public void onRevokeLocationRemoveCommand(DeletionFailedEvent event) {
-        amqpTemplate.convertAndSend(exchangeName, "loc.event.deletion-rollback", new RevokeLocationRemoveCommand((event.getSource())));
+        var pKey = event.getSource();
+        publisher.publish(exchangeName, "loc.event.deletion-rollback", new RevokeLocationRemoveCommand(pKey))
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Revoking the removal of Location with pKey [{}] failed, it stays marked for deletion: [{}]", pKey,
+                                e.getMessage());
+                    }
+                });
     }
 }
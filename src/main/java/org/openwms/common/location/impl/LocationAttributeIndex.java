@@ -0,0 +1,437 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationCriteria;
+import org.openwms.common.location.api.events.LocationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A LocationAttributeIndex is an in-memory bitmap index over the attributes of all {@link Location}s that are used to search for
+ * Locations with multiple criteria, like the ones needed for put-away. Each Location is assigned a dense ordinal and for each value of an
+ * attribute (LocationType, LocationGroup, stock zone, classification, label) and for each flag (infeed, outfeed, allocation) one bitmap
+ * holds the ordinals of the Locations having that value. A search is answered with bitwise {@code OR} within one attribute and bitwise
+ * {@code AND} across attributes.
+ * <p>
+ * The bitmaps are immutable and published together with one volatile write, a change copies only the bitmaps it affects. Searches
+ * therefore never see a partially modified index and do not cost any database round trip. The index is built with the first search and
+ * kept current with the committed {@link LocationEvent}s. Callers must verify the resolved entities and {@link #invalidate()} the index
+ * if an entity does not match anymore, then it is rebuilt with the next search. Because a Location changed without any event may also
+ * be missing in a result, a scheduled check rebuilds the index when it is older than the configured maximum age or when the number of
+ * persisted Locations or the highest primary key has changed.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationAttributeIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationAttributeIndex.class);
+    private final LocationRepository repository;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private volatile Bitmaps current;
+    // the following fields are only accessed by writers holding the monitor of this instance
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, LocationAttributes> entries = new HashMap<>();
+    private Long maxPk;
+    private long builtAt;
+
+    private enum Attribute {
+        LOCATION_TYPE(e -> listOf(e.locationType())),
+        LOCATION_GROUP(e -> listOf(e.locationGroupName())),
+        STOCK_ZONE(e -> listOf(e.stockZone())),
+        CLASSIFICATION(e -> listOf(e.classification())),
+        LABEL(LocationAttributes::labels);
+
+        private final Function<LocationAttributes, List<String>> values;
+
+        Attribute(Function<LocationAttributes, List<String>> values) {
+            this.values = values;
+        }
+
+        private List<String> of(LocationAttributes attributes) {
+            return attributes == null ? List.of() : values.apply(attributes);
+        }
+
+        private static List<String> listOf(String value) {
+            return value == null ? List.of() : List.of(value);
+        }
+    }
+
+    /**
+     * An immutable state of the index. The array of primary keys is shared between consecutive states and only appended to, each state
+     * reads the first {@code size} elements only.
+     */
+    private record Bitmaps(long[] pks, int size, boolean sorted, BitSet live, BitSet infeedActive, BitSet outfeedActive,
+                           BitSet consideredInAllocation, Map<Attribute, Map<String, BitSet>> attributes) {
+    }
+
+    LocationAttributeIndex(LocationRepository repository, MeterRegistry meterRegistry,
+            @Value("${owms.common.location.attribute-index.enabled:true}") boolean enabled,
+            @Value("${owms.common.location.attribute-index.max-age:PT15M}") Duration maxAge) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAge.toNanos();
+        Gauge.builder("owms.common.location.attribute-index.size", this, LocationAttributeIndex::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationEvent(LocationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if ((event.getType() == LocationEvent.LocationEventType.BULK_STATE_CHANGE
+                || event.getType() == LocationEvent.LocationEventType.BULK_CREATED) && event.getSource() instanceof Collection<?> locations) {
+            putAll(locations.stream().filter(Location.class::isInstance).map(Location.class::cast).filter(l -> l.getPk() != null)
+                    .map(LocationAttributes::of).toList());
+            return;
+        }
+        if (!(event.getSource() instanceof Location location) || location.getPk() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, CHANGED, STATE_CHANGE -> putAll(List.of(LocationAttributes.of(location)));
+            case DELETED -> remove(location.getPk());
+            default -> {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * Rebuild the index if it is older than the maximum age or if the number of persisted Locations or the highest primary key differ
+     * from what the index contains.
+     */
+    @Scheduled(initialDelayString = "${owms.common.location.attribute-index.refresh-interval:PT30S}",
+            fixedDelayString = "${owms.common.location.attribute-index.refresh-interval:PT30S}")
+    void refresh() {
+        if (!enabled || current == null) {
+            return;
+        }
+        var count = repository.count();
+        var persistedMaxPk = repository.findMaxPk();
+        synchronized (this) {
+            if (System.nanoTime() - builtAt < maxAgeNanos && count == ordinals.size() && Objects.equals(persistedMaxPk, maxPk)) {
+                return;
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Find the primary keys of all {@link Location}s that meet the attribute criteria of the given {@code criteria}. The occupation of
+     * the Locations is not considered.
+     *
+     * @param criteria The criteria to search for
+     * @param after Only primary keys greater than this cursor are returned
+     * @return The primary keys in ascending order or {@literal empty} if the search must be executed against the database
+     */
+    Optional<List<Long>> find(LocationCriteria criteria, long after) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        var bitmaps = current;
+        if (bitmaps == null) {
+            bitmaps = initialize();
+        }
+        var result = filter(null, bitmaps, Attribute.LOCATION_TYPE, criteria.locationTypes());
+        result = filter(result, bitmaps, Attribute.LOCATION_GROUP, criteria.locationGroupNames());
+        result = filter(result, bitmaps, Attribute.STOCK_ZONE, criteria.stockZones());
+        result = filter(result, bitmaps, Attribute.CLASSIFICATION, criteria.classifications());
+        result = filter(result, bitmaps, Attribute.LABEL, criteria.labels());
+        result = filter(result, bitmaps, bitmaps.infeedActive(), criteria.infeedActive());
+        result = filter(result, bitmaps, bitmaps.outfeedActive(), criteria.outfeedActive());
+        result = filter(result, bitmaps, bitmaps.consideredInAllocation(), criteria.consideredInAllocation());
+        if (result == null) {
+            result = (BitSet) bitmaps.live().clone();
+        } else {
+            result.and(bitmaps.live());
+        }
+        return Optional.of(collect(bitmaps, result, after));
+    }
+
+    /**
+     * The ordinals are assigned in ascending order of the primary keys, unless a Location has been created with a primary key lower than
+     * the highest one already indexed. Only in this case the result must be sorted.
+     */
+    private static List<Long> collect(Bitmaps bitmaps, BitSet ordinals, long after) {
+        var pks = new ArrayList<Long>(ordinals.cardinality());
+        if (bitmaps.sorted()) {
+            var first = Arrays.binarySearch(bitmaps.pks(), 0, bitmaps.size(), after);
+            first = first < 0 ? -first - 1 : first + 1;
+            for (var ordinal = ordinals.nextSetBit(first); ordinal >= 0; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+                pks.add(bitmaps.pks()[ordinal]);
+            }
+            return pks;
+        }
+        ordinals.stream().mapToLong(ordinal -> bitmaps.pks()[ordinal]).filter(pk -> pk > after).forEach(pks::add);
+        pks.sort(null);
+        return pks;
+    }
+
+    private static BitSet filter(BitSet result, Bitmaps bitmaps, BitSet flag, Boolean expected) {
+        if (Boolean.TRUE.equals(expected)) {
+            if (result == null) {
+                return (BitSet) flag.clone();
+            }
+            result.and(flag);
+        } else if (Boolean.FALSE.equals(expected)) {
+            if (result == null) {
+                result = (BitSet) bitmaps.live().clone();
+            }
+            result.andNot(flag);
+        }
+        return result;
+    }
+
+    private static BitSet filter(BitSet result, Bitmaps bitmaps, Attribute attribute, Set<String> values) {
+        if (values.isEmpty()) {
+            return result;
+        }
+        var any = new BitSet();
+        for (var value : values) {
+            var bitmap = bitmaps.attributes().get(attribute).get(value);
+            if (bitmap != null) {
+                any.or(bitmap);
+            }
+        }
+        if (result == null) {
+            return any;
+        }
+        result.and(any);
+        return result;
+    }
+
+    /**
+     * Called by clients that detected a Location not matching the indexed attributes anymore. The index is rebuilt with the next
+     * search.
+     */
+    synchronized void invalidate() {
+        LOGGER.debug("LocationAttributeIndex has been invalidated");
+        current = null;
+    }
+
+    private synchronized Bitmaps initialize() {
+        return current == null ? rebuild() : current;
+    }
+
+    private synchronized Bitmaps rebuild() {
+        var all = repository.findAllAttributes();
+        ordinals.clear();
+        entries.clear();
+        var pks = new long[all.size()];
+        var live = new BitSet(all.size());
+        var infeedActive = new BitSet(all.size());
+        var outfeedActive = new BitSet(all.size());
+        var consideredInAllocation = new BitSet(all.size());
+        var attributes = new EnumMap<Attribute, Map<String, BitSet>>(Attribute.class);
+        for (var attribute : Attribute.values()) {
+            attributes.put(attribute, new HashMap<>());
+        }
+        for (var ordinal = 0; ordinal < all.size(); ordinal++) {
+            var entry = all.get(ordinal);
+            pks[ordinal] = entry.pk();
+            ordinals.put(entry.pk(), ordinal);
+            entries.put(entry.pk(), entry);
+            live.set(ordinal);
+            infeedActive.set(ordinal, entry.infeedActive());
+            outfeedActive.set(ordinal, entry.outfeedActive());
+            consideredInAllocation.set(ordinal, entry.consideredInAllocation());
+            for (var attribute : Attribute.values()) {
+                for (var value : attribute.of(entry)) {
+                    attributes.get(attribute).computeIfAbsent(value, k -> new BitSet()).set(ordinal);
+                }
+            }
+        }
+        maxPk = all.isEmpty() ? null : pks[all.size() - 1];
+        builtAt = System.nanoTime();
+        current = new Bitmaps(pks, all.size(), true, live, infeedActive, outfeedActive, consideredInAllocation, attributes);
+        LOGGER.debug("LocationAttributeIndex rebuilt with [{}] Locations", all.size());
+        return current;
+    }
+
+    private synchronized void putAll(List<LocationAttributes> changes) {
+        var bitmaps = current;
+        if (bitmaps == null) {
+            return;
+        }
+        var modified = new Modification(bitmaps);
+        for (var next : changes) {
+            var previous = entries.put(next.pk(), next);
+            if (next.equals(previous)) {
+                continue;
+            }
+            var ordinal = ordinals.get(next.pk());
+            if (ordinal == null) {
+                ordinal = modified.append(next.pk());
+                ordinals.put(next.pk(), ordinal);
+                if (maxPk == null || next.pk() > maxPk) {
+                    maxPk = next.pk();
+                }
+            }
+            modified.apply(ordinal, previous, next);
+        }
+        current = modified.toBitmaps();
+    }
+
+    /**
+     * The ordinal of a removed Location is not reused until the next rebuild, it only gets dropped from the {@code live} bitmap.
+     */
+    private synchronized void remove(Long pk) {
+        var bitmaps = current;
+        var ordinal = ordinals.remove(pk);
+        var previous = entries.remove(pk);
+        if (bitmaps == null || ordinal == null) {
+            return;
+        }
+        var modified = new Modification(bitmaps);
+        modified.apply(ordinal, previous, null);
+        current = modified.toBitmaps();
+    }
+
+    private int size() {
+        var bitmaps = current;
+        return bitmaps == null ? 0 : bitmaps.live().cardinality();
+    }
+
+    /**
+     * A Modification derives a new state from an existing one and copies each bitmap before it is changed for the first time.
+     */
+    private static final class Modification {
+        private long[] pks;
+        private int size;
+        private boolean sorted;
+        private final BitSet[] flags;
+        private final boolean[] copiedFlags = new boolean[4];
+        private final Map<Attribute, Map<String, BitSet>> attributes;
+        private final Set<Attribute> copiedAttributes = EnumSet.noneOf(Attribute.class);
+        private final Set<BitSet> copiedBitmaps = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Modification(Bitmaps bitmaps) {
+            this.pks = bitmaps.pks();
+            this.size = bitmaps.size();
+            this.sorted = bitmaps.sorted();
+            this.flags = new BitSet[]{bitmaps.live(), bitmaps.infeedActive(), bitmaps.outfeedActive(), bitmaps.consideredInAllocation()};
+            this.attributes = new EnumMap<>(bitmaps.attributes());
+        }
+
+        private int append(long pk) {
+            if (size == pks.length) {
+                pks = Arrays.copyOf(pks, Math.max(16, size * 2));
+            }
+            sorted = sorted && (size == 0 || pks[size - 1] < pk);
+            pks[size] = pk;
+            return size++;
+        }
+
+        private void apply(int ordinal, LocationAttributes previous, LocationAttributes next) {
+            setFlag(0, ordinal, next != null);
+            setFlag(1, ordinal, next != null && next.infeedActive());
+            setFlag(2, ordinal, next != null && next.outfeedActive());
+            setFlag(3, ordinal, next != null && next.consideredInAllocation());
+            for (var attribute : Attribute.values()) {
+                var before = attribute.of(previous);
+                var after = attribute.of(next);
+                if (before.equals(after)) {
+                    continue;
+                }
+                var values = attributesOf(attribute);
+                before.stream().filter(v -> !after.contains(v)).forEach(v -> {
+                    var bitmap = values.get(v);
+                    if (bitmap != null) {
+                        bitmap = copied(bitmap);
+                        bitmap.clear(ordinal);
+                        if (bitmap.isEmpty()) {
+                            values.remove(v);
+                        } else {
+                            values.put(v, bitmap);
+                        }
+                    }
+                });
+                after.stream().filter(v -> !before.contains(v)).forEach(v -> {
+                    var bitmap = values.get(v);
+                    bitmap = bitmap == null ? fresh() : copied(bitmap);
+                    bitmap.set(ordinal);
+                    values.put(v, bitmap);
+                });
+            }
+        }
+
+        private void setFlag(int flag, int ordinal, boolean value) {
+            if (flags[flag].get(ordinal) == value) {
+                return;
+            }
+            if (!copiedFlags[flag]) {
+                flags[flag] = (BitSet) flags[flag].clone();
+                copiedFlags[flag] = true;
+            }
+            flags[flag].set(ordinal, value);
+        }
+
+        private Map<String, BitSet> attributesOf(Attribute attribute) {
+            if (copiedAttributes.add(attribute)) {
+                attributes.put(attribute, new HashMap<>(attributes.get(attribute)));
+            }
+            return attributes.get(attribute);
+        }
+
+        private BitSet copied(BitSet bitmap) {
+            if (copiedBitmaps.contains(bitmap)) {
+                return bitmap;
+            }
+            return fresh(bitmap);
+        }
+
+        private BitSet fresh() {
+            return fresh(new BitSet());
+        }
+
+        private BitSet fresh(BitSet bitmap) {
+            var copy = (BitSet) bitmap.clone();
+            copiedBitmaps.add(copy);
+            return copy;
+        }
+
+        private Bitmaps toBitmaps() {
+            return new Bitmaps(pks, size, sorted, flags[0], flags[1], flags[2], flags[3], attributes);
+        }
+    }
+}
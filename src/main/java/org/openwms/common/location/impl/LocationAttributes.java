@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.Location;
+
+import java.util.List;
+
+/**
+ * A LocationAttributes is an immutable copy of the attributes of a {@link Location} that are held by the
+ * {@link LocationAttributeIndex}.
+ *
+ * @author Heiko Scherrer
+ */
+record LocationAttributes(Long pk, String locationType, String locationGroupName, String stockZone, String classification,
+                          List<String> labels, boolean infeedActive, boolean outfeedActive, boolean consideredInAllocation) {
+
+    LocationAttributes {
+        labels = labels == null ? List.of() : List.copyOf(labels);
+    }
+
+    /**
+     * Take a copy of the attributes of the given {@code location}.
+     *
+     * @param location The Location
+     * @return The copy
+     */
+    static LocationAttributes of(Location location) {
+        return new LocationAttributes(location.getPk(),
+                location.getLocationType() == null ? null : location.getLocationType().getType(),
+                location.getLocationGroup() == null ? null : location.getLocationGroup().getName(),
+                location.getStockZone(), location.getClassification(), location.getLabels(), location.isInfeedActive(),
+                location.isOutfeedActive(), location.isConsideredInAllocation());
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.api.events.LocationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A LocationCoordinateIndex is an in-memory trie over the five coordinates of all {@link Location}s (area, aisle, x, y, z) that
+ * answers the SQL {@code LIKE} patterns used for wildcard searches by only walking the matching branches.
+ * <p>
+ * The trie is immutable and published with a single volatile write, so searches never see a partially built or modified index and
+ * do not cost any database round trip. It is built with the first search, patched with a copy of the changed path on each committed
+ * {@link LocationEvent} and periodically checked against the number of persisted Locations and the highest primary key, to pick up
+ * Locations created or deleted without an event on this node. Patterns that use an escape character and searches with too many
+ * matches are not served and must be answered by the database.
+ * <p>
+ * A write on this node is known as soon as its event is published, but the index is patched only after the transaction has
+ * committed. As long as any such write has not completed the index is older than the data and searches are answered by the database,
+ * also the ones of the writing transaction itself. Coordinates changed on another node are only picked up with a rebuild.
+ * <p>
+ * Patterns are matched case-sensitive by default. If the coordinate columns of the database use a case-insensitive collation, set
+ * {@code owms.common.location.coordinate-index.ignore-case} to match like the database does. Other collation rules, like accent
+ * insensitivity, are not supported.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationCoordinateIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationCoordinateIndex.class);
+    private static final String ANY = "%";
+    private final LocationRepository repository;
+    private final TransactionTemplate ownTx;
+    private final boolean enabled;
+    private final int maxResults;
+    private final boolean ignoreCase;
+    /** The number of known writes that are not committed or rolled back yet. */
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private volatile Node root;
+    /** The coordinates of each indexed primary key, only accessed by writers holding the monitor of this instance. */
+    private Map<Long, LocationPK> byPk = new HashMap<>();
+    private Long maxPk;
+
+    LocationCoordinateIndex(LocationRepository repository, PlatformTransactionManager transactionManager,
+            @Value("${owms.common.location.coordinate-index.enabled:true}") boolean enabled,
+            @Value("${owms.common.location.coordinate-index.max-results:1000}") int maxResults,
+            @Value("${owms.common.location.coordinate-index.ignore-case:false}") boolean ignoreCase) {
+        this.repository = repository;
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.ownTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxResults = maxResults;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Rebuild the index if the number of persisted Locations or the highest primary key differ from what the index contains. This
+     * catches Locations created or deleted without an event on this node, e.g. by another instance or a database script.
+     */
+    @Scheduled(initialDelayString = "${owms.common.location.coordinate-index.refresh-interval:PT30S}",
+            fixedDelayString = "${owms.common.location.coordinate-index.refresh-interval:PT30S}")
+    void refresh() {
+        if (!enabled || root == null) {
+            return;
+        }
+        var count = repository.count();
+        var persistedMaxPk = repository.findMaxPk();
+        synchronized (this) {
+            if (count == byPk.size() && Objects.equals(persistedMaxPk, maxPk)) {
+                return;
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Remember a write of Location coordinates as pending and patch the index after the transaction has committed. Without a transaction
+     * the index is patched immediately.
+     *
+     * @param event The event published by the writer
+     */
+    @EventListener
+    public void onLocationEvent(LocationEvent event) {
+        if (!enabled || !changesCoordinates(event)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        pendingWrites.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private static boolean changesCoordinates(LocationEvent event) {
+        return switch (event.getType()) {
+            case CREATED, CHANGED, DELETED, BULK_CREATED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Patch the index with a committed change.
+     *
+     * @param event The event of the committed change
+     */
+    void apply(LocationEvent event) {
+        if (enabled && event.getType() == LocationEvent.LocationEventType.BULK_CREATED
+                && event.getSource() instanceof Collection<?> locations) {
+            locations.stream().filter(Location.class::isInstance).map(Location.class::cast).filter(l -> l.getPk() != null)
+                    .forEach(l -> put(l.getPk(), l.getLocationId()));
+            return;
+        }
+        if (!enabled || !(event.getSource() instanceof Location location) || location.getPk() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, CHANGED -> put(location.getPk(), location.getLocationId());
+            case DELETED -> remove(location.getPk());
+            default -> {
+                // the coordinates do not change with the state
+            }
+        }
+    }
+
+    /**
+     * Find the primary keys of all {@link Location}s matching the given {@code pattern}.
+     *
+     * @param pattern Each coordinate is either a literal or a {@code LIKE} pattern with {@code %} and {@code _}
+     * @return The primary keys or {@literal empty} if the search must be executed against the database
+     */
+    Optional<List<Long>> find(LocationPK pattern) {
+        if (!enabled || !isServable(pattern) || pendingWrites.get() > 0) {
+            return Optional.empty();
+        }
+        var current = root;
+        if (current == null) {
+            current = initialize();
+        }
+        var segments = segmentsOf(pattern);
+        var result = new ArrayList<Long>();
+        if (!collect(current, segments, 0, result)) {
+            LOGGER.debug("Too many Locations match the pattern [{}], the search is delegated", pattern);
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Checks whether the given {@code location} matches the {@code pattern} with the same rules the index uses.
+     *
+     * @param pattern The pattern used for the search
+     * @param locationId The LocationPK to check
+     * @return {@literal true} if it matches
+     */
+    boolean matches(LocationPK pattern, LocationPK locationId) {
+        var patterns = segmentsOf(pattern);
+        var segments = segmentsOf(locationId);
+        for (var i = 0; i < segments.length; i++) {
+            if (!like(patterns[i], segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isServable(LocationPK pattern) {
+        return isServable(pattern.getArea()) && isServable(pattern.getAisle()) && isServable(pattern.getX())
+                && isServable(pattern.getY()) && isServable(pattern.getZ());
+    }
+
+    private static boolean isServable(String segment) {
+        return segment != null && segment.indexOf('\\') < 0;
+    }
+
+    private boolean collect(Node node, String[] segments, int level, List<Long> result) {
+        if (level == segments.length) {
+            if (node.pk() != null) {
+                result.add(node.pk());
+            }
+            return result.size() <= maxResults;
+        }
+        var segment = segments[level];
+        if (segment.indexOf('%') < 0 && segment.indexOf('_') < 0) {
+            var child = node.children().get(segment);
+            return child == null || collect(child, segments, level + 1, result);
+        }
+        for (var entry : node.children().entrySet()) {
+            if ((ANY.equals(segment) || like(segment, entry.getKey())) && !collect(entry.getValue(), segments, level + 1, result)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized Node initialize() {
+        return root == null ? rebuild() : root;
+    }
+
+    /**
+     * Build a new trie from all committed Locations and publish it. The Locations are read in an own transaction, so that uncommitted
+     * changes of a caller searching within its transaction never end up in the index.
+     *
+     * @return The new root
+     */
+    synchronized Node rebuild() {
+        var builder = new NodeBuilder();
+        var newByPk = new HashMap<Long, LocationPK>();
+        Long newMaxPk = null;
+        for (var snapshot : ownTx.execute(status -> repository.findAllSnapshots())) {
+            builder.insert(segmentsOf(snapshot.locationId()), snapshot.pk());
+            newByPk.put(snapshot.pk(), snapshot.locationId());
+            newMaxPk = newMaxPk == null || snapshot.pk() > newMaxPk ? snapshot.pk() : newMaxPk;
+        }
+        var newRoot = builder.build();
+        byPk = newByPk;
+        maxPk = newMaxPk;
+        root = newRoot;
+        LOGGER.debug("LocationCoordinateIndex rebuilt with [{}] Locations", newByPk.size());
+        return newRoot;
+    }
+
+    private synchronized void put(Long pk, LocationPK locationId) {
+        if (root == null) {
+            return;
+        }
+        var previous = byPk.put(pk, locationId);
+        if (maxPk == null || pk > maxPk) {
+            maxPk = pk;
+        }
+        if (locationId.equals(previous)) {
+            return;
+        }
+        var updated = root;
+        if (previous != null) {
+            updated = with(updated, segmentsOf(previous), 0, null);
+        }
+        root = with(updated, segmentsOf(locationId), 0, pk);
+    }
+
+    private synchronized void remove(Long pk) {
+        if (root == null) {
+            return;
+        }
+        var previous = byPk.remove(pk);
+        if (previous != null) {
+            root = with(root, segmentsOf(previous), 0, null);
+        }
+    }
+
+    /**
+     * Return a copy of {@code node} where the leaf at the path of {@code segments} carries the given {@code pk}. Only the nodes along
+     * the path are copied, all other branches are shared with the original trie.
+     */
+    private static Node with(Node node, String[] segments, int level, Long pk) {
+        if (level == segments.length) {
+            return new Node(node.children(), pk);
+        }
+        var child = node.children().getOrDefault(segments[level], Node.EMPTY);
+        var updated = with(child, segments, level + 1, pk);
+        var children = new HashMap<>(node.children());
+        if (updated.isEmpty()) {
+            children.remove(segments[level]);
+        } else {
+            children.put(segments[level], updated);
+        }
+        return new Node(Map.copyOf(children), node.pk());
+    }
+
+    private String[] segmentsOf(LocationPK locationId) {
+        return new String[]{keyOf(locationId.getArea()), keyOf(locationId.getAisle()), keyOf(locationId.getX()),
+                keyOf(locationId.getY()), keyOf(locationId.getZ())};
+    }
+
+    private String keyOf(String segment) {
+        return ignoreCase && segment != null ? segment.toUpperCase(Locale.ROOT) : segment;
+    }
+
+    /**
+     * Evaluate a SQL {@code LIKE} pattern without escape character, where {@code %} matches any sequence and {@code _} matches
+     * exactly one character.
+     */
+    private static boolean like(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int starP = -1;
+        int starV = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))) {
+                p++;
+                v++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '%') {
+                starP = p++;
+                starV = v;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                v = ++starV;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * An immutable node of the trie, a leaf carries the primary key of the Location.
+     */
+    private record Node(Map<String, Node> children, Long pk) {
+
+        private static final Node EMPTY = new Node(Map.of(), null);
+
+        boolean isEmpty() {
+            return pk == null && children.isEmpty();
+        }
+    }
+
+    /**
+     * A mutable node only used while the trie is built.
+     */
+    private static final class NodeBuilder {
+        private final Map<String, NodeBuilder> children = new HashMap<>();
+        private Long pk;
+
+        void insert(String[] segments, Long pk) {
+            var node = this;
+            for (var segment : segments) {
+                node = node.children.computeIfAbsent(segment, k -> new NodeBuilder());
+            }
+            node.pk = pk;
+        }
+
+        Node build() {
+            var built = new HashMap<String, Node>(children.size());
+            children.forEach((segment, child) -> built.put(segment, child.build()));
+            return new Node(Map.copyOf(built), pk);
+        }
+    }
+}
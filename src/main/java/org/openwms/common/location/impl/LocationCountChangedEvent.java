@@ -0,0 +1,70 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationGroup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A LocationCountChangedEvent is published within the transaction when {@link Location}s have been added to or removed from
+ * {@link LocationGroup}s. The names of the groups are resolved at publication time, because the lazy association is not accessible
+ * anymore after the transaction has been committed.
+ *
+ * @param deltas The number of added (positive) or removed (negative) Locations per LocationGroup name
+ * @author Heiko Scherrer
+ */
+record LocationCountChangedEvent(Map<String, Long> deltas) {
+
+    /**
+     * Create an event for Locations that have been added ({@code delta > 0}) or removed ({@code delta < 0}).
+     *
+     * @param locations The Locations
+     * @param delta The change per Location
+     * @return The event
+     */
+    static LocationCountChangedEvent of(Collection<Location> locations, long delta) {
+        var deltas = new HashMap<String, Long>();
+        locations.stream().filter(Location::belongsToLocationGroup)
+                .forEach(l -> deltas.merge(l.getLocationGroup().getName(), delta, Long::sum));
+        return new LocationCountChangedEvent(Map.copyOf(deltas));
+    }
+
+    /**
+     * Create an event for a Location that has been moved from one LocationGroup to another.
+     *
+     * @param previous The name of the previous LocationGroup, may be {@literal null}
+     * @param current The name of the current LocationGroup, may be {@literal null}
+     * @return The event
+     */
+    static LocationCountChangedEvent moved(String previous, String current) {
+        var deltas = new HashMap<String, Long>();
+        if (previous != null) {
+            deltas.merge(previous, -1L, Long::sum);
+        }
+        if (current != null) {
+            deltas.merge(current, 1L, Long::sum);
+        }
+        return new LocationCountChangedEvent(Map.copyOf(deltas));
+    }
+
+    boolean isEmpty() {
+        return deltas.values().stream().allMatch(d -> d == 0);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.LocationSnapshot;
+import org.openwms.common.location.api.events.LocationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A LocationDirectory is an in-memory directory of all {@link Location}s, indexed by the persistent key, the {@link LocationPK}, the
+ * PLC code and the ERP code. Each index maps to an immutable {@link LocationSnapshot}.
+ * <p>
+ * The directory is warmed up when the application is ready and afterwards kept current with the {@link LocationEvent}s published
+ * by the services, but only after the surrounding transaction has been committed. Because Locations may also be modified without
+ * any event (e.g. by a database script), the directory is only a hint for callers that load the entity: they must verify the
+ * resolved entity and report stale entries with {@link #stale(LocationSnapshot)}. Read-only callers take the snapshot as it is.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationDirectory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationDirectory.class);
+    private final LocationRepository repository;
+    private final boolean enabled;
+    private final Map<Long, LocationSnapshot> byPk = new ConcurrentHashMap<>();
+    private final Map<String, LocationSnapshot> byPKey = new ConcurrentHashMap<>();
+    private final Map<LocationPK, LocationSnapshot> byLocationId = new ConcurrentHashMap<>();
+    private final Map<String, LocationSnapshot> byPlcCode = new ConcurrentHashMap<>();
+    private final Map<String, LocationSnapshot> byErpCode = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleEntries;
+
+    LocationDirectory(LocationRepository repository, MeterRegistry meterRegistry,
+            @Value("${owms.common.location.directory.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.hits = Counter.builder("owms.common.location.directory.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("owms.common.location.directory.lookups").tag("result", "miss").register(meterRegistry);
+        this.staleEntries = Counter.builder("owms.common.location.directory.lookups").tag("result", "stale").register(meterRegistry);
+        Gauge.builder("owms.common.location.directory.size", byPk, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Drop all entries and load a snapshot of every existing {@link Location} from the database.
+     */
+    synchronized void warmUp() {
+        clear();
+        var snapshots = repository.findAllSnapshots();
+        snapshots.forEach(this::putInternal);
+        LOGGER.info("LocationDirectory warmed up with [{}] Locations", snapshots.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationEvent(LocationEvent event) {
+        if (enabled && (event.getType() == LocationEvent.LocationEventType.BULK_STATE_CHANGE
+                || event.getType() == LocationEvent.LocationEventType.BULK_CREATED) && event.getSource() instanceof Collection<?> locations) {
+            locations.stream().filter(Location.class::isInstance).map(Location.class::cast).forEach(this::put);
+            return;
+        }
+        if (!enabled || !(event.getSource() instanceof Location location)) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, CHANGED, STATE_CHANGE -> put(location);
+            case DELETED -> evict(location.getPk());
+            default -> {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * Find a snapshot by the persistent key.
+     *
+     * @param pKey The persistent key
+     * @return The snapshot or {@literal empty} if not present in the directory
+     */
+    Optional<LocationSnapshot> findByPKey(String pKey) {
+        return lookup(byPKey, pKey);
+    }
+
+    /**
+     * Find a snapshot by the unique {@link LocationPK}.
+     *
+     * @param locationId The LocationPK
+     * @return The snapshot or {@literal empty} if not present in the directory
+     */
+    Optional<LocationSnapshot> findByLocationId(LocationPK locationId) {
+        return lookup(byLocationId, locationId);
+    }
+
+    /**
+     * Find a snapshot by the PLC code.
+     *
+     * @param plcCode The PLC code
+     * @return The snapshot or {@literal empty} if not present in the directory
+     */
+    Optional<LocationSnapshot> findByPlcCode(String plcCode) {
+        return lookup(byPlcCode, plcCode);
+    }
+
+    /**
+     * Find a snapshot by the ERP code.
+     *
+     * @param erpCode The ERP code
+     * @return The snapshot or {@literal empty} if not present in the directory
+     */
+    Optional<LocationSnapshot> findByErpCode(String erpCode) {
+        return lookup(byErpCode, erpCode);
+    }
+
+    private <K> Optional<LocationSnapshot> lookup(Map<K, LocationSnapshot> index, K key) {
+        if (!enabled || key == null) {
+            return Optional.empty();
+        }
+        var snapshot = index.get(key);
+        if (snapshot == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Add or replace the snapshot of the given {@code location}. Transient Locations are ignored.
+     *
+     * @param location The Location to take the snapshot from
+     */
+    void put(Location location) {
+        if (enabled && location.getPk() != null) {
+            putInternal(LocationSnapshot.of(location));
+        }
+    }
+
+    /**
+     * Called by clients that detected a snapshot not matching the persistent state anymore.
+     *
+     * @param snapshot The outdated snapshot
+     */
+    void stale(LocationSnapshot snapshot) {
+        staleEntries.increment();
+        LOGGER.debug("Evict stale Location snapshot [{}]", snapshot);
+        evict(snapshot.pk());
+    }
+
+    private synchronized void putInternal(LocationSnapshot snapshot) {
+        removeKeys(byPk.put(snapshot.pk(), snapshot));
+        byPKey.put(snapshot.pKey(), snapshot);
+        byLocationId.put(snapshot.locationId(), snapshot);
+        if (snapshot.plcCode() != null) {
+            byPlcCode.put(snapshot.plcCode(), snapshot);
+        }
+        if (snapshot.erpCode() != null) {
+            byErpCode.put(snapshot.erpCode(), snapshot);
+        }
+    }
+
+    private synchronized void evict(Long pk) {
+        if (pk != null) {
+            removeKeys(byPk.remove(pk));
+        }
+    }
+
+    private void removeKeys(LocationSnapshot previous) {
+        if (previous == null) {
+            return;
+        }
+        byPKey.remove(previous.pKey(), previous);
+        byLocationId.remove(previous.locationId(), previous);
+        if (previous.plcCode() != null) {
+            byPlcCode.remove(previous.plcCode(), previous);
+        }
+        if (previous.erpCode() != null) {
+            byErpCode.remove(previous.erpCode(), previous);
+        }
+    }
+
+    private synchronized void clear() {
+        byPk.clear();
+        byPKey.clear();
+        byLocationId.clear();
+        byPlcCode.clear();
+        byErpCode.clear();
+    }
+}
@@ -19,28 +19,31 @@ import jakarta.annotation.PostConstruct;
 import jakarta.validation.Validator;
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.amqp.AsyncPublisher;
 import org.openwms.common.location.Location;
 import org.openwms.common.location.LocationGroup;
 import org.openwms.common.location.LocationGroupMapper;
 import org.openwms.common.location.LocationMapper;
 import org.openwms.common.location.api.events.LocationEvent;
 import org.openwms.common.location.api.events.LocationGroupEvent;
+import org.openwms.common.outbox.Outbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
-import static java.lang.String.format;
-import static org.ameba.system.ValidationUtil.validate;
+import java.util.List;
 
 /**
- * A LocationGroupEventPropagator.
+ * A LocationGroupEventPropagator appends {@link LocationGroupEvent}s and {@link LocationEvent}s to the {@link Outbox} in the transaction
+ * that caused them. Only the boot event is sent directly.
+ * <p>
+ * The listeners run before the commit, so an exception would roll back the business transaction. Unsupported events and invalid messages
+ * are therefore logged and skipped, like they were dropped when the events were sent after the commit.
  *
  * @author Heiko Scherrer
  */
@@ -51,15 +54,17 @@ class LocationGroupEventPropagator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationGroupEventPropagator.class);
 
-    private final AmqpTemplate amqpTemplate;
+    private final AsyncPublisher publisher;
+    private final Outbox outbox;
     private final Validator validator;
     private final String exchangeName;
     private final LocationMapper locationMapper;
     private final LocationGroupMapper locationGroupMapper;
 
-    LocationGroupEventPropagator(AmqpTemplate amqpTemplate, Validator validator,
+    LocationGroupEventPropagator(AsyncPublisher publisher, Outbox outbox, Validator validator,
             @Value("${owms.events.common.lg.exchange-name}") String exchangeName, LocationMapper locationMapper, LocationGroupMapper locationGroupMapper) {
-        this.amqpTemplate = amqpTemplate;
+        this.publisher = publisher;
+        this.outbox = outbox;
         this.validator = validator;
         this.exchangeName = exchangeName;
         this.locationMapper = locationMapper;
@@ -68,62 +73,73 @@ class LocationGroupEventPropagator {
 
     @PostConstruct
     void onStartup() {
-        try {
-            amqpTemplate.convertAndSend(exchangeName, "lg.event.boot", LocationGroupEvent.boot());
-        } catch (Exception e) {
-            // It is fine if the event broker is not available on startup
-        }
+        // It is fine if the event broker is not available on startup
+        publisher.publish(exchangeName, "lg.event.boot", LocationGroupEvent.boot());
     }
 
     @Measured
-    @TransactionalEventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void onEvent(LocationGroupEvent event) {
         switch (event.getType()) {
             case CREATED -> {
                 LOGGER.info("LocationGroup successfully created [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "lg.event.created", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
+                outbox.append(exchangeName, "lg.event.created", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
             }
             case CHANGED -> {
                 LOGGER.info("LocationGroup successfully modified [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "lg.event.changed", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
+                outbox.append(exchangeName, "lg.event.changed", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
             }
             case DELETED -> {
                 LOGGER.info("LocationGroup successfully deleted [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "lg.event.deleted", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
+                outbox.append(exchangeName, "lg.event.deleted", locationGroupMapper.convertToMO((LocationGroup) event.getSource()));
             }
             case STATE_CHANGE -> {
                 LOGGER.info("LocationGroup changed state [{}]", event.getSource());
                 var msg = locationGroupMapper.convertToMO((LocationGroup) event.getSource());
-                validate(validator, msg);
-                amqpTemplate.convertAndSend(exchangeName, "lg.event.state-changed", msg);
+                var violations = validator.validate(msg);
+                if (violations.isEmpty()) {
+                    outbox.append(exchangeName, "lg.event.state-changed", msg);
+                } else {
+                    LOGGER.error("LocationGroup state change message is invalid and not sent [{}]", violations.iterator().next().getMessage());
+                }
             }
-            default -> throw new UnsupportedOperationException(format("LocationGroupEvent [%s] currently not supported", event.getType()));
+            default -> LOGGER.warn("LocationGroupEvent [{}] currently not supported", event.getType());
         }
     }
 
     @Measured
-    @TransactionalEventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void onLocationEvent(LocationEvent event) {
         switch (event.getType()) {
             case CREATED -> {
                 LOGGER.info("Location successfully created [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "loc.event.created", locationMapper.convertToMO((Location) event.getSource()));
+                outbox.append(exchangeName, "loc.event.created", locationMapper.convertToMO((Location) event.getSource()));
             }
             case CHANGED -> {
                 LOGGER.info("Location successfully modified [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "loc.event.changed", locationMapper.convertToMO((Location) event.getSource()));
+                outbox.append(exchangeName, "loc.event.changed", locationMapper.convertToMO((Location) event.getSource()));
             }
             case DELETED -> {
                 LOGGER.info("Location successfully deleted [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "loc.event.deleted", locationMapper.convertToMO((Location) event.getSource()));
+                outbox.append(exchangeName, "loc.event.deleted", locationMapper.convertToMO((Location) event.getSource()));
             }
             case STATE_CHANGE -> {
                 LOGGER.info("Location changed state [{}]", event.getSource());
-                amqpTemplate.convertAndSend(exchangeName, "loc.event.state-changed", locationMapper.convertToMO((Location) event.getSource()));
+                outbox.append(exchangeName, "loc.event.state-changed", locationMapper.convertToMO((Location) event.getSource()));
+            }
+            case BULK_STATE_CHANGE -> {
+                @SuppressWarnings("unchecked")
+                var locations = (List<Location>) event.getSource();
+                LOGGER.info("[{}] Locations changed state", locations.size());
+                outbox.append(exchangeName, "loc.event.states-changed", locationMapper.convertToMO(locations));
+            }
+            case BULK_CREATED -> {
+                @SuppressWarnings("unchecked")
+                var locations = (List<Location>) event.getSource();
+                LOGGER.info("[{}] Locations successfully imported", locations.size());
+                outbox.append(exchangeName, "loc.event.bulk-created", locationMapper.convertToMO(locations));
             }
-            default -> throw new UnsupportedOperationException(format("LocationEvent [%s] currently not supported", event.getType()));
+            default -> LOGGER.warn("LocationEvent [{}] currently not supported", event.getType());
         }
     }
 }
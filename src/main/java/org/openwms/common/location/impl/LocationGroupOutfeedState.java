@@ -0,0 +1,44 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.LocationGroup;
+import org.openwms.common.location.api.LocationGroupState;
+
+/**
+ * A LocationGroupOutfeedState is a projection of the outfeed state of a {@link LocationGroup}, used to find the descendants that follow
+ * an outfeed state change of an ancestor without loading the whole subtree.
+ *
+ * @param pk The technical primary key
+ * @param parentPk The primary key of the parent LocationGroup
+ * @param groupStateOut The current outfeed state
+ * @param stateOutLockerPk The primary key of the LocationGroup that locked the outfeed, may be {@literal null}
+ * @author Heiko Scherrer
+ */
+record LocationGroupOutfeedState(Long pk, Long parentPk, LocationGroupState groupStateOut, Long stateOutLockerPk) {
+
+    /**
+     * Checks whether the outfeed state of the LocationGroup is changed to {@code newState} when the LocationGroup {@code lockerPk}
+     * changes its state.
+     *
+     * @param newState The outfeed state to set
+     * @param lockerPk The primary key of the LocationGroup that locks or unlocks
+     * @return {@literal true} if the state changes, this is also the precondition for the children to change
+     */
+    boolean follows(LocationGroupState newState, Long lockerPk) {
+        return groupStateOut != newState && (stateOutLockerPk == null || stateOutLockerPk.equals(lockerPk));
+    }
+}
@@ -16,8 +16,14 @@
 package org.openwms.common.location.impl;
 
 import org.openwms.common.location.LocationGroup;
+import org.openwms.common.location.LocationGroupSnapshot;
+import org.openwms.common.location.api.LocationGroupState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +34,15 @@ import java.util.Optional;
  */
 interface LocationGroupRepository extends JpaRepository<LocationGroup, Long> {
 
+    String SELECT_SNAPSHOT = """
+        select new org.openwms.common.location.LocationGroupSnapshot(g.pk, g.pKey, g.name, a.identifier, g.description, g.groupType,
+               p.name, g.operationMode, g.groupStateIn, g.groupStateOut, g.subsystem.systemName, g.subsystem.systemCode,
+               (select count(l) from Location l where l.locationGroup = g), g.path, g.createDt)
+          from LocationGroup g
+          left join g.account a
+          left join g.parent p
+    """;
+
     @Override
     List<LocationGroup> findAll();
 
@@ -36,4 +51,43 @@ interface LocationGroupRepository extends JpaRepository<LocationGroup, Long> {
     Optional<LocationGroup> findBypKey(String persistentKey);
 
     List<LocationGroup> findByNameIn(List<String> names);
+
+    boolean existsByPathIsNull();
+
+    @Query(SELECT_SNAPSHOT)
+    List<LocationGroupSnapshot> findAllSnapshots();
+
+    @Query(SELECT_SNAPSHOT + " where g.path like :path")
+    List<LocationGroupSnapshot> findSnapshots(@Param("path") String path);
+
+    @Query("""
+        select new org.openwms.common.location.impl.LocationGroupOutfeedState(g.pk, p.pk, g.groupStateOut, l.pk)
+          from LocationGroup g
+          left join g.parent p
+          left join g.stateOutLocker l
+         where g.path like :descendants
+    """)
+    List<LocationGroupOutfeedState> findOutfeedStates(@Param("descendants") String descendants);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned LocationGroup g set g.operationMode = :mode where g.path like :descendants")
+    int updateOperationMode(@Param("descendants") String descendants, @Param("mode") String mode);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned LocationGroup g set g.stateInLocker = :locker where g.path like :descendants and g.groupStateIn = :current")
+    int updateStateInLocker(@Param("descendants") String descendants, @Param("current") LocationGroupState current,
+            @Param("locker") LocationGroup locker);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned LocationGroup g set g.groupStateIn = :state where g.path like :descendants")
+    int updateStateIn(@Param("descendants") String descendants, @Param("state") LocationGroupState state);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned LocationGroup g set g.groupStateOut = :state, g.stateOutLocker = :locker where g.pk in :pks")
+    int updateStateOut(@Param("pks") Collection<Long> pks, @Param("state") LocationGroupState state,
+            @Param("locker") LocationGroup locker);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned LocationGroup g set g.path = concat(:path, substring(g.path, :from)) where g.path like :descendants")
+    int updatePaths(@Param("descendants") String descendants, @Param("path") String path, @Param("from") int from);
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import org.openwms.common.account.AccountService;
 import org.openwms.common.location.Location;
 import org.openwms.common.location.LocationGroup;
 import org.openwms.common.location.LocationGroupService;
+import org.openwms.common.location.LocationGroupTree;
 import org.openwms.common.location.LocationRemovalManager;
 import org.openwms.common.location.api.LocationGroupState;
 import org.openwms.common.location.api.LocationGroupVO;
@@ -40,6 +41,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.ArrayList;
@@ -68,13 +71,16 @@ class LocationGroupServiceImpl implements LocationGroupService {
     private final LocationGroupRepository repository;
     private final AccountService accountService;
     private final LocationRemovalManager locationRemovalManager;
+    private final LocationGroupTreeCache treeCache;
 
-    LocationGroupServiceImpl(ApplicationContext ctx, Translator translator, LocationGroupRepository repository, AccountService accountService, LocationRemovalManager locationRemovalManager) {
+    LocationGroupServiceImpl(ApplicationContext ctx, Translator translator, LocationGroupRepository repository, AccountService accountService,
+            LocationRemovalManager locationRemovalManager, LocationGroupTreeCache treeCache) {
         this.ctx = ctx;
         this.translator = translator;
         this.repository = repository;
         this.accountService = accountService;
         this.locationRemovalManager = locationRemovalManager;
+        this.treeCache = treeCache;
     }
 
     /**
@@ -88,6 +94,7 @@ class LocationGroupServiceImpl implements LocationGroupService {
         }
         var eo = createLocationGroup(vo);
         var savedEo = repository.save(eo);
+        assignPaths(savedEo);
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Request to create a new LocationGroup [{}]", savedEo);
         }
@@ -131,40 +138,122 @@ class LocationGroupServiceImpl implements LocationGroupService {
         return eo;
     }
 
+    private void assignPaths(LocationGroup locationGroup) {
+        locationGroup.assignPath();
+        if (locationGroup.hasLocationGroups()) {
+            locationGroup.getLocationGroups().forEach(this::assignPaths);
+        }
+    }
+
+    /**
+     * Assign the materialized path to all {@link LocationGroup}s if at least one has none, e.g. because it has been inserted by a
+     * database script.
+     */
+    private void ensurePaths() {
+        if (!repository.existsByPathIsNull()) {
+            return;
+        }
+        var all = repository.findAll();
+        var byParent = all.stream().filter(LocationGroup::hasParent).collect(Collectors.groupingBy(lg -> lg.getParent().getPk()));
+        var level = all.stream().filter(lg -> !lg.hasParent()).toList();
+        while (!level.isEmpty()) {
+            level.forEach(LocationGroup::assignPath);
+            level = level.stream().flatMap(lg -> byParent.getOrDefault(lg.getPk(), List.of()).stream()).toList();
+        }
+        repository.flush();
+        LOGGER.info("Assigned the path to [{}] LocationGroups", all.size());
+    }
+
+    /**
+     * The bulk statements on the descendants flush all pending changes and clear the persistence context afterwards, so that no stale
+     * LocationGroup stays managed. Therefore a LocationGroup used after such a statement must be loaded again.
+     */
+    private LocationGroup reload(LocationGroup locationGroup) {
+        return repository.findById(locationGroup.getPk()).orElseThrow(() -> new NotFoundException(
+                translator, LOCATION_GROUP_NOT_FOUND_BY_PKEY, new String[]{locationGroup.getPersistentKey()}, locationGroup.getPersistentKey()
+        ));
+    }
+
+    private static String descendantsOf(LocationGroup locationGroup) {
+        return locationGroup.getPath() + "_%";
+    }
+
+    private void changeSubtreeStateIn(LocationGroup locationGroup, LocationGroupState stateIn) {
+        var current = stateIn == LocationGroupState.AVAILABLE ? LocationGroupState.NOT_AVAILABLE : LocationGroupState.AVAILABLE;
+        var locker = stateIn == LocationGroupState.AVAILABLE ? null : locationGroup;
+        repository.updateStateInLocker(descendantsOf(locationGroup), current, locker);
+        repository.updateStateIn(descendantsOf(locationGroup), stateIn);
+    }
+
+    private void changeSubtreeStateOut(LocationGroup locationGroup, LocationGroupState stateOut) {
+        var byParent = repository.findOutfeedStates(descendantsOf(locationGroup)).stream()
+                .filter(lg -> lg.follows(stateOut, locationGroup.getPk()))
+                .collect(Collectors.groupingBy(LocationGroupOutfeedState::parentPk));
+        var changed = new ArrayList<Long>();
+        var level = List.of(locationGroup.getPk());
+        while (!level.isEmpty()) {
+            level = level.stream().flatMap(pk -> byParent.getOrDefault(pk, List.of()).stream()).map(LocationGroupOutfeedState::pk).toList();
+            changed.addAll(level);
+        }
+        if (!changed.isEmpty()) {
+            repository.updateStateOut(changed, stateOut, stateOut == LocationGroupState.AVAILABLE ? null : locationGroup);
+        }
+    }
+
     /**
      * {@inheritDoc}
+     *
+     * The descendants are changed with bulk statements on their materialized path.
      */
     @Override
     @Measured
     public void changeGroupState(@NotBlank String pKey, @NotNull LocationGroupState stateIn, @NotNull LocationGroupState stateOut) {
+        ensurePaths();
         var locationGroup = findInternalByPKey(pKey);
-        locationGroup.changeState(stateIn, stateOut);
-        ctx.publishEvent(LocationGroupEvent.of(locationGroup, LocationGroupEvent.LocationGroupEventType.STATE_CHANGE));
+        var changedIn = locationGroup.changeOwnStateIn(stateIn);
+        var changedOut = locationGroup.changeOwnStateOut(stateOut);
+        if (changedIn) {
+            changeSubtreeStateIn(locationGroup, stateIn);
+        }
+        if (changedOut) {
+            changeSubtreeStateOut(locationGroup, stateOut);
+        }
+        ctx.publishEvent(LocationGroupEvent.of(reload(locationGroup), LocationGroupEvent.LocationGroupEventType.STATE_CHANGE));
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The descendants are changed with bulk statements on their materialized path.
      */
     @Override
     @Measured
     public void changeGroupStates(@NotBlank String name, Optional<LocationGroupState> stateIn, Optional<LocationGroupState> stateOut) {
+        ensurePaths();
         var locationGroup = findByNameOrThrowInternal(name);
-        stateIn.ifPresent(locationGroup::changeGroupStateIn);
-        stateOut.ifPresent(locationGroup::changeGroupStateOut);
+        stateIn.ifPresent(locationGroup::changeOwnGroupStateIn);
+        stateOut.ifPresent(locationGroup::changeOwnGroupStateOut);
+        stateIn.ifPresent(state -> changeSubtreeStateIn(locationGroup, state));
+        stateOut.ifPresent(state -> changeSubtreeStateOut(locationGroup, state));
         if (stateIn.isPresent() || stateOut.isPresent()) {
-            ctx.publishEvent(LocationGroupEvent.of(locationGroup, LocationGroupEvent.LocationGroupEventType.STATE_CHANGE));
+            ctx.publishEvent(LocationGroupEvent.of(reload(locationGroup), LocationGroupEvent.LocationGroupEventType.STATE_CHANGE));
         }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The descendants are changed with a bulk statement on their materialized path.
      */
     @Override
     @Measured
     public void changeOperationMode(@NotBlank String name, @NotBlank String mode) {
+        ensurePaths();
         var locationGroup = findByNameOrThrowInternal(name);
-        locationGroup.setOperationMode(mode);
+        locationGroup.setOwnOperationMode(mode);
         repository.save(locationGroup);
+        repository.updateOperationMode(descendantsOf(locationGroup), mode);
+        ctx.publishEvent(LocationGroupEvent.of(reload(locationGroup), LocationGroupEvent.LocationGroupEventType.CHANGED));
     }
 
     /**
@@ -210,6 +299,28 @@ class LocationGroupServiceImpl implements LocationGroupService {
         return result == null ? new ArrayList<>(0) : result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * No transaction is started, because the snapshot is served from memory.
+     */
+    @Override
+    @Measured
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public @NotNull LocationGroupTree getTree() {
+        return treeCache.current();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public @NotNull LocationGroupTree reloadTree() {
+        return treeCache.reload();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -250,6 +361,7 @@ class LocationGroupServiceImpl implements LocationGroupService {
         // Finally delete the LocationGroups...
         try {
             deleteOnlyGroups(locationGroup);
+            ctx.publishEvent(LocationGroupEvent.of(locationGroup, LocationGroupEvent.LocationGroupEventType.DELETED));
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
             LOGGER.debug("Deletion of LocationGroup [{}] went wrong, rolling back Location deletion", locationGroup.getPersistentKey());
@@ -289,8 +401,13 @@ class LocationGroupServiceImpl implements LocationGroupService {
         if (locationGroupVO.hasParent() && !locationGroupVO.getParent().equals(locationGroup.getParent().getName())) {
             var newParent = findByNameOrThrowInternal(locationGroupVO.getParent());
             LOGGER.debug("Parent of LocationGroup changes from [{}] to [{}]", locationGroup.getParent(), newParent);
+            ensurePaths();
+            var previousPath = locationGroup.getPath();
             locationGroup.setParent(newParent);
+            locationGroup.assignPath();
             locationGroup = repository.save(locationGroup);
+            repository.updatePaths(previousPath + "_%", locationGroup.getPath(), previousPath.length() + 1);
+            locationGroup = reload(locationGroup);
             ctx.publishEvent(LocationGroupEvent.of(locationGroup, LocationGroupEvent.LocationGroupEventType.CHANGED));
         }
         return locationGroup;
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationGroup;
+import org.openwms.common.location.LocationGroupSnapshot;
+import org.openwms.common.location.LocationGroupTree;
+import org.openwms.common.location.api.events.LocationEvent;
+import org.openwms.common.location.api.events.LocationGroupEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A LocationGroupTreeCache holds the current {@link LocationGroupTree} and replaces it with a new copy on each {@link LocationGroupEvent}
+ * after the surrounding transaction has been committed. Only the subtree of the changed {@link LocationGroup} is read from the database.
+ * A {@link LocationEvent} that adds or removes {@link Location}s is translated into a {@link LocationCountChangedEvent} within the
+ * transaction and only the number of Locations of the affected groups is patched after commit, without reading from the database.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationGroupTreeCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationGroupTreeCache.class);
+    private final LocationGroupRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile LocationGroupTree tree;
+
+    LocationGroupTreeCache(LocationGroupRepository repository, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Return the current tree, it is loaded on first access.
+     *
+     * @return The tree
+     */
+    LocationGroupTree current() {
+        var current = tree;
+        return current == null ? reload() : current;
+    }
+
+    /**
+     * Drop the current tree and load all {@link LocationGroup}s from the database.
+     *
+     * @return The new tree
+     */
+    synchronized LocationGroupTree reload() {
+        tree = LocationGroupTree.of(repository.findAllSnapshots());
+        LOGGER.info("LocationGroupTree loaded with [{}] LocationGroups in version [{}]", tree.size(), tree.getVersion());
+        return tree;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationGroupEvent(LocationGroupEvent event) {
+        if (tree == null || !(event.getSource() instanceof LocationGroup locationGroup)) {
+            return;
+        }
+        switch (event.getType()) {
+            case DELETED -> replace(locationGroup, false);
+            case CREATED, CHANGED, STATE_CHANGE -> replace(locationGroup, true);
+            default -> {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * Resolve the LocationGroups of added or removed Locations while the transaction is still active. A change of the LocationGroup of an
+     * existing Location is published by the {@code LocationService} itself, because the previous group is not known here.
+     *
+     * @param event The event
+     */
+    @EventListener
+    public void onLocationEvent(LocationEvent event) {
+        var changed = switch (event.getType()) {
+            case CREATED -> event.getSource() instanceof Location location ? LocationCountChangedEvent.of(List.of(location), 1) : null;
+            case DELETED -> event.getSource() instanceof Location location ? LocationCountChangedEvent.of(List.of(location), -1) : null;
+            case BULK_CREATED -> event.getSource() instanceof Collection<?> locations
+                    ? LocationCountChangedEvent.of(locations.stream().filter(Location.class::isInstance).map(Location.class::cast).toList(), 1)
+                    : null;
+            default -> null;
+        };
+        if (changed != null && !changed.isEmpty()) {
+            eventPublisher.publishEvent(changed);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLocationCountChanged(LocationCountChangedEvent event) {
+        if (tree == null) {
+            return;
+        }
+        tree = tree.withLocations(event.deltas());
+        LOGGER.debug("LocationGroupTree updated with the number of Locations of {} in version [{}]", event.deltas(), tree.getVersion());
+    }
+
+    private synchronized void replace(LocationGroup locationGroup, boolean exists) {
+        if (exists && locationGroup.getPath() == null) {
+            reload();
+            return;
+        }
+        var changed = exists ? repository.findSnapshots(locationGroup.getPath() + "%") : List.<LocationGroupSnapshot>of();
+        tree = tree.with(List.of(locationGroup.getName()), changed);
+        LOGGER.debug("LocationGroupTree updated with [{}] LocationGroups in version [{}]", changed.size(), tree.getVersion());
+    }
+}
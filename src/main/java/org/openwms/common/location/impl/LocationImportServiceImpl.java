@@ -0,0 +1,303 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.ameba.i18n.Translator;
+import org.openwms.common.account.Account;
+import org.openwms.common.account.AccountService;
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationGroup;
+import org.openwms.common.location.LocationImportService;
+import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.LocationType;
+import org.openwms.common.location.api.ImportReportVO;
+import org.openwms.common.location.api.LocationGroupVO;
+import org.openwms.common.location.api.LocationVO;
+import org.openwms.common.location.api.ValidationGroups;
+import org.openwms.common.location.api.events.LocationEvent;
+import org.openwms.common.location.api.events.LocationGroupEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.openwms.common.CommonMessageCodes.ACCOUNT_NOT_FOUND_BY_ID;
+import static org.openwms.common.CommonMessageCodes.LOCATION_ERP_CODE_EXISTS;
+import static org.openwms.common.CommonMessageCodes.LOCATION_GROUP_EXISTS;
+import static org.openwms.common.CommonMessageCodes.LOCATION_GROUP_IMPORT_CHILDREN;
+import static org.openwms.common.CommonMessageCodes.LOCATION_GROUP_NOT_FOUND;
+import static org.openwms.common.CommonMessageCodes.LOCATION_ID_EXISTS;
+import static org.openwms.common.CommonMessageCodes.LOCATION_ID_INVALID;
+import static org.openwms.common.CommonMessageCodes.LOCATION_TYPE_NOT_FOUND;
+
+/**
+ * A LocationImportServiceImpl is a Spring managed transactional Service that imports chunks of {@link Location}s and
+ * {@link LocationGroup}s. All referenced LocationTypes, LocationGroups and Accounts are resolved once per chunk, the new entities
+ * are saved together so that Hibernate can batch the inserts.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@TxService
+class LocationImportServiceImpl implements LocationImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationImportServiceImpl.class);
+    private final ApplicationContext ctx;
+    private final Translator translator;
+    private final Validator validator;
+    private final LocationRepository repository;
+    private final LocationTypeRepository locationTypeRepository;
+    private final LocationGroupRepository locationGroupRepository;
+    private final AccountService accountService;
+
+    LocationImportServiceImpl(ApplicationContext ctx, Translator translator, Validator validator, LocationRepository repository,
+            LocationTypeRepository locationTypeRepository, LocationGroupRepository locationGroupRepository, AccountService accountService) {
+        this.ctx = ctx;
+        this.translator = translator;
+        this.validator = validator;
+        this.repository = repository;
+        this.locationTypeRepository = locationTypeRepository;
+        this.locationGroupRepository = locationGroupRepository;
+        this.accountService = accountService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull ImportReportVO importLocations(@NotEmpty Map<Long, LocationVO> rows) {
+        var report = new ImportReportVO();
+        var candidates = new LinkedHashMap<Long, LocationPK>();
+        var locationIds = new HashSet<LocationPK>();
+        var erpCodes = new HashSet<String>();
+        for (var row : new TreeMap<>(rows).entrySet()) {
+            var vo = row.getValue();
+            var violations = validate(vo);
+            if (violations.isPresent()) {
+                report.reject(row.getKey(), vo.getLocationId(), violations.get());
+                continue;
+            }
+            var locationId = LocationPK.tryParse(vo.getLocationId());
+            if (locationId.isEmpty()) {
+                report.reject(row.getKey(), vo.getLocationId(), translator.translate(LOCATION_ID_INVALID, vo.getLocationId()));
+            } else if (locationIds.contains(locationId.get())) {
+                report.reject(row.getKey(), vo.getLocationId(), translator.translate(LOCATION_ID_EXISTS, vo.getLocationId()));
+            } else if (!erpCodes.add(vo.getErpCode())) {
+                report.reject(row.getKey(), vo.getLocationId(), translator.translate(LOCATION_ERP_CODE_EXISTS, vo.getErpCode()));
+            } else {
+                locationIds.add(locationId.get());
+                candidates.put(row.getKey(), locationId.get());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return report;
+        }
+
+        var existingIds = new HashSet<>(repository.findExistingLocationIds(locationIds));
+        var existingErpCodes = new HashSet<>(repository.findExistingErpCodes(erpCodes));
+        var types = locationTypeRepository.findByTypeIn(collect(candidates.keySet(), rows, LocationVO::getType)).stream()
+                .collect(Collectors.toMap(LocationType::getType, Function.identity()));
+        var groupNames = collect(candidates.keySet(), rows, LocationVO::getLocationGroupName);
+        var groups = locationGroupRepository.findByNameIn(new ArrayList<>(groupNames)).stream()
+                .collect(Collectors.toMap(LocationGroup::getName, Function.identity()));
+        var accounts = resolveAccounts(collect(candidates.keySet(), rows, LocationVO::getAccountId));
+
+        var locations = new ArrayList<Location>(candidates.size());
+        for (var candidate : candidates.entrySet()) {
+            var vo = rows.get(candidate.getKey());
+            var reason = checkLocation(vo, existingIds.contains(candidate.getValue()), existingErpCodes, types.keySet(),
+                    groups.keySet(), accounts);
+            if (reason.isPresent()) {
+                report.reject(candidate.getKey(), vo.getLocationId(), reason.get());
+                continue;
+            }
+            var group = groups.get(vo.getLocationGroupName());
+            var builder = Location.LocationBuilder.aLocation(Location.create(candidate.getValue()))
+                    .withLocationType(types.get(vo.getType()))
+                    .withLocationGroup(group)
+                    .withLocationGroupCountingActive(group.isLocationGroupCountingActive())
+                    .withErpCode(vo.getErpCode())
+                    .withPlcCode(vo.getPlcCode())
+                    .withSortOrder(vo.getSortOrder())
+                    .withStockZone(vo.getStockZone());
+            if (hasText(vo.getAccountId())) {
+                builder.withAccount(accounts.get(vo.getAccountId()).get());
+            }
+            if (vo.getPlcState() != null) {
+                builder.withPlcState(vo.getPlcState());
+            }
+            locations.add(builder.build());
+            report.imported();
+        }
+        if (!locations.isEmpty()) {
+            var saved = repository.saveAll(locations);
+            ctx.publishEvent(LocationEvent.of(saved, LocationEvent.LocationEventType.BULK_CREATED));
+        }
+        LOGGER.info("Imported [{}] of [{}] Locations", report.getImported(), report.getProcessed());
+        return report;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull ImportReportVO importLocationGroups(@NotEmpty Map<Long, LocationGroupVO> rows) {
+        var report = new ImportReportVO();
+        var candidates = new LinkedHashMap<Long, LocationGroupVO>();
+        var names = new HashSet<String>();
+        for (var row : new TreeMap<>(rows).entrySet()) {
+            var vo = row.getValue();
+            var violations = validate(vo);
+            if (violations.isPresent()) {
+                report.reject(row.getKey(), vo.getName(), violations.get());
+            } else if (vo.getChildren() != null && !vo.getChildren().isEmpty()) {
+                report.reject(row.getKey(), vo.getName(), translator.translate(LOCATION_GROUP_IMPORT_CHILDREN, vo.getName()));
+            } else if (!names.add(vo.getName())) {
+                report.reject(row.getKey(), vo.getName(), translator.translate(LOCATION_GROUP_EXISTS, vo.getName()));
+            } else {
+                candidates.put(row.getKey(), vo);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return report;
+        }
+
+        var referenced = new HashSet<>(names);
+        candidates.values().stream().map(LocationGroupVO::getParent).filter(LocationImportServiceImpl::hasText).forEach(referenced::add);
+        var existing = locationGroupRepository.findByNameIn(new ArrayList<>(referenced)).stream()
+                .collect(Collectors.toMap(LocationGroup::getName, Function.identity()));
+        var accounts = resolveAccounts(candidates.values().stream().map(LocationGroupVO::getAccountId)
+                .filter(LocationImportServiceImpl::hasText).collect(Collectors.toSet()));
+
+        var created = new LinkedHashMap<String, LocationGroup>();
+        for (var candidate : candidates.entrySet()) {
+            var vo = candidate.getValue();
+            var parent = hasText(vo.getParent())
+                    ? Optional.ofNullable(created.get(vo.getParent())).or(() -> Optional.ofNullable(existing.get(vo.getParent())))
+                    : Optional.<LocationGroup>empty();
+            var reason = checkLocationGroup(vo, existing.containsKey(vo.getName()), parent.isPresent(), accounts);
+            if (reason.isPresent()) {
+                report.reject(candidate.getKey(), vo.getName(), reason.get());
+                continue;
+            }
+            var eo = new LocationGroup(vo.getName());
+            if (hasText(vo.getAccountId())) {
+                eo.setAccount(accounts.get(vo.getAccountId()).get());
+            }
+            eo.setGroupType(vo.getGroupType());
+            parent.ifPresent(eo::setParent);
+            eo.setOperationMode(vo.getOperationMode());
+            if (vo.getGroupStateIn() != null) {
+                eo.changeGroupStateIn(vo.getGroupStateIn());
+            }
+            if (vo.getGroupStateOut() != null) {
+                eo.changeGroupStateOut(vo.getGroupStateOut());
+            }
+            created.put(eo.getName(), eo);
+            report.imported();
+        }
+        var saved = locationGroupRepository.saveAll(created.values());
+        saved.forEach(LocationGroup::assignPath);
+        saved.forEach(lg -> ctx.publishEvent(LocationGroupEvent.of(lg, LocationGroupEvent.LocationGroupEventType.CREATED)));
+        LOGGER.info("Imported [{}] of [{}] LocationGroups", report.getImported(), report.getProcessed());
+        return report;
+    }
+
+    private Optional<String> checkLocation(LocationVO vo, boolean exists, Set<String> existingErpCodes, Set<String> types,
+            Set<String> groups, Map<String, Optional<Account>> accounts) {
+        if (exists) {
+            return Optional.of(translator.translate(LOCATION_ID_EXISTS, vo.getLocationId()));
+        }
+        if (existingErpCodes.contains(vo.getErpCode())) {
+            return Optional.of(translator.translate(LOCATION_ERP_CODE_EXISTS, vo.getErpCode()));
+        }
+        if (!types.contains(vo.getType())) {
+            return Optional.of(translator.translate(LOCATION_TYPE_NOT_FOUND, vo.getType()));
+        }
+        if (!groups.contains(vo.getLocationGroupName())) {
+            return Optional.of(translator.translate(LOCATION_GROUP_NOT_FOUND, vo.getLocationGroupName()));
+        }
+        if (isMissing(accounts, vo.getAccountId())) {
+            return Optional.of(translator.translate(ACCOUNT_NOT_FOUND_BY_ID, vo.getAccountId()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> checkLocationGroup(LocationGroupVO vo, boolean exists, boolean parentFound,
+            Map<String, Optional<Account>> accounts) {
+        if (exists) {
+            return Optional.of(translator.translate(LOCATION_GROUP_EXISTS, vo.getName()));
+        }
+        if (isMissing(accounts, vo.getAccountId())) {
+            return Optional.of(translator.translate(ACCOUNT_NOT_FOUND_BY_ID, vo.getAccountId()));
+        }
+        if (hasText(vo.getParent()) && !parentFound) {
+            return Optional.of(translator.translate(LOCATION_GROUP_NOT_FOUND, vo.getParent()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> validate(Object vo) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(vo, Default.class, ValidationGroups.Create.class);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+    }
+
+    private static Set<String> collect(Collection<Long> keys, Map<Long, LocationVO> rows, Function<LocationVO, String> attribute) {
+        return keys.stream().map(rows::get).map(attribute).filter(LocationImportServiceImpl::hasText).collect(Collectors.toSet());
+    }
+
+    private Map<String, Optional<Account>> resolveAccounts(Set<String> identifiers) {
+        var result = new HashMap<String, Optional<Account>>(identifiers.size());
+        identifiers.forEach(id -> result.put(id, accountService.findByIdentifier(id)));
+        return result;
+    }
+
+    private static boolean isMissing(Map<String, Optional<Account>> accounts, String identifier) {
+        return hasText(identifier) && accounts.getOrDefault(identifier, Optional.empty()).isEmpty();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A LocationOccupation holds the number of {@code TransportUnit}s and their total weight in gram on a {@link Location}, either as
+ * maintained by the counters of the Location or as counted from the {@code TransportUnit}s.
+ *
+ * @param pk The technical primary key of the Location
+ * @param transportUnits The number of TransportUnits
+ * @param weight The total weight in gram
+ * @author Heiko Scherrer
+ */
+record LocationOccupation(Long pk, long transportUnits, BigDecimal weight) {
+
+    /** The number of decimal places of the total weight, as defined by the column of the Location. */
+    private static final int SCALE = 3;
+
+    /**
+     * Used by the JPQL constructor expression to read the counters of a Location.
+     */
+    LocationOccupation(Long pk, int transportUnits, BigDecimal weight) {
+        this(pk, (long) transportUnits, weight == null ? BigDecimal.ZERO : weight);
+    }
+
+    /**
+     * Used by the JPQL constructor expression to aggregate the TransportUnits of a Location with the same weight unit.
+     */
+    LocationOccupation(Long pk, Long transportUnits, BigDecimal magnitude, WeightUnit unit) {
+        this(pk, transportUnits, magnitude == null || unit == null ? BigDecimal.ZERO : inGram(Weight.of(magnitude, unit)));
+    }
+
+    /**
+     * Merge with another occupation of the same Location.
+     *
+     * @param other The other occupation
+     * @return The sum of both
+     */
+    LocationOccupation plus(LocationOccupation other) {
+        return new LocationOccupation(pk, transportUnits + other.transportUnits, weight.add(other.weight));
+    }
+
+    /**
+     * Convert the given {@code weight} into gram, the unit the total weight of a Location is kept in.
+     *
+     * @param weight The weight to convert, may be {@literal null}
+     * @return The magnitude in gram with three decimal places, zero if no weight is given
+     */
+    static BigDecimal inGram(Weight weight) {
+        if (weight == null || weight.getMagnitude() == null || weight.getUnitType() == null) {
+            return BigDecimal.ZERO;
+        }
+        return weight.convertTo(WeightUnit.G).getMagnitude().setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.common.location.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A LocationOccupationReconciler periodically compares the occupation counters maintained on each {@link Location} with the actual
+ * number and weight of {@code TransportUnit}s and corrects the counters that have drifted, e.g. because {@code TransportUnit}s were
+ * changed directly in the database.
+ * <p>
+ * The counters are compared without any lock. Only a drifted Location is locked, counted again and corrected in a short transaction
+ * of its own, so that {@code TransportUnit} movements committed while the reconciliation runs are not overwritten with outdated numbers
+ * and Locations are never locked for the whole run.
+ * <p>
+ * The scheduled reconciliation is opt-in with {@code owms.common.location.occupation.reconcile.enabled} and is meant to be enabled on
+ * one instance only.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class LocationOccupationReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationOccupationReconciler.class);
+    private final LocationRepository repository;
+    private final TransactionTemplate correctionTx;
+    private final boolean enabled;
+    private final Counter drifts;
+
+    LocationOccupationReconciler(LocationRepository repository, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+            @Value("${owms.common.location.occupation.reconcile.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.correctionTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.drifts = Counter.builder("owms.common.location.occupation.drifts").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${owms.common.location.occupation.reconcile.initial-delay:PT5M}",
+            fixedDelayString = "${owms.common.location.occupation.reconcile.delay:PT1H}")
+    void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Compare the occupation counters of all Locations with the actual {@code TransportUnit}s and correct the ones that differ. Each
+     * correction runs in a transaction of its own, unless the caller already runs within a transaction.
+     *
+     * @return The number of corrected Locations
+     */
+    public int reconcile() {
+        var counted = countByLocation(repository.countActualOccupations());
+        var corrected = 0;
+        for (var maintained : repository.findAllOccupations()) {
+            if (differs(maintained, counted.getOrDefault(maintained.pk(), empty(maintained.pk())))
+                    && Boolean.TRUE.equals(correctionTx.execute(status -> correct(maintained.pk())))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            drifts.increment(corrected);
+            LOGGER.warn("Corrected the occupation counters of [{}] Locations", corrected);
+        } else {
+            LOGGER.debug("The occupation counters of all Locations are consistent");
+        }
+        return corrected;
+    }
+
+    private boolean correct(Long pk) {
+        var location = repository.findAndLockByPk(pk);
+        if (location.isEmpty()) {
+            return false;
+        }
+        var actual = countByLocation(repository.countActualOccupations(pk)).getOrDefault(pk, empty(pk));
+        var maintained = new LocationOccupation(pk, location.get().getNoTransportUnits(), location.get().getTotalWeight());
+        if (!differs(maintained, actual)) {
+            return false;
+        }
+        LOGGER.warn("Occupation of Location [{}] has drifted, maintained are [{}] TransportUnits with [{}] g but counted are [{}] with [{}] g",
+                location.get().getLocationId(), maintained.transportUnits(), maintained.weight(), actual.transportUnits(), actual.weight());
+        repository.setOccupation(pk, Math.toIntExact(actual.transportUnits()), actual.weight());
+        return true;
+    }
+
+    private static Map<Long, LocationOccupation> countByLocation(Iterable<LocationOccupation> occupations) {
+        var result = new HashMap<Long, LocationOccupation>();
+        occupations.forEach(o -> result.merge(o.pk(), o, LocationOccupation::plus));
+        return result;
+    }
+
+    private static LocationOccupation empty(Long pk) {
+        return new LocationOccupation(pk, 0L, BigDecimal.ZERO);
+    }
+
+    private static boolean differs(LocationOccupation maintained, LocationOccupation actual) {
+        return maintained.transportUnits() != actual.transportUnits() || maintained.weight().compareTo(actual.weight()) != 0;
+    }
+}
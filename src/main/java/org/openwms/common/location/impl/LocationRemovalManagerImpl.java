@@ -26,21 +26,14 @@ import org.openwms.common.location.LocationRemovalManager;
 import org.openwms.common.location.api.events.LocationEvent;
 import org.openwms.common.location.events.DeletionFailedEvent;
 import org.openwms.common.location.impl.registration.RegistrationService;
-import org.openwms.common.location.impl.registration.ReplicaRegistry;
 import org.openwms.core.listener.RemovalNotAllowedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static java.lang.String.format;
 import static org.openwms.common.CommonMessageCodes.LOCATION_NOT_FOUND_BY_PKEY;
 
 /**
@@ -54,15 +47,15 @@ class LocationRemovalManagerImpl implements LocationRemovalManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationRemovalManagerImpl.class);
     private final ApplicationEventPublisher eventPublisher;
     private final Translator translator;
-    private final RestTemplate aLoadBalanced;
+    private final ReplicaFanOut replicaFanOut;
     private final LocationRepository repository;
     private final RegistrationService registrationService;
 
-    LocationRemovalManagerImpl(ApplicationEventPublisher eventPublisher, Translator translator, RestTemplate aLoadBalanced,
+    LocationRemovalManagerImpl(ApplicationEventPublisher eventPublisher, Translator translator, ReplicaFanOut replicaFanOut,
             LocationRepository repository, RegistrationService registrationService) {
         this.eventPublisher = eventPublisher;
         this.translator = translator;
-        this.aLoadBalanced = aLoadBalanced;
+        this.replicaFanOut = replicaFanOut;
         this.repository = repository;
         this.registrationService = registrationService;
     }
@@ -105,14 +98,10 @@ class LocationRemovalManagerImpl implements LocationRemovalManager {
         }
         // first ask all services and call the requestRemovalEndpoint
         // might throw RemovalNotAllowedException and exit
-        for (var srv : registeredServices) {
-            askForRemoval(srv, List.of(location.getPersistentKey()));
-        }
+        replicaFanOut.requestRemoval(registeredServices, List.of(location.getPersistentKey()));
 
         // if all are fine then call the removeEndpoint to mark the Location as deleted and not be visible in the foreign service
-        for (var srv : registeredServices) {
-            removeLocation(srv, List.of(location.getPersistentKey()));
-        }
+        replicaFanOut.remove(registeredServices, List.of(location.getPersistentKey()));
         deleteLocation(location);
     }
 
@@ -151,9 +140,7 @@ class LocationRemovalManagerImpl implements LocationRemovalManager {
         try {
             // first ask all services and call the requestRemovalEndpoint
             // might throw RemovalNotAllowedException and exit
-            for (var srv : registeredServices) {
-                askForRemoval(srv, pKeys);
-            }
+            replicaFanOut.requestRemoval(registeredServices, pKeys);
             LOGGER.debug("It's allowed to delete the given Locations");
             return true;
         } catch (Exception e) {
@@ -173,9 +160,7 @@ class LocationRemovalManagerImpl implements LocationRemovalManager {
     public void markForDeletion(@NotNull Collection<String> pKeys) {
         var registeredServices = registrationService.getAllRegistered();
         try {
-            for (var srv : registeredServices) {
-                removeLocation(srv, pKeys);
-            }
+            replicaFanOut.remove(registeredServices, pKeys);
             LOGGER.debug("All Locations marked for deletion");
         } catch (Exception e) {
             // if any failure occurs, send a persistent async message to release the deletion for everyone
@@ -186,52 +171,4 @@ class LocationRemovalManagerImpl implements LocationRemovalManager {
             throw e;
         }
     }
-
-    private void askForRemoval(ReplicaRegistry srv, Collection<String> pKeys) {
-        var headers = new HttpHeaders();
-        boolean result;
-        var endpoint = "http://" + srv.getApplicationName() + srv.getRequestRemovalEndpoint();
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Request for removal to the service with API [{}]", endpoint);
-        }
-        try {
-            var response = aLoadBalanced.exchange(
-                    endpoint,
-                    HttpMethod.POST,
-                    new HttpEntity<List<String>>(new ArrayList<>(pKeys), headers),
-                    Boolean.class
-            );
-            result = response.getBody() != null && response.getBody();
-            if (result) {
-                LOGGER.info("Service [{}] allows to remove all Locations", srv.getApplicationName());
-            } else {
-                LOGGER.info("Service [{}] does not allow to remove Locations", srv.getApplicationName());
-            }
-        } catch (Exception e) {
-            LOGGER.error(e.getMessage(), e);
-            throw new RemovalNotAllowedException("Exception. Removal of Locations is declined by service [%s]".formatted(srv.getApplicationName()));
-        }
-        if (!result) {
-            throw new RemovalNotAllowedException("Removal of Locations has been declined by service [%s]".formatted(srv.getApplicationName()));
-        }
-    }
-
-    private void removeLocation(ReplicaRegistry srv, Collection<String> pKeys) {
-        var headers = new HttpHeaders();
-        var endpoint = "http://" + srv.getApplicationName() + srv.getRemovalEndpoint();
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Ask for removal the service with API [{}]", endpoint);
-        }
-        try {
-            aLoadBalanced.exchange(
-                    endpoint,
-                    HttpMethod.DELETE,
-                    new HttpEntity<List<String>>(new ArrayList<>(pKeys), headers),
-                    Void.class
-            );
-            LOGGER.info("Service [{}] removed Locations", srv.getApplicationName());
-        } catch (Exception e) {
-            throw new RemovalNotAllowedException(format("Exception. Removal of Locations is declined by service [%s]", srv.getApplicationName()));
-        }
-    }
 }
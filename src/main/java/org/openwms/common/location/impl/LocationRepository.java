@@ -17,35 +17,96 @@ package org.openwms.common.location.impl;
 
 import org.openwms.common.location.Location;
 import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.LocationSnapshot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * A LocationRepository adds particular functionality regarding {@link Location} entity classes.
  *
  * @author Heiko Scherrer
  */
-public interface LocationRepository extends JpaRepository<Location, Long> {
+public interface LocationRepository extends JpaRepository<Location, Long>, JpaSpecificationExecutor<Location> {
 //SONAR:OFF
+    @EntityGraph(Location.GRAPH_MAPPING)
+    Optional<Location> findByPk(Long pk);
+
+    @EntityGraph(Location.GRAPH_MAPPING)
+    List<Location> findByPkIn(Collection<Long> pks);
+
+    @EntityGraph(Location.GRAPH_MAPPING)
     Optional<Location> findBypKey(String persistentKey);
 
+    @EntityGraph(Location.GRAPH_MAPPING)
     Optional<Location> findByLocationId(LocationPK locationId);
 
+    @EntityGraph(Location.GRAPH_LOOKUP)
+    List<Location> findByLocationIdIn(Collection<LocationPK> locationIds);
+
     @Query("select l from Location l where l.locationGroup.name in :locationGroupNames")
+    @EntityGraph(Location.GRAPH_MAPPING)
     List<Location> findByLocationGroup_Name(@Param("locationGroupNames") List<String> locationGroupNames);
 
     @Query("select l from Location l where l.locationGroup.name like :locationGroupName")
+    @EntityGraph(Location.GRAPH_MAPPING)
     List<Location> findByLocationGroup_Name(@Param("locationGroupName") String locationGroupName);
 
+    @Query("select l from Location l where l.locationGroup.name in :locationGroupNames and l.pk > :after order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    List<Location> findPageByLocationGroup_Name(@Param("locationGroupNames") List<String> locationGroupNames, @Param("after") long after,
+            Pageable pageable);
+
+    @Query("select l from Location l where l.locationGroup.name like :locationGroupName and l.pk > :after order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    List<Location> findPageByLocationGroup_Name(@Param("locationGroupName") String locationGroupName, @Param("after") long after,
+            Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select l from Location l where l.locationGroup.name in :locationGroupNames order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    Stream<Location> streamByLocationGroup_Name(@Param("locationGroupNames") List<String> locationGroupNames);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select l from Location l where l.locationGroup.name like :locationGroupName order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    Stream<Location> streamByLocationGroup_Name(@Param("locationGroupName") String locationGroupName);
+
+    @EntityGraph(Location.GRAPH_MAPPING)
     Optional<Location> findByPlcCode(String plcCode);
 
+    @EntityGraph(Location.GRAPH_MAPPING)
     Optional<Location> findByErpCode(String erpCode);
 
+    @EntityGraph(Location.GRAPH_LOOKUP)
+    List<Location> findByPlcCodeIn(Collection<String> plcCodes);
+
+    @EntityGraph(Location.GRAPH_LOOKUP)
+    List<Location> findByErpCodeIn(Collection<String> erpCodes);
+
+    @Query("select l.erpCode from Location l where l.erpCode in :erpCodes")
+    List<String> findExistingErpCodes(@Param("erpCodes") Collection<String> erpCodes);
+
+    @Query("select l.locationId from Location l where l.locationId in :locationIds")
+    List<LocationPK> findExistingLocationIds(@Param("locationIds") Collection<LocationPK> locationIds);
+
     @Query("""
         select count(tu)>0
           from TransportUnit tu
@@ -66,6 +127,84 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
             "and l.locationId.x like :#{#locationPK.x} " +
             "and l.locationId.y like :#{#locationPK.y} " +
             "and l.locationId.z like :#{#locationPK.z} ")
+    @EntityGraph(Location.GRAPH_MAPPING)
     List<Location> findByLocationIdContaining(@Param("locationPK") LocationPK locationPK);
+
+    @Query("select l from Location l " +
+            "where l.locationId.area like :#{#locationPK.area} " +
+            "and l.locationId.aisle like :#{#locationPK.aisle} " +
+            "and l.locationId.x like :#{#locationPK.x} " +
+            "and l.locationId.y like :#{#locationPK.y} " +
+            "and l.locationId.z like :#{#locationPK.z} " +
+            "and l.pk > :after order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    List<Location> findPageByLocationIdContaining(@Param("locationPK") LocationPK locationPK, @Param("after") long after, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select l from Location l " +
+            "where l.locationId.area like :#{#locationPK.area} " +
+            "and l.locationId.aisle like :#{#locationPK.aisle} " +
+            "and l.locationId.x like :#{#locationPK.x} " +
+            "and l.locationId.y like :#{#locationPK.y} " +
+            "and l.locationId.z like :#{#locationPK.z} " +
+            "order by l.pk")
+    @EntityGraph(Location.GRAPH_MAPPING)
+    Stream<Location> streamByLocationIdContaining(@Param("locationPK") LocationPK locationPK);
+
+    @Query("""
+        select new org.openwms.common.location.LocationSnapshot(l.pk, l.pKey, l.locationId.area, l.locationId.aisle,
+               l.locationId.x, l.locationId.y, l.locationId.z, l.plcCode, l.erpCode, l.incomingActive, l.outgoingActive, l.plcState)
+          from Location l
+    """)
+    List<LocationSnapshot> findAllSnapshots();
+
+    @Query("""
+        select new org.openwms.common.location.impl.LocationAttributes(l.pk, t.type, g.name, l.stockZone, l.classification, l.labels,
+               l.incomingActive, l.outgoingActive, coalesce(l.consideredInAllocation, true))
+          from Location l
+          left join l.locationType t
+          left join l.locationGroup g
+         order by l.pk
+    """)
+    List<LocationAttributes> findAllAttributes();
+
+    @Query("select max(l.pk) from Location l")
+    Long findMaxPk();
+
+    @Modifying
+    @Query("""
+        update Location l
+           set l.noTransportUnits = l.noTransportUnits + :transportUnits, l.totalWeight = l.totalWeight + :weight
+         where l.pk = :pk
+    """)
+    int addOccupation(@Param("pk") Long pk, @Param("transportUnits") int transportUnits, @Param("weight") BigDecimal weight);
+
+    @Modifying
+    @Query("update Location l set l.noTransportUnits = :transportUnits, l.totalWeight = :weight where l.pk = :pk")
+    int setOccupation(@Param("pk") Long pk, @Param("transportUnits") int transportUnits, @Param("weight") BigDecimal weight);
+
+    @Query("select new org.openwms.common.location.impl.LocationOccupation(l.pk, l.noTransportUnits, l.totalWeight) from Location l")
+    List<LocationOccupation> findAllOccupations();
+
+    @Query("""
+        select new org.openwms.common.location.impl.LocationOccupation(tu.actualLocation.pk, count(tu), sum(tu.weight.magnitude),
+               tu.weight.unitType)
+          from TransportUnit tu
+         group by tu.actualLocation.pk, tu.weight.unitType
+    """)
+    List<LocationOccupation> countActualOccupations();
+
+    @Query("""
+        select new org.openwms.common.location.impl.LocationOccupation(tu.actualLocation.pk, count(tu), sum(tu.weight.magnitude),
+               tu.weight.unitType)
+          from TransportUnit tu
+         where tu.actualLocation.pk = :pk
+         group by tu.actualLocation.pk, tu.weight.unitType
+    """)
+    List<LocationOccupation> countActualOccupations(@Param("pk") Long pk);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Location l where l.pk = :pk")
+    Optional<Location> findAndLockByPk(@Param("pk") Long pk);
     //SONAR:ON
 }
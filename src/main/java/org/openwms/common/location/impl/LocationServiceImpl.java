@@ -15,32 +15,51 @@
  */
 package org.openwms.common.location.impl;
 
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
 import org.ameba.i18n.Translator;
 import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationCriteria;
 import org.openwms.common.location.LocationMapper;
 import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.LocationSnapshot;
 import org.openwms.common.location.LocationService;
 import org.openwms.common.location.api.ErrorCodeTransformers;
 import org.openwms.common.location.api.ErrorCodeVO;
 import org.openwms.common.location.api.events.LocationEvent;
+import org.openwms.core.units.api.Weight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.openwms.common.CommonMessageCodes.LOCATION_ID_EXISTS;
 import static org.openwms.common.CommonMessageCodes.LOCATION_ID_INVALID;
@@ -63,16 +82,50 @@ class LocationServiceImpl implements LocationService {
     private final ErrorCodeTransformers.LocationStateIn stateInTransformer;
     private final ErrorCodeTransformers.LocationStateOut stateOutTransformer;
     private final ApplicationContext ctx;
+    private final LocationDirectory directory;
+    private final LocationCoordinateIndex coordinateIndex;
+    private final LocationAttributeIndex attributeIndex;
+    private final EntityManager em;
 
     LocationServiceImpl(Translator translator, LocationMapper locationMapper, LocationRepository repository,
             ErrorCodeTransformers.LocationStateIn stateInTransformer, ErrorCodeTransformers.LocationStateOut stateOutTransformer,
-            ApplicationContext ctx) {
+            ApplicationContext ctx, LocationDirectory directory, LocationCoordinateIndex coordinateIndex,
+            LocationAttributeIndex attributeIndex, EntityManager em) {
         this.translator = translator;
         this.locationMapper = locationMapper;
         this.repository = repository;
         this.stateInTransformer = stateInTransformer;
         this.stateOutTransformer = stateOutTransformer;
         this.ctx = ctx;
+        this.directory = directory;
+        this.coordinateIndex = coordinateIndex;
+        this.attributeIndex = attributeIndex;
+        this.em = em;
+    }
+
+    /**
+     * Resolve the Location referenced by the {@code snapshot} from the {@link LocationDirectory} by its primary key. If the
+     * persistent Location does not exist anymore or does not match the requested key, the snapshot is evicted.
+     * <p>
+     * The entity finders are used by callers that need a managed Location, to modify it or to assign it to an association. Those
+     * callers cannot be served from the snapshot, so a hit only replaces the lookup by a business key with a lookup by primary key.
+     * Read-only callers use {@link #findSnapshotOrThrow(String)} or the other snapshot finders instead, that do not touch the
+     * database on a hit.
+     */
+    private Optional<Location> resolve(Optional<LocationSnapshot> snapshot, Predicate<Location> matches) {
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        var location = repository.findByPk(snapshot.get().pk()).filter(matches);
+        if (location.isEmpty()) {
+            directory.stale(snapshot.get());
+        }
+        return location;
+    }
+
+    private Optional<Location> remember(Optional<Location> location) {
+        location.ifPresent(directory::put);
+        return location;
     }
 
     /**
@@ -102,8 +155,8 @@ class LocationServiceImpl implements LocationService {
     }
 
     private Location findInternal(String pKey) {
-        return repository
-                .findBypKey(pKey)
+        return resolve(directory.findByPKey(pKey), l -> pKey.equals(l.getPersistentKey()))
+                .or(() -> remember(repository.findBypKey(pKey)))
                 .orElseThrow(() -> new NotFoundException(translator, LOCATION_NOT_FOUND_BY_PKEY, new String[]{pKey}, pKey));
     }
 
@@ -114,11 +167,60 @@ class LocationServiceImpl implements LocationService {
     @Measured
     @Transactional(readOnly = true)
     public Optional<Location> findByLocationPk(@NotNull LocationPK locationId) {
-        return repository.findByLocationId(locationId);
+        return findByLocationPkInternal(locationId);
+    }
+
+    private Optional<Location> findByLocationPkInternal(LocationPK locationId) {
+        return resolve(directory.findByLocationId(locationId), l -> locationId.equals(l.getLocationId()))
+                .or(() -> remember(repository.findByLocationId(locationId)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull LocationSnapshot findSnapshotOrThrow(@NotBlank String locationId) {
+        var locationPK = LocationPK.tryParse(locationId)
+                .orElseThrow(() -> new IllegalArgumentException(translator.translate(LOCATION_ID_INVALID, locationId)));
+        return directory.findByLocationId(locationPK)
+                .or(() -> remember(repository.findByLocationId(locationPK)).map(LocationSnapshot::of))
+                .orElseThrow(() -> new NotFoundException(translator, LOCATION_NOT_FOUND_BY_ID, new String[]{locationId}, locationId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public Optional<LocationSnapshot> findSnapshotByPKey(@NotBlank String pKey) {
+        return directory.findByPKey(pKey).or(() -> remember(repository.findBypKey(pKey)).map(LocationSnapshot::of));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public Optional<LocationSnapshot> findSnapshotByPlcCode(@NotBlank String plcCode) {
+        return directory.findByPlcCode(plcCode).or(() -> remember(repository.findByPlcCode(plcCode)).map(LocationSnapshot::of));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public Optional<LocationSnapshot> findSnapshotByErpCode(@NotBlank String erpCode) {
+        return directory.findByErpCode(erpCode).or(() -> remember(repository.findByErpCode(erpCode)).map(LocationSnapshot::of));
     }
 
     private Location findByLocationPkOrThrow(LocationPK locationId) {
-        return repository.findByLocationId(locationId).orElseThrow(() -> new NotFoundException(
+        return findByLocationPkInternal(locationId).orElseThrow(() -> new NotFoundException(
                 translator,
                 LOCATION_NOT_FOUND_BY_ID,
                 new Object[]{locationId},
@@ -133,7 +235,8 @@ class LocationServiceImpl implements LocationService {
     @Measured
     @Transactional(readOnly = true)
     public Optional<Location> findByPlcCode(@NotBlank String plcCode) {
-        return repository.findByPlcCode(plcCode);
+        return resolve(directory.findByPlcCode(plcCode), l -> plcCode.equals(l.getPlcCode()))
+                .or(() -> remember(repository.findByPlcCode(plcCode)));
     }
 
     /**
@@ -146,10 +249,9 @@ class LocationServiceImpl implements LocationService {
     }
 
     private Optional<Location> findByLocationIdInternal(String locationId) {
-        if (!LocationPK.isValid(locationId)) {
-            throw new IllegalArgumentException(translator.translate(LOCATION_ID_INVALID, locationId));
-        }
-        return repository.findByLocationId(LocationPK.fromString(locationId));
+        var locationPK = LocationPK.tryParse(locationId)
+                .orElseThrow(() -> new IllegalArgumentException(translator.translate(LOCATION_ID_INVALID, locationId)));
+        return findByLocationPkInternal(locationPK);
     }
 
     /**
@@ -177,6 +279,38 @@ class LocationServiceImpl implements LocationService {
                 : repository.findByLocationGroup_Name(locationGroupNames);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<Location> findAllOf(@NotEmpty List<String> locationGroupNames, Long after, @Positive int limit) {
+        var cursor = after == null ? Long.MIN_VALUE : after;
+        return locationGroupNames.size() == 1
+                ? repository.findPageByLocationGroup_Name(locationGroupNames.get(0), cursor, PageRequest.ofSize(limit))
+                : repository.findPageByLocationGroup_Name(locationGroupNames, cursor, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public void forEachOf(@NotEmpty List<String> locationGroupNames, @NotNull Consumer<Location> consumer) {
+        try (var locations = locationGroupNames.size() == 1
+                ? repository.streamByLocationGroup_Name(locationGroupNames.get(0))
+                : repository.streamByLocationGroup_Name(locationGroupNames)) {
+            locations.forEach(l -> consumeAndDetach(l, consumer));
+        }
+    }
+
+    private void consumeAndDetach(Location location, Consumer<Location> consumer) {
+        consumer.accept(location);
+        em.detach(location);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -188,6 +322,13 @@ class LocationServiceImpl implements LocationService {
     }
 
     private void changeStateInternal(Location location, ErrorCodeVO errorCode) {
+        if (applyState(location, errorCode)) {
+            // don't send twice only if one has changed
+            ctx.publishEvent(LocationEvent.of(location, LocationEvent.LocationEventType.STATE_CHANGE));
+        }
+    }
+
+    private boolean applyState(Location location, ErrorCodeVO errorCode) {
         boolean changed = false;
         if (Optional.ofNullable(errorCode.getPlcState()).isPresent() && errorCode.getPlcState() != location.getPlcState()) {
             location.setPlcState(errorCode.getPlcState());
@@ -210,10 +351,7 @@ class LocationServiceImpl implements LocationService {
             LOGGER.info("Outgoing active of location [{}] has been updated to [{}]", location.getLocationId(), outfeedAvailable.get());
             changed = true;
         }
-        if (changed) {
-            // don't send twice only if one has changed
-            ctx.publishEvent(LocationEvent.of(location, LocationEvent.LocationEventType.STATE_CHANGE));
-        }
+        return changed;
     }
 
     /**
@@ -226,23 +364,199 @@ class LocationServiceImpl implements LocationService {
         changeStateInternal(location, errorCode);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void changeStates(@NotEmpty Map<LocationPK, ErrorCodeVO> errorCodes) {
+        var locations = repository.findByLocationIdIn(errorCodes.keySet());
+        if (locations.size() != errorCodes.size()) {
+            var found = locations.stream().map(Location::getLocationId).collect(Collectors.toSet());
+            var missing = errorCodes.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new NotFoundException(translator, LOCATION_NOT_FOUND_BY_ID, new Object[]{missing}, missing);
+        }
+        var changed = locations.stream()
+                .filter(l -> applyState(l, errorCodes.get(l.getLocationId())))
+                .toList();
+        if (!changed.isEmpty()) {
+            repository.flush();
+            LOGGER.info("State of [{}] out of [{}] Locations has been updated", changed.size(), locations.size());
+            ctx.publishEvent(LocationEvent.of(changed, LocationEvent.LocationEventType.BULK_STATE_CHANGE));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Measured
     public @NotNull List<Location> findLocations(@NotNull LocationPK locationPK) {
+        var pks = coordinateIndex.find(locationPK);
+        if (pks.isPresent()) {
+            return repository.findByPkIn(pks.get()).stream()
+                    .filter(l -> coordinateIndex.matches(locationPK, l.getLocationId()))
+                    .toList();
+        }
         var result = repository.findByLocationIdContaining(locationPK);
         return result == null ? Collections.emptyList() : result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The primary keys of the page are taken from the {@link LocationCoordinateIndex} if possible. Only if one of the indexed
+     * Locations does not match anymore the page is read from the database.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<Location> findLocations(@NotNull LocationPK locationPK, Long after, @Positive int limit) {
+        var cursor = after == null ? Long.MIN_VALUE : after;
+        var pks = coordinateIndex.find(locationPK);
+        if (pks.isPresent()) {
+            var page = pks.get().stream().filter(pk -> pk > cursor).sorted().limit(limit).toList();
+            var result = repository.findByPkIn(page).stream()
+                    .filter(l -> coordinateIndex.matches(locationPK, l.getLocationId()))
+                    .sorted(Comparator.comparing(Location::getPk))
+                    .toList();
+            if (result.size() == page.size()) {
+                return result;
+            }
+        }
+        return repository.findPageByLocationIdContaining(locationPK, cursor, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The candidates are taken from the {@link LocationAttributeIndex} if possible. If one of the indexed Locations does not exist or
+     * does not match anymore, the index is invalidated and the page is read from the database.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<Location> findLocations(@NotNull LocationCriteria criteria, Long after, @Positive int limit) {
+        var cursor = after == null ? Long.MIN_VALUE : after;
+        var pks = attributeIndex.find(criteria, cursor);
+        if (pks.isPresent()) {
+            var result = findIndexed(criteria, pks.get(), limit);
+            if (result.isPresent()) {
+                return result.get();
+            }
+            attributeIndex.invalidate();
+        }
+        return findByCriteria(criteria, cursor, limit);
+    }
+
+    private Optional<List<Location>> findIndexed(LocationCriteria criteria, List<Long> candidates, int limit) {
+        var result = new ArrayList<Location>(limit);
+        for (var from = 0; from < candidates.size() && result.size() < limit; from += limit) {
+            var chunk = candidates.subList(from, Math.min(from + limit, candidates.size()));
+            var locations = repository.findByPkIn(chunk);
+            if (locations.size() != chunk.size() || !locations.stream().allMatch(criteria::matchesAttributes)) {
+                return Optional.empty();
+            }
+            locations.stream()
+                    .filter(criteria::matches)
+                    .sorted(Comparator.comparing(Location::getPk))
+                    .limit((long) limit - result.size())
+                    .forEach(result::add);
+        }
+        return Optional.of(result);
+    }
+
+    private List<Location> findByCriteria(LocationCriteria criteria, long cursor, int limit) {
+        var result = new ArrayList<Location>(limit);
+        var next = cursor;
+        while (result.size() < limit) {
+            var page = repository.findBy(LocationSpecifications.matching(criteria, next),
+                    q -> q.project("account", "locationType", "locationGroup").sortBy(Sort.by("pk")).limit(limit).all());
+            page.stream().filter(criteria::matches).limit((long) limit - result.size()).forEach(result::add);
+            if (page.size() < limit) {
+                break;
+            }
+            next = page.get(page.size() - 1).getPk();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public void forEachLocation(@NotNull LocationPK locationPK, @NotNull Consumer<Location> consumer) {
+        try (var locations = repository.streamByLocationIdContaining(locationPK)) {
+            locations.forEach(l -> consumeAndDetach(l, consumer));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull Map<String, Location> findByIdentifiers(@NotNull Collection<String> identifiers) {
+        var result = new HashMap<String, Location>(identifiers.size());
+        var byLocationPk = new HashMap<LocationPK, String>();
+        var codes = new HashSet<String>();
+        for (var identifier : identifiers) {
+            LocationPK.tryParse(identifier).ifPresentOrElse(pk -> byLocationPk.put(pk, identifier), () -> codes.add(identifier));
+        }
+        if (!byLocationPk.isEmpty()) {
+            repository.findByLocationIdIn(byLocationPk.keySet()).forEach(l -> result.put(byLocationPk.get(l.getLocationId()), l));
+        }
+        if (!codes.isEmpty()) {
+            repository.findByErpCodeIn(codes).forEach(l -> {
+                codes.remove(l.getErpCode());
+                result.put(l.getErpCode(), l);
+            });
+        }
+        if (!codes.isEmpty()) {
+            repository.findByPlcCodeIn(codes).forEach(l -> result.putIfAbsent(l.getPlcCode(), l));
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Measured
     public Optional<Location> findByErpCode(@NotBlank String erpCode) {
-        return repository.findByErpCode(erpCode);
+        return resolve(directory.findByErpCode(erpCode), l -> erpCode.equals(l.getErpCode()))
+                .or(() -> remember(repository.findByErpCode(erpCode)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void occupy(@NotNull Location location, @PositiveOrZero int transportUnits, Weight weight) {
+        changeOccupation(location, transportUnits, LocationOccupation.inGram(weight));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void release(@NotNull Location location, @PositiveOrZero int transportUnits, Weight weight) {
+        changeOccupation(location, -transportUnits, LocationOccupation.inGram(weight).negate());
+    }
+
+    private void changeOccupation(Location location, int transportUnits, BigDecimal weight) {
+        if (transportUnits == 0 && weight.signum() == 0) {
+            return;
+        }
+        if (location.getPk() != null) {
+            repository.addOccupation(location.getPk(), transportUnits, weight);
+        }
+        location.addOccupation(transportUnits, weight);
     }
 
     /**
@@ -252,10 +566,21 @@ class LocationServiceImpl implements LocationService {
     @Measured
     public @NotNull Location save(@NotNull Location location) {
         var existing = findInternal(location.getPersistentKey());
+        var previousGroup = groupNameOf(existing);
         var modified = locationMapper.copyForUpdate(location, existing);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Saving Location [{}]", modified);
         }
-        return repository.save(modified);
+        var saved = repository.save(modified);
+        var currentGroup = groupNameOf(saved);
+        if (!Objects.equals(previousGroup, currentGroup)) {
+            ctx.publishEvent(LocationCountChangedEvent.moved(previousGroup, currentGroup));
+        }
+        ctx.publishEvent(LocationEvent.of(saved, LocationEvent.LocationEventType.CHANGED));
+        return saved;
+    }
+
+    private static String groupNameOf(Location location) {
+        return location.belongsToLocationGroup() ? location.getLocationGroup().getName() : null;
     }
 }
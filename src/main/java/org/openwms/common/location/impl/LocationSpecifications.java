@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import jakarta.persistence.criteria.Predicate;
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationCriteria;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * A LocationSpecifications translates a {@link LocationCriteria} into a query against the database. Labels are stored as one column
+ * and are not considered, so the Locations found must be checked with {@link LocationCriteria#matches(Location)} afterwards.
+ *
+ * @author Heiko Scherrer
+ */
+final class LocationSpecifications {
+
+    /** The total weight is kept in gram, the maximum weight in {@link Location#MAXIMUM_WEIGHT_UNIT}. */
+    private static final BigDecimal GRAM_PER_MAXIMUM_WEIGHT_UNIT = Weight.of(BigDecimal.ONE, Location.MAXIMUM_WEIGHT_UNIT)
+            .convertTo(WeightUnit.G).getMagnitude();
+
+    private LocationSpecifications() {
+    }
+
+    /**
+     * Build a Specification of all Locations with a primary key greater than {@code after} that meet the given {@code criteria} except
+     * the labels.
+     *
+     * @param criteria The criteria to search for
+     * @param after The cursor
+     * @return The Specification
+     */
+    static Specification<Location> matching(LocationCriteria criteria, long after) {
+        return (root, query, cb) -> {
+            var predicates = new ArrayList<Predicate>();
+            predicates.add(cb.greaterThan(root.get("pk"), after));
+            if (criteria.infeedActive() != null) {
+                predicates.add(cb.equal(root.get("incomingActive"), criteria.infeedActive()));
+            }
+            if (criteria.outfeedActive() != null) {
+                predicates.add(cb.equal(root.get("outgoingActive"), criteria.outfeedActive()));
+            }
+            if (criteria.consideredInAllocation() != null) {
+                predicates.add(cb.equal(cb.coalesce(root.<Boolean>get("consideredInAllocation"), true), criteria.consideredInAllocation()));
+            }
+            if (!criteria.locationTypes().isEmpty()) {
+                predicates.add(root.get("locationType").get("type").in(criteria.locationTypes()));
+            }
+            if (!criteria.locationGroupNames().isEmpty()) {
+                predicates.add(root.get("locationGroup").get("name").in(criteria.locationGroupNames()));
+            }
+            if (!criteria.stockZones().isEmpty()) {
+                predicates.add(root.get("stockZone").in(criteria.stockZones()));
+            }
+            if (!criteria.classifications().isEmpty()) {
+                predicates.add(root.get("classification").in(criteria.classifications()));
+            }
+            if (criteria.notFull()) {
+                predicates.add(cb.lessThan(root.get("noTransportUnits"), root.<Integer>get("noMaxTransportUnits")));
+                predicates.add(cb.or(
+                        cb.isNull(root.get("maximumWeight")),
+                        cb.lessThan(root.get("totalWeight"), cb.prod(root.<BigDecimal>get("maximumWeight"), GRAM_PER_MAXIMUM_WEIGHT_UNIT))
+                ));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -18,6 +18,8 @@ package org.openwms.common.location.impl;
 import org.openwms.common.location.LocationType;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,4 +32,6 @@ interface LocationTypeRepository extends JpaRepository<LocationType, Long> {
     Optional<LocationType> findBypKey(String persistentKey);
 
     Optional<LocationType> findByType(String type);
+
+    List<LocationType> findByTypeIn(Collection<String> types);
 }
\ No newline at end of file
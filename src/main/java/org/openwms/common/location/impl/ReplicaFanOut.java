@@ -0,0 +1,192 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.openwms.common.location.impl.registration.ReplicaRegistry;
+import org.openwms.core.listener.RemovalNotAllowedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A ReplicaFanOut calls the endpoints of all registered replicas concurrently and waits for the answers not longer than an overall
+ * deadline. The first failing call or an expired deadline fails the whole operation and interrupts the calls that are still running, so
+ * no pool thread is left blocked on a slow replica. Each single call is additionally bounded by the connect and read timeouts of the
+ * {@link RestTemplate} and guarded by a circuit breaker per replica, so that an unavailable replica declines a removal immediately
+ * instead of blocking it.
+ * <p>
+ * The latency of each call is recorded in the timer {@code owms.common.replica.calls}, tagged with the replica, the operation and the
+ * outcome.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ReplicaFanOut {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaFanOut.class);
+    static final String OP_REQUEST_REMOVAL = "request-removal";
+    static final String OP_REMOVE = "remove";
+    private final RestTemplate aLoadBalanced;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Duration deadline;
+    private final ExecutorService executor;
+
+    ReplicaFanOut(RestTemplate aLoadBalanced, ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry, MeterRegistry meterRegistry,
+            @Value("${owms.common.replica.fan-out.deadline:PT10S}") Duration deadline,
+            @Value("${owms.common.replica.fan-out.pool-size:16}") int poolSize) {
+        this.aLoadBalanced = aLoadBalanced;
+        this.circuitBreakerRegistry = circuitBreakerRegistry.getIfAvailable(CircuitBreakerRegistry::ofDefaults);
+        this.meterRegistry = meterRegistry;
+        this.deadline = deadline;
+        var threadFactory = new CustomizableThreadFactory("replica-fan-out-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+
+    @PreDestroy
+    void onShutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ask all {@code replicas} whether the Locations may be removed.
+     *
+     * @param replicas The replicas to ask
+     * @param pKeys The persistent keys of the Locations
+     * @throws RemovalNotAllowedException if at least one replica declines, fails or does not answer in time
+     */
+    void requestRemoval(Collection<ReplicaRegistry> replicas, Collection<String> pKeys) {
+        fanOut(replicas, OP_REQUEST_REMOVAL, srv -> {
+            var response = aLoadBalanced.exchange(
+                    "http://" + srv.getApplicationName() + srv.getRequestRemovalEndpoint(),
+                    HttpMethod.POST,
+                    new HttpEntity<List<String>>(new ArrayList<>(pKeys), new HttpHeaders()),
+                    Boolean.class
+            );
+            var result = response.getBody() != null && response.getBody();
+            if (result) {
+                LOGGER.info("Service [{}] allows to remove all Locations", srv.getApplicationName());
+            } else {
+                LOGGER.info("Service [{}] does not allow to remove Locations", srv.getApplicationName());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Tell all {@code replicas} to remove the Locations.
+     *
+     * @param replicas The replicas to call
+     * @param pKeys The persistent keys of the Locations
+     * @throws RemovalNotAllowedException if at least one replica fails or does not answer in time
+     */
+    void remove(Collection<ReplicaRegistry> replicas, Collection<String> pKeys) {
+        fanOut(replicas, OP_REMOVE, srv -> {
+            aLoadBalanced.exchange(
+                    "http://" + srv.getApplicationName() + srv.getRemovalEndpoint(),
+                    HttpMethod.DELETE,
+                    new HttpEntity<List<String>>(new ArrayList<>(pKeys), new HttpHeaders()),
+                    Void.class
+            );
+            LOGGER.info("Service [{}] removed Locations", srv.getApplicationName());
+            return true;
+        });
+    }
+
+    private void fanOut(Collection<ReplicaRegistry> replicas, String operation, Predicate<ReplicaRegistry> call) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        var completion = new ExecutorCompletionService<Void>(executor);
+        var calls = replicas.stream()
+                .map(srv -> completion.submit(() -> callReplica(srv, operation, call), null))
+                .toList();
+        var until = System.nanoTime() + deadline.toNanos();
+        try {
+            for (int i = 0; i < calls.size(); i++) {
+                var done = completion.poll(until - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new RemovalNotAllowedException("Not all services answered within [%s] to [%s] Locations".formatted(deadline, operation));
+                }
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemovalNotAllowedException("Interrupted while waiting for the services to [%s] Locations".formatted(operation));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RemovalNotAllowedException rnae) {
+                throw rnae;
+            }
+            throw new RemovalNotAllowedException(e.getMessage());
+        } finally {
+            // interrupts the calls that are still running, a no-op for completed ones
+            calls.forEach(c -> c.cancel(true));
+        }
+    }
+
+    private void callReplica(ReplicaRegistry srv, String operation, Predicate<ReplicaRegistry> call) {
+        var circuitBreaker = circuitBreakerRegistry.circuitBreaker("replica-" + srv.getApplicationName());
+        var sample = Timer.start(meterRegistry);
+        var outcome = "success";
+        try {
+            if (!circuitBreaker.executeSupplier(() -> call.test(srv))) {
+                outcome = "declined";
+                throw new RemovalNotAllowedException("Removal of Locations has been declined by service [%s]".formatted(srv.getApplicationName()));
+            }
+        } catch (CallNotPermittedException e) {
+            outcome = "rejected";
+            throw new RemovalNotAllowedException("Service [%s] is not available, the circuit breaker is open".formatted(srv.getApplicationName()));
+        } catch (RemovalNotAllowedException e) {
+            throw e;
+        } catch (Exception e) {
+            outcome = "error";
+            LOGGER.error(e.getMessage(), e);
+            throw new RemovalNotAllowedException("Exception. Removal of Locations is declined by service [%s]".formatted(srv.getApplicationName()));
+        } finally {
+            sample.stop(Timer.builder("owms.common.replica.calls")
+                    .description("Latency of calls to the registered replicas")
+                    .tag("replica", srv.getApplicationName())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -19,6 +19,9 @@ import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.openwms.common.location.api.commands.LocationReplicaRegistration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
@@ -33,10 +36,14 @@ import java.util.List;
 @TxService
 class RegistrationServiceImpl implements RegistrationService {
 
+    private final ApplicationEventPublisher eventPublisher;
     private final ReplicaRegistryRepository repository;
+    private final ReplicaRegistryCache cache;
 
-    RegistrationServiceImpl(ReplicaRegistryRepository repository) {
+    RegistrationServiceImpl(ApplicationEventPublisher eventPublisher, ReplicaRegistryRepository repository, ReplicaRegistryCache cache) {
+        this.eventPublisher = eventPublisher;
         this.repository = repository;
+        this.cache = cache;
     }
 
     /**
@@ -61,6 +68,7 @@ class RegistrationServiceImpl implements RegistrationService {
         eo.setRegisteredAt(LocalDateTime.now());
         eo.setState("REGISTERED");
         repository.save(eo);
+        eventPublisher.publishEvent(new ReplicaRegistrationChangedEvent(eo.getApplicationName()));
     }
 
     /**
@@ -84,14 +92,18 @@ class RegistrationServiceImpl implements RegistrationService {
         eo.setUnRegisteredAt(LocalDateTime.now());
         eo.setState("UNREGISTERED");
         repository.save(eo);
+        eventPublisher.publishEvent(new ReplicaRegistrationChangedEvent(eo.getApplicationName()));
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Served from the {@link ReplicaRegistryCache} without opening a transaction.
      */
     @Override
     @Measured
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public @NotNull List<ReplicaRegistry> getAllRegistered() {
-        return repository.findActiveOnes();
+        return cache.current();
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl.registration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A ReplicaRegistryCache holds the currently active {@link ReplicaRegistry} entries as an immutable snapshot that is swapped
+ * atomically, so that callers on the removal path of Locations never hit the database.
+ * <p>
+ * The snapshot is loaded when the application is ready, reloaded after each committed registration change and reconciled
+ * periodically to pick up changes applied directly to the database. Registration changes processed by other instances are
+ * propagated by the {@link ReplicaRegistryInvalidation} when the AMQP profile is active.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ReplicaRegistryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRegistryCache.class);
+    private final ReplicaRegistryRepository repository;
+    private final AtomicReference<List<ReplicaRegistry>> active = new AtomicReference<>();
+
+    ReplicaRegistryCache(ReplicaRegistryRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        Gauge.builder("owms.common.replica.registry.size", active, a -> a.get() == null ? 0 : a.get().size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(ReplicaRegistrationChangedEvent event) {
+        LOGGER.debug("Registration of replica [{}] changed", event.applicationName());
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${owms.common.replica.registry.reconcile-delay:PT1M}",
+            fixedDelayString = "${owms.common.replica.registry.reconcile-delay:PT1M}")
+    void scheduledReconcile() {
+        reload();
+    }
+
+    /**
+     * Get the active replicas.
+     *
+     * @return An immutable list, loaded on first access if the cache has not been warmed up yet
+     */
+    List<ReplicaRegistry> current() {
+        var result = active.get();
+        return result == null ? reload() : result;
+    }
+
+    /**
+     * Load the active replicas from the database and swap the snapshot.
+     *
+     * @return The new snapshot
+     */
+    synchronized List<ReplicaRegistry> reload() {
+        var loaded = List.copyOf(repository.findActiveOnes());
+        var previous = active.getAndSet(loaded);
+        if (previous == null || previous.size() != loaded.size()) {
+            LOGGER.info("ReplicaRegistryCache holds [{}] active replicas", loaded.size());
+        }
+        return loaded;
+    }
+}
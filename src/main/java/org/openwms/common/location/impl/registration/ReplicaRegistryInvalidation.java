@@ -0,0 +1,63 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl.registration;
+
+import org.ameba.app.SpringProfiles;
+import org.openwms.common.outbox.Outbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * A ReplicaRegistryInvalidation tells all instances of the service to reload their {@link ReplicaRegistryCache} when a registration has
+ * changed. The message is appended to the {@link Outbox} in the transaction that changed the registration, so it is only sent after
+ * commit, and is fanned out to an exclusive queue per instance.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.AMQP)
+@Component
+class ReplicaRegistryInvalidation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRegistryInvalidation.class);
+    private final Outbox outbox;
+    private final ReplicaRegistryCache cache;
+    private final String exchangeName;
+
+    ReplicaRegistryInvalidation(Outbox outbox, ReplicaRegistryCache cache,
+            @Value("${owms.events.common.registration.exchange-name:common.registration}") String exchangeName) {
+        this.outbox = outbox;
+        this.cache = cache;
+        this.exchangeName = exchangeName;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRegistrationChanged(ReplicaRegistrationChangedEvent event) {
+        outbox.append(exchangeName, "registration.event.changed", event.applicationName());
+    }
+
+    @RabbitListener(queues = "#{commonRegistrationEventsQueue.name}")
+    public void onChanged(@Payload String applicationName) {
+        LOGGER.debug("Registration of replica [{}] changed on another instance", applicationName);
+        cache.reload();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+/**
+ * An Outbox takes messages that shall be published to the message broker and stores them in the transaction of the caller. The messages
+ * are published later and at least once, so the caller is neither blocked by the broker nor loses a message when the broker is not
+ * available. The order of messages appended in different transactions is not kept.
+ *
+ * @author Heiko Scherrer
+ */
+public interface Outbox {
+
+    /**
+     * Append a message to the outbox. The {@code payload} is serialized immediately, so later changes to the payload do not affect the
+     * published message.
+     *
+     * @param exchange The name of the exchange to publish to
+     * @param routingKey The routing key of the message
+     * @param payload The payload to convert into the message body
+     */
+    void append(String exchange, String routingKey, Object payload);
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * An OutboxBacklog is the number of messages waiting in the {@link Outbox} and the time the oldest of them has been appended.
+ *
+ * @author Heiko Scherrer
+ * @param size The number of waiting messages
+ * @param oldest When the oldest waiting message has been appended, {@literal null} if the outbox is empty
+ */
+record OutboxBacklog(long size, LocalDateTime oldest) {
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import org.ameba.annotation.Measured;
+import org.ameba.app.SpringProfiles;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * An OutboxImpl converts the payload with the same {@link MessageConverter} the {@link RabbitTemplate} uses and stores the message in
+ * the transaction of the caller. If the caller has no writable transaction the message is stored in a transaction of its own.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.AMQP)
+@Component
+class OutboxImpl implements Outbox {
+
+    private final OutboxMessageRepository repository;
+    private final MessageConverter converter;
+    private final TransactionTemplate ownTx;
+
+    OutboxImpl(OutboxMessageRepository repository, RabbitTemplate amqpTemplate, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.converter = amqpTemplate.getMessageConverter();
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Measured
+    @Override
+    public void append(String exchange, String routingKey, Object payload) {
+        var message = new OutboxMessage(exchange, routingKey, converter.toMessage(payload, new MessageProperties()));
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            repository.save(message);
+        } else {
+            ownTx.executeWithoutResult(status -> repository.save(message));
+        }
+    }
+}
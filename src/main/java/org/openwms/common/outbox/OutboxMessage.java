@@ -0,0 +1,146 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import org.ameba.integration.jpa.BaseEntity;
+import org.hibernate.Length;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An OutboxMessage is an already serialized message that waits in the {@link Outbox} to be published.
+ * <p>
+ * Besides the body the content type and encoding, the message and correlation id, the priority, the delivery mode and the headers are
+ * stored. Header values are stored as JSON, so Strings, numbers, booleans and lists or maps of those are restored, numbers with the
+ * smallest fitting type. Any other header value is restored as its JSON representation. All other message properties, like the reply
+ * address, the expiration or the timestamp, are not stored and not sent.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "COM_OUTBOX")
+public class OutboxMessage extends BaseEntity implements Serializable {
+
+    @Column(name = "C_EXCHANGE", nullable = false)
+    private String exchange;
+
+    @Column(name = "C_ROUTING_KEY", nullable = false)
+    private String routingKey;
+
+    @Column(name = "C_CONTENT_TYPE")
+    private String contentType;
+
+    @Column(name = "C_CONTENT_ENCODING")
+    private String contentEncoding;
+
+    @Column(name = "C_MESSAGE_ID")
+    private String messageId;
+
+    @Column(name = "C_CORRELATION_ID")
+    private String correlationId;
+
+    @Column(name = "C_PRIORITY")
+    private Integer priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "C_DELIVERY_MODE")
+    private MessageDeliveryMode deliveryMode;
+
+    /** The message headers set by the converter, e.g. the type information of the payload. */
+    @Convert(converter = HeadersConverter.class)
+    @Column(name = "C_HEADERS", length = Length.LONG32)
+    private Map<String, Object> headers;
+
+    @Column(name = "C_BODY", nullable = false, length = Length.LONG32)
+    private byte[] body;
+
+    /** The identifier of the relay instance that publishes the message, {@literal null} if nobody does. */
+    @Column(name = "C_OWNER")
+    private String owner;
+
+    /** Until when the owner holds the message, another relay instance may take it over afterwards. */
+    @Column(name = "C_LEASE_UNTIL")
+    private LocalDateTime leaseUntil;
+
+    /** Dear JPA... */
+    protected OutboxMessage() { }
+
+    OutboxMessage(String exchange, String routingKey, Message message) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        var properties = message.getMessageProperties();
+        this.contentType = properties.getContentType();
+        this.contentEncoding = properties.getContentEncoding();
+        this.messageId = properties.getMessageId();
+        this.correlationId = properties.getCorrelationId();
+        this.priority = properties.getPriority();
+        this.deliveryMode = properties.getDeliveryMode();
+        this.headers = new HashMap<>(properties.getHeaders().size());
+        properties.getHeaders().forEach((k, v) -> {
+            if (v != null) {
+                this.headers.put(k, v);
+            }
+        });
+        this.body = message.getBody();
+        setCreateDt(LocalDateTime.now());
+    }
+
+    /**
+     * Restore the message as it has been converted when it was appended.
+     *
+     * @return The message to send
+     */
+    Message toMessage() {
+        var properties = new MessageProperties();
+        properties.setContentType(contentType);
+        properties.setContentEncoding(contentEncoding);
+        properties.setMessageId(messageId);
+        properties.setCorrelationId(correlationId);
+        properties.setPriority(priority);
+        if (deliveryMode != null) {
+            properties.setDeliveryMode(deliveryMode);
+        }
+        if (headers != null) {
+            headers.forEach(properties::setHeader);
+        }
+        return new Message(body, properties);
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    @Override
+    public String toString() {
+        return exchange + "/" + routingKey + " [" + getPk() + "]";
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An OutboxMessageRepository.
+ *
+ * @author Heiko Scherrer
+ */
+interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /** Find the primary keys of the oldest messages that are not held by a relay instance. */
+    @Query("select m.pk from OutboxMessage m where m.leaseUntil is null or m.leaseUntil < :now order by m.pk")
+    List<Long> findClaimable(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Take over the messages that are still not held by another relay instance. A message that has been claimed concurrently is not
+     * updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update OutboxMessage m set m.owner = :owner, m.leaseUntil = :until
+         where m.pk in :pks and (m.leaseUntil is null or m.leaseUntil < :now)
+    """)
+    int claim(@Param("pks") Collection<Long> pks, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    List<OutboxMessage> findAllByOwnerAndPkInOrderByPkAsc(String owner, Collection<Long> pks);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OutboxMessage m where m.owner = :owner and m.pk in :pks")
+    int deleteClaimed(@Param("owner") String owner, @Param("pks") Collection<Long> pks);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxMessage m set m.owner = null, m.leaseUntil = null where m.owner = :owner and m.pk in :pks")
+    int release(@Param("owner") String owner, @Param("pks") Collection<Long> pks);
+
+    @Query("select new org.openwms.common.outbox.OutboxBacklog(count(m), min(m.createDt)) from OutboxMessage m")
+    OutboxBacklog findBacklog();
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.ameba.app.SpringProfiles;
+import org.openwms.common.amqp.AsyncPublisher;
+import org.openwms.common.amqp.Envelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An OutboxRelay periodically drains the {@link Outbox} and publishes the stored messages to the broker.
+ * <p>
+ * The messages are read in batches and each batch is claimed with a lease in a short transaction of its own. The claimed batch is handed
+ * over to the {@link AsyncPublisher} in the order of the primary keys and the relay waits for the publisher confirms of the broker
+ * without holding a lock or a transaction. Confirmed messages are deleted afterwards, if the broker does not confirm the batch the lease
+ * is released and the batch is published again with the next run. A relay instance that dies while publishing keeps its batch until the
+ * lease has expired. So a message might be published twice, but none is lost. The relay waits as long as the publisher needs for all of
+ * its attempts, see {@link AsyncPublisher#getDeliveryTimeout()}, and the lease lasts twice as long.
+ * <p>
+ * The primary keys are allocated in blocks per instance and do not reflect the order in which the transactions have been committed.
+ * Several relay instances publish different batches concurrently, so no order is guaranteed across batches and consumers must tolerate
+ * reordered and duplicate messages.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.AMQP)
+@Component
+class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+    private final OutboxMessageRepository repository;
+    private final AsyncPublisher publisher;
+    private final TransactionTemplate ownTx;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration deliveryTimeout;
+    private final Duration lease;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldest = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer delivery;
+    private volatile boolean stopped;
+
+    OutboxRelay(OutboxMessageRepository repository, AsyncPublisher publisher, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${owms.common.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${owms.common.outbox.relay.batch-size:200}") int batchSize) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.deliveryTimeout = publisher.getDeliveryTimeout();
+        this.lease = deliveryTimeout.multipliedBy(2);
+        Gauge.builder("owms.common.outbox.backlog", backlog, AtomicLong::get)
+                .description("Number of messages waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder("owms.common.outbox.lag", oldest, TimeUnit.MILLISECONDS, OutboxRelay::ageOf)
+                .description("Age of the oldest message waiting in the outbox")
+                .register(meterRegistry);
+        this.published = Counter.builder("owms.common.outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("owms.common.outbox.failures").register(meterRegistry);
+        this.delivery = Timer.builder("owms.common.outbox.delivery")
+                .description("Time from appending a message to the outbox until the broker has confirmed it")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${owms.common.outbox.relay.initial-delay:PT5S}",
+            fixedDelayString = "${owms.common.outbox.relay.delay:PT0.5S}")
+    void scheduledRelay() {
+        if (enabled) {
+            try {
+                relay();
+            } catch (Exception e) {
+                failures.increment();
+                LOGGER.warn("Relaying the outbox failed and is retried with the next run: [{}]", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sample the size and the age of the backlog. Every instance samples independently, so this is done far less often than the outbox
+     * is relayed.
+     */
+    @Scheduled(initialDelayString = "${owms.common.outbox.relay.initial-delay:PT5S}",
+            fixedDelayString = "${owms.common.outbox.relay.backlog-interval:PT30S}")
+    void scheduledMeasureBacklog() {
+        if (enabled) {
+            try {
+                measureBacklog();
+            } catch (Exception e) {
+                LOGGER.warn("Measuring the outbox backlog failed: [{}]", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Publish all messages of the outbox batch by batch.
+     *
+     * @return The number of published messages
+     */
+    public int relay() {
+        var total = 0;
+        int count;
+        do {
+            count = relayBatch();
+            total += count;
+        } while (count == batchSize && !stopped);
+        if (total > 0) {
+            LOGGER.debug("Relayed [{}] messages from the outbox", total);
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        var batch = ownTx.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        var pks = batch.stream().map(OutboxMessage::getPk).toList();
+        try {
+            publish(batch);
+        } catch (RuntimeException e) {
+            ownTx.executeWithoutResult(status -> repository.release(instanceId, pks));
+            throw e;
+        }
+        var deleted = ownTx.execute(status -> repository.deleteClaimed(instanceId, pks));
+        if (deleted != null && deleted < pks.size()) {
+            LOGGER.warn("The lease on [{}] outbox messages expired before they were confirmed, they are published again",
+                    pks.size() - deleted);
+        }
+        var now = LocalDateTime.now();
+        batch.forEach(m -> delivery.record(Duration.between(m.getCreateDt(), now)));
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claim() {
+        var now = LocalDateTime.now();
+        var candidates = repository.findClaimable(now, Limit.of(batchSize));
+        if (candidates.isEmpty() || repository.claim(candidates, instanceId, now, now.plus(lease)) == 0) {
+            return List.of();
+        }
+        return repository.findAllByOwnerAndPkInOrderByPkAsc(instanceId, candidates);
+    }
+
+    private void publish(List<OutboxMessage> batch) {
+        var envelopes = batch.stream().map(m -> new Envelope(m.getExchange(), m.getRoutingKey(), m.toMessage())).toList();
+        try {
+            publisher.publishInOrder(envelopes).get(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for the broker to confirm the outbox batch", e);
+        } catch (ExecutionException e) {
+            throw new AmqpException("The broker did not confirm the outbox batch: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new AmqpException("The broker did not confirm the outbox batch within " + deliveryTimeout, e);
+        }
+    }
+
+    void measureBacklog() {
+        var current = repository.findBacklog();
+        backlog.set(current.size());
+        oldest.set(current.oldest() == null ? 0L : current.oldest().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static double ageOf(AtomicLong oldest) {
+        var appended = oldest.get();
+        return appended == 0 ? 0 : Math.max(0, System.currentTimeMillis() - appended);
+    }
+}
@@ -17,13 +17,14 @@ package org.openwms.common.spi.transactions.commands;
 
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.openwms.common.outbox.Outbox;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 /**
- * A AsyncTransactionApiImpl.
+ * A AsyncTransactionApiImpl appends the commands to the {@link Outbox}, so the caller is not blocked by the broker and a command is not
+ * lost if the broker does not confirm it.
  *
  * @author Heiko Scherrer
  */
@@ -31,12 +32,12 @@ import org.springframework.stereotype.Component;
 @Component
 class AsyncTransactionApiImpl implements AsyncTransactionApi {
 
-    private final AmqpTemplate template;
+    private final Outbox outbox;
     private final String exchangeName;
 
-    AsyncTransactionApiImpl(AmqpTemplate template,
+    AsyncTransactionApiImpl(Outbox outbox,
             @Value("${owms.commands.transactions.tx.exchange-name}") String exchangeName) {
-        this.template = template;
+        this.outbox = outbox;
         this.exchangeName = exchangeName;
     }
 
@@ -46,6 +47,6 @@ class AsyncTransactionApiImpl implements AsyncTransactionApi {
     @Override
     @Measured
     public void process(TransactionCommand command) {
-        template.convertAndSend(exchangeName, "common.tx.command.in.create", command);
+        outbox.append(exchangeName, "common.tx.command.in.create", command);
     }
 }
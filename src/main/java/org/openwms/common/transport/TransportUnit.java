@@ -20,9 +20,14 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
@@ -30,6 +35,7 @@ import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.integration.jpa.ApplicationEntity;
 import org.ameba.integration.jpa.BaseEntity;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.envers.AuditOverride;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
@@ -67,9 +73,31 @@ import static org.hibernate.envers.RelationTargetAuditMode.NOT_AUDITED;
 @AuditOverride(forClass = ApplicationEntity.class)
 @AuditOverride(forClass = BaseEntity.class)
 @Entity
-@Table(name = "COM_TRANSPORT_UNIT", uniqueConstraints = @UniqueConstraint(name = "COM_TRANSPORT_UNIT_BARCODE", columnNames = {"C_BARCODE"}))
+@NamedEntityGraph(name = TransportUnit.GRAPH_MOVE, attributeNodes = {
+        @NamedAttributeNode(value = "actualLocation", subgraph = "location"),
+        @NamedAttributeNode("parent")
+}, subgraphs = @NamedSubgraph(name = "location", attributeNodes = @NamedAttributeNode("locationGroup")))
+@NamedEntityGraph(name = TransportUnit.GRAPH_MAPPING, attributeNodes = {
+        @NamedAttributeNode("transportUnitType"),
+        @NamedAttributeNode(value = "actualLocation", subgraph = "location"),
+        @NamedAttributeNode(value = "targetLocation", subgraph = "location"),
+        @NamedAttributeNode("parent")
+}, subgraphs = @NamedSubgraph(name = "location", attributeNodes = {
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("locationType"),
+        @NamedAttributeNode("locationGroup")
+}))
+@Table(name = "COM_TRANSPORT_UNIT",
+        uniqueConstraints = @UniqueConstraint(name = "COM_TRANSPORT_UNIT_BARCODE", columnNames = {"C_BARCODE"}),
+        indexes = @Index(name = "COM_TU_IDX_PARENT", columnList = "C_PARENT")
+)
 public class TransportUnit extends ApplicationEntity implements Serializable {
 
+    /** Fetch plan to load TransportUnits that are moved or removed within the current transaction. */
+    public static final String GRAPH_MOVE = "TransportUnit.move";
+    /** Fetch plan to load a TransportUnit with all associations that are mapped into its representations. */
+    public static final String GRAPH_MAPPING = "TransportUnit.mapping";
+
     /** Unique natural key. */
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "C_BARCODE", length = Barcode.BARCODE_LENGTH, nullable = false))
@@ -99,22 +127,22 @@ public class TransportUnit extends ApplicationEntity implements Serializable {
     private String state = TransportUnitState.AVAILABLE.name();
 
     /** The current {@link Location} of the {@code TransportUnit}. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_ACTUAL_LOCATION", nullable = false, foreignKey = @ForeignKey(name = "COM_TU_FK_LOC_ACTUAL"))
     private Location actualLocation;
 
     /** The target {@link Location} of the {@code TransportUnit}. This property is set when a {@code TransportOrder} is started. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_TARGET_LOCATION", foreignKey = @ForeignKey(name = "COM_TU_FK_LOC_TARGET"))
     private Location targetLocation;
 
     /** The {@link TransportUnitType} of the {@code TransportUnit}. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_TRANSPORT_UNIT_TYPE", nullable = false, foreignKey = @ForeignKey(name = "COM_TU_FK_TUT"))
     private TransportUnitType transportUnitType;
 
     /** Owning {@code TransportUnit}. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "C_PARENT", foreignKey = @ForeignKey(name = "COM_TU_FK_TU_PARENT"))
     private TransportUnit parent;
 
@@ -128,16 +156,19 @@ public class TransportUnit extends ApplicationEntity implements Serializable {
 
     /** A set of all child {@code TransportUnit}s, ordered by id. */
     @OneToMany(mappedBy = "parent", cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @BatchSize(size = 50)
     @OrderBy("actualLocationDate DESC")
     private Set<TransportUnit> children = new HashSet<>();
 
     /** A List of errors occurred on the {@code TransportUnit}. */
     @OneToMany(mappedBy = "transportUnit", cascade = {CascadeType.ALL})
+    @BatchSize(size = 50)
     @NotAudited
     private List<UnitError> errors = new ArrayList<>(0);
 
     /** Tracks all active {@link TransportUnitReservation}s on this {@link TransportUnit}. */
     @OneToMany(mappedBy = "transportUnit", cascade = {CascadeType.ALL})
+    @BatchSize(size = 50)
     private List<TransportUnitReservation> reservations;
 
     
@@ -195,15 +226,37 @@ public class TransportUnit extends ApplicationEntity implements Serializable {
      * @throws IllegalArgumentException when {@code actualLocation} is {@literal null}
      */
     public void setActualLocation(Location actualLocation) {
-        Assert.notNull(actualLocation, "ActualLocation must not be null, this: " + this);
-        this.actualLocation = actualLocation;
-        this.actualLocationDate = LocalDateTime.now();
-        this.actualLocation.setLastMovement(this.actualLocationDate);
+        placeOn(actualLocation);
         if (this.getChildren() != null) {
             this.getChildren().forEach(child -> child.setActualLocation(actualLocation));
         }
     }
 
+    /**
+     * Place only the {@code TransportUnit} itself to a {@link Location}. The caller is responsible to re-book the children, e.g. with
+     * one bulk update of the whole subtree.
+     *
+     * @param actualLocation The new {@link Location} of the {@code TransportUnit}
+     * @throws IllegalArgumentException when {@code actualLocation} is {@literal null}
+     */
+    public void placeOn(Location actualLocation) {
+        placeOn(actualLocation, LocalDateTime.now());
+    }
+
+    /**
+     * Place only the {@code TransportUnit} itself to a {@link Location} at the given date, e.g. the date its parent has been moved.
+     *
+     * @param actualLocation The new {@link Location} of the {@code TransportUnit}
+     * @param date The date of the movement
+     * @throws IllegalArgumentException when {@code actualLocation} is {@literal null}
+     */
+    public void placeOn(Location actualLocation, LocalDateTime date) {
+        Assert.notNull(actualLocation, "ActualLocation must not be null, this: " + this);
+        this.actualLocation = actualLocation;
+        this.actualLocationDate = date;
+        this.actualLocation.setLastMovement(this.actualLocationDate);
+    }
+
     /**
      * Initialize inventory info of the {@code TransportUnit}.
      */
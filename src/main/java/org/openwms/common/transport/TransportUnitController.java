@@ -15,20 +15,23 @@
  */
 package org.openwms.common.transport;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 import org.ameba.LoggingCategories;
-import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
 import org.ameba.http.MeasuredRestController;
 import org.ameba.http.Response;
 import org.ameba.i18n.Translator;
 import org.openwms.common.SimpleLink;
 import org.openwms.common.StateChangeException;
-import org.openwms.common.location.LocationController;
 import org.openwms.common.transport.api.TransportApiConstants;
+import org.openwms.common.transport.api.TransportUnitMoveResultVO;
+import org.openwms.common.transport.api.TransportUnitMoveVO;
 import org.openwms.common.transport.api.TransportUnitVO;
 import org.openwms.common.transport.api.ValidationGroups;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
@@ -37,8 +40,14 @@ import org.openwms.core.http.AbstractWebController;
 import org.openwms.core.http.Index;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -50,14 +59,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import static java.util.Arrays.asList;
 import static org.openwms.common.CommonMessageCodes.TU_BARCODE_MISSING;
 import static org.openwms.common.CommonMessageCodes.TU_EXISTS;
+import static org.openwms.common.location.api.LocationApiConstants.API_LOCATIONS;
 import static org.openwms.common.transport.api.TransportApiConstants.API_TRANSPORT_UNIT;
 import static org.openwms.common.transport.api.TransportApiConstants.API_TRANSPORT_UNITS;
+import static org.openwms.common.transport.api.TransportApiConstants.API_TRANSPORT_UNIT_TYPES;
 import static org.openwms.common.transport.api.TransportUnitVO.MEDIA_TYPE;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -77,12 +97,17 @@ public class TransportUnitController extends AbstractWebController {
     private final Translator translator;
     private final BarcodeGenerator barcodeGenerator;
     private final TransportUnitService service;
+    private final ObjectMapper ndjsonMapper;
+    private final int maxPageSize;
 
-    TransportUnitController(TransportUnitMapper mapper, Translator translator, BarcodeGenerator barcodeGenerator, TransportUnitService service) {
+    TransportUnitController(TransportUnitMapper mapper, Translator translator, BarcodeGenerator barcodeGenerator, TransportUnitService service,
+            ObjectMapper objectMapper, @Value("${owms.common.transport-unit.max-page-size:1000}") int maxPageSize) {
         this.mapper = mapper;
         this.translator = translator;
         this.barcodeGenerator = barcodeGenerator;
         this.service = service;
+        this.ndjsonMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.maxPageSize = maxPageSize;
     }
 
     @ExceptionHandler({ StateChangeException.class })
@@ -113,16 +138,51 @@ public class TransportUnitController extends AbstractWebController {
     @GetMapping(value = API_TRANSPORT_UNITS, produces = MEDIA_TYPE)
     public ResponseEntity<List<TransportUnitVO>> findAll() {
         return ResponseEntity.ok(
-                convertAndLinks(service.findAll())
+                withLinks(service.findViews(TransportUnitCriteria.ALL))
         );
     }
 
+    @GetMapping(value = API_TRANSPORT_UNITS, params = {"limit"}, produces = MEDIA_TYPE)
+    public ResponseEntity<List<TransportUnitVO>> findPage(
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "transportUnitType", required = false) String transportUnitType,
+            @RequestParam(value = "groupName", required = false) String groupName,
+            @RequestParam(value = "locationGroupNames", required = false) List<String> locationGroupNames,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam("limit") @Positive int limit
+    ) {
+        var pageSize = Math.min(limit, maxPageSize);
+        var criteria = new TransportUnitCriteria(state, transportUnitType, groupName, toSet(locationGroupNames));
+        return page(service.findViews(criteria, after, pageSize), pageSize);
+    }
+
+    @GetMapping(value = API_TRANSPORT_UNITS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "transportUnitType", required = false) String transportUnitType,
+            @RequestParam(value = "groupName", required = false) String groupName,
+            @RequestParam(value = "locationGroupNames", required = false) List<String> locationGroupNames
+    ) {
+        var criteria = new TransportUnitCriteria(state, transportUnitType, groupName, toSet(locationGroupNames));
+        var linker = linker();
+        StreamingResponseBody body = out -> service.forEachView(criteria, view -> {
+            var vo = linker.apply(view.transportUnit());
+            try {
+                out.write(ndjsonMapper.writeValueAsBytes(vo));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping(value = API_TRANSPORT_UNITS, params = {"bks"}, produces = MEDIA_TYPE)
     public ResponseEntity<List<TransportUnitVO>> findTransportUnits(
             @RequestParam("bks") @NotEmpty List<String> barcodes
     ) {
         return ResponseEntity.ok(
-                convertAndLinks(service.findByBarcodes(barcodes.stream().map(barcodeGenerator::convert).toList()))
+                withLinks(service.findViewsByBarcodes(barcodes.stream().map(barcodeGenerator::convert).toList()))
         );
     }
 
@@ -131,7 +191,7 @@ public class TransportUnitController extends AbstractWebController {
             @RequestParam("actualLocation") String actualLocation
     ) {
         return ResponseEntity.ok(
-                convertAndLinks(service.findOnLocation(actualLocation))
+                withLinks(service.findViewsOnLocation(actualLocation))
         );
     }
 
@@ -144,11 +204,8 @@ public class TransportUnitController extends AbstractWebController {
     ) {
         if (Boolean.TRUE.equals(strict)) {
             // check if already exists ...
-            try {
-                service.findByBarcode(transportUnitBK);
+            if (service.exists(transportUnitBK)) {
                 throw new ResourceExistsException(translator.translate(TU_EXISTS, transportUnitBK), TU_EXISTS, transportUnitBK);
-            } catch (NotFoundException nfe) {
-                // that's fine we just cast the exception thrown by the service
             }
         }
         var created = service.create(transportUnitBK, tu.getTransportUnitType().getType(), tu.getActualLocation().getLocationId(), strict);
@@ -156,8 +213,12 @@ public class TransportUnitController extends AbstractWebController {
     }
 
     @PostMapping(API_TRANSPORT_UNITS + "/synchronize")
-    public void synchronizeTU() {
-        service.synchronizeTransportUnits();
+    public void synchronizeTU(
+            @RequestParam(value = "locationGroupName", required = false) String locationGroupName,
+            @RequestParam(value = "transportUnitType", required = false) String transportUnitType,
+            @RequestParam(value = "changedSince", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince
+    ) {
+        service.synchronizeTransportUnits(new TransportUnitSyncScope(locationGroupName, transportUnitType, changedSince));
     }
 
     @DeleteMapping(value = API_TRANSPORT_UNITS + "/{pKey}")
@@ -166,6 +227,12 @@ public class TransportUnitController extends AbstractWebController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping(value = API_TRANSPORT_UNITS, params = {"pKeys"})
+    public ResponseEntity<Void> deleteTUs(@RequestParam("pKeys") List<String> pKeys) {
+        service.deleteByPKeys(pKeys);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = API_TRANSPORT_UNITS, params = {"actualLocation", "tut"}, produces = MEDIA_TYPE)
     public ResponseEntity<TransportUnitVO> createTU(
             @RequestParam(value = "bk", required = false) String transportUnitBK,
@@ -181,11 +248,8 @@ public class TransportUnitController extends AbstractWebController {
             }
 
             // check if already exists ...
-            try {
-                service.findByBarcode(transportUnitBK);
+            if (service.exists(transportUnitBK)) {
                 throw new ResourceExistsException(translator.translate(TU_EXISTS, transportUnitBK), TU_EXISTS, transportUnitBK);
-            } catch (NotFoundException nfe) {
-                // that's fine we just cast the exception thrown by the service
             }
         }
         var created = transportUnitBK == null
@@ -218,6 +282,13 @@ public class TransportUnitController extends AbstractWebController {
         );
     }
 
+    @PostMapping(value = API_TRANSPORT_UNITS + "/moves")
+    public ResponseEntity<List<TransportUnitMoveResultVO>> moveTUs(@Valid @NotEmpty @RequestBody List<@Valid TransportUnitMoveVO> moves) {
+        return ResponseEntity.ok(
+                service.moveTransportUnits(moves.stream().map(mapper::convert).toList()).stream().map(mapper::convertToVO).toList()
+        );
+    }
+
     @PostMapping(value = API_TRANSPORT_UNIT + "/error", params = {"bk", "errorCode"}, produces = MEDIA_TYPE)
     public ResponseEntity<Void> addErrorToTransportUnit(
             @RequestParam("bk") String transportUnitBK,
@@ -237,13 +308,15 @@ public class TransportUnitController extends AbstractWebController {
                         linkTo(methodOn(TransportUnitController.class).createTU("{transportUnitBK}", null, true, null)).withRel("transport-unit-createtuwithbody"),
                         linkTo(methodOn(TransportUnitController.class).createTU("{transportUnitBK}", "{actualLocation}", "{transportUnitType}", true, null)).withRel("transport-unit-createtuwithparams"),
                         linkTo(methodOn(TransportUnitController.class).deleteTU("{pKey}")).withRel("transport-unit-deletebypkey"),
+                        linkTo(methodOn(TransportUnitController.class).deleteTUs(asList("{pKey-1}", "{pKey-n}"))).withRel("transport-unit-deletebypkeys"),
                         linkTo(methodOn(TransportUnitController.class).findTransportUnitByPKey("1")).withRel("transport-unit-findbypkey"),
                         linkTo(methodOn(TransportUnitController.class).findTransportUnit("{transportUnitBK}")).withRel("transport-unit-findbybarcode"),
                         linkTo(methodOn(TransportUnitController.class).findTransportUnits(asList("{transportUnitBK-1}", "{transportUnitBK-n}"))).withRel("transport-unit-findbybarcodes"),
                         linkTo(methodOn(TransportUnitController.class).findTransportUnitsOn("{actualLocation.locationId}")).withRel("transport-unit-findonlocation"),
                         linkTo(methodOn(TransportUnitController.class).blockTransportUnit("{transportUnitBK}")).withRel("transport-unit-block"),
                         linkTo(methodOn(TransportUnitController.class).unblockTransportUnit("{transportUnitBK}")).withRel("transport-unit-unblock"),
-                        linkTo(methodOn(TransportUnitController.class).qcTransportUnit("{transportUnitBK}")).withRel("transport-unit-qc")
+                        linkTo(methodOn(TransportUnitController.class).qcTransportUnit("{transportUnitBK}")).withRel("transport-unit-qc"),
+                        linkTo(methodOn(TransportUnitController.class).moveTUs(List.of())).withRel("transport-unit-moves")
                 )
         );
     }
@@ -274,29 +347,61 @@ public class TransportUnitController extends AbstractWebController {
         return ResponseEntity.noContent().build();
     }
 
-    private TransportUnitVO addLinks(TransportUnitVO result) {
-        result.add(
-                new SimpleLink(linkTo(methodOn(TransportUnitController.class).findTransportUnitByPKey(result.getpKey())).withSelfRel()),
-                new SimpleLink(linkTo(methodOn(TransportUnitTypeController.class).findTransportUnitType(result.getTransportUnitType().getType())).withRel("transport-unit-type"))
-        );
-        if (result.getActualLocation() != null) {
+    private static Set<String> toSet(List<String> values) {
+        return values == null ? Set.of() : new HashSet<>(values);
+    }
+
+    /**
+     * Respond with one page of TransportUnits. If the page is full, a link to the next page is added as {@code Link} header, where
+     * the primary key of the last TransportUnit is the cursor.
+     */
+    private ResponseEntity<List<TransportUnitVO>> page(List<TransportUnitView> views, int pageSize) {
+        var response = ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, MEDIA_TYPE);
+        if (views.size() == pageSize) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", views.get(views.size() - 1).pk())
+                    .replaceQueryParam("limit", pageSize)
+                    .build(true)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, Link.of(next, IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(withLinks(views));
+    }
+
+    /**
+     * Build the link templates once per request, instead of introspecting the controller methods for each TransportUnit. The
+     * returned function does not depend on the current request and may be used by other threads.
+     */
+    private UnaryOperator<TransportUnitVO> linker() {
+        var base = linkTo(TransportUnitController.class).toUriComponentsBuilder().build();
+        var self = UriComponentsBuilder.newInstance().uriComponents(base).path(API_TRANSPORT_UNITS).path("/{pKey}").build();
+        var type = UriComponentsBuilder.newInstance().uriComponents(base).path(API_TRANSPORT_UNIT_TYPES).queryParam("type", "{type}").build();
+        var location = UriComponentsBuilder.newInstance().uriComponents(base).path(API_LOCATIONS).queryParam("locationId", "{locationId}").build();
+        return result -> {
             result.add(
-                    new SimpleLink(linkTo(methodOn(LocationController.class).findByCoordinate(result.getActualLocation().getLocationId())).withRel("actual-location"))
+                    new SimpleLink(Link.of(self.expand(result.getpKey()).encode().toUriString(), IanaLinkRelations.SELF)),
+                    new SimpleLink(Link.of(type.expand(result.getTransportUnitType().getType()).encode().toUriString(), "transport-unit-type"))
             );
-        }
-        return result;
+            if (result.getActualLocation() != null) {
+                result.add(
+                        new SimpleLink(Link.of(location.expand(result.getActualLocation().getLocationId()).encode().toUriString(), "actual-location"))
+                );
+            }
+            return result;
+        };
     }
 
     private TransportUnitVO convertAndLinks(TransportUnit entity) {
-        return addLinks(
+        return linker().apply(
                 mapper.convertToVO(entity)
         );
     }
 
-    private List<TransportUnitVO> convertAndLinks(List<TransportUnit> entities) {
-        return entities.stream()
-                .map(mapper::convertToVO)
-                .map(this::addLinks)
+    private List<TransportUnitVO> withLinks(List<TransportUnitView> views) {
+        var linker = linker();
+        return views.stream()
+                .map(TransportUnitView::transportUnit)
+                .map(linker)
                 .toList();
     }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport;
+
+import java.util.Set;
+
+/**
+ * A TransportUnitCriteria describes the {@link TransportUnit}s searched for when pages of them are read or streamed. All given criteria
+ * must be met, criteria that are {@literal null} or empty are not considered.
+ *
+ * @param state Only {@link TransportUnit}s in this state
+ * @param transportUnitType Only {@link TransportUnit}s of this {@link TransportUnitType}
+ * @param groupName Only {@link TransportUnit}s that belong to this group of {@link TransportUnit}s
+ * @param locationGroupNames Only {@link TransportUnit}s on {@code Location}s that belong to one of these {@code LocationGroup}s
+ * @author Heiko Scherrer
+ */
+public record TransportUnitCriteria(String state, String transportUnitType, String groupName, Set<String> locationGroupNames) {
+
+    /** Criteria that match all {@link TransportUnit}s. */
+    public static final TransportUnitCriteria ALL = new TransportUnitCriteria(null, null, null, null);
+
+    public TransportUnitCriteria {
+        locationGroupNames = locationGroupNames == null ? Set.of() : Set.copyOf(locationGroupNames);
+    }
+}
@@ -22,8 +22,11 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.openwms.common.location.LocationMapper;
+import org.openwms.common.transport.api.TransportUnitMoveResultVO;
+import org.openwms.common.transport.api.TransportUnitMoveVO;
 import org.openwms.common.transport.api.TransportUnitVO;
 import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.openwms.common.transport.api.messages.TransportUnitMoveMO;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -54,7 +57,6 @@ public abstract class TransportUnitMapper {
 
     @Mapping(target = "pKey", source = "eo.persistentKey")
     @Mapping(target = "barcode", source = "eo.barcode.value")
-    @Mapping(target = "transportUnitType", source = "eo.transportUnitType.type")
     @Mapping(target = "createDt", source = "eo.createDt")
     public abstract TransportUnitVO convertToVO(TransportUnit eo);
 
@@ -66,4 +68,16 @@ public abstract class TransportUnitMapper {
     @Mapping(target = "targetLocation", source = "targetLocation")
     @Mapping(target = "parent", expression = "java( eo.getParent() == null ? null : eo.getParent().getBarcode().getValue() )")
     public abstract TransportUnitMO convertToMO(TransportUnit eo);
+
+    public TransportUnitMove convert(TransportUnitMoveVO vo) {
+        return new TransportUnitMove(barcodeGenerator.convert(vo.barcode()), vo.targetLocation());
+    }
+
+    public TransportUnitMove convert(TransportUnitMoveMO mo) {
+        return new TransportUnitMove(barcodeGenerator.convert(mo.barcode()), mo.targetLocation());
+    }
+
+    public TransportUnitMoveResultVO convertToVO(TransportUnitMoveResult result) {
+        return new TransportUnitMoveResultVO(result.barcode().getValue(), result.targetLocation(), result.outcome().name(), result.message());
+    }
 }
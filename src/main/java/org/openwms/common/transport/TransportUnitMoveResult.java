@@ -0,0 +1,57 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport;
+
+import org.openwms.common.transport.barcode.Barcode;
+
+/**
+ * A TransportUnitMoveResult is the outcome of a single {@link TransportUnitMove}.
+ *
+ * @param barcode The Barcode of the TransportUnit
+ * @param targetLocation The requested target Location
+ * @param outcome What has happened
+ * @param message A description why the TransportUnit has not been moved, {@literal null} if it has been moved
+ * @author Heiko Scherrer
+ */
+public record TransportUnitMoveResult(Barcode barcode, String targetLocation, Outcome outcome, String message) {
+
+    /**
+     * The outcome of a single move.
+     */
+    public enum Outcome {
+        /** The TransportUnit has been moved. */
+        MOVED,
+        /** The TransportUnit is already on the target Location. */
+        UNCHANGED,
+        /** No TransportUnit with the Barcode exists. */
+        NOT_FOUND,
+        /** The target Location does not exist. */
+        TARGET_NOT_FOUND,
+        /** The move has been declined by a {@code TransportUnitMoveApproval}. */
+        NOT_APPROVED,
+        /** The TransportUnit is moved by another request of the same batch. */
+        DUPLICATE
+    }
+
+    /**
+     * Check whether the TransportUnit is on the target Location.
+     *
+     * @return {@literal true} if moved or has already been there
+     */
+    public boolean isSuccessful() {
+        return outcome == Outcome.MOVED || outcome == Outcome.UNCHANGED;
+    }
+}
@@ -19,10 +19,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import org.openwms.common.location.LocationPK;
 import org.openwms.common.transport.barcode.Barcode;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A TransportService offers functionality to create, read, update and delete
@@ -106,6 +108,16 @@ public interface TransportUnitService {
      */
     @NotNull TransportUnit moveTransportUnit(@NotNull Barcode barcode, @NotBlank String targetLocation);
 
+    /**
+     * Move many {@link TransportUnit}s at once. All TransportUnits and target Locations are resolved upfront, the moves are approved
+     * in bulk and a single batched notification is published for all moved TransportUnits. A move that cannot be performed does not
+     * affect the other moves of the batch.
+     *
+     * @param moves The moves to perform
+     * @return The outcome of each move, in the same order as requested
+     */
+    @NotNull List<TransportUnitMoveResult> moveTransportUnits(@NotNull List<@Valid TransportUnitMove> moves);
+
     /**
      * Change the target of the {@link TransportUnit} identified with its {@code barcode} to the Location identified by the
      * {@code targetLocationId}.
@@ -125,6 +137,15 @@ public interface TransportUnitService {
      */
     void deleteTransportUnits(@NotNull List<TransportUnit> transportUnits);
 
+    /**
+     * Delete many {@link TransportUnit}s identified by their persistent keys at once. Children are deleted before their parents, no
+     * matter how deep the hierarchy is. Depending on the configured deletion mode, the {@link TransportUnit}s are either deleted
+     * immediately or all parties are requested for removal first.
+     *
+     * @param pKeys The persistent keys of the {@link TransportUnit}s to delete, unknown keys are ignored
+     */
+    void deleteByPKeys(@NotEmpty List<String> pKeys);
+
     /**
      * Delete a {@link TransportUnit} after requesting all parties for removal.
      *
@@ -141,6 +162,15 @@ public interface TransportUnitService {
      */
     @NotNull TransportUnit findByBarcode(@NotBlank String transportUnitBK);
 
+    /**
+     * Check whether a {@link TransportUnit} with the given {@code transportUnitBK} exists. Barcodes known to the near cache are
+     * answered from memory without a database round trip.
+     *
+     * @param transportUnitBK The business identifier of the TransportUnit
+     * @return {@literal true} if the TransportUnit exists
+     */
+    boolean exists(@NotBlank String transportUnitBK);
+
     /**
      * Find and return all {@link TransportUnit}s identified by their particular {@link Barcode}.
      *
@@ -181,6 +211,72 @@ public interface TransportUnitService {
      */
     @NotNull List<TransportUnit> findAll();
 
+    /**
+     * Find a page of {@link TransportUnit}s that match the given {@code criteria}, ordered by the primary key.
+     *
+     * @param criteria The criteria the TransportUnits must match
+     * @param after Only TransportUnits with a primary key greater than this cursor are returned, {@literal null} to start with the first
+     * @param limit The maximum number of TransportUnits to return
+     * @return The TransportUnit instances or an empty list, never {@literal null}
+     */
+    @NotNull List<TransportUnit> findAll(@NotNull TransportUnitCriteria criteria, Long after, @Positive int limit);
+
+    /**
+     * Pass all {@link TransportUnit}s that match the given {@code criteria} to the {@code consumer}, one after the other, in order of
+     * the primary key. The TransportUnits are read with a database cursor and are detached after consumption.
+     *
+     * @param criteria The criteria the TransportUnits must match
+     * @param consumer Called for each TransportUnit
+     */
+    void forEach(@NotNull TransportUnitCriteria criteria, @NotNull Consumer<TransportUnit> consumer);
+
+    /**
+     * Find the {@link TransportUnit}s with the given {@code barcodes} and return them as {@link TransportUnitView}s.
+     *
+     * @param barcodes The Barcodes of the TransportUnits
+     * @return The views of the TransportUnits found or an empty list, never {@literal null}
+     */
+    @NotNull List<TransportUnitView> findViewsByBarcodes(@NotEmpty List<Barcode> barcodes);
+
+    /**
+     * Find the {@link TransportUnit}s booked on the {@code Location} with the given {@code actualLocation} and return them as
+     * {@link TransportUnitView}s, ordered by the time they arrived.
+     *
+     * @param actualLocation The LocationId of the Location
+     * @return The views of the TransportUnits found or an empty list, never {@literal null}
+     * @throws org.ameba.exception.NotFoundException If the Location does not exist
+     */
+    @NotNull List<TransportUnitView> findViewsOnLocation(@NotBlank String actualLocation);
+
+    /**
+     * Find all {@link TransportUnit}s that match the given {@code criteria} and return them as {@link TransportUnitView}s, ordered by
+     * the primary key.
+     *
+     * @param criteria The criteria the TransportUnits must match
+     * @return The views of the TransportUnits found or an empty list, never {@literal null}
+     */
+    @NotNull List<TransportUnitView> findViews(@NotNull TransportUnitCriteria criteria);
+
+    /**
+     * Find a page of {@link TransportUnit}s that match the given {@code criteria} and return them as {@link TransportUnitView}s,
+     * ordered by the primary key.
+     *
+     * @param criteria The criteria the TransportUnits must match
+     * @param after Only TransportUnits with a primary key greater than this cursor are returned, {@literal null} to start with the first
+     * @param limit The maximum number of TransportUnits to return
+     * @return The views of the TransportUnits found or an empty list, never {@literal null}
+     */
+    @NotNull List<TransportUnitView> findViews(@NotNull TransportUnitCriteria criteria, Long after, @Positive int limit);
+
+    /**
+     * Pass the {@link TransportUnitView}s of all {@link TransportUnit}s that match the given {@code criteria} to the {@code consumer},
+     * one after the other, in order of the primary key. The views are read with a database cursor.
+     *
+     * @param criteria The criteria the TransportUnits must match
+     * @param consumer Called for each view
+     */
+    void forEachView(@NotNull TransportUnitCriteria criteria, @NotNull Consumer<TransportUnitView> consumer);
+
     /**
      * Change the state of a {@link TransportUnit}.
      *
@@ -191,7 +287,15 @@ public interface TransportUnitService {
     void setState(@NotBlank String transportUnitBK, @NotBlank String state);
 
     /**
-     * Trigger a synchronization of TransportUnits.
+     * Trigger a synchronization of all TransportUnits.
      */
     void synchronizeTransportUnits();
+
+    /**
+     * Trigger a synchronization of the TransportUnits within the given {@code scope}. The TransportUnits are republished in chunks in
+     * the background and an interrupted synchronization is resumed where it stopped.
+     *
+     * @param scope Restricts the TransportUnits to synchronize
+     */
+    void synchronizeTransportUnits(@NotNull TransportUnitSyncScope scope);
 }
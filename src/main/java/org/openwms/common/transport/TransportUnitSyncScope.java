@@ -0,0 +1,47 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A TransportUnitSyncScope restricts a resynchronization of {@link TransportUnit}s. Each criterion is optional, a criterion that is
+ * {@literal null} does not restrict the scope.
+ *
+ * @param locationGroupName Only {@link TransportUnit}s on {@code Location}s within this {@code LocationGroup} or its descendants
+ * @param transportUnitType Only {@link TransportUnit}s of this {@link TransportUnitType}
+ * @param changedSince Only {@link TransportUnit}s created or modified since this point in time
+ * @author Heiko Scherrer
+ */
+public record TransportUnitSyncScope(String locationGroupName, String transportUnitType, LocalDateTime changedSince) implements Serializable {
+
+    /** The scope of all existing {@link TransportUnit}s. */
+    public static final TransportUnitSyncScope ALL = new TransportUnitSyncScope(null, null, null);
+
+    /**
+     * Returns a key that is unique for each distinct scope.
+     *
+     * @return The key
+     */
+    public String key() {
+        return "lg=%s;tut=%s;since=%s".formatted(
+                locationGroupName == null ? "" : locationGroupName,
+                transportUnitType == null ? "" : transportUnitType,
+                changedSince == null ? "" : changedSince
+        );
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport;
+
+import org.openwms.common.transport.api.TransportUnitVO;
+
+/**
+ * A TransportUnitView is a read-only representation of a {@link TransportUnit} that is projected from the database with one query,
+ * without loading the entity and its associations into the persistence context.
+ *
+ * @param pk The technical primary key of the TransportUnit, used as cursor when paging
+ * @param transportUnit The representation of the TransportUnit, without any links
+ * @author Heiko Scherrer
+ */
+public record TransportUnitView(Long pk, TransportUnitVO transportUnit) {
+}
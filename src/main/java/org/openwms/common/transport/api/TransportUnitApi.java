@@ -129,6 +129,15 @@ public interface TransportUnitApi {
             @RequestParam("newLocation") String newLocation
     );
 
+    /**
+     * Move many {@code TransportUnits} at once.
+     *
+     * @param moves The requested moves
+     * @return The outcome of each move, in the same order as requested
+     */
+    @PostMapping(value = API_TRANSPORT_UNITS + "/moves")
+    List<TransportUnitMoveResultVO> moveTUs(@RequestBody List<TransportUnitMoveVO> moves);
+
     /**
      * Add an error message to a {@code TransportUnit}.
      *
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.api;
+
+import java.io.Serializable;
+
+/**
+ * A TransportUnitMoveResultVO is the outcome of a single requested move.
+ *
+ * @param barcode The Barcode of the TransportUnit
+ * @param targetLocation The requested target Location
+ * @param outcome One of {@code MOVED}, {@code UNCHANGED}, {@code NOT_FOUND}, {@code TARGET_NOT_FOUND}, {@code NOT_APPROVED} or
+ * {@code DUPLICATE}
+ * @param message Why the TransportUnit has not been moved, {@literal null} if it has been moved
+ * @author Heiko Scherrer
+ */
+public record TransportUnitMoveResultVO(String barcode, String targetLocation, String outcome, String message) implements Serializable {
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.api;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.io.Serializable;
+
+/**
+ * A TransportUnitMoveVO requests to move a {@code TransportUnit} to another {@code Location}.
+ *
+ * @param barcode The Barcode of the TransportUnit to move
+ * @param targetLocation The target Location, either the LocationID, the ERP code or the PLC code
+ * @author Heiko Scherrer
+ */
+public record TransportUnitMoveVO(@NotBlank String barcode, @NotBlank String targetLocation) implements Serializable {
+}
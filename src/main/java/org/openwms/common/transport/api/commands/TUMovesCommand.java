@@ -0,0 +1,75 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.api.commands;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.common.transport.api.messages.TransportUnitMoveMO;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A TUMovesCommand is used to move many TransportUnits at once.
+ *
+ * @author Heiko Scherrer
+ */
+public class TUMovesCommand implements Command<TUMovesCommand.Type>, Serializable {
+
+    public enum Type {
+        /** Command to change the actual Location of many TransportUnits. */
+        CHANGE_ACTUAL_LOCATIONS
+    }
+
+    @NotNull
+    private Type type;
+    @NotEmpty
+    private List<@Valid TransportUnitMoveMO> moves;
+
+    /*~-------------------- constructors --------------------*/
+    @ConstructorProperties({"type", "moves"})
+    protected TUMovesCommand(Type type, List<TransportUnitMoveMO> moves) {
+        this.type = type;
+        this.moves = moves;
+    }
+
+    /*~-------------------- methods --------------------*/
+    public static TUMovesCommand of(List<TransportUnitMoveMO> moves) {
+        return new TUMovesCommand(Type.CHANGE_ACTUAL_LOCATIONS, new ArrayList<>(moves));
+    }
+
+    /*~-------------------- accessors --------------------*/
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public List<TransportUnitMoveMO> getMoves() {
+        return moves;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", TUMovesCommand.class.getSimpleName() + "[", "]").add("type=" + type).add("moves=" + moves).toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.api.commands;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A TUsCommand is used to announce an operation on many TransportUnits at once.
+ *
+ * @author Heiko Scherrer
+ */
+public class TUsCommand implements Command<TUsCommand.Type>, Serializable {
+
+    public enum Type {
+        /** Vote whether all voters are fine with removing the instances. */
+        REMOVING
+    }
+
+    @NotNull
+    private Type type;
+    @NotEmpty
+    private List<@Valid TransportUnitMO> transportUnits;
+
+    /*~-------------------- constructors --------------------*/
+    @ConstructorProperties({"type", "transportUnits"})
+    protected TUsCommand(Type type, List<TransportUnitMO> transportUnits) {
+        this.type = type;
+        this.transportUnits = transportUnits;
+    }
+
+    /*~-------------------- methods --------------------*/
+    public static TUsCommand of(Type type, List<TransportUnitMO> transportUnits) {
+        return new TUsCommand(type, new ArrayList<>(transportUnits));
+    }
+
+    /*~-------------------- accessors --------------------*/
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public List<TransportUnitMO> getTransportUnits() {
+        return transportUnits;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", TUsCommand.class.getSimpleName() + "[", "]").add("type=" + type).add("transportUnits=" + transportUnits).toString();
+    }
+}
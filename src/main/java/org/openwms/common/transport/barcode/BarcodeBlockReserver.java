@@ -0,0 +1,58 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.barcode;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A BarcodeBlockReserver reserves a contiguous block of numbers on a {@link NextBarcode} in a short transaction of its own, so that
+ * the row lock is released as soon as the block has been reserved and not held until the calling transaction completes.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+public class BarcodeBlockReserver {
+
+    private final NextBarcodeRepository repository;
+
+    public BarcodeBlockReserver(NextBarcodeRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Reserve the next {@code size} numbers of the {@link NextBarcode} with the given {@code name}, the entry is created if it
+     * does not exist yet.
+     *
+     * @param name The name of the NextBarcode
+     * @param size The number of barcodes to reserve
+     * @return The first reserved number, the last one is {@code first + size - 1}
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String name, int size) {
+        var nextBarcode = repository.findByName(name).orElseGet(() -> {
+            var nb = new NextBarcode();
+            nb.setName(name);
+            nb.setCurrentBarcode("0");
+            return nb;
+        });
+        var current = Long.parseLong(nextBarcode.getCurrentBarcode());
+        nextBarcode.setCurrentBarcode(String.valueOf(current + size));
+        repository.save(nextBarcode);
+        return current + 1;
+    }
+}
@@ -22,26 +22,44 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A ConfiguredBarcodeFormat.
+ * <p>
+ * The configuration is read once when the formatter is created and compiled into a plan: either no formatting at all, padding and
+ * alignment, or a pattern. A pattern with a single {@code %s} is split into the text before and after the placeholder and not
+ * interpreted with {@link String#format(String, Object...)} for each Barcode.
  *
  * @author Heiko Scherrer
  */
 public class ConfiguredBarcodeFormatter implements BarcodeFormatter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfiguredBarcodeFormatter.class);
-    private  String pattern;
-    private  String padder;
-    private  String length;
-    private  String alignment;
-    private  String prefix;
-    private  String suffix;
+    private static final String PLACEHOLDER = "%s";
+    private final String pattern;
+    private final String patternHead;
+    private final String patternTail;
+    private final String padder;
+    private final int length;
+    private final boolean alignRight;
+    private final String prefix;
+    private final String suffix;
 
     public ConfiguredBarcodeFormatter() {
         this.pattern = System.getProperty("owms.common.barcode.pattern", "");
         this.padder = System.getProperty("owms.common.barcode.padder", String.valueOf(Barcode.PADDER));
-        this.length = System.getProperty("owms.common.barcode.length", String.valueOf(Barcode.BARCODE_LENGTH));
-        this.alignment = System.getProperty("owms.common.barcode.alignment", Barcode.BARCODE_ALIGN.RIGHT.name());
+        this.alignRight = Barcode.BARCODE_ALIGN.RIGHT.name().equals(System.getProperty("owms.common.barcode.alignment",
+                Barcode.BARCODE_ALIGN.RIGHT.name()));
         this.prefix = System.getProperty("owms.common.barcode.prefix", "");
         this.suffix = System.getProperty("owms.common.barcode.suffix", "");
+        this.length = pattern.isEmpty() && !padder.isEmpty()
+                ? Integer.parseInt(System.getProperty("owms.common.barcode.length", String.valueOf(Barcode.BARCODE_LENGTH)))
+                : 0;
+        var placeholder = pattern.indexOf(PLACEHOLDER);
+        if (placeholder >= 0 && pattern.indexOf('%', placeholder + PLACEHOLDER.length()) < 0 && pattern.lastIndexOf('%', placeholder - 1) < 0) {
+            this.patternHead = pattern.substring(0, placeholder);
+            this.patternTail = pattern.substring(placeholder + PLACEHOLDER.length());
+        } else {
+            this.patternHead = null;
+            this.patternTail = null;
+        }
     }
 
     /**
@@ -54,33 +72,38 @@ public class ConfiguredBarcodeFormatter implements BarcodeFormatter {
             LOGGER.debug("Barcode to format is null");
             return barcode;
         }
-        StringBuilder result = "".equals(prefix) ? new StringBuilder() : new StringBuilder(prefix);
-        if ("".equals(pattern)) {
+        if (pattern.isEmpty()) {
 
             // check for property based configuration
-            if ("".equals(padder)) {
+            if (padder.isEmpty()) {
                 LOGGER.debug("No pattern, no padder - nothing to format. Barcode [{}]", barcode);
                 return barcode;
-            } else {
-
-                result.append(
-                        Barcode.BARCODE_ALIGN.RIGHT.name().equals(alignment)
-                                ? StringUtils.leftPad(barcode, Integer.parseInt(length), padder)
-                                : StringUtils.rightPad(barcode, Integer.parseInt(length), padder)
-                );
-                if (!"".equals(suffix)) {
-                    result.append(suffix);
+            }
+            if (barcode.length() >= length && prefix.isEmpty() && suffix.isEmpty()) {
+                // already normalized
+                return barcode;
+            }
+            var result = new StringBuilder(prefix.length() + Math.max(length, barcode.length()) + suffix.length()).append(prefix);
+            if (padder.length() == 1) {
+                if (!alignRight) {
+                    result.append(barcode);
                 }
-                LOGGER.debug("No pattern, formatted Barcode [{}]", result);
-                return result.toString();
+                result.repeat(padder.charAt(0), Math.max(0, length - barcode.length()));
+                if (alignRight) {
+                    result.append(barcode);
+                }
+            } else {
+                result.append(alignRight ? StringUtils.leftPad(barcode, length, padder) : StringUtils.rightPad(barcode, length, padder));
             }
-        }
-        // use pattern
-        result.append(String.format(pattern, barcode));
-        if (!"".equals(suffix)) {
             result.append(suffix);
+            LOGGER.debug("No pattern, formatted Barcode [{}]", result);
+            return result.toString();
         }
+        // use pattern
+        var result = patternHead == null
+                ? prefix + String.format(pattern, barcode) + suffix
+                : prefix + patternHead + barcode + patternTail + suffix;
         LOGGER.debug("Format incoming Barcode [{}] into [{}]", barcode, result);
-        return result.toString();
+        return result;
     }
 }
@@ -15,18 +15,37 @@
  */
 package org.openwms.common.transport.barcode;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.Public;
 import org.ameba.annotation.TxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.util.Optional;
+import java.time.Duration;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.openwms.common.CommonConstants.DEFAULT_ACCOUNT_NAME;
 
 /**
- * A NumericBarcodeGenerator.
+ * A NumericBarcodeGenerator generates ascending numeric {@link Barcode}s following the hi/lo approach: a block of numbers is reserved
+ * on the {@link NextBarcode} at once and the numbers of the block are handed out from memory without any database access.
+ * <p>
+ * The size of the next block adapts to the demand. It is doubled (up to {@code owms.common.barcode.block.max-size}) when a block was
+ * consumed faster than {@code owms.common.barcode.block.target-duration} and halved (down to {@code owms.common.barcode.block.min-size})
+ * when it lasted more than four times as long. Numbers left in a block when the application stops are lost, so Barcodes are unique but
+ * not gapless and not ordered across several instances. The gauge {@code owms.common.barcode.block.remaining} shows how many numbers
+ * would be lost at any time, the counter {@code owms.common.barcode.numbers.wasted} records the numbers lost on a regular shutdown.
+ * <p>
+ * The {@link BarcodeFormatter} is resolved once with the {@link ServiceLoader} when the generator is created.
  *
  * @author Heiko Scherrer
  */
@@ -34,10 +53,45 @@ import static org.openwms.common.CommonConstants.DEFAULT_ACCOUNT_NAME;
 @TxService
 public class NumericBarcodeGenerator implements BarcodeGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NumericBarcodeGenerator.class);
     protected final NextBarcodeRepository repository;
+    private final BarcodeBlockReserver reserver;
+    private final BarcodeFormatter formatter;
+    private final int minBlockSize;
+    private final int maxBlockSize;
+    private final long targetNanos;
+    private final AtomicReference<Block> block = new AtomicReference<>();
+    private final Counter exhaustedBlocks;
+    private final Counter wastedNumbers;
+    private volatile int blockSize;
 
-    public NumericBarcodeGenerator(NextBarcodeRepository repository) {
+    public NumericBarcodeGenerator(NextBarcodeRepository repository, BarcodeBlockReserver reserver, MeterRegistry meterRegistry,
+            @Value("${owms.common.barcode.block.min-size:10}") int minBlockSize,
+            @Value("${owms.common.barcode.block.max-size:1000}") int maxBlockSize,
+            @Value("${owms.common.barcode.block.target-duration:PT10S}") Duration targetDuration) {
         this.repository = repository;
+        this.reserver = reserver;
+        this.formatter = ServiceLoader.load(BarcodeFormatter.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No BarcodeFormatter provider configured for ServiceLoader"));
+        this.minBlockSize = Math.max(1, minBlockSize);
+        this.maxBlockSize = Math.max(this.minBlockSize, maxBlockSize);
+        this.targetNanos = targetDuration.toNanos();
+        this.blockSize = this.minBlockSize;
+        this.exhaustedBlocks = Counter.builder("owms.common.barcode.blocks.exhausted").register(meterRegistry);
+        this.wastedNumbers = Counter.builder("owms.common.barcode.numbers.wasted").register(meterRegistry);
+        Gauge.builder("owms.common.barcode.block.size", this, g -> g.blockSize).register(meterRegistry);
+        Gauge.builder("owms.common.barcode.block.remaining", block, b -> b.get() == null ? 0 : b.get().remaining())
+                .description("Numbers left in the current block, these are lost when the instance stops or crashes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void onShutdown() {
+        var current = block.getAndSet(null);
+        if (current != null && current.remaining() > 0) {
+            wastedNumbers.increment(current.remaining());
+            LOGGER.info("[{}] reserved Barcodes are discarded", current.remaining());
+        }
     }
 
     /**
@@ -46,7 +100,7 @@ public class NumericBarcodeGenerator implements BarcodeGenerator {
     @Override
     @Measured
     public Barcode convert(String barcode) {
-        return Barcode.of(getFormatter().format(barcode));
+        return Barcode.of(formatter.format(barcode));
     }
 
     /**
@@ -55,22 +109,62 @@ public class NumericBarcodeGenerator implements BarcodeGenerator {
     @Override
     @Measured
     public @NotNull Barcode generate(String transportUnitType, String actualLocation) {
-        Optional<NextBarcode> aDefault = repository.findByName(DEFAULT_ACCOUNT_NAME);
-        if (aDefault.isEmpty()) {
-            NextBarcode nb = new NextBarcode();
-            nb.setName(DEFAULT_ACCOUNT_NAME);
-            nb.setCurrentBarcode("1");
-            repository.save(nb);
-            return Barcode.of(getFormatter().format("1"));
+        return Barcode.of(formatter.format(String.valueOf(next())));
+    }
+
+    private long next() {
+        while (true) {
+            var current = block.get();
+            if (current != null) {
+                var number = current.next.getAndIncrement();
+                if (number <= current.last) {
+                    return number;
+                }
+            }
+            refill(current);
         }
-        NextBarcode nextBarcode = aDefault.get();
-        int current = Integer.parseInt(nextBarcode.getCurrentBarcode());
-        String result = String.valueOf(++current);
-        nextBarcode.setCurrentBarcode(result);
-        return Barcode.of(getFormatter().format(result));
     }
 
-    private BarcodeFormatter getFormatter() {
-        return ServiceLoader.load(BarcodeFormatter.class).findFirst().orElseThrow(() -> new IllegalStateException("No BarcodeFormatter provider configured for ServiceLoader"));
+    private synchronized void refill(Block exhausted) {
+        if (block.get() != exhausted) {
+            return;
+        }
+        if (exhausted != null) {
+            exhaustedBlocks.increment();
+            adapt(System.nanoTime() - exhausted.reservedAt);
+        }
+        var size = blockSize;
+        long first;
+        try {
+            first = reserver.reserve(DEFAULT_ACCOUNT_NAME, size);
+        } catch (DataIntegrityViolationException e) {
+            // another instance created the NextBarcode concurrently
+            first = reserver.reserve(DEFAULT_ACCOUNT_NAME, size);
+        }
+        LOGGER.debug("Reserved Barcodes from [{}] to [{}]", first, first + size - 1);
+        block.set(new Block(first, first + size - 1));
+    }
+
+    private void adapt(long consumedNanos) {
+        if (consumedNanos < targetNanos && blockSize < maxBlockSize) {
+            blockSize = Math.min(maxBlockSize, blockSize * 2);
+        } else if (consumedNanos > targetNanos * 4 && blockSize > minBlockSize) {
+            blockSize = Math.max(minBlockSize, blockSize / 2);
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+        private final long reservedAt = System.nanoTime();
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        private long remaining() {
+            return Math.max(0, last - next.get() + 1);
+        }
     }
 }
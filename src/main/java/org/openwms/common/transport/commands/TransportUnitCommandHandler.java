@@ -21,6 +21,7 @@ import org.openwms.common.transport.TransportUnitMapper;
 import org.openwms.common.transport.TransportUnitService;
 import org.openwms.common.transport.api.ValidationGroups;
 import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.common.transport.api.commands.TUMovesCommand;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -119,4 +120,14 @@ class TransportUnitCommandHandler {
                 LOGGER.error("TUCommand [{}] not supported", command.getType());
         }
     }
+
+    public void handle(TUMovesCommand command) {
+        validate(validator, command);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Got command to MOVE [{}] TransportUnits", command.getMoves().size());
+        }
+        var results = service.moveTransportUnits(command.getMoves().stream().map(mapper::convert).toList());
+        results.stream().filter(r -> !r.isSuccessful())
+                .forEach(r -> LOGGER.warn("TransportUnit [{}] not moved to [{}]: [{}] {}", r.barcode(), r.targetLocation(), r.outcome(), r.message()));
+    }
 }
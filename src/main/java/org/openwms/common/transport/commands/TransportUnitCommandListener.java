@@ -20,6 +20,7 @@ import org.ameba.app.SpringProfiles;
 import org.openwms.common.transport.api.commands.Command;
 import org.openwms.common.transport.api.commands.MessageCommand;
 import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.common.transport.api.commands.TUMovesCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
@@ -53,6 +54,8 @@ class TransportUnitCommandListener {
         try {
             if (command instanceof TUCommand tuCommand) {
                 handler.handle(tuCommand);
+            } else if (command instanceof TUMovesCommand movesCommand) {
+                handler.handle(movesCommand);
             } else if (command instanceof MessageCommand messageCommand) {
                 messageCommandHandler.handle(messageCommand);
             }
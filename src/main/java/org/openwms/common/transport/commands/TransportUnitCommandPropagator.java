@@ -19,21 +19,21 @@ import jakarta.validation.ValidationException;
 import jakarta.validation.Validator;
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.outbox.Outbox;
 import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.common.transport.api.commands.TUsCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * A TransportUnitCommandPropagator propagates {@link TUCommand}s send by this service
- * out to other services over an AMQP exchange.
+ * A TransportUnitCommandPropagator propagates {@link TUCommand}s and {@link TUsCommand}s send by this service
+ * out to other services over an AMQP exchange. The commands are appended to the {@link Outbox} in the transaction that issued them.
  *
  * @author Heiko Scherrer
  */
@@ -43,20 +43,19 @@ import org.springframework.transaction.event.TransactionalEventListener;
 class TransportUnitCommandPropagator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitCommandPropagator.class);
-    private final AmqpTemplate amqpTemplate;
+    private final Outbox outbox;
     private final Validator validator;
     private final String exchangeName;
 
-    TransportUnitCommandPropagator(AmqpTemplate amqpTemplate, Validator validator,
+    TransportUnitCommandPropagator(Outbox outbox, Validator validator,
             @Value("${owms.commands.common.tu.exchange-name}") String exchangeName) {
-        this.amqpTemplate = amqpTemplate;
+        this.outbox = outbox;
         this.validator = validator;
         this.exchangeName = exchangeName;
     }
 
     @Measured
-    @TransactionalEventListener(fallbackExecution = true)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void onEvent(TUCommand command) {
         switch (command.getType()) {
             case REMOVING -> {
@@ -68,11 +67,26 @@ class TransportUnitCommandPropagator {
                     if (LOGGER.isDebugEnabled()) {
                         LOGGER.debug("Sending REMOVING command to announce the TransportUnit [{}] is going to be removed", command.getTransportUnit().getpKey());
                     }
-                    amqpTemplate.convertAndSend(exchangeName, "common.tu.command.out.removing", command);
+                    outbox.append(exchangeName, "common.tu.command.out.removing", command);
                 }
             }
-            case UPDATE_CACHE -> amqpTemplate.convertAndSend(exchangeName, "common.tu.command.out.update-cache", command);
+            case UPDATE_CACHE -> outbox.append(exchangeName, "common.tu.command.out.update-cache", command);
             default -> LOGGER.warn("Not supported TUCommand [{}]", command.getType());
         }
     }
+
+    @Measured
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEvent(TUsCommand command) {
+        var violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.iterator().next().getMessage());
+        }
+        if (command.getType() == TUsCommand.Type.REMOVING) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Sending REMOVING command to announce [{}] TransportUnits are going to be removed", command.getTransportUnits().size());
+            }
+            outbox.append(exchangeName, "common.tu.command.out.bulk-removing", command);
+        }
+    }
 }
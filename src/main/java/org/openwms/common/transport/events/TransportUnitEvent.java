@@ -17,8 +17,12 @@ package org.openwms.common.transport.events;
 
 import org.openwms.common.location.Location;
 import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.barcode.Barcode;
 import org.openwms.core.event.RootApplicationEvent;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * A TransportUnitEvent.
  *
@@ -29,6 +33,8 @@ public class TransportUnitEvent extends RootApplicationEvent {
     private TransportUnitEventType type;
     private Location actualLocation;
     private Location previousLocation;
+    private Map<TransportUnit, Location> previousLocations = Map.of();
+    private List<ChildMove> childMoves = List.of();
 
     private TransportUnitEvent(Object source, TransportUnitEventType type) {
         super(source);
@@ -40,6 +46,8 @@ public class TransportUnitEvent extends RootApplicationEvent {
         type = builder.type;
         actualLocation = builder.actualLocation;
         previousLocation = builder.previousLocation;
+        previousLocations = builder.previousLocations;
+        childMoves = builder.childMoves;
     }
 
     public static Builder newBuilder() {
@@ -58,12 +66,43 @@ public class TransportUnitEvent extends RootApplicationEvent {
         return previousLocation;
     }
 
+    /**
+     * Get the Locations the TransportUnits of a {@code BULK_MOVED} event have been moved from.
+     *
+     * @return The previous Location of each moved TransportUnit
+     */
+    public Map<TransportUnit, Location> getPreviousLocations() {
+        return previousLocations;
+    }
+
+    /**
+     * Get the child TransportUnits that have been moved together with the TransportUnits of a {@code MOVED} or {@code BULK_MOVED}
+     * event. Children are re-booked without being loaded, hence only their identifying data is available.
+     *
+     * @return All moved children of the whole subtree
+     */
+    public List<ChildMove> getChildMoves() {
+        return childMoves;
+    }
+
+    /**
+     * A ChildMove describes a child TransportUnit that has been moved together with its parent.
+     *
+     * @param barcode The Barcode of the child
+     * @param previousLocation The Location the child has been moved from
+     * @param actualLocation The Location the child has been moved to
+     */
+    public record ChildMove(Barcode barcode, Location previousLocation, Location actualLocation) {
+    }
+
     public static TransportUnitEvent of(TransportUnit tu, TransportUnitEventType type) {
         return new TransportUnitEvent(tu, type);
     }
 
     public enum TransportUnitEventType {
-        CREATED, CHANGED, DELETED, MOVED, STATE_CHANGE;
+        CREATED, CHANGED, DELETED, MOVED, STATE_CHANGE,
+        /** Many TransportUnits have been moved at once, the source is the list of moved TransportUnits. */
+        BULK_MOVED;
     }
 
     public static final class Builder {
@@ -71,6 +110,8 @@ public class TransportUnitEvent extends RootApplicationEvent {
         private TransportUnitEventType type;
         private Location previousLocation;
         private Location actualLocation;
+        private Map<TransportUnit, Location> previousLocations = Map.of();
+        private List<ChildMove> childMoves = List.of();
 
         private Builder() {
         }
@@ -80,6 +121,21 @@ public class TransportUnitEvent extends RootApplicationEvent {
             return this;
         }
 
+        public Builder tus(List<TransportUnit> val) {
+            source = val;
+            return this;
+        }
+
+        public Builder previousLocations(Map<TransportUnit, Location> val) {
+            previousLocations = val;
+            return this;
+        }
+
+        public Builder childMoves(List<ChildMove> val) {
+            childMoves = val;
+            return this;
+        }
+
         public Builder type(TransportUnitEventType val) {
             type = val;
             return this;
@@ -99,6 +155,9 @@ public class TransportUnitEvent extends RootApplicationEvent {
             if (type == TransportUnitEventType.MOVED && actualLocation == null) {
                 throw new IllegalArgumentException("TU MOVED events must contain the actualLocation");
             }
+            if (type == TransportUnitEventType.BULK_MOVED && !(source instanceof List<?>)) {
+                throw new IllegalArgumentException("TU BULK_MOVED events must contain the list of moved TransportUnits");
+            }
             return new TransportUnitEvent(this);
         }
     }
@@ -18,10 +18,12 @@ package org.openwms.common.transport.events;
 import org.ameba.annotation.Measured;
 import org.ameba.http.identity.IdentityContextHolder;
 import org.ameba.i18n.Translator;
+import org.openwms.common.location.Location;
 import org.openwms.common.spi.transactions.TransactionBuilder;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
 import org.openwms.common.spi.transactions.commands.TransactionCommand;
 import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.barcode.Barcode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -56,25 +58,32 @@ class TransportUnitEventListener {
     public void onEvent(TransportUnitEvent event) {
         if (event.getType() == TransportUnitEvent.TransportUnitEventType.MOVED) {
             var tu = (TransportUnit) event.getSource();
-            var description = translator.translate(MSG_TU_MOVED,
-                    tu.getBarcode().getValue(),
-                    event.getPreviousLocation().getLocationId(),
-                    tu.getActualLocation().getLocationId()
-            );
-            LOGGER.info(description);
-            transactionApi.process(TransactionCommand.of(TransactionCommand.Type.CREATE,
-                    createDefaultBuilder().withType(MSG_TU_MOVED)
-                            .withDescription(description)
-                            .withDetail("transportUnitBK", tu.getBarcode().getValue())
-                            .withDetail("previousLocation", event.getPreviousLocation().getLocationId().toString())
-                            .withDetail("previousLocationErpCode", event.getPreviousLocation().getErpCode())
-                            .withDetail("previousLocationPlcCode", event.getPreviousLocation().getPlcCode())
-                            .withDetail("actualLocation", tu.getActualLocation().getLocationId().toString())
-                            .withDetail("actualLocationErpCode", tu.getActualLocation().getErpCode())
-                            .withDetail("actualLocationPlcCode", tu.getActualLocation().getPlcCode())
-                            .build()
-            ));
+            logMove(tu.getBarcode(), event.getPreviousLocation(), tu.getActualLocation());
+        } else if (event.getType() == TransportUnitEvent.TransportUnitEventType.BULK_MOVED) {
+            event.getPreviousLocations().forEach((tu, previous) -> logMove(tu.getBarcode(), previous, tu.getActualLocation()));
         }
+        event.getChildMoves().forEach(child -> logMove(child.barcode(), child.previousLocation(), child.actualLocation()));
+    }
+
+    private void logMove(Barcode barcode, Location previousLocation, Location actualLocation) {
+        var description = translator.translate(MSG_TU_MOVED,
+                barcode.getValue(),
+                previousLocation.getLocationId(),
+                actualLocation.getLocationId()
+        );
+        LOGGER.info(description);
+        transactionApi.process(TransactionCommand.of(TransactionCommand.Type.CREATE,
+                createDefaultBuilder().withType(MSG_TU_MOVED)
+                        .withDescription(description)
+                        .withDetail("transportUnitBK", barcode.getValue())
+                        .withDetail("previousLocation", previousLocation.getLocationId().toString())
+                        .withDetail("previousLocationErpCode", previousLocation.getErpCode())
+                        .withDetail("previousLocationPlcCode", previousLocation.getPlcCode())
+                        .withDetail("actualLocation", actualLocation.getLocationId().toString())
+                        .withDetail("actualLocationErpCode", actualLocation.getErpCode())
+                        .withDetail("actualLocationPlcCode", actualLocation.getPlcCode())
+                        .build()
+        ));
     }
 
     private TransactionBuilder createDefaultBuilder() {
@@ -17,21 +17,28 @@ package org.openwms.common.transport.events;
 
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.outbox.Outbox;
 import org.openwms.common.transport.TransportUnit;
 import org.openwms.common.transport.TransportUnitMapper;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
-import static java.lang.String.format;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * A TransportUnitEventPropagator.
+ * A TransportUnitEventPropagator appends {@link TransportUnitEvent}s to the {@link Outbox} in the transaction that caused them.
+ * <p>
+ * A {@code BULK_MOVED} event is sent as one {@code tu.event.bulk-moved} message with all moved TransportUnits. Only if
+ * {@code owms.events.common.tu.bulk-moved-only} is set to {@literal false} for compatibility, each TransportUnit is additionally sent
+ * as one {@code tu.event.moved.<LocationID>} message, so that consumers that only know single moves get all moves.
  *
  * @author Heiko Scherrer
  */
@@ -40,30 +47,46 @@ import static java.lang.String.format;
 @Component
 class TransportUnitEventPropagator {
 
-    private final AmqpTemplate amqpTemplate;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitEventPropagator.class);
+    private final Outbox outbox;
     private final String exchangeName;
     private final TransportUnitMapper mapper;
+    private final boolean bulkMovedOnly;
 
     TransportUnitEventPropagator(
-            AmqpTemplate amqpTemplate,
+            Outbox outbox,
             @Value("${owms.events.common.tu.exchange-name}") String exchangeName,
-            TransportUnitMapper mapper) {
-        this.amqpTemplate = amqpTemplate;
+            TransportUnitMapper mapper,
+            @Value("${owms.events.common.tu.bulk-moved-only:true}") boolean bulkMovedOnly) {
+        this.outbox = outbox;
         this.exchangeName = exchangeName;
         this.mapper = mapper;
+        this.bulkMovedOnly = bulkMovedOnly;
     }
 
     @Measured
-    @TransactionalEventListener(fallbackExecution = true)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void onEvent(TransportUnitEvent event) {
         switch (event.getType()) {
-            case CREATED -> amqpTemplate.convertAndSend(exchangeName, "tu.event.created", mapper.convertToMO((TransportUnit) event.getSource()));
-            case CHANGED -> amqpTemplate.convertAndSend(exchangeName, "tu.event.changed", mapper.convertToMO((TransportUnit) event.getSource()));
-            case DELETED -> amqpTemplate.convertAndSend(exchangeName, "tu.event.deleted", mapper.convertToMO((TransportUnit) event.getSource()));
-            case STATE_CHANGE -> amqpTemplate.convertAndSend(exchangeName, "tu.event.state-changed", mapper.convertToMO((TransportUnit) event.getSource()));
-            case MOVED -> amqpTemplate.convertAndSend(exchangeName, "tu.event.moved." + event.getActualLocation().getLocationId(), mapper.convertToMO((TransportUnit) event.getSource()));
-            default -> throw new UnsupportedOperationException(format("TransportUnitEvent [%s] not supported", event.getType()));
+            case CREATED -> outbox.append(exchangeName, "tu.event.created", mapper.convertToMO((TransportUnit) event.getSource()));
+            case CHANGED -> outbox.append(exchangeName, "tu.event.changed", mapper.convertToMO((TransportUnit) event.getSource()));
+            case DELETED -> outbox.append(exchangeName, "tu.event.deleted", mapper.convertToMO((TransportUnit) event.getSource()));
+            case STATE_CHANGE -> outbox.append(exchangeName, "tu.event.state-changed", mapper.convertToMO((TransportUnit) event.getSource()));
+            case MOVED -> outbox.append(exchangeName, "tu.event.moved." + event.getActualLocation().getLocationId(), mapper.convertToMO((TransportUnit) event.getSource()));
+            case BULK_MOVED -> onBulkMoved((List<?>) event.getSource());
+            default -> LOGGER.warn("TransportUnitEvent [{}] not supported", event.getType());
         }
     }
+
+    private void onBulkMoved(List<?> transportUnits) {
+        var mos = new ArrayList<TransportUnitMO>(transportUnits.size());
+        for (var tu : transportUnits) {
+            var mo = mapper.convertToMO((TransportUnit) tu);
+            if (!bulkMovedOnly) {
+                outbox.append(exchangeName, "tu.event.moved." + ((TransportUnit) tu).getActualLocation().getLocationId(), mo);
+            }
+            mos.add(mo);
+        }
+        outbox.append(exchangeName, "tu.event.bulk-moved", mos);
+    }
 }
@@ -17,21 +17,21 @@ package org.openwms.common.transport.events;
 
 import org.ameba.annotation.Measured;
 import org.ameba.app.SpringProfiles;
+import org.openwms.common.outbox.Outbox;
 import org.openwms.common.transport.TransportUnitType;
 import org.openwms.common.transport.TransportUnitTypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * A TransportUnitTypeEventPropagator is a Spring managed component to publish {@link TransportUnitTypeEvent}s over AQMP. This component is
+ * A TransportUnitTypeEventPropagator is a Spring managed component to publish {@link TransportUnitTypeEvent}s over AQMP. The
+ * events are appended to the {@link Outbox} in the transaction that caused them. This component is
  * only active with the {@value SpringProfiles#AMQP} profile.
  *
  * @author Heiko Scherrer
@@ -42,27 +42,26 @@ import org.springframework.transaction.event.TransactionalEventListener;
 class TransportUnitTypeEventPropagator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitTypeEventPropagator.class);
-    private final AmqpTemplate amqpTemplate;
+    private final Outbox outbox;
     private final String exchangeName;
     private final TransportUnitTypeMapper mapper;
 
     TransportUnitTypeEventPropagator(
-            AmqpTemplate amqpTemplate,
+            Outbox outbox,
             @Value("${owms.events.common.tut.exchange-name}") String exchangeName,
             TransportUnitTypeMapper mapper) {
-        this.amqpTemplate = amqpTemplate;
+        this.outbox = outbox;
         this.exchangeName = exchangeName;
         this.mapper = mapper;
     }
 
     @Measured
-    @TransactionalEventListener(fallbackExecution = true)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void onEvent(TransportUnitTypeEvent event) {
         switch (event.getType()) {
-            case CREATED -> amqpTemplate.convertAndSend(exchangeName, "tut.event.created", mapper.convertToMO((TransportUnitType) event.getSource()));
-            case CHANGED -> amqpTemplate.convertAndSend(exchangeName, "tut.event.changed", mapper.convertToMO((TransportUnitType) event.getSource()));
-            case DELETED -> amqpTemplate.convertAndSend(exchangeName, "tut.event.deleted", mapper.convertToMO((TransportUnitType) event.getSource()));
+            case CREATED -> outbox.append(exchangeName, "tut.event.created", mapper.convertToMO((TransportUnitType) event.getSource()));
+            case CHANGED -> outbox.append(exchangeName, "tut.event.changed", mapper.convertToMO((TransportUnitType) event.getSource()));
+            case DELETED -> outbox.append(exchangeName, "tut.event.deleted", mapper.convertToMO((TransportUnitType) event.getSource()));
             default -> LOGGER.warn("TransportUnitTypeEvent [{}] not supported", event.getType());
         }
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationService;
+import org.openwms.core.units.api.Weight;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An OccupationChanges collects the number and the Weight of {@code TransportUnit}s booked off and onto {@link Location}s, so that
+ * each affected Location is updated only once.
+ *
+ * @author Heiko Scherrer
+ */
+final class OccupationChanges {
+
+    private final Map<Location, Change> released = new LinkedHashMap<>();
+    private final Map<Location, Change> occupied = new LinkedHashMap<>();
+
+    void release(Location location, Weight weight) {
+        if (location != null) {
+            released.computeIfAbsent(location, l -> new Change()).add(weight);
+        }
+    }
+
+    void occupy(Location location, Weight weight) {
+        occupied.computeIfAbsent(location, l -> new Change()).add(weight);
+    }
+
+    /**
+     * Apply all collected changes, the releases first.
+     *
+     * @param locationService Used to update the occupation of the Locations
+     */
+    void applyTo(LocationService locationService) {
+        released.forEach((location, change) -> locationService.release(location, change.transportUnits, change.weight));
+        occupied.forEach((location, change) -> locationService.occupy(location, change.transportUnits, change.weight));
+    }
+
+    private static final class Change {
+        private int transportUnits;
+        private Weight weight = Weight.ZERO;
+
+        void add(Weight w) {
+            transportUnits++;
+            if (w != null && w.getMagnitude() != null && w.getUnitType() != null) {
+                weight = (Weight) weight.add(w);
+            }
+        }
+    }
+}
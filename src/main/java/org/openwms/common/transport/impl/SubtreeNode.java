@@ -0,0 +1,34 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.openwms.common.location.Location;
+import org.openwms.common.transport.barcode.Barcode;
+import org.openwms.core.units.api.Weight;
+
+/**
+ * A SubtreeNode is a flat projection of a child {@code TransportUnit} within a hierarchy of {@code TransportUnit}s, that carries
+ * everything required to re-book the child without loading it as an entity.
+ *
+ * @param pk The technical primary key of the child
+ * @param parentPk The technical primary key of the parent
+ * @param barcode The Barcode of the child
+ * @param weight The Weight of the child
+ * @param actualLocation The Location the child is currently booked on
+ * @author Heiko Scherrer
+ */
+record SubtreeNode(Long pk, Long parentPk, Barcode barcode, Weight weight, Location actualLocation) {
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.barcode.Barcode;
+import org.openwms.common.transport.events.TransportUnitEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A TransportUnitDirectory is a bounded near cache that maps normalized {@link Barcode}s to a {@link TransportUnitSnapshot}. The least
+ * recently used entries are evicted when the configured maximum size is exceeded.
+ * <p>
+ * Entries are updated from the {@link TransportUnitEvent}s after the surrounding transaction has been committed, but only the events of
+ * this instance. So a snapshot is only a hint: callers confirm a hit against the database by its primary key and report snapshots
+ * that do not match any persisted TransportUnit anymore with {@link #stale(TransportUnitSnapshot)}.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportUnitDirectory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitDirectory.class);
+    private final boolean enabled;
+    private final Map<String, TransportUnitSnapshot> byBarcode;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleEntries;
+    private final Counter evictions;
+
+    TransportUnitDirectory(MeterRegistry meterRegistry,
+            @Value("${owms.common.transport-unit.directory.enabled:true}") boolean enabled,
+            @Value("${owms.common.transport-unit.directory.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.hits = Counter.builder("owms.common.transport-unit.directory.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("owms.common.transport-unit.directory.lookups").tag("result", "miss").register(meterRegistry);
+        this.staleEntries = Counter.builder("owms.common.transport-unit.directory.lookups").tag("result", "stale").register(meterRegistry);
+        this.evictions = Counter.builder("owms.common.transport-unit.directory.evictions").register(meterRegistry);
+        this.byBarcode = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TransportUnitSnapshot> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("owms.common.transport-unit.directory.size", this, TransportUnitDirectory::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransportUnitEvent(TransportUnitEvent event) {
+        if (enabled && event.getType() == TransportUnitEvent.TransportUnitEventType.BULK_MOVED
+                && event.getSource() instanceof Collection<?> transportUnits) {
+            transportUnits.stream().filter(TransportUnit.class::isInstance).map(TransportUnit.class::cast).forEach(this::put);
+            return;
+        }
+        if (!enabled || !(event.getSource() instanceof TransportUnit transportUnit) || transportUnit.getBarcode() == null) {
+            return;
+        }
+        if (event.getType() == TransportUnitEvent.TransportUnitEventType.DELETED) {
+            evict(transportUnit.getBarcode().getValue());
+        } else {
+            put(transportUnit);
+        }
+    }
+
+    /**
+     * Find a snapshot by the normalized {@code barcode}.
+     *
+     * @param barcode The Barcode
+     * @return The snapshot or {@literal empty} if not present in the directory
+     */
+    Optional<TransportUnitSnapshot> findByBarcode(Barcode barcode) {
+        if (!enabled || barcode == null || barcode.getValue() == null) {
+            return Optional.empty();
+        }
+        TransportUnitSnapshot snapshot;
+        synchronized (byBarcode) {
+            snapshot = byBarcode.get(barcode.getValue());
+        }
+        if (snapshot == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Called by clients that detected a snapshot not matching any persisted TransportUnit anymore.
+     *
+     * @param snapshot The outdated snapshot
+     */
+    void stale(TransportUnitSnapshot snapshot) {
+        staleEntries.increment();
+        LOGGER.debug("Evict stale TransportUnit snapshot [{}]", snapshot);
+        synchronized (byBarcode) {
+            byBarcode.remove(snapshot.barcode(), snapshot);
+        }
+    }
+
+    /**
+     * Add or replace the snapshot of the given {@code transportUnit}. Transient TransportUnits are ignored.
+     *
+     * @param transportUnit The TransportUnit to take the snapshot from
+     */
+    void put(TransportUnit transportUnit) {
+        if (enabled && transportUnit.getPk() != null && transportUnit.getBarcode() != null) {
+            var snapshot = TransportUnitSnapshot.of(transportUnit);
+            synchronized (byBarcode) {
+                byBarcode.put(snapshot.barcode(), snapshot);
+            }
+        }
+    }
+
+    private void evict(String barcode) {
+        synchronized (byBarcode) {
+            byBarcode.remove(barcode);
+        }
+    }
+
+    private int size() {
+        synchronized (byBarcode) {
+            return byBarcode.size();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.openwms.common.jpa.BulkAudit;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.reservation.TransportUnitReservation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A TransportUnitRemoval orders a set of {@link TransportUnit}s of arbitrary depth so that children come before their parents and
+ * deletes them, including their {@code UnitError}s and {@code TransportUnitReservation}s, with batched bulk statements.
+ * <p>
+ * Bulk statements bypass Hibernate Envers, so the revisions of the audited TransportUnits and their reservations are written by the
+ * {@link BulkAudit} upfront. Only if the audit configuration is not supported by the {@link BulkAudit} they are removed as entities
+ * instead, level by level.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportUnitRemoval {
+
+    private final TransportUnitRepository repository;
+    private final EntityManager em;
+    private final int batchSize;
+    private final BulkAudit audit;
+
+    TransportUnitRemoval(TransportUnitRepository repository, EntityManager em,
+            @Value("${owms.common.transport-unit.removal.batch-size:500}") int batchSize, BulkAudit audit) {
+        this.repository = repository;
+        this.em = em;
+        this.batchSize = batchSize;
+        this.audit = audit;
+    }
+
+    /**
+     * Group the {@code transportUnits} by their depth within the given set, the deepest level comes first. A TransportUnit whose parent
+     * is not part of the set is a root of the set.
+     *
+     * @param transportUnits The TransportUnits to order
+     * @return The levels of the hierarchy, leaves first
+     */
+    List<List<TransportUnit>> leavesFirst(Collection<TransportUnit> transportUnits) {
+        var byPk = new HashMap<Long, TransportUnit>();
+        transportUnits.forEach(tu -> byPk.put(tu.getPk(), tu));
+        var depths = new HashMap<Long, Integer>();
+        var levels = new TreeMap<Integer, List<TransportUnit>>(Comparator.reverseOrder());
+        for (var tu : byPk.values()) {
+            levels.computeIfAbsent(depthOf(tu, byPk, depths), d -> new ArrayList<>()).add(tu);
+        }
+        return new ArrayList<>(levels.values());
+    }
+
+    private static int depthOf(TransportUnit transportUnit, Map<Long, TransportUnit> byPk, Map<Long, Integer> depths) {
+        var chain = new ArrayList<TransportUnit>();
+        var current = transportUnit;
+        var depth = -1;
+        while (current != null && depth < 0) {
+            var known = depths.get(current.getPk());
+            if (known != null) {
+                depth = known;
+            } else {
+                chain.add(current);
+                var parent = current.getParent();
+                current = parent == null || chain.size() > byPk.size() ? null : byPk.get(parent.getPk());
+            }
+        }
+        for (var i = chain.size() - 1; i >= 0; i--) {
+            depths.put(chain.get(i).getPk(), ++depth);
+        }
+        return depths.get(transportUnit.getPk());
+    }
+
+    /**
+     * Delete the TransportUnits of all {@code levels} in the given order, each level in batches of the configured size. The
+     * dependent {@code UnitError}s and {@code TransportUnitReservation}s are deleted upfront. The deleted TransportUnits are detached
+     * afterwards, because bulk statements bypass the persistence context. The deletion revisions of the TransportUnits and reservations
+     * are written before each batch is deleted. If the {@link BulkAudit} doesn't support the audit configuration each level is removed
+     * through the persistence context and flushed before the next one, so that Envers writes the revisions.
+     *
+     * @param levels The levels as returned by {@link #leavesFirst(Collection)}
+     */
+    void delete(List<List<TransportUnit>> levels) {
+        if (!audit.supports(TransportUnit.class) || !audit.supports(TransportUnitReservation.class)) {
+            for (var level : levels) {
+                level.forEach(this::remove);
+                em.flush();
+            }
+            return;
+        }
+        var pks = levels.stream().flatMap(List::stream).map(TransportUnit::getPk).toList();
+        for (var batch : batches(pks)) {
+            repository.deleteUnitErrors(batch);
+            audit.deleted(TransportUnitReservation.class, "C_TRANSPORT_UNIT_PK", batch);
+            repository.deleteReservations(batch);
+        }
+        for (var level : levels) {
+            for (var batch : batches(level.stream().map(TransportUnit::getPk).toList())) {
+                audit.deleted(TransportUnit.class, "C_PK", batch);
+                repository.deleteByPkIn(batch);
+            }
+            level.forEach(em::detach);
+        }
+    }
+
+    private void remove(TransportUnit transportUnit) {
+        var parent = transportUnit.getParent();
+        if (parent != null && Hibernate.isInitialized(parent.getChildren())) {
+
+            // otherwise the removed child is persisted again by the cascade of the parent
+            parent.getChildren().remove(transportUnit);
+        }
+        em.remove(transportUnit);
+    }
+
+    /**
+     * Split the {@code items} into consecutive batches of the configured size.
+     *
+     * @param items The items to split
+     * @param <T> Any type
+     * @return The batches, never {@literal null}
+     */
+    <T> List<List<T>> batches(List<T> items) {
+        var result = new ArrayList<List<T>>();
+        for (var i = 0; i < items.size(); i += batchSize) {
+            result.add(items.subList(i, Math.min(i + batchSize, items.size())));
+        }
+        return result;
+    }
+}
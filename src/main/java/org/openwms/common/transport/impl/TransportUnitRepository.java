@@ -15,17 +15,31 @@
  */
 package org.openwms.common.transport.impl;
 
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
 import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationPK;
 import org.openwms.common.transport.TransportUnit;
 import org.openwms.common.transport.barcode.Barcode;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * A TransportUnitRepository adds particular functionality regarding {@link TransportUnit} entity classes.
@@ -35,13 +49,138 @@ import java.util.Optional;
 @Repository
 interface TransportUnitRepository extends RevisionRepository<TransportUnit, Long, Integer>, JpaRepository<TransportUnit, Long> {
 
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
+    Optional<TransportUnit> findByPk(Long pk);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
+    List<TransportUnit> findAllBy();
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
     @Query("select tu from TransportUnit tu where tu.pKey = :pKey")
     Optional<TransportUnit> findByPKey(@Param("pKey") String pKey);
 
+    @EntityGraph(TransportUnit.GRAPH_MOVE)
+    @Query("select tu from TransportUnit tu where tu.pKey in :pKeys")
+    List<TransportUnit> findByPKeyIn(@Param("pKeys") Collection<String> pKeys);
+
+    @EntityGraph(TransportUnit.GRAPH_MOVE)
+    @Query("select tu from TransportUnit tu where tu.pk in :pks")
+    List<TransportUnit> findMovableByPkIn(@Param("pks") Collection<Long> pks);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
     Optional<TransportUnit> findByBarcode(Barcode barcode);
 
+    boolean existsByBarcode(Barcode barcode);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
     @Query("select tu from TransportUnit tu where tu.barcode in :barcodes")
     List<TransportUnit> findByBarcodeIn(@Param("barcodes") List<Barcode> barcodes);
 
+    @EntityGraph(TransportUnit.GRAPH_MOVE)
+    @Query("select tu from TransportUnit tu where tu.barcode in :barcodes")
+    List<TransportUnit> findMovableByBarcodeIn(@Param("barcodes") List<Barcode> barcodes);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
     List<TransportUnit> findByActualLocationOrderByActualLocationDate(Location actualLocation);
+
+    String SELECT_FILTERED = """
+            select tu from TransportUnit tu
+              join tu.actualLocation l
+              join tu.transportUnitType tut
+              left join l.locationGroup lg
+            """;
+
+    String WHERE_CRITERIA = """
+             where (:state is null or tu.state = :state)
+               and (:type is null or tut.type = :type)
+               and (:groupName is null or tu.groupName = :groupName)
+               and (:allLocationGroups = true or lg.name in :locationGroupNames)
+            """;
+
+    String SELECT_VIEW = """
+            select tu.pk as pk, tu.pKey as pKey, tu.ol as ol, tu.createDt as createDt, tu.lastModifiedDt as lastModifiedDt,
+                   tu.barcode as barcode, tu.state as state, tu.weight as weight, tu.actualLocationDate as actualLocationDate,
+                   tut.pKey as tut_pKey, tut.ol as tut_ol, tut.createDt as tut_createDt, tut.lastModifiedDt as tut_lastModifiedDt,
+                   tut.type as tut_type, tut.description as tut_description, tut.height as tut_height, tut.width as tut_width,
+                   tut.length as tut_length,
+                   l.pKey as al_pKey, l.ol as al_ol, l.createDt as al_createDt, l.lastModifiedDt as al_lastModifiedDt,
+                   l.locationId as al_locationId, la.identifier as al_accountId, l.plcCode as al_plcCode, l.erpCode as al_erpCode,
+                   l.sortOrder as al_sortOrder, l.stockZone as al_stockZone, l.incomingActive as al_incomingActive,
+                   l.outgoingActive as al_outgoingActive, l.plcState as al_plcState, l.noTransportUnits as al_noTransportUnits,
+                   l.totalWeight as al_totalWeight, lt.type as al_type, lg.name as al_locationGroupName,
+                   tl.pKey as tl_pKey, tl.ol as tl_ol, tl.createDt as tl_createDt, tl.lastModifiedDt as tl_lastModifiedDt,
+                   tl.locationId as tl_locationId, tla.identifier as tl_accountId, tl.plcCode as tl_plcCode, tl.erpCode as tl_erpCode,
+                   tl.sortOrder as tl_sortOrder, tl.stockZone as tl_stockZone, tl.incomingActive as tl_incomingActive,
+                   tl.outgoingActive as tl_outgoingActive, tl.plcState as tl_plcState, tl.noTransportUnits as tl_noTransportUnits,
+                   tl.totalWeight as tl_totalWeight, tlt.type as tl_type, tlg.name as tl_locationGroupName
+              from TransportUnit tu
+              join tu.transportUnitType tut
+              join tu.actualLocation l
+              left join l.account la
+              left join l.locationType lt
+              left join l.locationGroup lg
+              left join tu.targetLocation tl
+              left join tl.account tla
+              left join tl.locationType tlt
+              left join tl.locationGroup tlg
+            """;
+
+    @Query(SELECT_VIEW + WHERE_CRITERIA + " and tu.pk > :after order by tu.pk")
+    List<Tuple> findViewPage(@Param("state") String state, @Param("type") String type, @Param("groupName") String groupName,
+            @Param("allLocationGroups") boolean allLocationGroups, @Param("locationGroupNames") Collection<String> locationGroupNames,
+            @Param("after") long after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + WHERE_CRITERIA + " order by tu.pk")
+    Stream<Tuple> streamViews(@Param("state") String state, @Param("type") String type, @Param("groupName") String groupName,
+            @Param("allLocationGroups") boolean allLocationGroups, @Param("locationGroupNames") Collection<String> locationGroupNames);
+
+    @Query(SELECT_VIEW + " where tu.barcode in :barcodes")
+    List<Tuple> findViewsByBarcodeIn(@Param("barcodes") Collection<Barcode> barcodes);
+
+    @Query(SELECT_VIEW + " where l.locationId = :locationId order by tu.actualLocationDate")
+    List<Tuple> findViewsOnLocation(@Param("locationId") LocationPK locationId);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query(SELECT_FILTERED + WHERE_CRITERIA + " and tu.pk > :after order by tu.pk")
+    List<TransportUnit> findPage(@Param("state") String state, @Param("type") String type, @Param("groupName") String groupName,
+            @Param("allLocationGroups") boolean allLocationGroups, @Param("locationGroupNames") Collection<String> locationGroupNames,
+            @Param("after") long after, Pageable pageable);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_FILTERED + WHERE_CRITERIA + " order by tu.pk")
+    Stream<TransportUnit> streamAll(@Param("state") String state, @Param("type") String type, @Param("groupName") String groupName,
+            @Param("allLocationGroups") boolean allLocationGroups, @Param("locationGroupNames") Collection<String> locationGroupNames);
+
+    @EntityGraph(TransportUnit.GRAPH_MAPPING)
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query(SELECT_FILTERED + """
+             where tu.pk > :cursor
+               and (:allGroups = true or lg.pk in :groups)
+               and (:type is null or tut.type = :type)
+               and (:since is null or coalesce(tu.lastModifiedDt, tu.createDt) >= :since)
+             order by tu.pk""")
+    List<TransportUnit> findSyncChunk(@Param("cursor") long cursor, @Param("allGroups") boolean allGroups,
+            @Param("groups") Collection<Long> groups, @Param("type") String type, @Param("since") LocalDateTime since, Limit limit);
+
+    @Query("select new org.openwms.common.transport.impl.SubtreeNode(tu.pk, tu.parent.pk, tu.barcode, tu.weight, tu.actualLocation) from TransportUnit tu where tu.parent.pk in :parents")
+    List<SubtreeNode> findSubtreeNodes(@Param("parents") Collection<Long> parents);
+
+    @Modifying
+    @Query("update versioned TransportUnit tu set tu.actualLocation = :location, tu.actualLocationDate = :date, tu.lastModifiedDt = :date where tu.pk in :pks")
+    int relocate(@Param("pks") Collection<Long> pks, @Param("location") Location location, @Param("date") LocalDateTime date);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from UnitError e where e.transportUnit.pk in :pks")
+    int deleteUnitErrors(@Param("pks") Collection<Long> pks);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from TransportUnitReservation r where r.transportUnit.pk in :pks")
+    int deleteReservations(@Param("pks") Collection<Long> pks);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from TransportUnit tu where tu.pk in :pks")
+    int deleteByPkIn(@Param("pks") Collection<Long> pks);
 }
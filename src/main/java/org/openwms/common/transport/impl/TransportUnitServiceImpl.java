@@ -15,11 +15,13 @@
  */
 package org.openwms.common.transport.impl;
 
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
@@ -33,11 +35,17 @@ import org.openwms.common.location.LocationPK;
 import org.openwms.common.location.LocationService;
 import org.openwms.common.transport.TransportUnit;
 import org.openwms.common.transport.TransportUnitMapper;
+import org.openwms.common.transport.TransportUnitMove;
+import org.openwms.common.transport.TransportUnitMoveResult;
+import org.openwms.common.transport.TransportUnitCriteria;
 import org.openwms.common.transport.TransportUnitService;
+import org.openwms.common.transport.TransportUnitSyncScope;
 import org.openwms.common.transport.TransportUnitType;
+import org.openwms.common.transport.TransportUnitView;
 import org.openwms.common.transport.UnitError;
 import org.openwms.common.transport.api.ValidationGroups;
 import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.common.transport.api.commands.TUsCommand;
 import org.openwms.common.transport.api.messages.TransportUnitMO;
 import org.openwms.common.transport.barcode.Barcode;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
@@ -46,24 +54,42 @@ import org.openwms.common.transport.spi.NotApprovedException;
 import org.openwms.common.transport.spi.TransportUnitMoveApproval;
 import org.openwms.common.transport.spi.TransportUnitStateChangeApproval;
 import org.openwms.core.exception.IllegalConfigurationValueException;
+import org.openwms.core.units.api.Weight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.validation.annotation.Validated;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.ameba.system.ValidationUtil.validate;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.DUPLICATE;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.MOVED;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.NOT_APPROVED;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.NOT_FOUND;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.TARGET_NOT_FOUND;
+import static org.openwms.common.transport.TransportUnitMoveResult.Outcome.UNCHANGED;
 import static org.openwms.common.transport.api.commands.TUCommand.Type.REMOVING;
 
 /**
@@ -90,6 +116,11 @@ class TransportUnitServiceImpl implements TransportUnitService {
     private final TransportUnitStateChangeApproval stateChangeApproval;
     private final TransportUnitMoveApproval moveApproval;
     private final LocationService locationService;
+    private final TransportUnitDirectory directory;
+    private final TransportUnitSubtrees subtrees;
+    private final TransportUnitRemoval removal;
+    private final TransportUnitSynchronizer synchronizer;
+    private final EntityManager em;
     private final String deleteTransportUnitMode;
 
     @SuppressWarnings("squid:S107")
@@ -98,7 +129,9 @@ class TransportUnitServiceImpl implements TransportUnitService {
             TransportUnitTypeRepository transportUnitTypeRepository,
             @Autowired(required = false) TransportUnitStateChangeApproval stateChangeApproval,
             @Autowired(required = false) TransportUnitMoveApproval moveApproval,
-            LocationService locationService, @Value("${owms.common.delete-transport-unit-mode}") String deleteTransportUnitMode) {
+            LocationService locationService, TransportUnitDirectory directory, TransportUnitSubtrees subtrees,
+            TransportUnitRemoval removal, TransportUnitSynchronizer synchronizer, EntityManager em,
+            @Value("${owms.common.delete-transport-unit-mode}") String deleteTransportUnitMode) {
         this.publisher = publisher;
         this.validator = validator;
         this.translator = translator;
@@ -109,6 +142,11 @@ class TransportUnitServiceImpl implements TransportUnitService {
         this.stateChangeApproval = stateChangeApproval;
         this.moveApproval = moveApproval;
         this.locationService = locationService;
+        this.directory = directory;
+        this.subtrees = subtrees;
+        this.removal = removal;
+        this.synchronizer = synchronizer;
+        this.em = em;
         this.deleteTransportUnitMode = deleteTransportUnitMode;
     }
 
@@ -171,18 +209,16 @@ class TransportUnitServiceImpl implements TransportUnitService {
         Assert.notNull(barcode, NO_BARCODE);
         Assert.hasText(transportUnitType, NO_TRANSPORT_UNIT_TYPE);
 
-        var optTransportUnit = repository.findByBarcode(barcode);
         if (strict == null || Boolean.FALSE.equals(strict)) {
+            var optTransportUnit = lookup(barcode);
             if (optTransportUnit.isPresent()) {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("TransportUnit with Barcode [{}] already exists, silently returning the existing one", barcode);
                 }
                 return optTransportUnit.get();
             }
-        } else {
-            optTransportUnit.ifPresent(tu -> {
-                throw new ResourceExistsException(format("TransportUnit with id [%s] already exists", barcode));
-            });
+        } else if (existsInternal(barcode)) {
+            throw new ResourceExistsException(format("TransportUnit with id [%s] already exists", barcode));
         }
 
         var actualLocation = locationResolver.get();
@@ -191,6 +227,7 @@ class TransportUnitServiceImpl implements TransportUnitService {
             LOGGER.debug("Creating a TransportUnit with Barcode [{}] of Type [{}] on Location [{}]", barcode, transportUnitType, actualLocation);
         }
         var transportUnit = repository.save(new TransportUnit(barcode, type, actualLocation));
+        locationService.occupy(actualLocation, 1, transportUnit.getWeight());
         publisher.publishEvent(
                 TransportUnitEvent.newBuilder()
                         .tu(transportUnit)
@@ -214,6 +251,9 @@ class TransportUnitServiceImpl implements TransportUnitService {
         var updated = new TransportUnit(barcode);
         updated.setTransportUnitType(existing.getTransportUnitType());
         mapper.copy(existing, updated);
+        if (tu.getWeight() != null && !tu.getWeight().equals(existing.getWeight())) {
+            changeWeight(existing, tu.getWeight());
+        }
         if (tu.getActualLocation() !=  null && tu.getActualLocation().isNew()) {
             moveInternal(existing, this.locationService.findByLocationPk(tu.getActualLocation().getLocationId())
                     .orElseThrow(() -> new NotFoundException(format("Location [%s] not found", tu.getActualLocation()))));
@@ -227,6 +267,19 @@ class TransportUnitServiceImpl implements TransportUnitService {
         return saved;
     }
 
+    /**
+     * Change the weight of the {@code transportUnit} and the total weight of its actual Location by the difference, the number of
+     * TransportUnits on the Location is kept.
+     */
+    private void changeWeight(TransportUnit transportUnit, Weight weight) {
+        var location = transportUnit.getActualLocation();
+        if (location != null) {
+            locationService.release(location, 0, transportUnit.getWeight());
+            locationService.occupy(location, 0, weight);
+        }
+        transportUnit.setWeight(weight);
+    }
+
     private void approveMove(TransportUnit transportUnit, Location newLocation) {
         if (moveApproval == null) {
             return;
@@ -245,23 +298,74 @@ class TransportUnitServiceImpl implements TransportUnitService {
             return transportUnit;
         }
         approveMove(transportUnit, target);
-        transportUnit.setActualLocation(target);
+        var previousLocation = transportUnit.getActualLocation();
+        var occupations = new OccupationChanges();
+        var descendants = subtrees.isLoaded(transportUnit)
+                ? List.<SubtreeNode>of()
+                : subtrees.descendantsOf(List.of(transportUnit)).getOrDefault(transportUnit.getPk(), List.of());
+        var childMoves = relocate(transportUnit, target, descendants, occupations);
+        subtrees.relocate(descendants, target, transportUnit.getActualLocationDate());
+        occupations.applyTo(locationService);
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Moving TransportUnit with barcode [{}] from Location [{}] to Location [{}]", transportUnit.getBarcode(),
-                    transportUnit.getActualLocation(), target.getLocationId());
+                    previousLocation, target.getLocationId());
         }
         var saved = repository.save(transportUnit);
         publisher.publishEvent(
                 TransportUnitEvent.newBuilder()
                         .tu(saved)
                         .type(TransportUnitEvent.TransportUnitEventType.MOVED)
-                        .previousLocation(transportUnit.getActualLocation())
+                        .previousLocation(previousLocation)
                         .actualLocation(transportUnit.getActualLocation())
+                        .childMoves(childMoves)
                         .build()
         );
         return saved;
     }
 
+    /**
+     * Place the {@code transportUnit} onto the {@code target} and collect the occupation changes of the whole subtree. Already loaded
+     * children are moved in-memory, otherwise the given {@code descendants} must be re-booked by the caller with one bulk update.
+     */
+    private List<TransportUnitEvent.ChildMove> relocate(TransportUnit transportUnit, Location target, List<SubtreeNode> descendants,
+            OccupationChanges occupations) {
+        var childMoves = new ArrayList<TransportUnitEvent.ChildMove>();
+        if (subtrees.isLoaded(transportUnit)) {
+            var moved = withAllChildren(transportUnit);
+            for (var tu : moved) {
+                occupations.release(tu.getActualLocation(), tu.getWeight());
+                occupations.occupy(target, tu.getWeight());
+                if (tu != transportUnit && tu.getActualLocation() != null) {
+                    childMoves.add(new TransportUnitEvent.ChildMove(tu.getBarcode(), tu.getActualLocation(), target));
+                }
+            }
+            transportUnit.setActualLocation(target);
+        } else {
+            occupations.release(transportUnit.getActualLocation(), transportUnit.getWeight());
+            occupations.occupy(target, transportUnit.getWeight());
+            for (var node : descendants) {
+                occupations.release(node.actualLocation(), node.weight());
+                occupations.occupy(target, node.weight());
+                if (node.actualLocation() != null) {
+                    childMoves.add(new TransportUnitEvent.ChildMove(node.barcode(), node.actualLocation(), target));
+                }
+            }
+            transportUnit.placeOn(target);
+        }
+        return childMoves;
+    }
+
+    private static List<TransportUnit> withAllChildren(TransportUnit transportUnit) {
+        var result = new ArrayList<TransportUnit>();
+        result.add(transportUnit);
+        for (var i = 0; i < result.size(); i++) {
+            if (result.get(i).hasChildren()) {
+                result.addAll(result.get(i).getChildren());
+            }
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -270,14 +374,90 @@ class TransportUnitServiceImpl implements TransportUnitService {
     @Measured
     public @NotNull TransportUnit moveTransportUnit(@NotNull Barcode barcode, @NotBlank String targetLocation) {
         var transportUnit = findByBarcodeInternal(barcode);
-        var target = LocationPK.isValid(targetLocation)
-                ? locationService.findByLocationPk(LocationPK.fromString(targetLocation))
-                .orElseThrow(() -> new NotFoundException(format("No Location with LocationPk [%s] found", LocationPK.fromString(targetLocation))))
+        var locationPK = LocationPK.tryParse(targetLocation);
+        var target = locationPK.isPresent()
+                ? locationService.findByLocationPk(locationPK.get())
+                .orElseThrow(() -> new NotFoundException(format("No Location with LocationPk [%s] found", locationPK.get())))
                 : locationService.findByErpCode(targetLocation).orElseGet(() -> locationService.findByPlcCode(targetLocation)
                 .orElseThrow(() -> new NotFoundException(format("No Location with LocationPk [%s] found", LocationPK.fromString(targetLocation)))));
         return moveInternal(transportUnit, target);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull List<TransportUnitMoveResult> moveTransportUnits(@NotNull List<@Valid TransportUnitMove> moves) {
+        if (moves.isEmpty()) {
+            return List.of();
+        }
+        var transportUnits = repository.findMovableByBarcodeIn(moves.stream().map(TransportUnitMove::barcode).distinct().toList()).stream()
+                .collect(Collectors.toMap(TransportUnit::getBarcode, Function.identity()));
+        var targets = locationService.findByIdentifiers(moves.stream().map(TransportUnitMove::targetLocation).collect(Collectors.toSet()));
+        var results = new TransportUnitMoveResult[moves.size()];
+        var positions = new HashMap<TransportUnit, Integer>();
+        var requested = new LinkedHashMap<TransportUnit, Location>();
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+            var transportUnit = transportUnits.get(move.barcode());
+            var target = targets.get(move.targetLocation());
+            if (transportUnit == null) {
+                results[i] = result(move, NOT_FOUND, format("No TransportUnit with Barcode [%s] found", move.barcode()));
+            } else if (target == null) {
+                results[i] = result(move, TARGET_NOT_FOUND, format("No Location [%s] found", move.targetLocation()));
+            } else if (positions.putIfAbsent(transportUnit, i) != null) {
+                results[i] = result(move, DUPLICATE, format("TransportUnit [%s] is moved more than once", move.barcode()));
+            } else if (transportUnit.getActualLocation().getLocationId().equals(target.getLocationId())) {
+                results[i] = result(move, UNCHANGED, null);
+            } else {
+                requested.put(transportUnit, target);
+            }
+        }
+        var declined = moveApproval == null ? Map.<TransportUnit, NotApprovedException>of() : moveApproval.approveAll(requested);
+        var previousLocations = new LinkedHashMap<TransportUnit, Location>();
+        var occupations = new OccupationChanges();
+        var childMoves = new ArrayList<TransportUnitEvent.ChildMove>();
+        var descendants = subtrees.descendantsOf(requested.keySet().stream()
+                .filter(tu -> !declined.containsKey(tu) && !subtrees.isLoaded(tu)).toList());
+        var relocations = new LinkedHashMap<Location, List<SubtreeNode>>();
+        var relocationDates = new HashMap<Location, LocalDateTime>();
+        requested.forEach((transportUnit, target) -> {
+            var position = positions.get(transportUnit);
+            if (declined.containsKey(transportUnit)) {
+                results[position] = result(moves.get(position), NOT_APPROVED, declined.get(transportUnit).getMessage());
+                return;
+            }
+            var subtree = descendants.getOrDefault(transportUnit.getPk(), List.of());
+            previousLocations.put(transportUnit, transportUnit.getActualLocation());
+            childMoves.addAll(relocate(transportUnit, target, subtree, occupations));
+            if (!subtree.isEmpty()) {
+                relocations.computeIfAbsent(target, l -> new ArrayList<>()).addAll(subtree);
+                relocationDates.put(target, transportUnit.getActualLocationDate());
+            }
+            results[position] = result(moves.get(position), MOVED, null);
+        });
+        relocations.forEach((target, nodes) -> subtrees.relocate(nodes, target, relocationDates.get(target)));
+        occupations.applyTo(locationService);
+        if (!previousLocations.isEmpty()) {
+            var saved = repository.saveAll(previousLocations.keySet());
+            repository.flush();
+            publisher.publishEvent(TransportUnitEvent.newBuilder()
+                    .tus(saved)
+                    .previousLocations(previousLocations)
+                    .childMoves(childMoves)
+                    .type(TransportUnitEvent.TransportUnitEventType.BULK_MOVED)
+                    .build()
+            );
+        }
+        LOGGER.info("Moved [{}] of [{}] requested TransportUnits", previousLocations.size(), moves.size());
+        return Arrays.asList(results);
+    }
+
+    private static TransportUnitMoveResult result(TransportUnitMove move, TransportUnitMoveResult.Outcome outcome, String message) {
+        return new TransportUnitMoveResult(move.barcode(), move.targetLocation(), outcome, message);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -285,19 +465,30 @@ class TransportUnitServiceImpl implements TransportUnitService {
     @Measured
     public void deleteTransportUnits(@NotNull List<TransportUnit> transportUnits) {
         if (!transportUnits.isEmpty()) {
-            var tus = new ArrayList<>(transportUnits);
-            tus.sort((o1, o2) -> {
-                if (o1.hasChildren() && o2.hasChildren() ||
-                        !o1.hasChildren() && !o2.hasChildren()) {
-                    return 0;
-                } else if (!o1.hasChildren() && o2.hasChildren()) {
-                    return -1;
-                } else {
-                    return 1;
-                }
-            });
-            tus.forEach(this::delete);
+            deleteByPKeys(transportUnits.stream().map(TransportUnit::getPersistentKey).toList());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void deleteByPKeys(@NotEmpty List<String> pKeys) {
+        var transportUnits = repository.findByPKeyIn(pKeys.stream().distinct().toList());
+        if ("strict".equalsIgnoreCase(deleteTransportUnitMode)) {
+            transportUnits = deleteDefinitely(transportUnits);
+        } else if ("on-accept".equalsIgnoreCase(deleteTransportUnitMode)) {
+            removal.batches(transportUnits).forEach(batch -> publisher.publishEvent(TUsCommand.of(TUsCommand.Type.REMOVING,
+                    batch.stream().map(tu -> TransportUnitMO.newBuilder()
+                            .withPKey(tu.getPersistentKey())
+                            .withBarcode(tu.getBarcode().getValue())
+                            .build()).toList())
+            ));
+        } else {
+            throw new IllegalConfigurationValueException(format("Configuration value [owms.common.delete-transport-unit-mode] is configured with invalid value [%s]", deleteTransportUnitMode));
         }
+        LOGGER.info("Deleted [{}] of [{}] requested TransportUnits in mode [{}]", transportUnits.size(), pKeys.size(), deleteTransportUnitMode);
     }
 
     /**
@@ -324,14 +515,31 @@ class TransportUnitServiceImpl implements TransportUnitService {
     }
 
     private void deleteDefinitely(String pKey) {
-        repository.findByPKey(pKey).ifPresent(tu -> {
-            repository.delete(tu);
-            publisher.publishEvent(
-                    TransportUnitEvent.newBuilder()
-                            .tu(tu)
-                            .type(TransportUnitEvent.TransportUnitEventType.DELETED)
-                            .build());
-        });
+        repository.findByPKey(pKey).ifPresent(tu -> deleteDefinitely(List.of(tu)));
+    }
+
+    /**
+     * Delete the {@code transportUnits} together with all their descendants, children before their parents, release the occupied
+     * Locations and publish a deletion event for each deleted TransportUnit.
+     *
+     * @param transportUnits The TransportUnits to delete
+     * @return All deleted TransportUnits, including the descendants
+     */
+    private List<TransportUnit> deleteDefinitely(List<TransportUnit> transportUnits) {
+        var all = new ArrayList<>(transportUnits);
+        var descendants = subtrees.descendantsOf(transportUnits).values().stream().flatMap(List::stream).map(SubtreeNode::pk).toList();
+        removal.batches(descendants).forEach(batch -> all.addAll(repository.findMovableByPkIn(batch)));
+        var levels = removal.leavesFirst(all);
+        var deleted = levels.stream().flatMap(List::stream).toList();
+        removal.delete(levels);
+        var occupations = new OccupationChanges();
+        deleted.forEach(tu -> occupations.release(tu.getActualLocation(), tu.getWeight()));
+        occupations.applyTo(locationService);
+        deleted.forEach(tu -> publisher.publishEvent(TransportUnitEvent.newBuilder()
+                .tu(tu)
+                .type(TransportUnitEvent.TransportUnitEventType.DELETED)
+                .build()));
+        return deleted;
     }
 
     private void delete(TransportUnit transportUnit) {
@@ -361,10 +569,47 @@ class TransportUnitServiceImpl implements TransportUnitService {
     }
 
     private TransportUnit findByBarcodeInternal(Barcode barcode) {
-        return repository.findByBarcode(barcode)
+        return lookup(barcode)
                 .orElseThrow(() -> new NotFoundException(translator, CommonMessageCodes.TU_BARCODE_NOT_FOUND, new Serializable[]{barcode}, barcode));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public boolean exists(@NotBlank String transportUnitBK) {
+        return existsInternal(barcodeGenerator.convert(transportUnitBK));
+    }
+
+    /**
+     * Check whether a TransportUnit with the {@code barcode} exists. A hit in the {@link TransportUnitDirectory} is confirmed by its
+     * primary key, because the TransportUnit might have been deleted on another instance that does not update this directory.
+     */
+    private boolean existsInternal(Barcode barcode) {
+        var snapshot = directory.findByBarcode(barcode);
+        if (snapshot.isPresent()) {
+            if (repository.existsById(snapshot.get().pk())) {
+                return true;
+            }
+            directory.stale(snapshot.get());
+        }
+        return repository.existsByBarcode(barcode);
+    }
+
+    /**
+     * Resolve the TransportUnit by its Barcode and remember the result in the {@link TransportUnitDirectory}.
+     * <p>
+     * All callers of this method modify the TransportUnit or return it as a managed entity, so it is always queried. A hit in the
+     * directory would only replace the query on the Barcode column with one on the primary key, so the directory is not asked here.
+     */
+    private Optional<TransportUnit> lookup(Barcode barcode) {
+        var result = repository.findByBarcode(barcode);
+        result.ifPresent(directory::put);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -382,7 +627,7 @@ class TransportUnitServiceImpl implements TransportUnitService {
     @Measured
     public @NotNull List<TransportUnit> findOnLocation(@NotBlank String actualLocation) {
         Assert.hasText(actualLocation, NO_LOCATION_SET);
-        var location = locationService.findByLocationIdOrThrow(actualLocation);
+        var location = em.getReference(Location.class, locationService.findSnapshotOrThrow(actualLocation).pk());
         return repository.findByActualLocationOrderByActualLocationDate(location);
     }
 
@@ -415,7 +660,103 @@ class TransportUnitServiceImpl implements TransportUnitService {
     @Override
     @Measured
     public @NotNull List<TransportUnit> findAll() {
-        return repository.findAll();
+        return repository.findAllBy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<TransportUnit> findAll(@NotNull TransportUnitCriteria criteria, Long after, @Positive int limit) {
+        var cursor = after == null ? Long.MIN_VALUE : after;
+        return repository.findPage(criteria.state(), criteria.transportUnitType(), criteria.groupName(),
+                criteria.locationGroupNames().isEmpty(), criteria.locationGroupNames(), cursor, PageRequest.ofSize(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public void forEach(@NotNull TransportUnitCriteria criteria, @NotNull Consumer<TransportUnit> consumer) {
+        try (var transportUnits = repository.streamAll(criteria.state(), criteria.transportUnitType(), criteria.groupName(),
+                criteria.locationGroupNames().isEmpty(), criteria.locationGroupNames())) {
+            transportUnits.forEach(tu -> consumeAndDetach(tu, consumer));
+        }
+    }
+
+    private void consumeAndDetach(TransportUnit transportUnit, Consumer<TransportUnit> consumer) {
+        consumer.accept(transportUnit);
+        em.detach(transportUnit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<TransportUnitView> findViewsByBarcodes(@NotEmpty List<Barcode> barcodes) {
+        return repository.findViewsByBarcodeIn(barcodes).stream().map(TransportUnitViews::of).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only if no TransportUnit is found, the Location is looked up to tell an empty Location from an unknown one.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<TransportUnitView> findViewsOnLocation(@NotBlank String actualLocation) {
+        Assert.hasText(actualLocation, NO_LOCATION_SET);
+        var views = repository.findViewsOnLocation(LocationPK.fromString(actualLocation)).stream().map(TransportUnitViews::of).toList();
+        if (views.isEmpty()) {
+            locationService.findSnapshotOrThrow(actualLocation);
+        }
+        return views;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<TransportUnitView> findViews(@NotNull TransportUnitCriteria criteria) {
+        return findViewPage(criteria, Long.MIN_VALUE, Pageable.unpaged());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<TransportUnitView> findViews(@NotNull TransportUnitCriteria criteria, Long after, @Positive int limit) {
+        return findViewPage(criteria, after == null ? Long.MIN_VALUE : after, PageRequest.ofSize(limit));
+    }
+
+    private List<TransportUnitView> findViewPage(TransportUnitCriteria criteria, long after, Pageable pageable) {
+        return repository.findViewPage(criteria.state(), criteria.transportUnitType(), criteria.groupName(),
+                criteria.locationGroupNames().isEmpty(), criteria.locationGroupNames(), after, pageable)
+                .stream().map(TransportUnitViews::of).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public void forEachView(@NotNull TransportUnitCriteria criteria, @NotNull Consumer<TransportUnitView> consumer) {
+        try (var rows = repository.streamViews(criteria.state(), criteria.transportUnitType(), criteria.groupName(),
+                criteria.locationGroupNames().isEmpty(), criteria.locationGroupNames())) {
+            rows.map(TransportUnitViews::of).forEach(consumer);
+        }
     }
 
     /**
@@ -470,12 +811,15 @@ class TransportUnitServiceImpl implements TransportUnitService {
     @Override
     @Measured
     public void synchronizeTransportUnits() {
-        var all = repository.findAll();
-        all.forEach(tu -> publisher.publishEvent(
-                TransportUnitEvent.newBuilder()
-                        .tu(tu)
-                        .type(TransportUnitEvent.TransportUnitEventType.CREATED)
-                        .build()
-        ));
+        synchronizeTransportUnits(TransportUnitSyncScope.ALL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public void synchronizeTransportUnits(@NotNull TransportUnitSyncScope scope) {
+        synchronizer.start(scope);
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.openwms.common.transport.TransportUnit;
+
+/**
+ * A TransportUnitSnapshot is an immutable copy of the identifying keys and the version of a {@link TransportUnit}, held by the
+ * {@link TransportUnitDirectory}.
+ *
+ * @param pk The technical primary key
+ * @param pKey The persistent key
+ * @param barcode The normalized Barcode value
+ * @param version The optimistic locking version the snapshot was taken from
+ * @author Heiko Scherrer
+ */
+record TransportUnitSnapshot(Long pk, String pKey, String barcode, long version) {
+
+    /**
+     * Take a snapshot of the given {@code transportUnit}.
+     *
+     * @param transportUnit The TransportUnit
+     * @return The snapshot
+     */
+    static TransportUnitSnapshot of(TransportUnit transportUnit) {
+        return new TransportUnitSnapshot(transportUnit.getPk(), transportUnit.getPersistentKey(), transportUnit.getBarcode().getValue(),
+                transportUnit.getOl());
+    }
+}
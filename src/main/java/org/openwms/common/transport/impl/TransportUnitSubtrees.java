@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.hibernate.Hibernate;
+import org.openwms.common.jpa.BulkAudit;
+import org.openwms.common.location.Location;
+import org.openwms.common.transport.TransportUnit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A TransportUnitSubtrees resolves the children of {@link TransportUnit}s level by level through the indexed parent column and re-books
+ * a whole subtree with one bulk update instead of loading and dirty-checking each child entity.
+ * <p>
+ * A bulk update bypasses Hibernate Envers, so the revision of each child is written by the {@link BulkAudit}. Only if the audit
+ * configuration is not supported by the {@link BulkAudit} the children are loaded with one query and moved as entities.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportUnitSubtrees {
+
+    private final TransportUnitRepository repository;
+    private final BulkAudit audit;
+
+    TransportUnitSubtrees(TransportUnitRepository repository, BulkAudit audit) {
+        this.repository = repository;
+        this.audit = audit;
+    }
+
+    /**
+     * Checks whether the children of the {@code transportUnit} are already loaded into the persistence context. In this case they must
+     * be moved in-memory, otherwise a bulk update would leave stale entities behind.
+     *
+     * @param transportUnit The parent TransportUnit
+     * @return {@literal true} if the children are loaded
+     */
+    boolean isLoaded(TransportUnit transportUnit) {
+        return transportUnit.getPk() == null || Hibernate.isInitialized(transportUnit.getChildren());
+    }
+
+    /**
+     * Resolve all descendants of the given {@code roots} with one query per level of the hierarchy. A root that is a descendant of
+     * another root is not added to the subtree of the other one.
+     *
+     * @param roots The TransportUnits to resolve the descendants for
+     * @return A Map with the primary key of each root as key and its descendants as value
+     */
+    Map<Long, List<SubtreeNode>> descendantsOf(Collection<TransportUnit> roots) {
+        var rootOf = new HashMap<Long, Long>();
+        roots.forEach(root -> rootOf.put(root.getPk(), root.getPk()));
+        var result = new HashMap<Long, List<SubtreeNode>>();
+        Collection<Long> level = new ArrayList<>(rootOf.keySet());
+        while (!level.isEmpty()) {
+            var next = new ArrayList<Long>();
+            for (var node : repository.findSubtreeNodes(level)) {
+                var root = rootOf.get(node.parentPk());
+                if (rootOf.putIfAbsent(node.pk(), root) == null) {
+                    result.computeIfAbsent(root, k -> new ArrayList<>()).add(node);
+                    next.add(node.pk());
+                }
+            }
+            level = next;
+        }
+        return result;
+    }
+
+    /**
+     * Re-book all {@code nodes} onto the {@code target} with one bulk update and write a revision for each of them.
+     *
+     * @param nodes The descendants to re-book
+     * @param target The new Location
+     * @param date The date of the movement, taken from the parent
+     */
+    void relocate(Collection<SubtreeNode> nodes, Location target, LocalDateTime date) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        var pks = nodes.stream().map(SubtreeNode::pk).toList();
+        if (audit.supports(TransportUnit.class)) {
+            repository.relocate(pks, target, date);
+            audit.modified(TransportUnit.class, "C_PK", pks);
+        } else {
+            repository.findAllById(pks).forEach(tu -> tu.placeOn(target, date));
+        }
+    }
+}
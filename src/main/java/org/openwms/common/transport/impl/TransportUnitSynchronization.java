@@ -0,0 +1,175 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.ameba.integration.jpa.BaseEntity;
+import org.openwms.common.transport.TransportUnitSyncScope;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A TransportUnitSynchronization stores the progress of a resynchronization run for one {@link TransportUnitSyncScope}, so that an
+ * interrupted run can be resumed from the last cursor. The instance that executes the run holds a lease on it, so that no other
+ * instance runs the same scope concurrently.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "COM_TU_SYNC", uniqueConstraints =
+    @UniqueConstraint(name = "UC_TU_SYNC_SCOPE", columnNames = {"C_SCOPE"})
+)
+public class TransportUnitSynchronization extends BaseEntity implements Serializable {
+
+    /** The run is in progress or has been interrupted. */
+    public static final String STATE_RUNNING = "RUNNING";
+    /** The run has processed all TransportUnits of the scope. */
+    public static final String STATE_COMPLETED = "COMPLETED";
+
+    /** The unique key of the scope. */
+    @Column(name = "C_SCOPE", nullable = false)
+    private String scope;
+
+    @Column(name = "C_LOCATION_GROUP")
+    private String locationGroupName;
+
+    @Column(name = "C_TRANSPORT_UNIT_TYPE")
+    private String transportUnitType;
+
+    @Column(name = "C_CHANGED_SINCE")
+    private LocalDateTime changedSince;
+
+    /** The primary key of the last TransportUnit that has been published. */
+    @Column(name = "C_CURSOR", nullable = false)
+    private long cursor;
+
+    /** Number of TransportUnits published in the current run. */
+    @Column(name = "C_PROCESSED", nullable = false)
+    private long processed;
+
+    @Column(name = "C_STATE", nullable = false)
+    private String state;
+
+    @Column(name = "C_STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "C_FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    /** The identifier of the instance that executes the run, {@literal null} if nobody does. */
+    @Column(name = "C_OWNER")
+    private String owner;
+
+    /** Until when the owner holds the run, another instance may take it over afterwards. */
+    @Column(name = "C_LEASE_UNTIL")
+    private LocalDateTime leaseUntil;
+
+    /** Dear JPA... */
+    protected TransportUnitSynchronization() { }
+
+    TransportUnitSynchronization(TransportUnitSyncScope scope) {
+        this.scope = scope.key();
+        this.locationGroupName = scope.locationGroupName();
+        this.transportUnitType = scope.transportUnitType();
+        this.changedSince = scope.changedSince();
+        restart();
+    }
+
+    /**
+     * Start the run from the beginning.
+     */
+    void restart() {
+        this.cursor = 0;
+        this.processed = 0;
+        this.state = STATE_RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.finishedAt = null;
+    }
+
+    /**
+     * Remember the progress after a chunk has been published.
+     *
+     * @param lastPk The primary key of the last published TransportUnit
+     * @param count The number of published TransportUnits in the chunk
+     */
+    void advance(long lastPk, int count) {
+        this.cursor = lastPk;
+        this.processed += count;
+    }
+
+    /**
+     * Hold or extend the lease on the run.
+     *
+     * @param owner The identifier of the executing instance
+     * @param until Until when the lease is valid
+     */
+    void lease(String owner, LocalDateTime until) {
+        this.owner = owner;
+        this.leaseUntil = until;
+    }
+
+    boolean isOwnedBy(String owner) {
+        return owner.equals(this.owner);
+    }
+
+    void complete() {
+        this.state = STATE_COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+        this.owner = null;
+        this.leaseUntil = null;
+    }
+
+    TransportUnitSyncScope toScope() {
+        return new TransportUnitSyncScope(locationGroupName, transportUnitType, changedSince);
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    @Override
+    public String toString() {
+        return scope + " [" + state + ", cursor=" + cursor + ", processed=" + processed + "]";
+    }
+}
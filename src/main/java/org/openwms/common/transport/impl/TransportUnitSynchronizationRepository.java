@@ -0,0 +1,62 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A TransportUnitSynchronizationRepository.
+ *
+ * @author Heiko Scherrer
+ */
+interface TransportUnitSynchronizationRepository extends JpaRepository<TransportUnitSynchronization, Long> {
+
+    Optional<TransportUnitSynchronization> findByScope(String scope);
+
+    List<TransportUnitSynchronization> findByState(String state);
+
+    /**
+     * Find the runs in the {@code state} that nobody holds a valid lease on.
+     *
+     * @return The orphaned runs
+     */
+    @Query("select s from TransportUnitSynchronization s where s.state = :state and (s.owner is null or s.leaseUntil < :now)")
+    List<TransportUnitSynchronization> findOrphaned(@Param("state") String state, @Param("now") LocalDateTime now);
+
+    /**
+     * Take the lease on the run of the {@code scope} if nobody or the {@code owner} itself holds it, or the lease has expired.
+     *
+     * @return 1 if the lease has been taken, otherwise 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update versioned TransportUnitSynchronization s set s.owner = :owner, s.leaseUntil = :until
+         where s.scope = :scope and (s.owner is null or s.owner = :owner or s.leaseUntil < :now)
+    """)
+    int claim(@Param("scope") String scope, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned TransportUnitSynchronization s set s.owner = null, s.leaseUntil = null where s.owner = :owner")
+    int release(@Param("owner") String owner);
+}
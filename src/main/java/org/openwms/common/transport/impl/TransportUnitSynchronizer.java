@@ -0,0 +1,279 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.ameba.exception.NotFoundException;
+import org.openwms.common.location.LocationGroupService;
+import org.openwms.common.location.LocationGroupSnapshot;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.TransportUnitSyncScope;
+import org.openwms.common.transport.events.TransportUnitEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.openwms.common.transport.impl.TransportUnitSynchronization.STATE_RUNNING;
+
+/**
+ * A TransportUnitSynchronizer republishes all {@link TransportUnit}s of a {@link TransportUnitSyncScope} as {@code CREATED} events.
+ * <p>
+ * The TransportUnits are read in chunks ordered by their primary key, so the heap only holds one chunk at a time. A pause between two
+ * chunks throttles the publication. The events of a chunk are published in the same transaction that stores the last primary key of the
+ * chunk as cursor, so an event that has been handed over to the outbox is never published again by a resumed run. An interrupted run
+ * is resumed from the cursor when the application is ready again. Runs of an instance that died without releasing its lease are
+ * taken over by a periodic check as soon as the lease has expired.
+ * <p>
+ * Before a run starts, the instance takes a lease on the stored progress with a conditional update. The lease is extended with each
+ * chunk and released when the run completes or the instance stops. As long as another instance holds a valid lease the run is
+ * skipped, so several instances resuming interrupted runs on startup do not publish the same TransportUnits twice.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportUnitSynchronizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitSynchronizer.class);
+    private final TransportUnitRepository repository;
+    private final TransportUnitSynchronizationRepository synchronizations;
+    private final LocationGroupService locationGroupService;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate writeTx;
+    private final int chunkSize;
+    private final Duration pause;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "tu-sync"));
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+
+    TransportUnitSynchronizer(TransportUnitRepository repository, TransportUnitSynchronizationRepository synchronizations,
+            LocationGroupService locationGroupService, ApplicationEventPublisher publisher, PlatformTransactionManager transactionManager,
+            @Value("${owms.common.transport-unit.sync.chunk-size:500}") int chunkSize,
+            @Value("${owms.common.transport-unit.sync.pause:PT0.1S}") Duration pause,
+            @Value("${owms.common.transport-unit.sync.lease:PT1M}") Duration lease) {
+        this.repository = repository;
+        this.synchronizations = synchronizations;
+        this.locationGroupService = locationGroupService;
+        this.publisher = publisher;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.lease = lease;
+    }
+
+    /**
+     * Start a run for the {@code scope} in the background, unless a run for the same scope is already in progress.
+     *
+     * @param scope The scope to synchronize
+     */
+    void start(TransportUnitSyncScope scope) {
+        if (!running.add(scope.key())) {
+            LOGGER.info("Synchronization of TransportUnits for scope [{}] is already in progress", scope.key());
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run(scope);
+            } catch (Exception e) {
+                LOGGER.error("Synchronization of TransportUnits for scope [%s] failed and is resumed with the next start".formatted(scope.key()), e);
+            } finally {
+                running.remove(scope.key());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeInterrupted() {
+        synchronizations.findByState(STATE_RUNNING).forEach(s -> {
+            LOGGER.info("Resuming interrupted synchronization of TransportUnits [{}]", s);
+            start(s.toScope());
+        });
+    }
+
+    /**
+     * Resume the runs whose lease has expired, e.g. because the instance executing them has died. Runs in progress on this instance
+     * are not started twice.
+     */
+    @Scheduled(initialDelayString = "${owms.common.transport-unit.sync.orphan-check-interval:PT1M}",
+            fixedDelayString = "${owms.common.transport-unit.sync.orphan-check-interval:PT1M}")
+    void resumeOrphaned() {
+        if (stopped) {
+            return;
+        }
+        synchronizations.findOrphaned(STATE_RUNNING, LocalDateTime.now()).forEach(s -> {
+            LOGGER.info("Taking over orphaned synchronization of TransportUnits [{}]", s);
+            start(s.toScope());
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        executor.shutdownNow();
+        try {
+            if (executor.awaitTermination(pause.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+                writeTx.executeWithoutResult(status -> synchronizations.release(instanceId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.warn("Lease on the synchronization of TransportUnits could not be released and expires after [{}]", lease);
+        }
+    }
+
+    /**
+     * Synchronize all TransportUnits of the {@code scope} in the calling thread. A run that has been interrupted before is resumed,
+     * a completed run is started again from the beginning. The run is skipped if another instance holds the lease on it.
+     *
+     * @param scope The scope to synchronize
+     * @return The stored progress
+     */
+    TransportUnitSynchronization run(TransportUnitSyncScope scope) {
+        var groups = locationGroupsOf(scope.locationGroupName());
+        var claimed = claim(scope);
+        if (claimed.isEmpty()) {
+            LOGGER.info("Synchronization of TransportUnits for scope [{}] is executed by another instance", scope.key());
+            return synchronizations.findByScope(scope.key()).orElseThrow();
+        }
+        var synchronization = claimed.get();
+        var cursor = synchronization.getCursor();
+        var completed = false;
+        while (!stopped && !completed) {
+            var from = cursor;
+            var chunk = writeTx.execute(status -> publishChunk(from, groups, scope));
+            if (chunk.lost()) {
+                LOGGER.warn("Lease on the synchronization of TransportUnits for scope [{}] has been taken over by another instance", scope.key());
+                return synchronizations.findByScope(scope.key()).orElseThrow();
+            }
+            if (chunk.count() > 0) {
+                cursor = chunk.lastPk();
+                synchronization = chunk.synchronization();
+            }
+            completed = chunk.count() < chunkSize;
+            if (!completed && !pause.isZero()) {
+                completed = !sleep();
+            }
+        }
+        if (!stopped && !Thread.currentThread().isInterrupted()) {
+            synchronization = writeTx.execute(status -> complete(scope));
+            LOGGER.info("Synchronized TransportUnits [{}]", synchronization);
+        }
+        return synchronization;
+    }
+
+    private List<Long> locationGroupsOf(String locationGroupName) {
+        if (locationGroupName == null) {
+            return List.of();
+        }
+        var groups = locationGroupService.getTree().streamSubtree(locationGroupName).map(LocationGroupSnapshot::pk).toList();
+        if (groups.isEmpty()) {
+            // The tree might not know a recently created LocationGroup yet
+            groups = locationGroupService.reloadTree().streamSubtree(locationGroupName).map(LocationGroupSnapshot::pk).toList();
+        }
+        if (groups.isEmpty()) {
+            throw new NotFoundException("No LocationGroup with name [%s] exists".formatted(locationGroupName));
+        }
+        return groups;
+    }
+
+    private Optional<TransportUnitSynchronization> claim(TransportUnitSyncScope scope) {
+        try {
+            return Optional.ofNullable(writeTx.execute(status -> begin(scope)));
+        } catch (DataIntegrityViolationException e) {
+            // another instance has created the progress of the same scope concurrently
+            return Optional.empty();
+        }
+    }
+
+    private TransportUnitSynchronization begin(TransportUnitSyncScope scope) {
+        var now = LocalDateTime.now();
+        if (synchronizations.findByScope(scope.key()).isEmpty()) {
+            var created = new TransportUnitSynchronization(scope);
+            created.lease(instanceId, now.plus(lease));
+            return synchronizations.saveAndFlush(created);
+        }
+        if (synchronizations.claim(scope.key(), instanceId, now, now.plus(lease)) == 0) {
+            return null;
+        }
+        var synchronization = synchronizations.findByScope(scope.key()).orElseThrow();
+        if (!STATE_RUNNING.equals(synchronization.getState())) {
+            synchronization.restart();
+        }
+        return synchronization;
+    }
+
+    private Chunk publishChunk(long cursor, List<Long> groups, TransportUnitSyncScope scope) {
+        var synchronization = synchronizations.findByScope(scope.key()).orElseThrow();
+        if (!synchronization.isOwnedBy(instanceId)) {
+            return new Chunk(cursor, 0, null, true);
+        }
+        var transportUnits = repository.findSyncChunk(cursor, groups.isEmpty(), groups.isEmpty() ? List.of(0L) : groups,
+                scope.transportUnitType(), scope.changedSince(), Limit.of(chunkSize));
+        transportUnits.forEach(tu -> publisher.publishEvent(TransportUnitEvent.newBuilder()
+                .tu(tu)
+                .type(TransportUnitEvent.TransportUnitEventType.CREATED)
+                .build()
+        ));
+        synchronization.lease(instanceId, LocalDateTime.now().plus(lease));
+        if (transportUnits.isEmpty()) {
+            return new Chunk(cursor, 0, null, false);
+        }
+        var lastPk = transportUnits.get(transportUnits.size() - 1).getPk();
+        synchronization.advance(lastPk, transportUnits.size());
+        return new Chunk(lastPk, transportUnits.size(), synchronization, false);
+    }
+
+    private TransportUnitSynchronization complete(TransportUnitSyncScope scope) {
+        var synchronization = synchronizations.findByScope(scope.key()).orElseThrow();
+        synchronization.complete();
+        return synchronization;
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Chunk(long lastPk, int count, TransportUnitSynchronization synchronization, boolean lost) {
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import jakarta.persistence.Tuple;
+import org.openwms.common.location.LocationPK;
+import org.openwms.common.location.api.LocationVO;
+import org.openwms.common.transport.TransportUnitView;
+import org.openwms.common.transport.api.TransportUnitTypeVO;
+import org.openwms.common.transport.api.TransportUnitVO;
+import org.openwms.common.transport.barcode.Barcode;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A TransportUnitViews reads the rows of the {@link TransportUnitRepository#SELECT_VIEW} projection into {@link TransportUnitView}s.
+ * The result is the same as mapping the entities with the {@code TransportUnitMapper}.
+ *
+ * @author Heiko Scherrer
+ */
+final class TransportUnitViews {
+
+    private static final String ACTUAL_LOCATION = "al_";
+    private static final String TARGET_LOCATION = "tl_";
+    private static final String TRANSPORT_UNIT_TYPE = "tut_";
+
+    private TransportUnitViews() {
+    }
+
+    /**
+     * Read one row of the projection.
+     *
+     * @param row The row
+     * @return The TransportUnitView
+     */
+    static TransportUnitView of(Tuple row) {
+        var vo = new TransportUnitVO(row.get("barcode", Barcode.class).getValue(), transportUnitType(row), location(row, ACTUAL_LOCATION));
+        vo.setpKey(row.get("pKey", String.class));
+        vo.setOl(row.get("ol", Long.class));
+        vo.setCreateDt(row.get("createDt", LocalDateTime.class));
+        vo.setLastModifiedDt(row.get("lastModifiedDt", LocalDateTime.class));
+        vo.setTargetLocation(location(row, TARGET_LOCATION));
+        vo.setState(row.get("state", String.class));
+        vo.setWeight(row.get("weight", Weight.class));
+        vo.setActualLocationDate(row.get("actualLocationDate", LocalDateTime.class));
+        return new TransportUnitView(row.get("pk", Long.class), vo);
+    }
+
+    private static TransportUnitTypeVO transportUnitType(Tuple row) {
+        var vo = new TransportUnitTypeVO(row.get(TRANSPORT_UNIT_TYPE + "type", String.class));
+        vo.setpKey(row.get(TRANSPORT_UNIT_TYPE + "pKey", String.class));
+        vo.setOl(row.get(TRANSPORT_UNIT_TYPE + "ol", Long.class));
+        vo.setCreateDt(row.get(TRANSPORT_UNIT_TYPE + "createDt", LocalDateTime.class));
+        vo.setLastModifiedDt(row.get(TRANSPORT_UNIT_TYPE + "lastModifiedDt", LocalDateTime.class));
+        vo.setDescription(row.get(TRANSPORT_UNIT_TYPE + "description", String.class));
+        vo.setHeight(String.valueOf(row.get(TRANSPORT_UNIT_TYPE + "height", Integer.class)));
+        vo.setWidth(String.valueOf(row.get(TRANSPORT_UNIT_TYPE + "width", Integer.class)));
+        vo.setLength(String.valueOf(row.get(TRANSPORT_UNIT_TYPE + "length", Integer.class)));
+        return vo;
+    }
+
+    private static LocationVO location(Tuple row, String prefix) {
+        var locationId = row.get(prefix + "locationId", LocationPK.class);
+        if (locationId == null) {
+            return null;
+        }
+        var vo = new LocationVO(locationId.toString());
+        vo.setpKey(row.get(prefix + "pKey", String.class));
+        vo.setOl(row.get(prefix + "ol", Long.class));
+        vo.setCreateDt(row.get(prefix + "createDt", LocalDateTime.class));
+        vo.setLastModifiedDt(row.get(prefix + "lastModifiedDt", LocalDateTime.class));
+        vo.setAccountId(row.get(prefix + "accountId", String.class));
+        vo.setPlcCode(row.get(prefix + "plcCode", String.class));
+        vo.setErpCode(row.get(prefix + "erpCode", String.class));
+        vo.setSortOrder(row.get(prefix + "sortOrder", Integer.class));
+        vo.setStockZone(row.get(prefix + "stockZone", String.class));
+        vo.setIncomingActive(row.get(prefix + "incomingActive", Boolean.class));
+        vo.setOutgoingActive(row.get(prefix + "outgoingActive", Boolean.class));
+        vo.setPlcState(row.get(prefix + "plcState", Integer.class));
+        vo.setNoTransportUnits(row.get(prefix + "noTransportUnits", Integer.class));
+        vo.setTotalWeight(row.get(prefix + "totalWeight", BigDecimal.class));
+        vo.setType(row.get(prefix + "type", String.class));
+        vo.setLocationGroupName(row.get(prefix + "locationGroupName", String.class));
+        return vo;
+    }
+}
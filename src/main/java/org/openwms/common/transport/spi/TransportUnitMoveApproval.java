@@ -20,6 +20,9 @@ import jakarta.validation.constraints.NotNull;
 import org.openwms.common.location.Location;
 import org.openwms.common.transport.TransportUnit;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * A TransportUnitMoveApproval implementation validates a request to move a {@link TransportUnit} and can prevent it.
  *
@@ -36,4 +39,23 @@ public interface TransportUnitMoveApproval {
      * @throws NotApprovedException If not allowed to move
      */
     void approve(@NotNull TransportUnit transportUnit, @NotBlank Location newLocation) throws NotApprovedException;
+
+    /**
+     * Approve many moves at once. The default implementation approves each move separately, implementations may override this to
+     * check all moves with less effort.
+     *
+     * @param moves The TransportUnits to move with their new Location
+     * @return The declined moves with the reason, an empty Map if all moves are approved
+     */
+    default @NotNull Map<TransportUnit, NotApprovedException> approveAll(@NotNull Map<TransportUnit, Location> moves) {
+        var declined = new HashMap<TransportUnit, NotApprovedException>();
+        moves.forEach((transportUnit, newLocation) -> {
+            try {
+                approve(transportUnit, newLocation);
+            } catch (NotApprovedException nae) {
+                declined.put(transportUnit, nae);
+            }
+        });
+        return declined;
+    }
 }
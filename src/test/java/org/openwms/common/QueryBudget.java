@@ -0,0 +1,74 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A QueryBudget records the SQL statements Hibernate prepares on the current thread and fails a test when an operation needs more
+ * statements than it is allowed to. It is registered as Hibernate {@link StatementInspector} in the test configuration.
+ *
+ * @author Heiko Scherrer
+ */
+public class QueryBudget implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Records the statement if an operation is currently measured on this thread.
+     */
+    @Override
+    public String inspect(String sql) {
+        var statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Execute the {@code operation} and assert that it does not issue more than {@code budget} SQL statements.
+     *
+     * @param budget The maximum number of statements
+     * @param operation The operation to measure, must run on the calling thread
+     * @param <T> The type of the result
+     * @return The result of the operation
+     * @throws Exception Any exception thrown by the operation
+     */
+    public static <T> T atMost(int budget, Callable<T> operation) throws Exception {
+        var previous = STATEMENTS.get();
+        var statements = new ArrayList<String>();
+        STATEMENTS.set(statements);
+        try {
+            var result = operation.call();
+            assertThat(statements)
+                    .withFailMessage(() -> "Expected at most %d statements but %d were executed:%n%s".formatted(budget, statements.size(),
+                            String.join(System.lineSeparator(), statements)))
+                    .hasSizeLessThanOrEqualTo(budget);
+            return result;
+        } finally {
+            STATEMENTS.set(previous);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A BufferedAsyncPublisherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class BufferedAsyncPublisherTest {
+
+    private RabbitTemplate template;
+    private ConnectionFactory connectionFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private BufferedAsyncPublisher testee;
+
+    @BeforeEach
+    void onSetup() {
+        template = mock(RabbitTemplate.class);
+        connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(template.getConnectionFactory()).thenReturn(connectionFactory);
+        when(template.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void onTearDown() throws InterruptedException {
+        if (testee != null) {
+            testee.stop();
+        }
+    }
+
+    private BufferedAsyncPublisher publisher(int capacity, int threads, OverflowPolicy overflow) {
+        return new BufferedAsyncPublisher(template, meterRegistry, capacity, threads, overflow, Duration.ofMillis(10),
+                Duration.ofSeconds(1), 3);
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(i -> i.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack")))
+                .when(template).send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("owms.common.amqp.publisher.messages").tag("outcome", outcome).counter().count();
+    }
+
+    private static Envelope envelope(String routingKey) {
+        return new Envelope("common.tu", routingKey, new Message(routingKey.getBytes(), new MessageProperties()));
+    }
+
+    @Test
+    void shall_complete_when_confirmed() throws Exception {
+        confirmWith(true);
+        testee = publisher(10, 2, OverflowPolicy.BLOCK);
+
+        testee.publish("common.tx", "common.tx.command.in.create", "payload").get(1, TimeUnit.SECONDS);
+
+        verify(template).send(eq("common.tx"), eq("common.tx.command.in.create"), any(Message.class), any(CorrelationData.class));
+        assertThat(count("published")).isEqualTo(1);
+        assertThat(meterRegistry.get("owms.common.amqp.publisher.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shall_publish_a_unit_in_order() throws Exception {
+        confirmWith(true);
+        testee = publisher(10, 4, OverflowPolicy.BLOCK);
+
+        testee.publishInOrder(List.of(envelope("1"), envelope("2"), envelope("3"))).get(1, TimeUnit.SECONDS);
+
+        var sequence = inOrder(template);
+        sequence.verify(template).send(eq("common.tu"), eq("1"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("2"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("3"), any(Message.class), any(CorrelationData.class));
+        assertThat(count("published")).isEqualTo(3);
+    }
+
+    @Test
+    void shall_retry_not_acknowledged_until_max_attempts() {
+        confirmWith(false);
+        testee = publisher(10, 1, OverflowPolicy.BLOCK);
+
+        var future = testee.publishInOrder(List.of(envelope("1")));
+
+        assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(AmqpException.class);
+        verify(template, times(3)).send(eq("common.tu"), eq("1"), any(Message.class), any(CorrelationData.class));
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void shall_resend_from_the_first_not_acknowledged_message() throws Exception {
+        var attempts = new AtomicInteger();
+        doAnswer(i -> {
+            var ack = !"2".equals(i.getArgument(1)) || attempts.incrementAndGet() > 1;
+            return i.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+        }).when(template).send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+        testee = publisher(10, 1, OverflowPolicy.BLOCK);
+
+        testee.publishInOrder(List.of(envelope("1"), envelope("2"), envelope("3"))).get(1, TimeUnit.SECONDS);
+
+        var sequence = inOrder(template);
+        sequence.verify(template).send(eq("common.tu"), eq("1"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("2"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("3"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("2"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("3"), any(Message.class), any(CorrelationData.class));
+        verify(template).send(eq("common.tu"), eq("1"), any(Message.class), any(CorrelationData.class));
+        assertThat(count("retried")).isEqualTo(2);
+        assertThat(count("published")).isEqualTo(3);
+    }
+
+    @Test
+    void shall_not_send_a_unit_that_expired_in_the_buffer() throws Exception {
+        var sending = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            sending.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return i.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+        }).when(template).send(any(String.class), eq("1"), any(Message.class), any(CorrelationData.class));
+        testee = new BufferedAsyncPublisher(template, meterRegistry, 10, 1, OverflowPolicy.BLOCK, Duration.ofMillis(10),
+                Duration.ofMillis(100), 1);
+
+        testee.publishInOrder(List.of(envelope("1")));
+        assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue();
+        var buffered = testee.publishInOrder(List.of(envelope("2")));
+
+        assertThatThrownBy(() -> buffered.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(TimeoutException.class);
+        release.countDown();
+        testee.stop();
+        verify(template, never()).send(any(String.class), eq("2"), any(Message.class), any(CorrelationData.class));
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void shall_retry_before_buffered_messages() throws Exception {
+        var confirmations = new LinkedBlockingQueue<CorrelationData>();
+        doAnswer(i -> confirmations.add(i.getArgument(3)))
+                .when(template).send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+        testee = publisher(10, 1, OverflowPolicy.BLOCK);
+
+        var first = testee.publishInOrder(List.of(envelope("1")));
+        confirmations.poll(1, TimeUnit.SECONDS).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+        var second = testee.publishInOrder(List.of(envelope("2")));
+        for (var i = 0; i < 2; i++) {
+            confirmations.poll(1, TimeUnit.SECONDS).getFuture().complete(new CorrelationData.Confirm(true, null));
+        }
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+
+        var sequence = inOrder(template);
+        sequence.verify(template, times(2)).send(eq("common.tu"), eq("1"), any(Message.class), any(CorrelationData.class));
+        sequence.verify(template).send(eq("common.tu"), eq("2"), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void shall_derive_the_delivery_timeout_from_the_attempts() {
+        testee = publisher(10, 1, OverflowPolicy.BLOCK);
+
+        assertThat(testee.getDeliveryTimeout()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shall_shed_when_the_buffer_is_full() throws Exception {
+        var sending = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            sending.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return i.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+        }).when(template).send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+        testee = publisher(1, 1, OverflowPolicy.SHED);
+
+        var inFlight = testee.publishInOrder(List.of(envelope("1")));
+        assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue();
+        var buffered = testee.publishInOrder(List.of(envelope("2")));
+        var shed = testee.publishInOrder(List.of(envelope("3")));
+
+        assertThat(shed).isCompletedExceptionally();
+        assertThat(count("rejected")).isEqualTo(1);
+        release.countDown();
+        inFlight.get(1, TimeUnit.SECONDS);
+        buffered.get(1, TimeUnit.SECONDS);
+        assertThat(count("published")).isEqualTo(2);
+    }
+
+    @Test
+    void shall_complete_on_send_without_confirms() throws Exception {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        testee = publisher(10, 1, OverflowPolicy.BLOCK);
+
+        testee.publishInOrder(List.of(envelope("1"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(count("published")).isEqualTo(1);
+    }
+}
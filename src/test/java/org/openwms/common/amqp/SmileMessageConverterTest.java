@@ -0,0 +1,140 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.amqp;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.location.api.messages.LocationMO;
+import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.openwms.common.transport.api.messages.TransportUnitTypeMO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+
+/**
+ * A SmileMessageConverterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SmileMessageConverterTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SmileMessageConverterTest.class);
+    private final SmileMessageConverter smile = new SmileMessageConverter();
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+
+    private static LocationMO location(String id) {
+        return new LocationMO("1000" + id.hashCode(), "D", id, "PLC_" + id, "ERP_" + id, "FGINANDOUT", true, true, 0);
+    }
+
+    private static TransportUnitMO transportUnit(int i) {
+        return TransportUnitMO.newBuilder()
+                .withPKey("TU_PKEY_" + i)
+                .withBarcode("%020d".formatted(i))
+                .withActualLocationDate(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .withState("AVAILABLE")
+                .withActualLocation(location("FGIN/IPNT/0001/0000/0000"))
+                .withTargetLocation(location("FGIN/IPNT/0002/0000/0000"))
+                .withTransportUnitType(TransportUnitTypeMO.newBuilder()
+                        .type("EURO").length(1200).width(800).height(1000)
+                        .weightTare(new BigDecimal("25.0")).weightMax(new BigDecimal("1000.0")).payload(new BigDecimal("975.0"))
+                        .compatibility("EURO")
+                        .build())
+                .withParent("TU_PKEY_PARENT")
+                .build();
+    }
+
+    private static ContentTypeDelegatingMessageConverter writing(MessageConverter defaultConverter) {
+        var converter = new ContentTypeDelegatingMessageConverter(defaultConverter);
+        converter.addDelegate(SmileMessageConverter.CONTENT_TYPE_SMILE, new SmileMessageConverter());
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, new Jackson2JsonMessageConverter());
+        return converter;
+    }
+
+    @Test
+    void shall_convert_message_objects_and_commands() {
+        var tu = transportUnit(1);
+        var command = TUCommand.newBuilder(TUCommand.Type.UPDATE_CACHE).withTransportUnit(tu).build();
+        var bulk = new ArrayList<>(List.of(transportUnit(2), transportUnit(3)));
+
+        var message = smile.toMessage(tu, new MessageProperties());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(SmileMessageConverter.CONTENT_TYPE_SMILE);
+        assertThat(message.getMessageProperties().getContentEncoding()).isNull();
+        assertThat(smile.fromMessage(message)).usingRecursiveComparison().isEqualTo(tu);
+        assertThat(smile.fromMessage(smile.toMessage(command, new MessageProperties()))).usingRecursiveComparison().isEqualTo(command);
+        // A list carries no element type and is read into maps, like a JSON list
+        assertThat(smile.fromMessage(smile.toMessage(bulk, new MessageProperties()))).asInstanceOf(LIST)
+                .extracting("barcode").containsExactly("00000000000000000002", "00000000000000000003");
+    }
+
+    @Test
+    void shall_read_the_format_of_the_sender() {
+        var tu = transportUnit(1);
+        var smileService = writing(smile);
+        var jsonService = writing(json);
+
+        var fromSmile = smileService.toMessage(tu, new MessageProperties());
+        var fromJson = jsonService.toMessage(tu, new MessageProperties());
+
+        assertThat(fromSmile.getMessageProperties().getContentType()).isEqualTo(SmileMessageConverter.CONTENT_TYPE_SMILE);
+        assertThat(fromJson.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(jsonService.fromMessage(fromSmile)).usingRecursiveComparison().isEqualTo(tu);
+        assertThat(smileService.fromMessage(fromJson)).usingRecursiveComparison().isEqualTo(tu);
+    }
+
+    @Test
+    void shall_be_more_compact_than_json() {
+        var tu = transportUnit(1);
+        var bulk = new ArrayList<>(IntStream.range(0, 100).mapToObj(SmileMessageConverterTest::transportUnit).toList());
+
+        var single = size(smile, tu) / (double) size(json, tu);
+        var list = size(smile, bulk) / (double) size(json, bulk);
+
+        LOGGER.info("TransportUnitMO: JSON [{}] bytes, Smile [{}] bytes; 100 TransportUnitMOs: JSON [{}] bytes, Smile [{}] bytes",
+                size(json, tu), size(smile, tu), size(json, bulk), size(smile, bulk));
+        LOGGER.info("TransportUnitMO encode + decode: JSON [{}] ns, Smile [{}] ns", nanosPerRoundTrip(json, tu), nanosPerRoundTrip(smile, tu));
+        assertThat(single).isLessThan(0.8);
+        assertThat(list).isLessThan(0.5);
+    }
+
+    private static int size(MessageConverter converter, Object payload) {
+        return converter.toMessage(payload, new MessageProperties()).getBody().length;
+    }
+
+    private static long nanosPerRoundTrip(MessageConverter converter, Object payload) {
+        var rounds = 5_000;
+        for (var i = 0; i < rounds; i++) {
+            converter.fromMessage(converter.toMessage(payload, new MessageProperties()));
+        }
+        var start = System.nanoTime();
+        for (var i = 0; i < rounds; i++) {
+            converter.fromMessage(converter.toMessage(payload, new MessageProperties()));
+        }
+        return (System.nanoTime() - start) / rounds;
+    }
+}
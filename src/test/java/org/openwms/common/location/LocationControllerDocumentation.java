@@ -25,7 +25,9 @@ import org.openwms.common.CommonApplicationTest;
 import org.openwms.common.CommonMessageCodes;
 import org.openwms.common.TestData;
 import org.openwms.common.location.api.ErrorCodeVO;
+import org.openwms.common.location.api.ImportReportVO;
 import org.openwms.common.location.api.LocationApiConstants;
+import org.openwms.common.location.api.LocationCapacityVO;
 import org.openwms.common.location.api.LocationVO;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,9 +36,14 @@ import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.openwms.common.TestData.LOCATION_PKEY_EXT;
@@ -51,11 +58,13 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -73,6 +82,8 @@ class LocationControllerDocumentation {
     private ObjectMapper mapper;
     @Autowired
     private LocationService service;
+    @Autowired
+    private LocationGroupService groupService;
     @MockitoBean
     private AsyncTransactionApi transactionApi;
     private MockMvc mockMvc;
@@ -105,12 +116,17 @@ class LocationControllerDocumentation {
         ;
     }
 
+    private static long noLocations(LocationGroupTree tree, String locationGroupName) {
+        return tree.findByName(locationGroupName).orElseThrow().noLocations();
+    }
+
     @Test void shall_create_Location() throws Exception {
         var location = new LocationVO("FGIN/PICK/WORK/0010/0000");
         location.setLocationGroupName("FGWORKPLACE9");
         location.setErpCode("PICK_10");
         location.setPlcCode("PICK_20");
         location.setType("PG");
+        var before = groupService.reloadTree();
         mockMvc.perform(
                 post(LocationApiConstants.API_LOCATIONS)
                         .content(mapper.writeValueAsString(location))
@@ -152,12 +168,86 @@ class LocationControllerDocumentation {
                                 fieldWithPath("incomingActive").description("Whether the Location is enabled for incoming movements (read-only)"),
                                 fieldWithPath("outgoingActive").description("Whether the Location is enabled for outgoing movements (read-only)"),
                                 fieldWithPath("plcState").description("The current state, set by the PLC system (read-only)"),
+                                fieldWithPath("noTransportUnits").description("The current number of TransportUnits on the Location (read-only)"),
+                                fieldWithPath("totalWeight").description("The current sum of the weights of all TransportUnits on the Location in gram (read-only)"),
                                 fieldWithPath("type").description("The name of the LocationType the Location belongs to"),
                                 fieldWithPath("locationGroupName").description("The LocationGroup the Location belongs to"),
                                 fieldWithPath("createDt").description("Timestamp when the Location has been created"),
                                 fieldWithPath("lastModifiedDt").description("Timestamp when the record has been updated the last time")
                         )
                 ));
+        assertThat(noLocations(groupService.getTree(), "FGWORKPLACE9")).isEqualTo(noLocations(before, "FGWORKPLACE9") + 1);
+    }
+
+    @Nested
+    @DisplayName("Import Tests")
+    class ImportTests {
+        @Test void shall_import_Locations_from_NDJSON() throws Exception {
+            var content = """
+                    {"locationId":"FGIN/IMPO/0001/0000/0000","erpCode":"IMPO_1","plcCode":"IMPO_1","type":"PG","locationGroupName":"FGWORKPLACE9"}
+                    {"locationId":"FGIN/IMPO/0002/0000/0000","erpCode":"IMPO_2","plcCode":"IMPO_2","type":"PG","locationGroupName":"FGWORKPLACE9"}
+                    {"locationId":"%s","erpCode":"IMPO_3","plcCode":"IMPO_3","type":"PG","locationGroupName":"FGWORKPLACE9"}
+                    {"locationId":"FGIN/IMPO/0004/0000/0000",
+                    """.formatted(TestData.LOCATION_ID_EXT);
+            mockMvc.perform(
+                    post(API_LOCATIONS + "/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(content)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, ImportReportVO.MEDIA_TYPE))
+                    .andExpect(jsonPath("$.processed", is(4)))
+                    .andExpect(jsonPath("$.imported", is(2)))
+                    .andExpect(jsonPath("$.chunks", is(1)))
+                    .andExpect(jsonPath("$.rejected.length()", is(2)))
+                    .andExpect(jsonPath("$.rejected[0].row", is(4)))
+                    .andExpect(jsonPath("$.rejected[1].row", is(3)))
+                    .andExpect(jsonPath("$.rejected[1].key", is(TestData.LOCATION_ID_EXT)))
+                    .andDo(document("loc-import-ndjson", preprocessResponse(prettyPrint())));
+            assertThat(service.findByLocationId("FGIN/IMPO/0001/0000/0000")).isPresent();
+            assertThat(service.findByLocationId("FGIN/IMPO/0002/0000/0000")).isPresent();
+            assertThat(service.findByLocationId("FGIN/IMPO/0004/0000/0000")).isEmpty();
+        }
+
+        @Test void shall_import_Locations_from_CSV() throws Exception {
+            var content = """
+                    locationId,erpCode,plcCode,type,locationGroupName,sortOrder
+                    FGIN/IMPO/0001/0000/0000,IMPO_1,IMPO_1,PG,FGWORKPLACE9,1
+                    FGIN/IMPO/0002/0000/0000,"IMPO,2",IMPO_2,UNKNOWN,FGWORKPLACE9,2
+                    """;
+            mockMvc.perform(
+                    post(API_LOCATIONS + "/import")
+                            .contentType(LocationImportController.TEXT_CSV)
+                            .content(content)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.processed", is(2)))
+                    .andExpect(jsonPath("$.imported", is(1)))
+                    .andExpect(jsonPath("$.rejected[0].row", is(3)))
+                    .andExpect(jsonPath("$.rejected[0].key", is("FGIN/IMPO/0002/0000/0000")))
+                    .andDo(document("loc-import-csv", preprocessResponse(prettyPrint())));
+            assertThat(service.findByLocationId("FGIN/IMPO/0001/0000/0000").get().getSortOrder()).isEqualTo(1);
+        }
+
+        @Test void shall_stop_with_partial_report_when_a_chunk_fails() throws Exception {
+            var content = """
+                    {"locationId":"FGIN/IMPO/0001/0000/0000","erpCode":"IMPO_1","plcCode":"IMPO_1","type":"PG","locationGroupName":"FGWORKPLACE9"}
+                    {"locationId":"FGIN/IMPO/0002/0000/0000","erpCode":"IMPO_2","plcCode":"%s","type":"PG","locationGroupName":"FGWORKPLACE9"}
+                    """.formatted(TestData.LOCATION_PLC_CODE_EXT);
+            mockMvc.perform(
+                    post(API_LOCATIONS + "/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(content)
+                    )
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, ImportReportVO.MEDIA_TYPE))
+                    .andExpect(jsonPath("$.imported", is(0)))
+                    .andExpect(jsonPath("$.chunks", is(0)))
+                    .andExpect(jsonPath("$.failed.firstRow", is(1)))
+                    .andExpect(jsonPath("$.failed.lastRow", is(2)))
+                    .andDo(document("loc-import-failed", preprocessResponse(prettyPrint())));
+            assertThat(service.findByLocationId("FGIN/IMPO/0001/0000/0000")).isEmpty();
+        }
     }
 
     @Nested
@@ -187,6 +277,42 @@ class LocationControllerDocumentation {
                     .andExpect(status().isNotFound())
                     .andDo(document("loc-find-pKey-404", preprocessResponse(prettyPrint())));
         }
+
+        @Test void shall_find_capacity_by_pKey() throws Exception {
+            mockMvc.perform(get(LocationApiConstants.API_LOCATIONS + "/" + LOCATION_PKEY_EXT + "/capacity")
+                            .accept(LocationCapacityVO.MEDIA_TYPE)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, LocationCapacityVO.MEDIA_TYPE))
+                    .andExpect(jsonPath("pKey", is(LOCATION_PKEY_EXT)))
+                    .andExpect(jsonPath("locationId", is(TestData.LOCATION_ID_EXT)))
+                    .andExpect(jsonPath("noTransportUnits", is(1)))
+                    .andExpect(jsonPath("noMaxTransportUnits", is(1)))
+                    .andExpect(jsonPath("remainingTransportUnits", is(0)))
+                    .andExpect(jsonPath("totalWeight", is(0.0)))
+                    .andExpect(jsonPath("maximumWeight").doesNotExist())
+                    .andExpect(jsonPath("full", is(true)))
+                    .andDo(document("loc-find-capacity",
+                            preprocessResponse(prettyPrint()),
+                            responseFields(
+                                    fieldWithPath("pKey").description("The persistent technical key of the Location"),
+                                    fieldWithPath("locationId").description("Unique natural key"),
+                                    fieldWithPath("noTransportUnits").description("The current number of TransportUnits on the Location"),
+                                    fieldWithPath("noMaxTransportUnits").description("The maximum number of TransportUnits allowed on the Location"),
+                                    fieldWithPath("remainingTransportUnits").description("The number of TransportUnits that can still be put onto the Location"),
+                                    fieldWithPath("totalWeight").description("The current sum of the weights of all TransportUnits on the Location in gram"),
+                                    fieldWithPath("full").description("Whether the Location can not take any further TransportUnit")
+                            )
+                    ));
+        }
+
+        @Test void shall_find_capacity_by_pKey_404() throws Exception {
+            mockMvc.perform(get(LocationApiConstants.API_LOCATIONS + "/UNKNOWN/capacity")
+                            .accept(LocationCapacityVO.MEDIA_TYPE)
+                    )
+                    .andExpect(status().isNotFound())
+                    .andDo(document("loc-find-capacity-404", preprocessResponse(prettyPrint())));
+        }
     }
 
     @Test void shall_update_Location() throws Exception {
@@ -202,6 +328,7 @@ class LocationControllerDocumentation {
         location.setSortOrder(99);
         location.setStockZone("STOCK");
         location.setType("FG");
+        var before = groupService.reloadTree();
         mockMvc.perform(
                 put(LocationApiConstants.API_LOCATIONS)
                         .content(mapper.writeValueAsString(location))
@@ -255,12 +382,17 @@ class LocationControllerDocumentation {
                                 fieldWithPath("incomingActive").description("Whether the Location is enabled for incoming movements (read-only)"),
                                 fieldWithPath("outgoingActive").description("Whether the Location is enabled for outgoing movements (read-only)"),
                                 fieldWithPath("plcState").description("The current state, set by the PLC system (read-only)"),
+                                fieldWithPath("noTransportUnits").description("The current number of TransportUnits on the Location (read-only)"),
+                                fieldWithPath("totalWeight").description("The current sum of the weights of all TransportUnits on the Location in gram (read-only)"),
                                 fieldWithPath("type").description("The name of the LocationType the Location belongs to"),
                                 fieldWithPath("locationGroupName").description("The LocationGroup the Location belongs to"),
                                 fieldWithPath("createDt").description("Timestamp when the Location has been created"),
                                 fieldWithPath("lastModifiedDt").description("Timestamp when the record has been updated the last time")
                         )
                 ));
+        var after = groupService.getTree();
+        assertThat(noLocations(after, "FGWORKPLACE9")).isEqualTo(noLocations(before, "FGWORKPLACE9") + 1);
+        assertThat(noLocations(after, "FGCONV")).isEqualTo(noLocations(before, "FGCONV") - 1);
     }
 
     @Nested
@@ -381,6 +513,49 @@ class LocationControllerDocumentation {
                     .andDo(document("loc-find-coordinate-wildcard", preprocessResponse(prettyPrint())));
         }
 
+        @Test void shall_findby_locationId_wildcard_paged() throws Exception {
+            var first = mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
+                    .queryParam("area", "FGIN")
+                    .queryParam("aisle", "00__")
+                    .queryParam("x", "LIFT")
+                    .queryParam("y", "0000")
+                    .queryParam("z", "%")
+                    .queryParam("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()", is(1)))
+                    .andExpect(header().exists(HttpHeaders.LINK))
+                    .andDo(document("loc-find-coordinate-wildcard-paged", preprocessResponse(prettyPrint())))
+                    .andReturn();
+            var second = mockMvc.perform(get(nextPage(first)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()", is(1)))
+                    .andReturn();
+            assertThat(second.getResponse().getContentAsString()).isNotEqualTo(first.getResponse().getContentAsString());
+            mockMvc.perform(get(nextPage(second)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()", is(0)))
+                    .andExpect(header().doesNotExist(HttpHeaders.LINK));
+        }
+
+        @Test void shall_stream_locationId_wildcard() throws Exception {
+            var result = mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
+                    .queryParam("area", "FGIN")
+                    .queryParam("aisle", "00__")
+                    .queryParam("x", "LIFT")
+                    .queryParam("y", "0000")
+                    .queryParam("z", "%")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                    .andDo(document("loc-find-coordinate-wildcard-stream"));
+            var lines = result.getResponse().getContentAsString().lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(mapper.readTree(lines.get(0)).at("/links/0/href").asText()).isNotEmpty();
+        }
+
         @Test void shall_findby_locationId_wildcard_404() throws Exception {
             mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
                     .queryParam("area", "UNKN")
@@ -421,6 +596,37 @@ class LocationControllerDocumentation {
             ;
         }
 
+        @Test void shall_findby_lgnames_paged() throws Exception {
+            var first = mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
+                    .queryParam("locationGroupNames", TestData.LOCATION_GROUP_NAME_LG1)
+                    .queryParam("locationGroupNames", TestData.LOCATION_GROUP_NAME_LG2)
+                    .queryParam("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()", is(2)))
+                    .andExpect(jsonPath("$[0].links[0].href").exists())
+                    .andExpect(header().exists(HttpHeaders.LINK))
+                    .andDo(document("loc-find-in-lg-paged", preprocessResponse(prettyPrint())))
+                    .andReturn();
+            mockMvc.perform(get(nextPage(first)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()", is(1)))
+                    .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                    .andDo(document("loc-find-in-lg-paged-last", preprocessResponse(prettyPrint())));
+        }
+
+        @Test void shall_stream_lgnames() throws Exception {
+            var result = mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
+                    .queryParam("locationGroupNames", TestData.LOCATION_GROUP_NAME_LG1)
+                    .queryParam("locationGroupNames", TestData.LOCATION_GROUP_NAME_LG2)
+                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andDo(document("loc-find-in-lg-stream"));
+            assertThat(result.getResponse().getContentAsString().lines()).hasSize(3);
+        }
+
         @Test void shall_findby_lgname_404() throws Exception {
             mockMvc.perform(get(LocationApiConstants.API_LOCATIONS)
                     .queryParam("locationGroupNames", "NOT EXISTS"))
@@ -501,6 +707,39 @@ class LocationControllerDocumentation {
             assertThat(location.isOutfeedActive()).isFalse();
         }
 
+        @Test void shall_change_states_of_Locations() throws Exception {
+            var errorCodes = new LinkedHashMap<String, ErrorCodeVO>();
+            errorCodes.put(TestData.LOCATION_ID_EXT, ErrorCodeVO.LOCK_STATE_IN);
+            errorCodes.put(TestData.LOCATION_ID_FGIN0001LEFT, new ErrorCodeVO("******11", 31));
+            mockMvc.perform(
+                    patch(API_LOCATIONS)
+                            .queryParam("op","change-state")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(errorCodes))
+                    )
+                    .andExpect(status().isNoContent())
+                    .andDo(document("loc-states", preprocessResponse(prettyPrint())));
+            assertThat(service.findByLocationId(TestData.LOCATION_ID_EXT).get().isInfeedBlocked()).isTrue();
+            var location = service.findByLocationId(TestData.LOCATION_ID_FGIN0001LEFT).get();
+            assertThat(location.getPlcState()).isEqualTo(31);
+            assertThat(location.isInfeedBlocked()).isTrue();
+            assertThat(location.isOutfeedBlocked()).isTrue();
+        }
+
+        @Test void shall_change_states_of_Locations_404() throws Exception {
+            var errorCodes = Map.of(TestData.LOCATION_ID_EXT, ErrorCodeVO.LOCK_STATE_IN, "UNKN/UNKN/UNKN/UNKN/UNKN", ErrorCodeVO.LOCK_STATE_IN);
+            mockMvc.perform(
+                    patch(API_LOCATIONS)
+                            .queryParam("op","change-state")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(errorCodes))
+                    )
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("messageKey", is(CommonMessageCodes.LOCATION_NOT_FOUND_BY_ID)))
+                    .andDo(document("loc-states-404", preprocessResponse(prettyPrint())));
+            assertThat(service.findByLocationId(TestData.LOCATION_ID_EXT).get().isInfeedBlocked()).isFalse();
+        }
+
         @Test
         void shall_alock_Location_INOUT() throws Exception {
             mockMvc.perform(post(API_LOCATIONS)
@@ -593,5 +832,13 @@ class LocationControllerDocumentation {
             ;
         }
     }
-}
 
+    /**
+     * Extract the URI of the next page from the {@code Link} header of a paged response.
+     */
+    private static URI nextPage(MvcResult result) {
+        var link = result.getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).isNotNull();
+        return URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')));
+    }
+}
@@ -31,6 +31,7 @@ import org.openwms.common.location.api.LocationGroupState;
 import org.openwms.common.location.api.LocationGroupVO;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.restdocs.mockmvc.RestDocumentationResultHandler;
@@ -40,13 +41,17 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.openwms.common.TestData.LOCATION_GROUP_NAME_LG1;
 import static org.openwms.common.TestData.LOCATION_GROUP_NAME_LG2;
+import static org.openwms.common.TestData.LOCATION_GROUP_NAME_LG3;
 import static org.openwms.common.location.api.LocationApiConstants.API_LOCATION_GROUP;
 import static org.openwms.common.location.api.LocationApiConstants.API_LOCATION_GROUPS;
 import static org.springframework.restdocs.http.HttpDocumentation.httpRequest;
@@ -67,6 +72,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -97,6 +103,7 @@ class LocationGroupControllerDocumentation {
         documentationResultHandler = document("lg/{method-name}", preprocessRequest(prettyPrint()), preprocessResponse(prettyPrint()));
         mockMvc = MockMvcBuilders.webAppContextSetup(context)
                 .apply(documentationConfiguration(restDocumentation)).build();
+        service.reloadTree();
     }
 
     @Test
@@ -181,6 +188,30 @@ class LocationGroupControllerDocumentation {
                     .andDo(documentationResultHandler.document(httpRequest(), httpResponse()));
         }
 
+        @Test
+        void shall_findby_name_304() throws Exception {
+            var eTag = mockMvc.perform(get(LocationApiConstants.API_LOCATION_GROUPS)
+                    .queryParam("name", TestData.LOCATION_GROUP_NAME_LG3))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            mockMvc.perform(get(LocationApiConstants.API_LOCATION_GROUPS)
+                    .queryParam("name", TestData.LOCATION_GROUP_NAME_LG3)
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andDo(documentationResultHandler.document(httpRequest(), httpResponse()));
+
+            service.changeGroupStates(LOCATION_GROUP_NAME_LG1, Optional.of(LocationGroupState.NOT_AVAILABLE), Optional.empty());
+
+            mockMvc.perform(get(LocationApiConstants.API_LOCATION_GROUPS)
+                    .queryParam("name", TestData.LOCATION_GROUP_NAME_LG3)
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                    .andExpect(jsonPath("groupStateIn", is(LocationGroupState.NOT_AVAILABLE.toString())))
+                    .andExpect(jsonPath("childLocationGroups[0].groupStateIn", is(LocationGroupState.NOT_AVAILABLE.toString())));
+        }
+
         @Test
         void shall_findby_names() throws Exception {
             mockMvc.perform(get(LocationApiConstants.API_LOCATION_GROUPS)
@@ -333,6 +364,32 @@ class LocationGroupControllerDocumentation {
                     ))
             ;
         }
+
+        @Test
+        void shall_import_LocationGroups_from_CSV() throws Exception {
+            var content = """
+                    name,operationMode,parentName,groupType
+                    IMP_PARENT,INFEED_AND_OUTFEED,ZILE,"Aisle, south"
+                    IMP_CHILD,INFEED_AND_OUTFEED,IMP_PARENT,
+                    IMP_ORPHAN,INFEED_AND_OUTFEED,UNKNOWN,
+                    ZILE,INFEED_AND_OUTFEED,,
+                    """;
+            mockMvc.perform(
+                            post(API_LOCATION_GROUPS + "/import")
+                                    .contentType(LocationImportController.TEXT_CSV)
+                                    .content(content)
+                    ).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.processed", is(4)))
+                    .andExpect(jsonPath("$.imported", is(2)))
+                    .andExpect(jsonPath("$.rejected.length()", is(2)))
+                    .andExpect(jsonPath("$.rejected[0].row", is(4)))
+                    .andExpect(jsonPath("$.rejected[0].key", is("IMP_ORPHAN")))
+                    .andExpect(jsonPath("$.rejected[1].row", is(5)))
+                    .andDo(document("lg/lg-import-csv", preprocessResponse(prettyPrint())));
+            assertThat(service.findByName("IMP_PARENT").get().getGroupType()).isEqualTo("Aisle, south");
+            assertThat(service.findByName("IMP_CHILD")).isPresent();
+            assertThat(service.findByName("IMP_ORPHAN")).isEmpty();
+        }
     }
 
     @Nested
@@ -436,4 +493,82 @@ class LocationGroupControllerDocumentation {
             assertThat(parentName).isEqualTo("IPOINT");
         }
     }
+
+    @Nested
+    @DisplayName("Hierarchy Tests")
+    class HierarchyTests {
+
+        private Object[] stateOf(String name) {
+            return em.createQuery("""
+                    select lg.groupStateIn, i.name, lg.groupStateOut, o.name, lg.operationMode, lg.path
+                      from LocationGroup lg
+                      left join lg.stateInLocker i
+                      left join lg.stateOutLocker o
+                     where lg.name = :name""", Object[].class)
+                    .setParameter("name", name).getSingleResult();
+        }
+
+        @Test void shall_lock_and_unlock_subtree() {
+            var lg = service.findByName(LOCATION_GROUP_NAME_LG1).get();
+
+            service.changeGroupState(lg.getPersistentKey(), LocationGroupState.NOT_AVAILABLE, LocationGroupState.NOT_AVAILABLE);
+
+            assertThat(stateOf(LOCATION_GROUP_NAME_LG1)).containsExactly(LocationGroupState.NOT_AVAILABLE, LOCATION_GROUP_NAME_LG1,
+                    LocationGroupState.NOT_AVAILABLE, LOCATION_GROUP_NAME_LG1, LocationGroupMode.INFEED_AND_OUTFEED, "/10000/");
+            assertThat(stateOf("FGAISLE1LEFT")).containsExactly(LocationGroupState.NOT_AVAILABLE, LOCATION_GROUP_NAME_LG1,
+                    LocationGroupState.NOT_AVAILABLE, LOCATION_GROUP_NAME_LG1, LocationGroupMode.INFEED_AND_OUTFEED,
+                    "/10000/10001/10002/10005/10006/10008/");
+
+            service.changeGroupState(lg.getPersistentKey(), LocationGroupState.AVAILABLE, LocationGroupState.AVAILABLE);
+
+            assertThat(stateOf("FGAISLE1LEFT")).containsExactly(LocationGroupState.AVAILABLE, null, LocationGroupState.AVAILABLE, null,
+                    LocationGroupMode.INFEED_AND_OUTFEED, "/10000/10001/10002/10005/10006/10008/");
+        }
+
+        @Test void shall_increase_version_of_descendants() {
+            var descendant = service.findByName("FGAISLE1LEFT").get().getOl();
+            var lg = service.findByName(LOCATION_GROUP_NAME_LG1).get();
+
+            service.changeGroupState(lg.getPersistentKey(), LocationGroupState.NOT_AVAILABLE, LocationGroupState.AVAILABLE);
+
+            var changed = service.findByName("FGAISLE1LEFT").get();
+            assertThat(changed.getGroupStateIn()).isEqualTo(LocationGroupState.NOT_AVAILABLE);
+            assertThat(changed.getOl()).isGreaterThan(descendant);
+        }
+
+        @Test void shall_not_unlock_outfeed_locked_by_other_group() {
+            service.changeGroupStates("FGSTOCK", Optional.empty(), Optional.of(LocationGroupState.NOT_AVAILABLE));
+            service.changeGroupStates(LOCATION_GROUP_NAME_LG1, Optional.empty(), Optional.of(LocationGroupState.NOT_AVAILABLE));
+
+            assertThat(stateOf("FGAISLE1")[3]).isEqualTo("FGSTOCK");
+            assertThat(stateOf("FGRECEIVING")[3]).isEqualTo(LOCATION_GROUP_NAME_LG1);
+
+            service.changeGroupStates(LOCATION_GROUP_NAME_LG1, Optional.empty(), Optional.of(LocationGroupState.AVAILABLE));
+
+            assertThat(stateOf("FGSTOCK")[2]).isEqualTo(LocationGroupState.AVAILABLE);
+            assertThat(stateOf("FGAISLE1")[2]).isEqualTo(LocationGroupState.NOT_AVAILABLE);
+            assertThat(stateOf("FGAISLE1")[3]).isEqualTo("FGSTOCK");
+            assertThat(stateOf("FGRECEIVING")[2]).isEqualTo(LocationGroupState.AVAILABLE);
+            assertThat(stateOf("FGRECEIVING")[3]).isNull();
+        }
+
+        @Test void shall_change_operation_mode_of_subtree() {
+            service.changeOperationMode("FGSTOCK", LocationGroupMode.NO_OPERATION);
+
+            assertThat(stateOf("FGSTOCK")[4]).isEqualTo(LocationGroupMode.NO_OPERATION);
+            assertThat(stateOf("FGAISLE2RIGHT")[4]).isEqualTo(LocationGroupMode.NO_OPERATION);
+            assertThat(stateOf("FGAUTOMATIC")[4]).isEqualTo(LocationGroupMode.INFEED_AND_OUTFEED);
+        }
+
+        @Test void shall_move_paths_with_parent() {
+            var lg = service.findByName("FGSTOCK").get();
+            var vo = new LocationGroupVO("FGSTOCK");
+            vo.setParent(LOCATION_GROUP_NAME_LG3);
+            service.update(lg.getPersistentKey(), vo);
+
+            assertThat(stateOf("FGSTOCK")[5]).isEqualTo("/10000/10028/10005/");
+            assertThat(stateOf("FGAISLE1LEFT")[5]).isEqualTo("/10000/10028/10005/10006/10008/");
+            assertThat(stateOf("FGRECEIVING")[5]).isEqualTo("/10000/10001/10002/10003/");
+        }
+    }
 }
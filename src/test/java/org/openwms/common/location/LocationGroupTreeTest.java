@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.location.api.LocationGroupMode;
+import org.openwms.common.location.api.LocationGroupState;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A LocationGroupTreeTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("LocationGroupTree Unittest")
+class LocationGroupTreeTest {
+
+    private static LocationGroupSnapshot group(long pk, String name, String parentName, LocationGroupState state) {
+        return new LocationGroupSnapshot(pk, "pKey" + pk, name, null, null, null, parentName, LocationGroupMode.INFEED_AND_OUTFEED,
+                state, state, null, null, 0, null, null);
+    }
+
+    private static LocationGroupTree tree() {
+        return LocationGroupTree.of(List.of(group(3, "AISLE", "AREA", LocationGroupState.AVAILABLE),
+                group(1, "ROOT", null, LocationGroupState.AVAILABLE), group(2, "AREA", "ROOT", LocationGroupState.AVAILABLE),
+                group(4, "SHIPPING", "ROOT", LocationGroupState.AVAILABLE)));
+    }
+
+    @Test void shall_resolve_hierarchy() {
+        var tree = tree();
+        assertThat(tree.findAll()).extracting(LocationGroupSnapshot::name).containsExactly("ROOT", "AREA", "AISLE", "SHIPPING");
+        assertThat(tree.getChildren("ROOT")).extracting(LocationGroupSnapshot::name).containsExactly("AREA", "SHIPPING");
+        assertThat(tree.streamSubtree("AREA")).extracting(LocationGroupSnapshot::name).containsExactly("AREA", "AISLE");
+        assertThat(tree.findByNames(List.of("SHIPPING", "AREA", "UNKNOWN"))).extracting(LocationGroupSnapshot::name)
+                .containsExactly("AREA", "SHIPPING");
+    }
+
+    @Test void shall_copy_on_change() {
+        var tree = tree();
+        var changed = tree.with(List.of("AREA"), List.of(group(2, "AREA", "SHIPPING", LocationGroupState.NOT_AVAILABLE)));
+
+        assertThat(changed.getVersion()).isNotEqualTo(tree.getVersion());
+        assertThat(changed.findByName("AISLE")).isEmpty();
+        assertThat(changed.getChildren("ROOT")).extracting(LocationGroupSnapshot::name).containsExactly("SHIPPING");
+        assertThat(changed.getChildren("SHIPPING")).extracting(LocationGroupSnapshot::groupStateIn)
+                .containsExactly(LocationGroupState.NOT_AVAILABLE);
+        assertThat(tree.findByName("AREA").get().groupStateIn()).isEqualTo(LocationGroupState.AVAILABLE);
+        assertThat(tree.size()).isEqualTo(4);
+    }
+
+    @Test void shall_derive_version_from_content() {
+        assertThat(tree().getVersion()).isEqualTo(tree().getVersion());
+        assertThat(tree().with(List.of(), List.of(group(4, "SHIPPING", "ROOT", LocationGroupState.AVAILABLE))).getVersion())
+                .isEqualTo(tree().getVersion());
+    }
+
+    @Test void shall_patch_number_of_locations() {
+        var tree = tree();
+        var changed = tree.withLocations(Map.of("AREA", 2L, "AISLE", -1L, "UNKNOWN", 1L));
+
+        assertThat(changed.findByName("AREA").get().noLocations()).isEqualTo(2);
+        assertThat(changed.findByName("AISLE").get().noLocations()).isZero();
+        assertThat(changed.getChildren("AREA")).extracting(LocationGroupSnapshot::name).containsExactly("AISLE");
+        assertThat(changed.getVersion()).isNotEqualTo(tree.getVersion());
+        assertThat(tree.findByName("AREA").get().noLocations()).isZero();
+        assertThat(changed.withLocations(Map.of("UNKNOWN", 1L))).isSameAs(changed);
+    }
+}
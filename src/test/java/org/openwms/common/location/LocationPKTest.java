@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A LocationPKTest.
+ *
+ * @author Heiko Scherrer
+ */
+class LocationPKTest {
+
+    @Test void shall_validate() {
+        assertThat(LocationPK.isValid("AREA/AISL/X___/Y___/Z___")).isTrue();
+        assertThat(LocationPK.isValid("A//X/Y/Z")).isTrue();
+        assertThat(LocationPK.isValid(null)).isFalse();
+        assertThat(LocationPK.isValid("")).isFalse();
+        assertThat(LocationPK.isValid("FOOBAR")).isFalse();
+        assertThat(LocationPK.isValid("A/B/C/D")).isFalse();
+        assertThat(LocationPK.isValid("A/B/C/D/")).isFalse();
+        assertThat(LocationPK.isValid("A/B/C/D/E/F")).isFalse();
+    }
+
+    @Test void shall_parse() {
+        var pk = LocationPK.fromString("AREA/AISL/X___/Y___/Z___");
+        assertThat(pk.getArea()).isEqualTo("AREA");
+        assertThat(pk.getAisle()).isEqualTo("AISL");
+        assertThat(pk.getX()).isEqualTo("X___");
+        assertThat(pk.getY()).isEqualTo("Y___");
+        assertThat(pk.getZ()).isEqualTo("Z___");
+        assertThat(pk).hasToString("AREA/AISL/X___/Y___/Z___").isEqualTo(LocationPK.of("AREA", "AISL", "X___", "Y___", "Z___"));
+        assertThat(LocationPK.tryParse("A/B/C/D")).isEmpty();
+        assertThatThrownBy(() -> LocationPK.fromString("A/B/C/D")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test void shall_share_area_and_aisle_segments() {
+        var pk1 = LocationPK.fromString("AREA/AISL/0001/0000/0000");
+        var pk2 = LocationPK.fromString("AREA/AISL/0002/0000/0000");
+        assertThat(pk1.getArea()).isSameAs(pk2.getArea());
+        assertThat(pk1.getAisle()).isSameAs(pk2.getAisle());
+    }
+
+    @Test void shall_spread_hash_of_symmetric_coordinates() {
+        var pk1 = LocationPK.fromString("AREA/AISL/0001/0002/0000");
+        var pk2 = LocationPK.fromString("AREA/AISL/0002/0001/0000");
+        assertThat(pk1.hashCode()).isNotEqualTo(pk2.hashCode());
+        assertThat(pk1.hashCode()).isEqualTo(LocationPK.of("AREA", "AISL", "0001", "0002", "0000").hashCode());
+    }
+}
@@ -19,6 +19,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -106,6 +108,20 @@ class LocationTest {
         }
     }
 
+    @Test void shall_compare_maximum_weight_in_gram() {
+        var l = Location.LocationBuilder.aLocation(new Location(ID1))
+                .withNoMaxTransportUnits(2)
+                .withMaximumWeight(new BigDecimal("2"))
+                .build();
+        l.addOccupation(1, new BigDecimal("1500"));
+
+        assertThat(l.getMaximumWeightInGram()).isEqualByComparingTo("2000");
+        assertThat(l.getRemainingWeight()).isEqualByComparingTo("500");
+        assertThat(l.isFull()).isFalse();
+        l.addOccupation(0, new BigDecimal("500"));
+        assertThat(l.isFull()).isTrue();
+    }
+
     @Test void test_infeed() {
         Location l = new Location(ID1);
         l.setInfeed(false);
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.location.LocationPK;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A LocationCoordinateIndexTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("LocationCoordinateIndex Unittest")
+class LocationCoordinateIndexTest {
+
+    private static final LocationPK LOCATION_ID = LocationPK.of("FGIN", "CONV", "IN01", "0000", "0000");
+
+    @Test void shall_match_like_the_database() {
+        var testee = new LocationCoordinateIndex(null, null, true, 10, false);
+
+        assertThat(testee.matches(LocationPK.of("FG%", "%", "IN__", "0000", "%"), LOCATION_ID)).isTrue();
+        assertThat(testee.matches(LocationPK.of("FG%", "%", "IN_", "0000", "%"), LOCATION_ID)).isFalse();
+        assertThat(testee.matches(LocationPK.of("fgin", "%", "%", "%", "%"), LOCATION_ID)).isFalse();
+    }
+
+    @Test void shall_match_ignoring_the_case() {
+        var testee = new LocationCoordinateIndex(null, null, true, 10, true);
+
+        assertThat(testee.matches(LocationPK.of("fg%", "conv", "in__", "%", "%"), LOCATION_ID)).isTrue();
+        assertThat(testee.matches(LocationPK.of("fgout", "%", "%", "%", "%"), LOCATION_ID)).isFalse();
+    }
+}
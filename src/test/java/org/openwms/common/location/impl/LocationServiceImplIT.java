@@ -21,16 +21,27 @@ import org.ameba.exception.ServiceLayerException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.QueryBudget;
 import org.openwms.common.TestBase;
 import org.openwms.common.TestData;
 import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationCriteria;
 import org.openwms.common.location.LocationPK;
 import org.openwms.common.location.LocationService;
 import org.openwms.common.location.LocationTypeService;
+import org.openwms.common.location.api.events.LocationEvent;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,6 +69,16 @@ class LocationServiceImplIT extends TestBase {
     private AsyncTransactionApi transactionApi;
     @Autowired
     private EntityManager em;
+    @Autowired
+    private LocationDirectory directory;
+    @Autowired
+    private LocationRepository repository;
+    @Autowired
+    private LocationOccupationReconciler reconciler;
+    @Autowired
+    private LocationAttributeIndex attributeIndex;
+    @Autowired
+    private LocationCoordinateIndex coordinateIndex;
 
     /**
      * Specify the Locale explicitly because translated exception messages are verified.
@@ -146,4 +167,204 @@ class LocationServiceImplIT extends TestBase {
         // act & assert
         assertThrows(NotFoundException.class, () -> testee.save(newOne));
     }
+
+    @Test void shall_remember_found_Location_in_directory() {
+        // act
+        var byPlcCode = testee.findByPlcCode("PLC_0001");
+
+        // assert
+        assertThat(byPlcCode).isNotEmpty();
+        assertThat(directory.findByPlcCode("PLC_0001")).hasValueSatisfying(s -> {
+            assertThat(s.pk()).isEqualTo(byPlcCode.get().getPk());
+            assertThat(s.erpCode()).isEqualTo("ERP_0001");
+        });
+        assertThat(testee.findByErpCode("ERP_0001")).contains(byPlcCode.get());
+        assertThat(testee.findByPKey(byPlcCode.get().getPersistentKey())).isEqualTo(byPlcCode.get());
+    }
+
+    @Test void shall_evict_stale_snapshot_from_directory() {
+        // arrange
+        assertThat(testee.findByPlcCode("PLC_0001")).isNotEmpty();
+        em.createNativeQuery("update com_location set c_plc_code = 'PLC_9999' where c_plc_code = 'PLC_0001'").executeUpdate();
+        em.clear();
+
+        // act & assert
+        assertThat(testee.findByPlcCode("PLC_0001")).isEmpty();
+        assertThat(directory.findByPlcCode("PLC_0001")).isEmpty();
+        assertThat(testee.findByPlcCode("PLC_9999")).isNotEmpty();
+    }
+
+    @Test void shall_serve_snapshot_from_directory_without_statement() throws Exception {
+        // arrange
+        var location = testee.findByLocationIdOrThrow(TestData.LOCATION_ID_EXT);
+        em.clear();
+
+        // act
+        var snapshot = QueryBudget.atMost(0, () -> testee.findSnapshotOrThrow(TestData.LOCATION_ID_EXT));
+
+        // assert
+        assertThat(snapshot.pk()).isEqualTo(location.getPk());
+        assertThat(snapshot.pKey()).isEqualTo(location.getPersistentKey());
+        assertThatThrownBy(() -> testee.findSnapshotOrThrow("UNKN/UNKN/UNKN/UNKN/UNKN")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test void shall_serve_snapshots_by_other_keys_from_directory_without_statement() throws Exception {
+        // arrange
+        var location = testee.findByLocationIdOrThrow(TestData.LOCATION_ID_EXT);
+        em.clear();
+
+        // act
+        var byPKey = QueryBudget.atMost(0, () -> testee.findSnapshotByPKey(TestData.LOCATION_PKEY_EXT));
+        var byPlcCode = QueryBudget.atMost(0, () -> testee.findSnapshotByPlcCode(TestData.LOCATION_PLC_CODE_EXT));
+        var byErpCode = QueryBudget.atMost(0, () -> testee.findSnapshotByErpCode(TestData.LOCATION_ERP_CODE_EXT));
+
+        // assert
+        assertThat(byPKey).hasValueSatisfying(s -> assertThat(s.pk()).isEqualTo(location.getPk()));
+        assertThat(byPlcCode).hasValueSatisfying(s -> assertThat(s.pk()).isEqualTo(location.getPk()));
+        assertThat(byErpCode).hasValueSatisfying(s -> assertThat(s.pk()).isEqualTo(location.getPk()));
+        assertThat(testee.findSnapshotByErpCode("UNKNOWN")).isEmpty();
+    }
+
+    /**
+     * The index only contains committed Locations, so the test data must be committed as well.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Test void shall_find_Locations_by_pattern_like_the_database() {
+        coordinateIndex.rebuild();
+        for (var pattern : new LocationPK[]{
+                LocationPK.of("%", "%", "%", "%", "%"),
+                LocationPK.of("FGIN", "%", "%", "%", "%"),
+                LocationPK.of("FG%", "CONV", "%", "0000", "0000"),
+                LocationPK.of("FGIN", "CONV", "IN__", "%", "%"),
+                LocationPK.of("UNKN", "%", "%", "%", "%")
+        }) {
+            assertThat(testee.findLocations(pattern))
+                    .as("Pattern %s", pattern)
+                    .containsExactlyInAnyOrderElementsOf(repository.findByLocationIdContaining(pattern));
+        }
+    }
+
+    @Test void shall_find_created_Location_by_pattern() {
+        coordinateIndex.rebuild();
+        var pattern = LocationPK.of("NEW_", "%", "%", "%", "%");
+        var created = testee.create(Location.create(LocationPK.fromString("NEW_/NEW_/NEW_/NEW_/NEW_")));
+
+        // the write is not completed, so the index is older than the data and the database answers
+        assertThat(coordinateIndex.find(pattern)).isEmpty();
+        assertThat(testee.findLocations(pattern)).hasSize(1);
+
+        TestTransaction.end();
+        assertThat(coordinateIndex.find(pattern)).hasValue(List.of());
+
+        // the test transaction is never committed, so simulate the patch applied after commit
+        coordinateIndex.apply(LocationEvent.of(created, LocationEvent.LocationEventType.CREATED));
+        assertThat(coordinateIndex.find(pattern)).hasValue(List.of(created.getPk()));
+        coordinateIndex.apply(LocationEvent.of(created, LocationEvent.LocationEventType.DELETED));
+        assertThat(coordinateIndex.find(pattern)).hasValue(List.of());
+    }
+
+    @Test void shall_correct_drifted_occupation_counters() {
+        // arrange
+        var tu = em.find(TransportUnit.class, TestData.TU_1_PK);
+        tu.setWeight(Weight.of(new BigDecimal("1.5"), WeightUnit.KG));
+        em.flush();
+        em.createNativeQuery("update com_location set c_no_transport_units = 5 where c_pk = 1012").executeUpdate();
+        em.clear();
+
+        // act
+        var corrected = reconciler.reconcile();
+
+        // assert
+        em.clear();
+        assertThat(corrected).isEqualTo(2);
+        var location = em.find(Location.class, TestData.LOCATION_PK_EXT);
+        assertThat(location.getNoTransportUnits()).isOne();
+        assertThat(location.getTotalWeight()).isEqualByComparingTo("1500");
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_FGIN0001LEFT).getNoTransportUnits()).isZero();
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test void shall_change_occupation_counters_atomically() {
+        var location = testee.findByLocationIdOrThrow(TestData.LOCATION_ID_FGIN0001LEFT);
+
+        testee.occupy(location, 2, Weight.of(new BigDecimal("2"), WeightUnit.KG));
+        testee.release(location, 1, Weight.of(500));
+
+        assertThat(location.getNoTransportUnits()).isEqualTo(1);
+        assertThat(location.getTotalWeight()).isEqualByComparingTo("1500");
+        em.clear();
+        var persisted = em.find(Location.class, TestData.LOCATION_PK_FGIN0001LEFT);
+        assertThat(persisted.getNoTransportUnits()).isEqualTo(1);
+        assertThat(persisted.getTotalWeight()).isEqualByComparingTo("1500");
+        assertThat(persisted.getRemainingTransportUnits()).isZero();
+        assertThat(persisted.isFull()).isTrue();
+    }
+
+    @Test void shall_find_Locations_by_criteria_like_the_database() {
+        // arrange
+        attributeIndex.invalidate();
+        em.createNativeQuery("update com_location set c_stock_zone = 'ZONE_A', c_labels = 'COLD,HEAVY' where c_pk in (1000, 1001)").executeUpdate();
+        em.createNativeQuery("update com_location set c_incoming_active = false where c_pk = 1001").executeUpdate();
+        em.clear();
+
+        // act & assert
+        for (var criteria : new LocationCriteria[]{
+                LocationCriteria.newBuilder().build(),
+                LocationCriteria.newBuilder().locationTypes("FG").build(),
+                LocationCriteria.newBuilder().locationTypes("FG", "PG").infeedActive(true).consideredInAllocation(true).build(),
+                LocationCriteria.newBuilder().stockZones("ZONE_A").labels("HEAVY").build(),
+                LocationCriteria.newBuilder().stockZones("ZONE_A").infeedActive(false).build(),
+                LocationCriteria.newBuilder().locationGroupNames(TestData.LOCATION_GROUP_NAME_LG1).notFull().build(),
+                LocationCriteria.newBuilder().labels("UNKNOWN").build()
+        }) {
+            var expected = repository.findAll().stream().filter(criteria::matches).map(Location::getPk).sorted().toList();
+            assertThat(testee.findLocations(criteria, null, 1000))
+                    .as("Criteria %s", criteria)
+                    .extracting(Location::getPk)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test void shall_patch_attribute_index_with_events() {
+        // arrange
+        attributeIndex.invalidate();
+        var criteria = LocationCriteria.newBuilder().labels("FRAGILE").build();
+        assertThat(attributeIndex.find(criteria, Long.MIN_VALUE)).hasValue(List.of());
+        var location = testee.findByLocationIdOrThrow(TestData.LOCATION_ID_EXT);
+        location.setLabels(List.of("FRAGILE"));
+
+        // act & assert
+        attributeIndex.onLocationEvent(LocationEvent.of(location, LocationEvent.LocationEventType.CHANGED));
+        assertThat(attributeIndex.find(criteria, Long.MIN_VALUE)).hasValue(List.of(location.getPk()));
+        assertThat(attributeIndex.find(criteria, location.getPk())).hasValue(List.of());
+        attributeIndex.onLocationEvent(LocationEvent.of(location, LocationEvent.LocationEventType.DELETED));
+        assertThat(attributeIndex.find(criteria, Long.MIN_VALUE)).hasValue(List.of());
+        attributeIndex.invalidate();
+    }
+
+    @Test void shall_find_Locations_by_criteria_page_by_page() {
+        attributeIndex.invalidate();
+        var criteria = LocationCriteria.newBuilder().locationTypes("FG").notFull().build();
+        var all = testee.findLocations(criteria, null, 1000);
+
+        var first = testee.findLocations(criteria, null, 2);
+        var second = testee.findLocations(criteria, first.get(1).getPk(), 2);
+
+        assertThat(first).containsExactlyElementsOf(all.subList(0, 2));
+        assertThat(second).containsExactlyElementsOf(all.subList(2, 4));
+    }
+
+    @Test void shall_find_Locations_by_criteria_although_changed_without_event() {
+        // arrange
+        attributeIndex.invalidate();
+        em.createNativeQuery("update com_location set c_stock_zone = 'ZONE_A' where c_pk in (1000, 1001)").executeUpdate();
+        em.clear();
+        var criteria = LocationCriteria.newBuilder().stockZones("ZONE_A").build();
+        assertThat(testee.findLocations(criteria, null, 10)).extracting(Location::getPk).containsExactly(1000L, 1001L);
+        em.createNativeQuery("update com_location set c_stock_zone = 'ZONE_B' where c_pk = 1000").executeUpdate();
+        em.clear();
+
+        // act & assert
+        assertThat(testee.findLocations(criteria, null, 10)).extracting(Location::getPk).containsExactly(1001L);
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.location.impl.registration.ReplicaRegistry;
+import org.openwms.core.listener.RemovalNotAllowedException;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * A ReplicaFanOutTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("ReplicaFanOut Unittest")
+class ReplicaFanOutTest {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private ReplicaFanOut testee;
+
+    private ReplicaFanOut fanOut(Duration deadline) {
+        var beanFactory = new StaticListableBeanFactory(Map.of("circuitBreakerRegistry", circuitBreakerRegistry));
+        testee = new ReplicaFanOut(restTemplate, beanFactory.getBeanProvider(CircuitBreakerRegistry.class), meterRegistry, deadline, 4);
+        return testee;
+    }
+
+    @AfterEach
+    void onTearDown() {
+        if (testee != null) {
+            testee.onShutdown();
+        }
+    }
+
+    private static ReplicaRegistry replica(String applicationName) {
+        var result = new ReplicaRegistry();
+        result.setApplicationName(applicationName);
+        result.setRequestRemovalEndpoint("/request-removal");
+        result.setRemovalEndpoint("/removal");
+        return result;
+    }
+
+    private void expectAnswer(String applicationName, boolean allowed) {
+        server.expect(requestTo("http://" + applicationName + "/request-removal")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(String.valueOf(allowed), MediaType.APPLICATION_JSON));
+    }
+
+    @Test void shall_allow_removal_when_all_replicas_allow() {
+        expectAnswer("srv1", true);
+        expectAnswer("srv2", true);
+
+        fanOut(Duration.ofSeconds(5)).requestRemoval(List.of(replica("srv1"), replica("srv2")), List.of("pKey1"));
+
+        server.verify();
+        assertThat(meterRegistry.get("owms.common.replica.calls").tag("operation", ReplicaFanOut.OP_REQUEST_REMOVAL)
+                .tag("outcome", "success").timers()).hasSize(2);
+    }
+
+    @Test void shall_decline_removal_when_one_replica_declines() {
+        expectAnswer("srv1", true);
+        expectAnswer("srv2", false);
+        var replicas = List.of(replica("srv1"), replica("srv2"));
+        var pKeys = List.of("pKey1");
+
+        var fanOut = fanOut(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> fanOut.requestRemoval(replicas, pKeys)).isInstanceOf(RemovalNotAllowedException.class);
+        assertThat(meterRegistry.get("owms.common.replica.calls").tag("replica", "srv2").tag("outcome", "declined").timer().count())
+                .isOne();
+    }
+
+    @Test void shall_decline_removal_when_a_replica_misses_the_deadline() throws Exception {
+        var interrupted = new CountDownLatch(1);
+        server.expect(requestTo("http://srv1/request-removal")).andRespond(request -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess("true", MediaType.APPLICATION_JSON).createResponse(request);
+        });
+        var replicas = List.of(replica("srv1"));
+        var pKeys = List.of("pKey1");
+
+        var fanOut = fanOut(Duration.ofMillis(200));
+        var start = System.nanoTime();
+        assertThatThrownBy(() -> fanOut.requestRemoval(replicas, pKeys)).isInstanceOf(RemovalNotAllowedException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_500));
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).as("the pending call is interrupted").isTrue();
+    }
+
+    @Test void shall_not_call_a_replica_with_an_open_circuit() {
+        circuitBreakerRegistry.circuitBreaker("replica-srv1").transitionToOpenState();
+        var replicas = List.of(replica("srv1"));
+        var pKeys = List.of("pKey1");
+
+        var fanOut = fanOut(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> fanOut.remove(replicas, pKeys)).isInstanceOf(RemovalNotAllowedException.class);
+        server.verify();
+        assertThat(meterRegistry.get("owms.common.replica.calls").tag("operation", ReplicaFanOut.OP_REMOVE)
+                .tag("outcome", "rejected").timer().count()).isOne();
+    }
+}
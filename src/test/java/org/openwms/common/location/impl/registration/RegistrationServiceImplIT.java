@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.location.impl.registration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.location.api.commands.LocationReplicaRegistration;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A RegistrationServiceImplIT.
+ *
+ * @author Heiko Scherrer
+ */
+@CommonApplicationTest
+class RegistrationServiceImplIT {
+
+    @Autowired
+    private RegistrationService testee;
+    @Autowired
+    private ReplicaRegistryRepository repository;
+    @Autowired
+    private ReplicaRegistryCache cache;
+
+    @AfterEach
+    void onTearDown() {
+        repository.deleteAll();
+        cache.reload();
+    }
+
+    @Test void shall_serve_registrations_from_cache() {
+        testee.register(new LocationReplicaRegistration("srv1", "/request-removal", "/removal"));
+        assertThat(testee.getAllRegistered()).extracting(ReplicaRegistry::getApplicationName).containsExactly("srv1");
+
+        repository.deleteAll();
+        assertThat(testee.getAllRegistered()).extracting(ReplicaRegistry::getApplicationName).containsExactly("srv1");
+
+        cache.reload();
+        assertThat(testee.getAllRegistered()).isEmpty();
+    }
+
+    @Test void shall_refresh_cache_on_unregister() {
+        testee.register(new LocationReplicaRegistration("srv1", "/request-removal", "/removal"));
+        testee.register(new LocationReplicaRegistration("srv2", "/request-removal", "/removal"));
+        assertThat(testee.getAllRegistered()).hasSize(2);
+
+        testee.unregister(new LocationReplicaRegistration("srv1", null, null));
+        assertThat(testee.getAllRegistered()).extracting(ReplicaRegistry::getApplicationName).containsExactly("srv2");
+    }
+}
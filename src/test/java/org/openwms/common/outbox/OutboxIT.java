@@ -0,0 +1,202 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.amqp.AsyncPublisher;
+import org.openwms.common.amqp.Envelope;
+import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * A OutboxIT.
+ *
+ * @author Heiko Scherrer
+ */
+@CommonApplicationTest
+class OutboxIT {
+
+    @Autowired
+    private OutboxMessageRepository repository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockitoBean
+    private AsyncTransactionApi transactionApi;
+    private AsyncPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionTemplate txTemplate;
+    private Outbox outbox;
+
+    @BeforeEach
+    void onSetup() {
+        repository.deleteAllInBatch();
+        var amqpTemplate = mock(RabbitTemplate.class);
+        when(amqpTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        publisher = mock(AsyncPublisher.class);
+        when(publisher.getDeliveryTimeout()).thenReturn(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        txTemplate = new TransactionTemplate(transactionManager);
+        outbox = new OutboxImpl(repository, amqpTemplate, transactionManager);
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        return new OutboxRelay(repository, publisher, transactionManager, meterRegistry, true, batchSize);
+    }
+
+    @Test
+    void shall_store_in_the_callers_transaction() {
+        txTemplate.executeWithoutResult(status -> {
+            outbox.append("common.tu", "tu.event.created", "rolled back");
+            status.setRollbackOnly();
+        });
+        assertThat(repository.count()).isZero();
+
+        txTemplate.executeWithoutResult(status -> outbox.append("common.tu", "tu.event.created", "committed"));
+        outbox.append("common.tu", "tu.event.created", "without transaction");
+
+        assertThat(repository.count()).isEqualTo(2);
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shall_relay_in_order_with_confirms() {
+        outbox.append("common.tu", "tu.event.created", Map.of("barcode", "1"));
+        outbox.append("common.tu", "tu.event.changed", Map.of("barcode", "2"));
+        outbox.append("common.lg", "lg.event.changed", Map.of("name", "3"));
+        when(publisher.publishInOrder(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        var relayed = relay(2).relay();
+
+        assertThat(relayed).isEqualTo(3);
+        assertThat(repository.count()).isZero();
+        ArgumentCaptor<List<Envelope>> batches = ArgumentCaptor.forClass(List.class);
+        verify(publisher, times(2)).publishInOrder(batches.capture());
+        assertThat(batches.getAllValues().get(0)).extracting(Envelope::routingKey).containsExactly("tu.event.created", "tu.event.changed");
+        assertThat(new String(batches.getAllValues().get(0).get(0).message().getBody())).isEqualTo("{\"barcode\":\"1\"}");
+        assertThat(batches.getAllValues().get(1)).singleElement().satisfies(e -> {
+            assertThat(e.exchange()).isEqualTo("common.lg");
+            assertThat(e.message().getMessageProperties().getContentType()).isEqualTo("application/json");
+            assertThat(e.message().getMessageProperties().getHeaders()).containsKey("__TypeId__");
+        });
+        assertThat(meterRegistry.get("owms.common.outbox.published").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shall_wait_for_confirms_without_a_transaction() {
+        outbox.append("common.tu", "tu.event.created", Map.of("barcode", "1"));
+        when(publisher.publishInOrder(any())).thenAnswer(i -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertThat(relay(10).relay()).isEqualTo(1);
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void shall_skip_messages_claimed_by_another_relay() {
+        outbox.append("common.tu", "tu.event.created", Map.of("barcode", "1"));
+        var now = LocalDateTime.now();
+        txTemplate.executeWithoutResult(status -> repository.claim(repository.findClaimable(now, Limit.unlimited()), "other", now,
+                now.plusMinutes(1)));
+
+        assertThat(relay(10).relay()).isZero();
+        verify(publisher, never()).publishInOrder(any());
+
+        txTemplate.executeWithoutResult(status -> repository.claim(repository.findAll().stream().map(OutboxMessage::getPk).toList(),
+                "other", now.plusMinutes(2), now.minusSeconds(1)));
+        when(publisher.publishInOrder(any())).thenReturn(CompletableFuture.completedFuture(null));
+        assertThat(relay(10).relay()).isEqualTo(1);
+    }
+
+    @Test
+    void shall_keep_messages_that_are_not_confirmed() {
+        outbox.append("common.tu", "tu.event.created", Map.of("barcode", "1"));
+        outbox.append("common.tu", "tu.event.changed", Map.of("barcode", "2"));
+        when(publisher.publishInOrder(any())).thenReturn(CompletableFuture.failedFuture(new AmqpException("nack")));
+        var testee = relay(10);
+
+        assertThatThrownBy(testee::relay).isInstanceOf(AmqpException.class);
+        testee.measureBacklog();
+
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findClaimable(LocalDateTime.now(), Limit.unlimited())).hasSize(2);
+        assertThat(meterRegistry.get("owms.common.outbox.backlog").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("owms.common.outbox.lag").timeGauge().value()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void shall_restore_message_properties_and_headers() {
+        var properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setMessageId("4711");
+        properties.setCorrelationId("0815");
+        properties.setPriority(5);
+        properties.setDeliveryMode(MessageDeliveryMode.NON_PERSISTENT);
+        properties.setHeader("__TypeId__", "x".repeat(2000));
+        properties.setHeader("attempt", 3);
+        properties.setHeader("redelivered", true);
+        properties.setHeader("tags", List.of("a", "b"));
+        properties.setHeader("none", null);
+        var saved = repository.save(new OutboxMessage("common.tu", "tu.event.created", new Message("{}".getBytes(), properties)));
+
+        var restored = repository.findById(saved.getPk()).orElseThrow().toMessage().getMessageProperties();
+
+        assertThat(restored.getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(restored.getMessageId()).isEqualTo("4711");
+        assertThat(restored.getCorrelationId()).isEqualTo("0815");
+        assertThat(restored.getPriority()).isEqualTo(5);
+        assertThat(restored.getDeliveryMode()).isEqualTo(MessageDeliveryMode.NON_PERSISTENT);
+        assertThat(restored.getHeaders())
+                .containsEntry("__TypeId__", "x".repeat(2000))
+                .containsEntry("attempt", 3)
+                .containsEntry("redelivered", true)
+                .containsEntry("tags", List.of("a", "b"))
+                .doesNotContainKey("none");
+    }
+}
@@ -25,6 +25,7 @@ import org.openwms.common.TestData;
 import org.openwms.common.location.LocationPK;
 import org.openwms.common.location.api.LocationVO;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
+import org.openwms.common.transport.api.TransportUnitMoveVO;
 import org.openwms.common.transport.api.TransportUnitTypeVO;
 import org.openwms.common.transport.api.TransportUnitVO;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
@@ -34,14 +35,19 @@ import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.net.URI;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.openwms.common.TestData.TU_1_ID;
 import static org.openwms.common.TestData.TU_1_PKEY;
 import static org.openwms.common.TestData.TU_2_ID;
+import static org.openwms.common.TestData.TU_2_PKEY;
 import static org.openwms.common.transport.api.TransportApiConstants.API_TRANSPORT_UNIT;
 import static org.openwms.common.transport.api.TransportApiConstants.API_TRANSPORT_UNITS;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
@@ -51,12 +57,15 @@ import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuild
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -95,13 +104,15 @@ class TransportUnitControllerDocumentation {
                 .andExpect(jsonPath("$._links.transport-unit-createtuwithbody").exists())
                 .andExpect(jsonPath("$._links.transport-unit-createtuwithparams").exists())
                 .andExpect(jsonPath("$._links.transport-unit-deletebypkey").exists())
+                .andExpect(jsonPath("$._links.transport-unit-deletebypkeys").exists())
                 .andExpect(jsonPath("$._links.transport-unit-findbypkey").exists())
                 .andExpect(jsonPath("$._links.transport-unit-findbybarcode").exists())
                 .andExpect(jsonPath("$._links.transport-unit-findbybarcodes").exists())
                 .andExpect(jsonPath("$._links.transport-unit-findonlocation").exists())
                 .andExpect(jsonPath("$._links.transport-unit-block").exists())
                 .andExpect(jsonPath("$._links.transport-unit-unblock").exists())
-                .andExpect(jsonPath("$._links.length()", is(10)))
+                .andExpect(jsonPath("$._links.transport-unit-moves").exists())
+                .andExpect(jsonPath("$._links.length()", is(12)))
         ;
     }
 
@@ -214,6 +225,18 @@ class TransportUnitControllerDocumentation {
         ;
     }
 
+    @Test void shall_delete_many() throws Exception {
+        mockMvc.perform(delete(API_TRANSPORT_UNITS)
+                        .queryParam("pKeys", TU_1_PKEY, TU_2_PKEY))
+                .andDo(document("tu-delete-many", preprocessResponse(prettyPrint())))
+                .andExpect(status().isNoContent())
+        ;
+        mockMvc.perform(get(API_TRANSPORT_UNITS + "/" + TU_1_PKEY))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(API_TRANSPORT_UNITS + "/" + TU_2_PKEY))
+                .andExpect(status().isNotFound());
+    }
+
     @Test void shall_update_existing() throws Exception {
         var transportUnit = createValidTU(TU_1_ID, TU_1_PKEY);
         mockMvc.perform(put(API_TRANSPORT_UNITS)
@@ -275,6 +298,31 @@ class TransportUnitControllerDocumentation {
         ;
     }
 
+    @Test void shall_move_many() throws Exception {
+        var moves = List.of(
+                new TransportUnitMoveVO(TU_1_ID, TestData.LOCATION_ID_FGIN0001LEFT),
+                new TransportUnitMoveVO(TU_2_ID, "ERP_0030"),
+                new TransportUnitMoveVO("4713", TestData.LOCATION_ID_FGIN0001LEFT),
+                new TransportUnitMoveVO(TU_1_ID, "UNKNOWN")
+        );
+        mockMvc.perform(
+                post(API_TRANSPORT_UNITS + "/moves")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(moves))
+                )
+                .andDo(document("tu-move-many", preprocessRequest(prettyPrint()), preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].outcome", is("MOVED")))
+                .andExpect(jsonPath("$[1].outcome", is("MOVED")))
+                .andExpect(jsonPath("$[2].outcome", is("NOT_FOUND")))
+                .andExpect(jsonPath("$[3].outcome", is("TARGET_NOT_FOUND")))
+        ;
+        assertThat(service.findByBarcode(TU_1_ID).getActualLocation().getLocationId())
+                .isEqualTo(LocationPK.fromString(TestData.LOCATION_ID_FGIN0001LEFT));
+        assertThat(service.findByBarcode(TU_2_ID).getActualLocation().getErpCode()).isEqualTo("ERP_0030");
+    }
+
     @Test void shall_add_error() throws Exception {
         mockMvc.perform(post(API_TRANSPORT_UNIT + "/error")
                 .queryParam("bk", TU_1_ID)
@@ -300,6 +348,58 @@ class TransportUnitControllerDocumentation {
                 ;
     }
 
+    @Test void shall_findPage() throws Exception {
+        var first = mockMvc.perform(get(API_TRANSPORT_UNITS).queryParam("limit", "1"))
+                .andDo(document("tu-find-page", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, TransportUnitVO.MEDIA_TYPE))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].pKey", is(TU_1_PKEY)))
+                .andReturn();
+        var second = mockMvc.perform(get(nextPage(first)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].pKey", is(TU_2_PKEY)))
+                .andReturn();
+        mockMvc.perform(get(nextPage(second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test void shall_findPage_filtered() throws Exception {
+        mockMvc.perform(get(API_TRANSPORT_UNITS)
+                        .queryParam("state", "AVAILABLE")
+                        .queryParam("transportUnitType", TestData.TUT_TYPE_PALLET)
+                        .queryParam("locationGroupNames", "ZILE")
+                        .queryParam("limit", "10"))
+                .andDo(document("tu-find-page-filtered", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].pKey", is(TU_1_PKEY)));
+        mockMvc.perform(get(API_TRANSPORT_UNITS)
+                        .queryParam("groupName", "UNKNOWN")
+                        .queryParam("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test void shall_stream() throws Exception {
+        var result = mockMvc.perform(get(API_TRANSPORT_UNITS).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andDo(document("tu-find-stream"));
+        var lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(om.readTree(lines.get(0)).at("/pKey").asText()).isEqualTo(TU_1_PKEY);
+        assertThat(om.readTree(lines.get(0)).at("/links/0/href").asText()).endsWith(API_TRANSPORT_UNITS + "/" + TU_1_PKEY);
+    }
+
     @Test void shall_findByPKey() throws Exception {
         mockMvc.perform(get(API_TRANSPORT_UNITS + "/" + TU_1_PKEY))
                 .andDo(document("tu-find-by-pkey", preprocessResponse(prettyPrint())))
@@ -440,4 +540,10 @@ class TransportUnitControllerDocumentation {
         tu = service.findByBarcode(TU_1_ID);
         assertThat(tu.getState()).isEqualTo("IN_QUARANTINE");
     }
+
+    private static URI nextPage(MvcResult result) {
+        var link = result.getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).isNotNull();
+        return URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')));
+    }
 }
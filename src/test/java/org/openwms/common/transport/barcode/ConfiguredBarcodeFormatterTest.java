@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.barcode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ConfiguredBarcodeFormatterTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("ConfiguredBarcodeFormatter Unittest")
+class ConfiguredBarcodeFormatterTest {
+
+    private static final List<String> PROPERTIES = List.of("owms.common.barcode.pattern", "owms.common.barcode.padder",
+            "owms.common.barcode.length", "owms.common.barcode.alignment", "owms.common.barcode.prefix", "owms.common.barcode.suffix");
+
+    @AfterEach
+    void onTeardown() {
+        PROPERTIES.forEach(System::clearProperty);
+    }
+
+    @Test void shall_pad_right_aligned_by_default() {
+        var testee = new ConfiguredBarcodeFormatter();
+        assertThat(testee.format("4711")).isEqualTo("00000000000000004711");
+        assertThat(testee.format(null)).isNull();
+        assertThat(testee.format("")).isEmpty();
+    }
+
+    @Test void shall_return_normalized_barcodes_unchanged() {
+        var normalized = "00000000000000004711";
+        assertThat(new ConfiguredBarcodeFormatter().format(normalized)).isSameAs(normalized);
+    }
+
+    @Test void shall_pad_left_aligned_with_prefix_and_suffix() {
+        System.setProperty("owms.common.barcode.alignment", "LEFT");
+        System.setProperty("owms.common.barcode.length", "8");
+        System.setProperty("owms.common.barcode.padder", "x");
+        System.setProperty("owms.common.barcode.prefix", "P-");
+        System.setProperty("owms.common.barcode.suffix", "-S");
+        assertThat(new ConfiguredBarcodeFormatter().format("4711")).isEqualTo("P-4711xxxx-S");
+    }
+
+    @Test void shall_pad_with_multiple_characters() {
+        System.setProperty("owms.common.barcode.length", "7");
+        System.setProperty("owms.common.barcode.padder", "ab");
+        assertThat(new ConfiguredBarcodeFormatter().format("4711")).isEqualTo("aba4711");
+    }
+
+    @Test void shall_not_format_without_padder() {
+        System.setProperty("owms.common.barcode.padder", "");
+        System.setProperty("owms.common.barcode.length", "");
+        assertThat(new ConfiguredBarcodeFormatter().format("4711")).isEqualTo("4711");
+    }
+
+    @Test void shall_format_with_pattern() {
+        System.setProperty("owms.common.barcode.pattern", "TU-%s-X");
+        System.setProperty("owms.common.barcode.suffix", "!");
+        assertThat(new ConfiguredBarcodeFormatter().format("4711")).isEqualTo("TU-4711-X!");
+
+        System.setProperty("owms.common.barcode.pattern", "%8s|%%");
+        assertThat(new ConfiguredBarcodeFormatter().format("4711")).isEqualTo(String.format("%8s|%%", "4711") + "!");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.barcode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A NumericBarcodeGeneratorTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("NumericBarcodeGenerator Unittest")
+class NumericBarcodeGeneratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> reservations = new ArrayList<>();
+
+    private final BarcodeBlockReserver reserver = new BarcodeBlockReserver(null) {
+        private long current = 0;
+
+        @Override
+        public synchronized long reserve(String name, int size) {
+            reservations.add(size);
+            var first = current + 1;
+            current += size;
+            return first;
+        }
+    };
+
+    private NumericBarcodeGenerator testee(Duration targetDuration) {
+        return new NumericBarcodeGenerator(null, reserver, meterRegistry, 2, 8, targetDuration);
+    }
+
+    @Test void shall_generate_ascending_barcodes_from_blocks() {
+        var testee = testee(Duration.ofHours(1));
+
+        assertThat(testee.generate(null, null).getValue()).isEqualTo("1");
+        assertThat(testee.generate(null, null).getValue()).isEqualTo("2");
+        assertThat(testee.generate(null, null).getValue()).isEqualTo("3");
+        assertThat(reservations).hasSize(2);
+        assertThat(meterRegistry.get("owms.common.barcode.blocks.exhausted").counter().count()).isOne();
+    }
+
+    @Test void shall_adapt_block_size_to_demand() {
+        var testee = testee(Duration.ofHours(1));
+        for (int i = 0; i < 30; i++) {
+            testee.generate(null, null);
+        }
+        assertThat(reservations).startsWith(2, 4, 8, 8);
+
+        var slow = testee(Duration.ZERO);
+        reservations.clear();
+        for (int i = 0; i < 6; i++) {
+            slow.generate(null, null);
+        }
+        assertThat(reservations).containsOnly(2);
+    }
+
+    @Test void shall_count_wasted_numbers_on_shutdown() {
+        var testee = testee(Duration.ofHours(1));
+        assertThat(meterRegistry.get("owms.common.barcode.block.remaining").gauge().value()).isZero();
+        testee.generate(null, null);
+        assertThat(meterRegistry.get("owms.common.barcode.block.remaining").gauge().value()).isEqualTo(1.0);
+
+        testee.onShutdown();
+
+        assertThat(meterRegistry.get("owms.common.barcode.numbers.wasted").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("owms.common.barcode.block.remaining").gauge().value()).isZero();
+    }
+
+    @Test void shall_generate_unique_barcodes_concurrently() throws Exception {
+        var testee = testee(Duration.ofHours(1));
+        var barcodes = ConcurrentHashMap.<String>newKeySet();
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        barcodes.add(testee.generate(null, null).getValue());
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(barcodes).hasSize(4_000);
+        assertThat(Set.copyOf(barcodes)).contains("1", "4000");
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.location.Location;
+import org.openwms.common.location.LocationPK;
+import org.openwms.common.outbox.Outbox;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.TransportUnitMapper;
+import org.openwms.common.transport.api.messages.TransportUnitMO;
+import org.openwms.common.transport.barcode.Barcode;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * A TransportUnitEventPropagatorTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("TransportUnitEventPropagator Unittest")
+class TransportUnitEventPropagatorTest {
+
+    private final Outbox outbox = mock(Outbox.class);
+    private final TransportUnitMapper mapper = mock(TransportUnitMapper.class);
+
+    private List<TransportUnit> moved() {
+        var tu = new TransportUnit(Barcode.of("4711"));
+        tu.setActualLocation(Location.create(LocationPK.fromString("FGIN/CONV/0001/0000/0000")));
+        when(mapper.convertToMO(tu)).thenReturn(new TransportUnitMO());
+        return List.of(tu);
+    }
+
+    @Test void shall_send_bulk_moved_only_by_default() {
+        var testee = new TransportUnitEventPropagator(outbox, "common.tu", mapper, true);
+
+        testee.onEvent(TransportUnitEvent.newBuilder().tus(moved()).type(TransportUnitEvent.TransportUnitEventType.BULK_MOVED).build());
+
+        verify(outbox).append(eq("common.tu"), eq("tu.event.bulk-moved"), any());
+        verifyNoMoreInteractions(outbox);
+    }
+
+    @Test void shall_send_single_moves_for_compatibility() {
+        var testee = new TransportUnitEventPropagator(outbox, "common.tu", mapper, false);
+
+        testee.onEvent(TransportUnitEvent.newBuilder().tus(moved()).type(TransportUnitEvent.TransportUnitEventType.BULK_MOVED).build());
+
+        verify(outbox).append(eq("common.tu"), eq("tu.event.moved.FGIN/CONV/0001/0000/0000"), any(TransportUnitMO.class));
+        verify(outbox).append(eq("common.tu"), eq("tu.event.bulk-moved"), any());
+        verifyNoMoreInteractions(outbox);
+    }
+}
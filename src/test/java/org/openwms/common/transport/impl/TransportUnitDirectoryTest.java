@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.barcode.Barcode;
+import org.openwms.common.transport.events.TransportUnitEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A TransportUnitDirectoryTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("TransportUnitDirectory Unittest")
+class TransportUnitDirectoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransportUnitDirectory testee = new TransportUnitDirectory(meterRegistry, true, 2);
+
+    private static TransportUnit transportUnit(long pk, String barcode, long version) {
+        var result = new TransportUnit(Barcode.of(barcode));
+        ReflectionTestUtils.setField(result, "pk", pk);
+        ReflectionTestUtils.setField(result, "ol", version);
+        return result;
+    }
+
+    @Test void shall_cache_from_events() {
+        var tu = transportUnit(1, "4711", 0);
+        testee.onTransportUnitEvent(TransportUnitEvent.of(tu, TransportUnitEvent.TransportUnitEventType.CREATED));
+
+        assertThat(testee.findByBarcode(Barcode.of("4711"))).hasValueSatisfying(s -> {
+            assertThat(s.pk()).isEqualTo(1L);
+            assertThat(s.version()).isZero();
+        });
+
+        testee.onTransportUnitEvent(TransportUnitEvent.of(tu, TransportUnitEvent.TransportUnitEventType.DELETED));
+        assertThat(testee.findByBarcode(Barcode.of("4711"))).isEmpty();
+    }
+
+    @Test void shall_evict_least_recently_used() {
+        testee.put(transportUnit(1, "1", 0));
+        testee.put(transportUnit(2, "2", 0));
+        assertThat(testee.findByBarcode(Barcode.of("1"))).isPresent();
+
+        testee.put(transportUnit(3, "3", 0));
+
+        assertThat(testee.findByBarcode(Barcode.of("2"))).isEmpty();
+        assertThat(testee.findByBarcode(Barcode.of("1"))).isPresent();
+        assertThat(testee.findByBarcode(Barcode.of("3"))).isPresent();
+        assertThat(meterRegistry.get("owms.common.transport-unit.directory.evictions").counter().count()).isOne();
+    }
+
+    @Test void shall_evict_stale_snapshots() {
+        testee.put(transportUnit(1, "4711", 0));
+        var snapshot = testee.findByBarcode(Barcode.of("4711")).orElseThrow();
+
+        testee.stale(snapshot);
+
+        assertThat(testee.findByBarcode(Barcode.of("4711"))).isEmpty();
+        assertThat(meterRegistry.get("owms.common.transport-unit.directory.lookups").tag("result", "stale").counter().count()).isOne();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.QueryBudget;
+import org.openwms.common.TestData;
+import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.TransportUnitCriteria;
+import org.openwms.common.transport.TransportUnitMapper;
+import org.openwms.common.transport.TransportUnitMove;
+import org.openwms.common.transport.TransportUnitMoveResult;
+import org.openwms.common.transport.TransportUnitService;
+import org.openwms.common.transport.barcode.Barcode;
+import org.openwms.common.transport.events.TransportUnitEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A TransportUnitFetchPlanIT verifies that TransportUnits are loaded with all associations their representations need, so they can
+ * be mapped after the transaction is committed, and that the lookups stay within their query budget.
+ *
+ * @author Heiko Scherrer
+ */
+@CommonApplicationTest
+@RecordApplicationEvents
+class TransportUnitFetchPlanIT {
+
+    @Autowired
+    private TransportUnitService testee;
+    @Autowired
+    private TransportUnitMapper mapper;
+    @Autowired
+    private ApplicationEvents events;
+    @MockitoBean
+    private AsyncTransactionApi transactionApi;
+
+    /*
+     * The Account of a Location is referenced by its identifier and not by its primary key. Hibernate resolves it with one additional
+     * select per distinct Account, even if it is joined by the fetch plan.
+     */
+    private static final int ACCOUNT_LOOKUP = 1;
+
+    private Stream<TransportUnit> eventSources() {
+        return events.stream(TransportUnitEvent.class)
+                .flatMap(e -> e.getSource() instanceof Collection<?> c ? c.stream() : Stream.of(e.getSource()))
+                .map(TransportUnit.class::cast);
+    }
+
+    /*
+     * Bulk moves and removals load the TransportUnits with the move fetch plan only. Their events are mapped by the propagators before
+     * the transaction is committed, so only the event sources of the single lookups are mapped here.
+     */
+    @Test
+    void shall_map_event_sources_after_commit() {
+        testee.create("4713", TestData.TUT_TYPE_PALLET, TestData.LOCATION_ID_FGIN0001LEFT, false);
+        testee.moveTransportUnit(Barcode.of(TestData.TU_1_ID), TestData.LOCATION_ID_FGIN0001LEFT);
+        testee.changeTarget(Barcode.of(TestData.TU_2_ID), TestData.LOCATION_ID_EXT);
+        testee.setState(TestData.TU_2_ID, "BLOCKED");
+
+        assertThat(eventSources()).hasSizeGreaterThanOrEqualTo(4).allSatisfy(tu -> {
+            var mo = mapper.convertToMO(tu);
+            assertThat(mo.getActualLocation().locationGroupName()).isNotBlank();
+            assertThat(mo.getTransportUnitType().getType()).isEqualTo(TestData.TUT_TYPE_PALLET);
+        });
+    }
+
+    @Test
+    void shall_find_TransportUnit_with_a_single_join() throws Exception {
+        var byPKey = QueryBudget.atMost(1 + ACCOUNT_LOOKUP, () -> testee.findByPKey(TestData.TU_1_PKEY));
+        var byBarcode = QueryBudget.atMost(1 + ACCOUNT_LOOKUP, () -> testee.findByBarcode(TestData.TU_2_ID));
+
+        assertThat(mapper.convertToVO(byPKey).getActualLocation().getType()).isNotBlank();
+        assertThat(mapper.convertToVO(byBarcode).getTransportUnitType().getDescription()).isNotBlank();
+    }
+
+    @Test
+    void shall_move_and_remove_TransportUnits_in_bulk() {
+        var results = testee.moveTransportUnits(List.of(new TransportUnitMove(Barcode.of(TestData.TU_2_ID), TestData.LOCATION_ID_FGIN0001LEFT)));
+        testee.deleteByPKeys(List.of(TestData.TU_1_PKEY));
+
+        assertThat(results).singleElement().extracting(TransportUnitMoveResult::outcome).isEqualTo(TransportUnitMoveResult.Outcome.MOVED);
+        assertThat(events.stream(TransportUnitEvent.class).map(TransportUnitEvent::getType))
+                .contains(TransportUnitEvent.TransportUnitEventType.BULK_MOVED, TransportUnitEvent.TransportUnitEventType.DELETED);
+    }
+
+    @Test
+    void shall_find_TransportUnit_known_to_the_directory_with_a_single_join() throws Exception {
+        testee.findByBarcode(TestData.TU_1_ID);
+        var known = QueryBudget.atMost(1 + ACCOUNT_LOOKUP, () -> testee.findByBarcode(TestData.TU_1_ID));
+
+        assertThat(mapper.convertToMO(known).getActualLocation().locationGroupName()).isNotBlank();
+    }
+
+    @Test
+    void shall_find_all_TransportUnits_with_a_single_join() throws Exception {
+        var all = QueryBudget.atMost(1 + ACCOUNT_LOOKUP, () -> testee.findAll());
+        var page = QueryBudget.atMost(1 + ACCOUNT_LOOKUP, () -> testee.findAll(TransportUnitCriteria.ALL, null, 10));
+        var views = QueryBudget.atMost(1, () -> testee.findViews(TransportUnitCriteria.ALL));
+
+        assertThat(all).hasSize(2).allSatisfy(tu -> assertThat(mapper.convertToMO(tu).getActualLocation().locationGroupName()).isNotBlank());
+        assertThat(page).hasSize(2);
+        assertThat(views).hasSize(2);
+    }
+}
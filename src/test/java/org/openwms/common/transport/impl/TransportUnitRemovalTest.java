@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openwms.common.jpa.BulkAudit;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.barcode.Barcode;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A TransportUnitRemovalTest.
+ *
+ * @author Heiko Scherrer
+ */
+@DisplayName("TransportUnitRemoval Unittest")
+class TransportUnitRemovalTest {
+
+    private final TransportUnitRemoval testee = new TransportUnitRemoval(mock(TransportUnitRepository.class), mock(EntityManager.class), 2, mock(BulkAudit.class));
+
+    private static TransportUnit transportUnit(long pk, TransportUnit parent) {
+        var result = new TransportUnit(Barcode.of(String.valueOf(pk)));
+        ReflectionTestUtils.setField(result, "pk", pk);
+        result.setParent(parent);
+        return result;
+    }
+
+    @Test void shall_order_leaves_first() {
+        var outside = transportUnit(0, null);
+        var root = transportUnit(1, outside);
+        var child = transportUnit(2, root);
+        var grandChild = transportUnit(3, child);
+        var single = transportUnit(4, null);
+
+        var levels = testee.leavesFirst(List.of(root, single, grandChild, child));
+
+        assertThat(levels).containsExactly(List.of(grandChild), List.of(child), List.of(root, single));
+    }
+
+    @Test void shall_split_into_batches() {
+        assertThat(testee.batches(List.of(1, 2, 3, 4, 5))).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(testee.batches(List.of())).isEmpty();
+    }
+}
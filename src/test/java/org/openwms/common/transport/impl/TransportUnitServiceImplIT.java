@@ -15,6 +15,7 @@
  */
 package org.openwms.common.transport.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
@@ -24,26 +25,44 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.QueryBudget;
 import org.openwms.common.TestData;
+import org.openwms.common.jpa.BulkAudit;
 import org.openwms.common.location.Location;
 import org.openwms.common.location.LocationPK;
 import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
 import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.TransportUnitCriteria;
+import org.openwms.common.transport.TransportUnitMapper;
 import org.openwms.common.transport.TransportUnitService;
 import org.openwms.common.transport.TransportUnitType;
+import org.openwms.common.transport.TransportUnitView;
+import org.openwms.common.transport.UnitError;
 import org.openwms.common.transport.barcode.Barcode;
 import org.openwms.common.transport.barcode.BarcodeGenerator;
+import org.openwms.common.transport.reservation.TransportUnitReservation;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.history.RevisionMetadata;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * A TransportUnitServiceImplIT.
@@ -59,6 +78,16 @@ class TransportUnitServiceImplIT {
     private TransportUnitService testee;
     @Autowired
     private BarcodeGenerator generator;
+    @Autowired
+    private TransactionTemplate txTemplate;
+    @Autowired
+    private TransportUnitRepository repository;
+    @Autowired
+    private TransportUnitMapper mapper;
+    @Autowired
+    private ObjectMapper om;
+    @Autowired
+    private BulkAudit audit;
     @MockitoBean
     private AsyncTransactionApi transactionApi;
 
@@ -289,4 +318,141 @@ class TransportUnitServiceImplIT {
         var tus = testee.findOnLocation(TestData.LOCATION_ID_EXT);
         assertThat(tus).isNotEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shall_project_views_like_mapped_entities() throws Exception {
+        testee.changeTarget(Barcode.of(TestData.TU_2_ID), TestData.LOCATION_ID_FGIN0001LEFT);
+
+        var views = testee.findViews(TransportUnitCriteria.ALL);
+
+        var entities = testee.findAll().stream().sorted(Comparator.comparing(TransportUnit::getPk)).toList();
+        assertThat(views).extracting(TransportUnitView::pk).containsExactly(TestData.TU_1_PK, TestData.TU_2_PK);
+        assertThat(views.get(1).transportUnit().getTargetLocation()).isNotNull();
+        for (int i = 0; i < entities.size(); i++) {
+            assertThat(om.writeValueAsString(views.get(i).transportUnit())).isEqualTo(om.writeValueAsString(mapper.convertToVO(entities.get(i))));
+        }
+    }
+
+    @Test
+    void shall_find_views_on_Location() {
+        assertThat(testee.findViewsOnLocation(TestData.LOCATION_ID_EXT))
+                .extracting(v -> v.transportUnit().getBarcode()).containsExactly(TestData.TU_1_ID);
+        assertThat(testee.findViewsOnLocation(TestData.LOCATION_ID_FGIN0001LEFT)).isEmpty();
+        assertThatExceptionOfType(NotFoundException.class).isThrownBy(() -> testee.findViewsOnLocation("UNKW/UNKW/UNKW/UNKW/UNKW"));
+    }
+
+    @Test
+    void shall_find_views_by_Barcodes() {
+        assertThat(testee.findViewsByBarcodes(List.of(Barcode.of(TestData.TU_2_ID), Barcode.of("UNKNOWN"))))
+                .extracting(TransportUnitView::pk).containsExactly(TestData.TU_2_PK);
+    }
+
+    @Test
+    void shall_occupy_Location_on_create() {
+        testee.create("0815", TestData.TUT_TYPE_PALLET, TestData.LOCATION_ID_FGIN0001LEFT, false);
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_FGIN0001LEFT).getNoTransportUnits()).isOne();
+    }
+
+    @Test
+    void shall_move_occupation_with_TransportUnit() {
+        testee.moveTransportUnit(Barcode.of(TestData.TU_1_ID), TestData.LOCATION_ID_FGIN0001LEFT);
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_EXT).getNoTransportUnits()).isZero();
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_FGIN0001LEFT).getNoTransportUnits()).isOne();
+    }
+
+    @Test
+    void shall_change_total_weight_of_Location_on_update() {
+        var tu = new TransportUnit(Barcode.of(TestData.TU_1_ID));
+        tu.setWeight(Weight.of(new BigDecimal("2"), WeightUnit.KG));
+        testee.update(Barcode.of(TestData.TU_1_ID), tu);
+
+        tu.setWeight(Weight.of(new BigDecimal("1500"), WeightUnit.G));
+        testee.update(Barcode.of(TestData.TU_1_ID), tu);
+
+        var location = em.find(Location.class, TestData.LOCATION_PK_EXT);
+        assertThat(location.getTotalWeight()).isEqualByComparingTo("1500");
+        assertThat(location.getNoTransportUnits()).isOne();
+    }
+
+    @Test
+    void shall_move_subtree_with_TransportUnit() {
+        txTemplate.executeWithoutResult(status -> em.createNativeQuery("update COM_TRANSPORT_UNIT set C_PARENT = :parent where C_PK = :child")
+                .setParameter("parent", TestData.TU_1_PK)
+                .setParameter("child", TestData.TU_2_PK)
+                .executeUpdate());
+        var revisions = repository.findRevisions(TestData.TU_2_PK).getContent().size();
+        assertThat(audit.supports(TransportUnit.class)).as("children are moved with a bulk update").isTrue();
+
+        var moved = testee.moveTransportUnit(Barcode.of(TestData.TU_1_ID), TestData.LOCATION_ID_FGIN0001LEFT);
+
+        var child = testee.findByBarcode(TestData.TU_2_ID);
+        assertThat(child.getActualLocation().getLocationId()).isEqualTo(LocationPK.fromString(TestData.LOCATION_ID_FGIN0001LEFT));
+        assertThat(child.getActualLocationDate()).isCloseTo(moved.getActualLocationDate(), within(1, ChronoUnit.MILLIS));
+        assertThat(child.getOl()).isGreaterThan(1);
+        assertThat(repository.findRevisions(TestData.TU_2_PK).getContent()).as("auditing is not bypassed").hasSize(revisions + 1);
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_EXT).getNoTransportUnits()).isZero();
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_FGIN0001LEFT).getNoTransportUnits()).isEqualTo(2);
+        verify(transactionApi, times(2)).process(any());
+    }
+
+    @Test
+    void shall_delete_hierarchy_leaves_first() {
+        txTemplate.executeWithoutResult(status -> em.createNativeQuery("update COM_TRANSPORT_UNIT set C_PARENT = :parent where C_PK = :child")
+                .setParameter("parent", TestData.TU_1_PK)
+                .setParameter("child", TestData.TU_2_PK)
+                .executeUpdate());
+        testee.addError(TestData.TU_1_ID, UnitError.newBuilder().errorNo("4711").errorText("Damaged").build());
+        assertThat(audit.supports(TransportUnitReservation.class)).as("reservations are deleted with a bulk delete").isTrue();
+
+        testee.deleteByPKeys(List.of(TestData.TU_1_PKEY, TestData.TU_2_PKEY, "UNKNOWN"));
+
+        assertThat(em.find(TransportUnit.class, TestData.TU_1_PK)).isNull();
+        assertThat(em.find(TransportUnit.class, TestData.TU_2_PK)).isNull();
+        assertThat(em.createQuery("select count(e) from UnitError e", Long.class).getSingleResult()).isZero();
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_EXT).getNoTransportUnits()).isZero();
+        assertThat(repository.findLastChangeRevision(TestData.TU_2_PK)).hasValueSatisfying(r ->
+                assertThat(r.getMetadata().getRevisionType()).isEqualTo(RevisionMetadata.RevisionType.DELETE));
+    }
+
+    @Test
+    void shall_confirm_exists_from_near_cache_by_primary_key() throws Exception {
+        testee.findByBarcode(TestData.TU_1_ID);
+
+        assertThat(QueryBudget.atMost(1, () -> testee.exists(TestData.TU_1_ID))).isTrue();
+        assertThat(testee.exists("UNKNOWN")).isFalse();
+    }
+
+    @Test
+    void shall_recreate_strictly_when_deleted_behind_the_near_cache() {
+        testee.findByBarcode(TestData.TU_2_ID);
+        txTemplate.executeWithoutResult(status -> em.createNativeQuery("delete from COM_TRANSPORT_UNIT where C_PK = :pk")
+                .setParameter("pk", TestData.TU_2_PK)
+                .executeUpdate());
+
+        assertThat(testee.exists(TestData.TU_2_ID)).isFalse();
+        var created = testee.create(TestData.TU_2_ID, TestData.TUT_TYPE_PALLET, TestData.LOCATION_ID_FGIN0001LEFT, true);
+        assertThat(created.getPk()).isNotEqualTo(TestData.TU_2_PK);
+    }
+
+    @Test
+    void shall_delete_children_with_TransportUnit() {
+        txTemplate.executeWithoutResult(status -> em.createNativeQuery("update COM_TRANSPORT_UNIT set C_PARENT = :parent where C_PK = :child")
+                .setParameter("parent", TestData.TU_1_PK)
+                .setParameter("child", TestData.TU_2_PK)
+                .executeUpdate());
+
+        testee.delete(TestData.TU_1_PKEY);
+
+        assertThat(em.find(TransportUnit.class, TestData.TU_1_PK)).isNull();
+        assertThat(em.find(TransportUnit.class, TestData.TU_2_PK)).isNull();
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_EXT).getNoTransportUnits()).isZero();
+        assertThat(repository.findLastChangeRevision(TestData.TU_1_PK)).hasValueSatisfying(r ->
+                assertThat(r.getMetadata().getRevisionType()).isEqualTo(RevisionMetadata.RevisionType.DELETE));
+    }
+
+    @Test
+    void shall_release_Location_on_delete() {
+        testee.delete(TestData.TU_1_PKEY);
+        assertThat(em.find(Location.class, TestData.LOCATION_PK_EXT).getNoTransportUnits()).isZero();
+    }
+}
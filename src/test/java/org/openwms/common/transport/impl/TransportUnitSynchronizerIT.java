@@ -0,0 +1,154 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.common.transport.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.common.CommonApplicationTest;
+import org.openwms.common.TestData;
+import org.openwms.common.spi.transactions.commands.AsyncTransactionApi;
+import org.openwms.common.transport.TransportUnit;
+import org.openwms.common.transport.TransportUnitSyncScope;
+import org.openwms.common.transport.events.TransportUnitEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.common.transport.impl.TransportUnitSynchronization.STATE_COMPLETED;
+import static org.openwms.common.transport.impl.TransportUnitSynchronization.STATE_RUNNING;
+
+/**
+ * A TransportUnitSynchronizerIT.
+ *
+ * @author Heiko Scherrer
+ */
+@CommonApplicationTest
+@RecordApplicationEvents
+class TransportUnitSynchronizerIT {
+
+    @Autowired
+    private TransportUnitSynchronizer testee;
+    @Autowired
+    private TransportUnitSynchronizationRepository synchronizations;
+    @Autowired
+    private ApplicationEvents events;
+    @MockitoBean
+    private AsyncTransactionApi transactionApi;
+
+    private long published() {
+        return events.stream(TransportUnitEvent.class)
+                .filter(e -> e.getType() == TransportUnitEvent.TransportUnitEventType.CREATED)
+                .count();
+    }
+
+    @Test
+    void shall_publish_all() {
+        var result = testee.run(TransportUnitSyncScope.ALL);
+
+        assertThat(published()).isEqualTo(2);
+        assertThat(events.stream(TransportUnitEvent.class).map(e -> ((TransportUnit) e.getSource()).getPk()))
+                .containsExactly(TestData.TU_1_PK, TestData.TU_2_PK);
+        assertThat(result.getState()).isEqualTo(STATE_COMPLETED);
+        assertThat(result.getProcessed()).isEqualTo(2);
+        assertThat(result.getCursor()).isEqualTo(TestData.TU_2_PK);
+    }
+
+    @Test
+    void shall_resume_from_cursor() {
+        var interrupted = new TransportUnitSynchronization(TransportUnitSyncScope.ALL);
+        interrupted.advance(TestData.TU_1_PK, 1);
+        synchronizations.save(interrupted);
+
+        var result = testee.run(TransportUnitSyncScope.ALL);
+
+        assertThat(events.stream(TransportUnitEvent.class).map(e -> ((TransportUnit) e.getSource()).getPk()))
+                .containsExactly(TestData.TU_2_PK);
+        assertThat(result.getState()).isEqualTo(STATE_COMPLETED);
+        assertThat(result.getProcessed()).isEqualTo(2);
+    }
+
+    @Test
+    void shall_skip_run_leased_by_another_instance() {
+        var leased = new TransportUnitSynchronization(TransportUnitSyncScope.ALL);
+        leased.lease("other", LocalDateTime.now().plusMinutes(1));
+        synchronizations.save(leased);
+
+        var result = testee.run(TransportUnitSyncScope.ALL);
+
+        assertThat(published()).isZero();
+        assertThat(result.getState()).isEqualTo(STATE_RUNNING);
+        assertThat(result.getOwner()).isEqualTo("other");
+    }
+
+    @Test
+    void shall_take_over_expired_lease() {
+        var leased = new TransportUnitSynchronization(TransportUnitSyncScope.ALL);
+        leased.lease("other", LocalDateTime.now().minusSeconds(1));
+        synchronizations.save(leased);
+
+        var result = testee.run(TransportUnitSyncScope.ALL);
+
+        assertThat(published()).isEqualTo(2);
+        assertThat(result.getState()).isEqualTo(STATE_COMPLETED);
+        assertThat(result.getOwner()).isNull();
+    }
+
+    @Test
+    void shall_resume_orphaned_runs() throws InterruptedException {
+        var orphaned = new TransportUnitSynchronization(TransportUnitSyncScope.ALL);
+        orphaned.lease("dead", LocalDateTime.now().minusSeconds(1));
+        synchronizations.save(orphaned);
+        var leased = new TransportUnitSynchronization(new TransportUnitSyncScope(null, TestData.TUT_TYPE_PALLET, null));
+        leased.lease("other", LocalDateTime.now().plusMinutes(1));
+        synchronizations.save(leased);
+        assertThat(synchronizations.findOrphaned(STATE_RUNNING, LocalDateTime.now())).extracting(TransportUnitSynchronization::getScope)
+                .containsExactly(TransportUnitSyncScope.ALL.key());
+
+        testee.resumeOrphaned();
+
+        for (var i = 0; i < 50 && !STATE_COMPLETED.equals(synchronizations.findByScope(TransportUnitSyncScope.ALL.key()).orElseThrow().getState()); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(synchronizations.findByScope(TransportUnitSyncScope.ALL.key())).hasValueSatisfying(s -> {
+            assertThat(s.getState()).isEqualTo(STATE_COMPLETED);
+            assertThat(s.getOwner()).isNull();
+        });
+        assertThat(synchronizations.findByScope(leased.getScope())).hasValueSatisfying(s -> assertThat(s.getState()).isEqualTo(STATE_RUNNING));
+    }
+
+    @Test
+    void shall_restart_completed() {
+        testee.run(TransportUnitSyncScope.ALL);
+        var result = testee.run(TransportUnitSyncScope.ALL);
+
+        assertThat(published()).isEqualTo(4);
+        assertThat(result.getProcessed()).isEqualTo(2);
+        assertThat(synchronizations.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shall_restrict_to_scope() {
+        assertThat(testee.run(new TransportUnitSyncScope(null, TestData.TUT_TYPE_PALLET, null)).getProcessed()).isEqualTo(2);
+        assertThat(testee.run(new TransportUnitSyncScope(null, "UNKNOWN", null)).getProcessed()).isZero();
+        assertThat(testee.run(new TransportUnitSyncScope(null, null, LocalDateTime.now().plusDays(1))).getProcessed()).isZero();
+        assertThat(testee.run(new TransportUnitSyncScope("ZILE", null, null)).getProcessed()).isEqualTo(2);
+        assertThat(testee.run(new TransportUnitSyncScope("IPOINT1", null, null)).getProcessed()).isOne();
+        assertThat(synchronizations.findAll()).hasSize(5);
+    }
+}
@@ -1,3 +1,4 @@
+delete from com_tu_sync;
 delete from com_unit_error;
 delete from com_transport_unit_log;
 delete from com_srv_revision;
@@ -109,3 +110,6 @@ INSERT INTO com_type_stacking_rule(c_pk,c_no_transport_units,c_allowed_transport
 -- TransportUnit
 insert into com_transport_unit (c_pk,c_pid,c_barcode,c_state,c_actual_location,c_transport_unit_type,c_actual_location_date,c_ol,c_created) values (1000,'1','00000000000000004711','AVAILABLE',1029,1000,now(),1,now());
 insert into com_transport_unit (c_pk,c_pid,c_barcode,c_state,c_actual_location,c_transport_unit_type,c_actual_location_date,c_ol,c_created) values (1001,'2','00000000000000004712','AVAILABLE',1030,1000,now(),1,now());
+
+-- Occupation of Locations
+update com_location l set c_no_transport_units = (select count(*) from com_transport_unit tu where tu.c_actual_location = l.c_pk);